@@ -0,0 +1,130 @@
+package complexnumbers.jmh;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import complexnumbers.Complex;
+import complexnumbers.ComplexArray;
+import complexnumbers.Cpx;
+import complexnumbers.Cpx2;
+import complexnumbers.Mafs;
+
+/**
+ * Writes the JMH benchmarks: for each of <code>Complex</code>, <code>Cpx</code>, <code>Cpx2</code> and <code>Mafs</code>, a class with one
+ * benchmark for every public function whose parameters are complex numbers, doubles, ints and <code>ComplexArray</code>s (drawn from
+ * <code>Inputs</code>).  Each benchmark calls its function directly, so the JIT sees the same code it would in real use (inlining, escape
+ * analysis &amp; all), and the result goes into a <code>Blackhole</code>.  The rest (raw arrays, strings, big numbers...) are listed as skipped.
+ *
+ * <br><br>A benchmark is named after its function's parameter types, so <code>Cpx2.polygamma(int,Complex)</code> is
+ * <code>Cpx2Bench.polygamma__int_Complex</code> (<code>Baseline</code> turns that back into the function's name).
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class GenerateBenchmarks {
+
+	private GenerateBenchmarks() { } //this class is never instantiated
+
+	/** The classes whose public functions we time */
+	static final Class<?>[] CLASSES = {Complex.class, Cpx.class, Cpx2.class, Mafs.class};
+
+	static final int COMPLEX_ARGS=3, DOUBLE_ARGS=3, INT_ARGS=2, ARRAY_ARGS=1; //the most of each kind of parameter a function can have
+
+	/**
+	 * Functions that don't finish in any reasonable time on the huge inputs, so they only get the other regimes: the Hurwitz zeta function
+	 * sums about |s| terms directly before its Euler-Maclaurin tail (and so does ζ(s), unless Re(s) ≥ 64), and Riemann-Siegel Z(t) sums
+	 * about √(t/2π) terms.
+	 */
+	static final List<String> NOT_HUGE = Arrays.asList("Cpx2.hurwitzZeta(Complex,Complex)", "Cpx2.hurwitzZetaInto(Complex,Complex,Complex)",
+	                                                   "Cpx2.riemannSiegelZ(double)", "Cpx2.zeta(ComplexArray)");
+
+	/**
+	 * Writes the benchmarks
+	 * @param args the directory the sources go in (their package directory is made inside it)
+	 * @throws IOException if they can't be written
+	 */
+	public static void main(String[] args) throws IOException {
+		final Path dir = Paths.get(args[0]).resolve("complexnumbers").resolve("jmh");
+		Files.createDirectories(dir);
+		try(DirectoryStream<Path> old = Files.newDirectoryStream(dir,"*Bench.java")) { for(Path p : old) { Files.delete(p); } } //(so removed functions go too)
+
+		final List<String> skipped = new ArrayList<>();
+		int count=1;
+		write(dir, "Harness", Arrays.asList("\t@Benchmark public void floor__(Inputs.All in, Blackhole bh) { in.reset(); bh.consume(in.z); }"));
+		for(Class<?> cl : CLASSES) {
+			final Method[] methods = cl.getDeclaredMethods();
+			Arrays.sort(methods, Comparator.comparing(GenerateBenchmarks::name)); //(the order getDeclaredMethods gives isn't specified)
+			final List<String> lines = new ArrayList<>();
+			for(Method m : methods) {
+				if(!Modifier.isPublic(m.getModifiers()) || m.isSynthetic()) { continue; }
+				final String line = benchmark(m);
+				if(line==null) { skipped.add(name(m)); } else { lines.add(line); }
+			}
+			write(dir, cl.getSimpleName(), lines);
+			count+=lines.size();
+		}
+		System.out.println(count+" benchmarks, "+skipped.size()+" functions skipped (unsupported parameters)");
+		for(String s : skipped) { System.out.println("skipped "+s); }
+	}
+
+	/** Writes the class of benchmarks for one class */
+	static void write(Path dir, String name, List<String> lines) throws IOException {
+		try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(dir.resolve(name+"Bench.java"),StandardCharsets.UTF_8))) {
+			out.println("package complexnumbers.jmh;");
+			out.println();
+			out.println("import org.openjdk.jmh.annotations.Benchmark;");
+			out.println("import org.openjdk.jmh.infra.Blackhole;");
+			out.println();
+			out.println("import complexnumbers.*;");
+			out.println();
+			out.println("/** Generated by GenerateBenchmarks, don't edit */");
+			out.println("@SuppressWarnings(\"deprecation\")");
+			out.println("public class "+name+"Bench extends Suite {");
+			for(String line : lines) { out.println(line); }
+			out.println("}");
+		}
+	}
+
+	/** The name we report a function by, such as <code>Cpx2.polygamma(int,Complex)</code> */
+	static String name(Method m) {
+		final StringBuilder sb = new StringBuilder(m.getDeclaringClass().getSimpleName()).append('.').append(m.getName()).append('(');
+		final Class<?>[] p = m.getParameterTypes();
+		for(int j=0;j<p.length;j++) { sb.append(j==0 ? "" : ",").append(p[j].getSimpleName()); }
+		return sb.append(')').toString();
+	}
+
+	/** The benchmark for a function, or null if it has parameters we can't supply */
+	static String benchmark(Method m) {
+		final boolean isStatic = Modifier.isStatic(m.getModifiers());
+		if(!isStatic && m.getDeclaringClass()!=Complex.class) { return null; } //(the only receivers we have are complex numbers)
+		int nc=isStatic ? 0 : 1, nd=0, ni=0, na=0;
+		final StringBuilder args = new StringBuilder(), id = new StringBuilder(m.getName()).append("__");
+		for(Class<?> p : m.getParameterTypes()) {
+			final String arg;
+			if     (p==Complex.class      && nc<COMPLEX_ARGS) { arg="in."+"zwu".charAt(nc++); }
+			else if(p==double.class       && nd<DOUBLE_ARGS ) { arg="in."+"xyv".charAt(nd++); }
+			else if(p==int.class          && ni<INT_ARGS    ) { arg="in."+"nk".charAt(ni++);  }
+			else if(p==ComplexArray.class && na<ARRAY_ARGS  ) { arg="in.a"; na++;             }
+			else { return null; }
+			args.append(args.length()==0 ? "" : ",").append(arg);
+			id.append(id.charAt(id.length()-1)=='_' ? "" : "_").append(p.getSimpleName());
+		}
+		final String call = (isStatic ? m.getDeclaringClass().getSimpleName() : "in.z")+"."+m.getName()+"("+args+")";
+		final String state = NOT_HUGE.contains(name(m)) ? "Inputs.NotHuge" : "Inputs.All";
+		final String body = m.getReturnType()==void.class ? call+"; bh.consume(in.z);" : "bh.consume("+call+");";
+		final String exceptions = m.getExceptionTypes().length==0 ? "" : " throws Exception";
+		return "\t@Benchmark public void "+id+"("+state+" in, Blackhole bh)"+exceptions+" { in.reset(); "+body+" }";
+	}
+}
@@ -0,0 +1,149 @@
+package complexnumbers.jmh;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stored baselines on top of JMH's CSV results (<code>-rf csv</code>), so regressions show up.  A baseline has one tab separated line per
+ * benchmark: the function (such as <code>Cpx2.gamma(Complex)</code>), its parameters (such as <code>arithmetic=classic,regime=small</code>),
+ * the throughput in ops/µs, and the bytes allocated per call (<code>gc.alloc.rate.norm</code>, from <code>-prof gc</code>).
+ *
+ * <br><br><code>Baseline save RESULTS.csv BASELINE.tsv</code> writes the results as a baseline.
+ * <br><code>Baseline compare RESULTS.csv BASELINE.tsv [THRESHOLD]</code> lists every benchmark whose throughput dropped by more than the
+ * threshold (a fraction; the default is 0.25), or which allocates more than it used to, and exits with status 1 if there were any.
+ * <br>Throughputs are only comparable with a baseline recorded on the same machine &amp; JDK, so CI should keep its own.  Allocations are
+ * much more portable (they only depend on what the JIT's escape analysis manages to remove).
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class Baseline {
+
+	private Baseline() { } //this class is never instantiated
+
+	static final String ALLOC = "gc.alloc.rate.norm"; //the secondary result that holds the bytes per call
+
+	/** One benchmark's result */
+	static final class Result {
+		double score=Double.NaN, bytes=Double.NaN; //throughput, and bytes per call
+	}
+
+	/** Reads JMH's CSV results, keyed by function &amp; parameters (joined with a tab) */
+	static Map<String,Result> results(String file) throws IOException {
+		final Map<String,Result> map = new LinkedHashMap<>();
+		try(BufferedReader in = Files.newBufferedReader(Paths.get(file),StandardCharsets.UTF_8)) {
+			final List<String> head = fields(in.readLine());
+			final int bench=head.indexOf("Benchmark"), score=head.indexOf("Score");
+			for(String line; (line=in.readLine())!=null;) {
+				if(line.isEmpty()) { continue; }
+				final List<String> f = fields(line);
+				String name = f.get(bench);
+				final int colon = name.indexOf(':');                     //secondary results are "benchmark:label"
+				final String label = colon<0 ? null : name.substring(colon+1);
+				if(colon>=0) { name = name.substring(0,colon); }
+				if(label!=null && !label.endsWith(ALLOC)) { continue; }
+				final StringBuilder params = new StringBuilder();
+				for(int j=0;j<head.size();j++) {
+					if(head.get(j).startsWith("Param: ")) { params.append(params.length()==0 ? "" : ",").append(head.get(j).substring(7)).append('=').append(f.get(j)); }
+				}
+				final Result r = map.computeIfAbsent(function(name)+"\t"+params, key -> new Result());
+				final double value = Double.parseDouble(f.get(score));
+				if(label==null) { r.score=value; } else { r.bytes=value; }
+			}
+		}
+		return map;
+	}
+
+	/** Splits a line of CSV, removing the quotes */
+	static List<String> fields(String line) {
+		final List<String> list = new ArrayList<>();
+		final StringBuilder sb = new StringBuilder();
+		boolean quoted=false;
+		for(int j=0;j<line.length();j++) {
+			final char c = line.charAt(j);
+			if(c=='"') { quoted=!quoted; }
+			else if(c==',' && !quoted) { list.add(sb.toString()); sb.setLength(0); }
+			else { sb.append(c); }
+		}
+		list.add(sb.toString());
+		return list;
+	}
+
+	/** The function a benchmark times: complexnumbers.jmh.Cpx2Bench.polygamma__int_Complex is Cpx2.polygamma(int,Complex) */
+	static String function(String benchmark) {
+		final String cl = benchmark.substring(0,benchmark.lastIndexOf('.')), method = benchmark.substring(cl.length()+1);
+		final int split = method.indexOf("__");
+		return cl.substring(cl.lastIndexOf('.')+1).replace("Bench","")+"."+method.substring(0,split)+"("+method.substring(split+2).replace('_',',')+")";
+	}
+
+	/** Writes the results as a baseline */
+	static void save(String file, Map<String,Result> results) throws IOException {
+		try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file),StandardCharsets.UTF_8))) {
+			out.println("# Java "+System.getProperty("java.version")+", "+System.getProperty("os.name")+" "+System.getProperty("os.arch")+", "
+			           +Runtime.getRuntime().availableProcessors()+" cpus");
+			out.println("# function\tparameters\tops/us\tB/op");
+			for(Map.Entry<String,Result> e : results.entrySet()) {
+				out.printf(Locale.ROOT,"%s\t%.4f\t%.1f%n",e.getKey(),e.getValue().score,e.getValue().bytes);
+			}
+		}
+	}
+
+	/** Reads a baseline */
+	static Map<String,Result> load(String file) throws IOException {
+		final Map<String,Result> map = new LinkedHashMap<>();
+		try(BufferedReader in = Files.newBufferedReader(Paths.get(file),StandardCharsets.UTF_8)) {
+			for(String line; (line=in.readLine())!=null;) {
+				if(line.startsWith("#") || line.isEmpty()) { continue; }
+				final String[] f = line.split("\t");
+				final Result r = new Result(); r.score=Double.parseDouble(f[2]); r.bytes=Double.parseDouble(f[3]);
+				map.put(f[0]+"\t"+f[1], r);
+			}
+		}
+		return map;
+	}
+
+	/** Prints every benchmark that's slower than the baseline by more than the threshold, or allocates more, and returns how many there were */
+	static int compare(Map<String,Result> results, Map<String,Result> base, double threshold) {
+		int regressions=0, compared=0;
+		for(Map.Entry<String,Result> e : results.entrySet()) {
+			final Result now = e.getValue(), then = base.get(e.getKey());
+			if(then==null) { continue; }
+			compared++;
+			final boolean slower = now.score*(1+threshold)<then.score, fatter = now.bytes>then.bytes*1.02+8; //(the allocation counter is exact, but what the JIT removes can wobble a little)
+			if(slower || fatter) {
+				regressions++;
+				System.out.printf(Locale.ROOT,"REGRESSION  %-50s %-32s %9.3f -> %9.3f ops/us (%+.0f%%)   %7.1f -> %7.1f B/op%n",
+				                  e.getKey().split("\t")[0],e.getKey().split("\t")[1],then.score,now.score,100*(now.score/then.score-1),then.bytes,now.bytes);
+			}
+		}
+		int missing=0; for(String key : base.keySet()) { if(!results.containsKey(key)) { missing++; } }
+		System.out.println(compared+" benchmarks compared, "+regressions+" regressions"+(missing==0 ? "" : ", "+missing+" baseline benchmarks weren't run"));
+		return regressions;
+	}
+
+	/**
+	 * Saves or compares a baseline (see the class description)
+	 * @param args save|compare, the results, the baseline, and (for compare) the threshold
+	 * @throws IOException if a file can't be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length<3 || !args[0].equals("save") && !args[0].equals("compare")) {
+			System.err.println("Usage: Baseline save RESULTS.csv BASELINE.tsv | Baseline compare RESULTS.csv BASELINE.tsv [THRESHOLD]");
+			System.exit(2);
+		}
+		final Map<String,Result> results = results(args[1]);
+		if(args[0].equals("save")) { save(args[2],results); System.out.println(results.size()+" benchmarks saved to "+args[2]); return; }
+		final double threshold = args.length>3 ? Double.parseDouble(args[3]) : 0.25;
+		if(compare(results,load(args[2]),threshold)>0) { System.exit(1); }
+	}
+}
@@ -0,0 +1,57 @@
+package complexnumbers.jmh;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import complexnumbers.ComplexKernels;
+import complexnumbers.FloatKernels;
+
+/**
+ * The buffers the <code>ComplexKernels</code> &amp; <code>FloatKernels</code> benchmarks work on: three inputs and a destination, both split
+ * into real &amp; imaginary arrays (<code>ar</code>, <code>ai</code>, ...) and interleaved (<code>a</code>, <code>b</code>, <code>c</code>,
+ * <code>d</code>), each holding <code>LENGTH</code> complex numbers with parts in [-1,1).  The kernels never modify their inputs, so nothing's
+ * ever reset.
+ *
+ * <br><br>The <code>vectorized</code> parameter picks the backend: true runs the kernels on the Vector API, false forces the scalar loops.
+ * The benchmarks fork with <code>--add-modules jdk.incubator.vector</code>, so the vectorized backend is there as long as the JDK is 16 or
+ * later (if it isn't, the true half fails instead of quietly timing the scalar loops twice).
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+@State(Scope.Thread)
+public class Buffers {
+
+	static final int LENGTH = 1024; //how many complex numbers each buffer holds (so the kernels' times are per 1024 elements)
+
+	/** Whether to run the vectorized backend */
+	@Param({"true", "false"}) public boolean vectorized;
+
+	/** The split double buffers */        public final double[] ar=new double[LENGTH], ai=new double[LENGTH], br=new double[LENGTH], bi=new double[LENGTH],
+	                                                             cr=new double[LENGTH], ci=new double[LENGTH], dr=new double[LENGTH], di=new double[LENGTH];
+	/** The interleaved double buffers */  public final double[] a=new double[2*LENGTH], b=new double[2*LENGTH], c=new double[2*LENGTH], d=new double[2*LENGTH];
+	/** The split float buffers */         public final float[] far=new float[LENGTH], fai=new float[LENGTH], fbr=new float[LENGTH], fbi=new float[LENGTH],
+	                                                            fcr=new float[LENGTH], fci=new float[LENGTH], fdr=new float[LENGTH], fdi=new float[LENGTH];
+	/** The interleaved float buffers */   public final float[] fa=new float[2*LENGTH], fb=new float[2*LENGTH], fc=new float[2*LENGTH], fd=new float[2*LENGTH];
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random random = new Random(1); //(the same numbers every run)
+		for(double[] x : new double[][] {ar,ai,br,bi,cr,ci}) { for(int j=0;j<LENGTH;j++) { x[j]=2*random.nextDouble()-1; } }
+		for(int j=0;j<LENGTH;j++) {
+			a[2*j]=ar[j]; a[2*j+1]=ai[j]; b[2*j]=br[j]; b[2*j+1]=bi[j]; c[2*j]=cr[j]; c[2*j+1]=ci[j];
+			far[j]=(float)ar[j]; fai[j]=(float)ai[j]; fbr[j]=(float)br[j]; fbi[j]=(float)bi[j]; fcr[j]=(float)cr[j]; fci[j]=(float)ci[j];
+		}
+		for(int j=0;j<2*LENGTH;j++) { fa[j]=(float)a[j]; fb[j]=(float)b[j]; fc[j]=(float)c[j]; }
+
+		if(ComplexKernels.setVectorized(vectorized)!=vectorized || FloatKernels.setVectorized(vectorized)!=vectorized) {
+			throw new IllegalStateException("The vectorized backend isn't available (it needs Java 16 or later, with --add-modules jdk.incubator.vector)");
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package complexnumbers.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.infra.Blackhole;
+
+import complexnumbers.ComplexKernels;
+
+/**
+ * The <code>ComplexKernels</code> benchmarks, on the vectorized and the scalar backend (see <code>Buffers</code>).  They're named like the
+ * generated ones, with the buffer layout in place of the parameter types, so <code>mul__split</code> is reported as
+ * <code>ComplexKernels.mul(split)</code>.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+@Fork(value=1, jvmArgsAppend={"--add-modules", "jdk.incubator.vector"})
+public class ComplexKernelsBench extends Suite {
+
+	static final int N = Buffers.LENGTH;
+
+	@Benchmark public void add__split(Buffers in, Blackhole bh)     { ComplexKernels.add(in.ar,in.ai,in.br,in.bi,in.dr,in.di,0,N); bh.consume(in.dr); }
+	@Benchmark public void mul__split(Buffers in, Blackhole bh)     { ComplexKernels.mul(in.ar,in.ai,in.br,in.bi,in.dr,in.di,0,N); bh.consume(in.dr); }
+	@Benchmark public void conjMul__split(Buffers in, Blackhole bh) { ComplexKernels.conjMul(in.ar,in.ai,in.br,in.bi,in.dr,in.di,0,N); bh.consume(in.dr); }
+	@Benchmark public void div__split(Buffers in, Blackhole bh)     { ComplexKernels.div(in.ar,in.ai,in.br,in.bi,in.dr,in.di,0,N); bh.consume(in.dr); }
+	@Benchmark public void fma__split(Buffers in, Blackhole bh)     { ComplexKernels.fma(in.ar,in.ai,in.br,in.bi,in.cr,in.ci,in.dr,in.di,0,N); bh.consume(in.dr); }
+	@Benchmark public void absq__split(Buffers in, Blackhole bh)    { ComplexKernels.absq(in.ar,in.ai,in.dr,0,N); bh.consume(in.dr); }
+
+	@Benchmark public void add__interleaved(Buffers in, Blackhole bh)     { ComplexKernels.add(in.a,in.b,in.d,0,N); bh.consume(in.d); }
+	@Benchmark public void mul__interleaved(Buffers in, Blackhole bh)     { ComplexKernels.mul(in.a,in.b,in.d,0,N); bh.consume(in.d); }
+	@Benchmark public void conjMul__interleaved(Buffers in, Blackhole bh) { ComplexKernels.conjMul(in.a,in.b,in.d,0,N); bh.consume(in.d); }
+	@Benchmark public void div__interleaved(Buffers in, Blackhole bh)     { ComplexKernels.div(in.a,in.b,in.d,0,N); bh.consume(in.d); }
+	@Benchmark public void fma__interleaved(Buffers in, Blackhole bh)     { ComplexKernels.fma(in.a,in.b,in.c,in.d,0,N); bh.consume(in.d); }
+	@Benchmark public void absq__interleaved(Buffers in, Blackhole bh)    { ComplexKernels.absq(in.a,in.dr,0,N); bh.consume(in.dr); }
+}
@@ -0,0 +1,36 @@
+package complexnumbers.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.infra.Blackhole;
+
+import complexnumbers.FloatKernels;
+
+/**
+ * The <code>FloatKernels</code> benchmarks, on the vectorized and the scalar backend (see <code>Buffers</code> and
+ * <code>ComplexKernelsBench</code>).
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+@Fork(value=1, jvmArgsAppend={"--add-modules", "jdk.incubator.vector"})
+public class FloatKernelsBench extends Suite {
+
+	static final int N = Buffers.LENGTH;
+
+	@Benchmark public void add__split(Buffers in, Blackhole bh)     { FloatKernels.add(in.far,in.fai,in.fbr,in.fbi,in.fdr,in.fdi,0,N); bh.consume(in.fdr); }
+	@Benchmark public void mul__split(Buffers in, Blackhole bh)     { FloatKernels.mul(in.far,in.fai,in.fbr,in.fbi,in.fdr,in.fdi,0,N); bh.consume(in.fdr); }
+	@Benchmark public void conjMul__split(Buffers in, Blackhole bh) { FloatKernels.conjMul(in.far,in.fai,in.fbr,in.fbi,in.fdr,in.fdi,0,N); bh.consume(in.fdr); }
+	@Benchmark public void div__split(Buffers in, Blackhole bh)     { FloatKernels.div(in.far,in.fai,in.fbr,in.fbi,in.fdr,in.fdi,0,N); bh.consume(in.fdr); }
+	@Benchmark public void fma__split(Buffers in, Blackhole bh)     { FloatKernels.fma(in.far,in.fai,in.fbr,in.fbi,in.fcr,in.fci,in.fdr,in.fdi,0,N); bh.consume(in.fdr); }
+	@Benchmark public void absq__split(Buffers in, Blackhole bh)    { FloatKernels.absq(in.far,in.fai,in.fdr,0,N); bh.consume(in.fdr); }
+	@Benchmark public void abs__split(Buffers in, Blackhole bh)     { FloatKernels.abs(in.far,in.fai,in.fdr,0,N); bh.consume(in.fdr); }
+
+	@Benchmark public void add__interleaved(Buffers in, Blackhole bh)     { FloatKernels.add(in.fa,in.fb,in.fd,0,N); bh.consume(in.fd); }
+	@Benchmark public void mul__interleaved(Buffers in, Blackhole bh)     { FloatKernels.mul(in.fa,in.fb,in.fd,0,N); bh.consume(in.fd); }
+	@Benchmark public void conjMul__interleaved(Buffers in, Blackhole bh) { FloatKernels.conjMul(in.fa,in.fb,in.fd,0,N); bh.consume(in.fd); }
+	@Benchmark public void div__interleaved(Buffers in, Blackhole bh)     { FloatKernels.div(in.fa,in.fb,in.fd,0,N); bh.consume(in.fd); }
+	@Benchmark public void fma__interleaved(Buffers in, Blackhole bh)     { FloatKernels.fma(in.fa,in.fb,in.fc,in.fd,0,N); bh.consume(in.fd); }
+	@Benchmark public void absq__interleaved(Buffers in, Blackhole bh)    { FloatKernels.absq(in.fa,in.fdr,0,N); bh.consume(in.fdr); }
+}
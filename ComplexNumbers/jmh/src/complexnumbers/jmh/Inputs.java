@@ -0,0 +1,85 @@
+package complexnumbers.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import complexnumbers.Complex;
+import complexnumbers.ComplexArithmetic;
+import complexnumbers.ComplexArray;
+
+/**
+ * The inputs every benchmark draws its arguments from, in one of four regimes:
+ * <br>• <code>small</code>: parts of order 1,
+ * <br>• <code>huge</code>: parts of order 10^200,
+ * <br>• <code>branchcut</code>: just above the negative real axis (where log, sqrt, pow, and the inverse trig functions have their cuts),
+ * <br>• <code>subnormal</code>: parts of order 10^-310.
+ *
+ * <br><br>A function's complex arguments are <code>z</code>, <code>w</code> &amp; <code>u</code> (in that order, starting with the receiver),
+ * its doubles are <code>x</code>, <code>y</code> &amp; <code>v</code>, its ints are <code>n</code> &amp; <code>k</code>, and its array is
+ * <code>a</code>.  Some functions modify their arguments (the eq and Into variants, <code>set</code>, etc.), so every benchmark calls
+ * <code>reset</code> first (<code>HarnessBench.floor</code> times just that).  The array holds the three complex numbers over &amp; over, and
+ * the bulk functions don't modify their inputs, so it's never reset.
+ *
+ * <br><br>The <code>arithmetic</code> parameter picks <code>ComplexArithmetic</code>'s default, so <code>-p arithmetic=fma</code> runs
+ * everything with fused multiply-adds.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+@State(Scope.Thread)
+public abstract class Inputs {
+
+	static final int BULK = 64; //the length of the array given to the bulk functions (so their times are per 64 elements)
+
+	/** The complex inputs */  public final Complex z=new Complex(), w=new Complex(), u=new Complex();
+	/** The real inputs */     public double x, y, v;
+	/** The integer inputs */  public int n, k;
+	/** The array input */     public ComplexArray a;
+	private double[] c; //the complex inputs, as {re, im} pairs
+
+	/** The default arithmetic (by <code>ComplexArithmetic.forName</code>) */
+	@Param({"classic"}) public String arithmetic;
+
+	/** @return the name of the regime */
+	abstract String regime();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		switch(regime()) {
+			case "small":     set(new double[] {0.6,0.35, -0.45,0.7, 0.25,-0.8}, 0.6, 0.3, 0.8); break;
+			case "huge":      set(new double[] {2.3e200,-1.1e200, -7e199,4e199, 1.5e200,9e199}, 2.3e200, 7e199, -1.2e200); break;
+			case "branchcut": set(new double[] {-2.5,1e-15, -0.5,-1e-15, -1.5,1e-16}, -2.5, -0.5, -1.5); break;
+			case "subnormal": set(new double[] {3e-310,4e-310, -2e-310,1e-310, 1e-310,-3e-310}, 3e-310, -2e-310, 1e-310); break;
+			default: throw new IllegalArgumentException("Unknown regime \""+regime()+"\"");
+		}
+		ComplexArithmetic.setDefault(ComplexArithmetic.forName(arithmetic));
+	}
+
+	private void set(double[] c, double x, double y, double v) {
+		this.c=c; this.x=x; this.y=y; this.v=v; n=3; k=2;
+		a = new ComplexArray(BULK);
+		for(int j=0;j<BULK;j++) { a.set(j, c[2*(j%3)], c[2*(j%3)+1]); }
+		reset();
+	}
+
+	/** Puts the complex inputs back the way they started */
+	public void reset() { z.set(c[0],c[1]); w.set(c[2],c[3]); u.set(c[4],c[5]); }
+
+	/** Every regime */
+	@State(Scope.Thread)
+	public static class All extends Inputs {
+		@Param({"small", "huge", "branchcut", "subnormal"}) public String regime;
+		@Override String regime() { return regime; }
+	}
+
+	/** Every regime but <code>huge</code>, for the functions that take about |z| steps (see <code>GenerateBenchmarks.NOT_HUGE</code>) */
+	@State(Scope.Thread)
+	public static class NotHuge extends Inputs {
+		@Param({"small", "branchcut", "subnormal"}) public String regime;
+		@Override String regime() { return regime; }
+	}
+}
@@ -0,0 +1,26 @@
+package complexnumbers.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The settings every generated benchmark class inherits.  There are about 1500 benchmarks, so each one only runs for a couple of seconds
+ * (in its own fork, as always); pass JMH the usual options (-f, -wi, -i, -w, -r) for longer runs.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=3, time=200, timeUnit=TimeUnit.MILLISECONDS)
+@Measurement(iterations=5, time=200, timeUnit=TimeUnit.MILLISECONDS)
+@Fork(1)
+public abstract class Suite {
+}
@@ -0,0 +1,218 @@
+package complexnumbers;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.NE;
+
+/**
+ * The vectorized backend for <code>FloatKernels</code>, built on the Java Vector API (<code>jdk.incubator.vector</code>).  It's the
+ * <code>float</code> twin of <code>VectorKernels</code>: each vector holds twice as many lanes, so each instruction handles twice as many
+ * complex numbers.
+ *
+ * <br><br>Like <code>VectorKernels</code>, this lives in its own source folder, is only ever loaded reflectively, and performs the same
+ * floating point operations in the same order as the scalar code it overrides.  Division and the absolute value only take the fast path if
+ * every element of the vector is safely inside the range where the <code>float</code> absolute square neither overflows nor underflows.
+ * Otherwise, that chunk is handed to the scalar code, which switches to <code>double</code> for the elements that need it.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+class VectorFloatKernels extends FloatKernels {
+
+	private static final VectorSpecies<Float> S = FloatVector.SPECIES_PREFERRED; //the widest vector shape the CPU supports
+	private static final int L = S.length();                                     //the number of lanes
+
+	//shuffles & constants for the interleaved layout: {re0, im0, re1, im1, ...}
+	private static final VectorShuffle<Float> SWAP = VectorShuffle.fromOp(S, i -> i^1);  //{im0, re0, im1, re1, ...}
+	private static final VectorShuffle<Float> EVEN = VectorShuffle.fromOp(S, i -> i&~1); //{re0, re0, re1, re1, ...}
+	private static final VectorShuffle<Float> ODD  = VectorShuffle.fromOp(S, i -> i|1);  //{im0, im0, im1, im1, ...}
+	private static final FloatVector SIGN = FloatVector.fromArray(S, alternate(L), 0);   //{-1, 1, -1, 1, ...}
+	private static final VectorMask<Float> EVEN_LANES = SIGN.compare(LT, 0);             //{true, false, true, false, ...}
+	private static final int[] HALF = half(L);                                            //{0, 0, 1, 1, 2, 2, ...}
+
+	VectorFloatKernels() {
+		if(L<2) { throw new UnsupportedOperationException("Vectors must hold at least 2 floats"); } //can't hold a whole complex number: let the loader fall back to scalar
+	}
+
+	private static float[] alternate(int n) { float[] arr = new float[n]; for(int k=0;k<n;k++) { arr[k] = (k&1)==0 ? -1 : 1; } return arr; }
+	private static int[]   half     (int n) { int[]   arr = new int[n];   for(int k=0;k<n;k++) { arr[k] = k>>1; }                  return arr; }
+
+////////////////////////////////////////////// SPLIT LAYOUT /////////////////////////////////
+
+	@Override
+	void addSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			FloatVector yr=FloatVector.fromArray(S,br,k), yi=FloatVector.fromArray(S,bi,k);
+			xr.add(yr).intoArray(dr,k); xi.add(yi).intoArray(di,k);
+		}
+		super.addSplit(ar,ai,br,bi,dr,di,k,to); //finish off whatever's left
+	}
+
+	@Override
+	void mulSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			FloatVector yr=FloatVector.fromArray(S,br,k), yi=FloatVector.fromArray(S,bi,k);
+			xr.mul(yr).sub(xi.mul(yi)).intoArray(dr,k); //xu-yv
+			xr.mul(yi).add(xi.mul(yr)).intoArray(di,k); //xv+yu
+		}
+		super.mulSplit(ar,ai,br,bi,dr,di,k,to);
+	}
+
+	@Override
+	void conjMulSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			FloatVector yr=FloatVector.fromArray(S,br,k), yi=FloatVector.fromArray(S,bi,k);
+			xr.mul(yr).add(xi.mul(yi)).intoArray(dr,k); //xu+yv
+			xi.mul(yr).sub(xr.mul(yi)).intoArray(di,k); //yu-xv
+		}
+		super.conjMulSplit(ar,ai,br,bi,dr,di,k,to);
+	}
+
+	@Override
+	void divSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector yr=FloatVector.fromArray(S,br,k), yi=FloatVector.fromArray(S,bi,k);
+			if(!safeDivisor(yr,yi)) { super.divSplit(ar,ai,br,bi,dr,di,k,k+L); continue; } //some divisor needs double precision: do this chunk the slow way
+
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			FloatVector inv = FloatVector.broadcast(S,1f).div(yr.mul(yr).add(yi.mul(yi))); //1/|b|²
+			FloatVector ir = yr.mul(inv), ii = yi.neg().mul(inv);                           //1/b = conj(b)/|b|²
+			xr.mul(ir).sub(xi.mul(ii)).intoArray(dr,k); //multiply a by 1/b
+			xr.mul(ii).add(xi.mul(ir)).intoArray(di,k);
+		}
+		super.divSplit(ar,ai,br,bi,dr,di,k,to);
+	}
+
+	@Override
+	void fmaSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] cr, float[] ci, float[] dr, float[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			FloatVector yr=FloatVector.fromArray(S,br,k), yi=FloatVector.fromArray(S,bi,k);
+			FloatVector zr=FloatVector.fromArray(S,cr,k), zi=FloatVector.fromArray(S,ci,k);
+			xr.fma(yr, xi.neg().fma(yi,zr)).intoArray(dr,k); //xu-yv+Re(c)
+			xi.fma(yr, xr      .fma(yi,zi)).intoArray(di,k); //yu+xv+Im(c)
+		}
+		super.fmaSplit(ar,ai,br,bi,cr,ci,dr,di,k,to);
+	}
+
+	@Override
+	void absqSplit(float[] ar, float[] ai, float[] dst, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			xr.mul(xr).add(xi.mul(xi)).intoArray(dst,k);
+		}
+		super.absqSplit(ar,ai,dst,k,to);
+	}
+
+	@Override
+	void absSplit(float[] ar, float[] ai, float[] dst, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			FloatVector xr=FloatVector.fromArray(S,ar,k), xi=FloatVector.fromArray(S,ai,k);
+			FloatVector l = xr.abs().max(xi.abs());                                     //lazy absolute value
+			if(!l.compare(GE,LO).and(l.compare(LT,HI)).allTrue()) { super.absSplit(ar,ai,dst,k,k+L); continue; } //some square isn't safe: do this chunk the slow way
+			xr.mul(xr).add(xi.mul(xi)).sqrt().intoArray(dst,k);
+		}
+		super.absSplit(ar,ai,dst,k,to);
+	}
+
+////////////////////////////////////////////// INTERLEAVED LAYOUT /////////////////////////////////
+
+	//here, each vector holds L/2 complex numbers, so k steps through the floats (2 per complex number) and the leftovers are
+	//handed back in complex units (k>>1)
+
+	@Override
+	void addInter(float[] a, float[] b, float[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			FloatVector.fromArray(S,a,k).add(FloatVector.fromArray(S,b,k)).intoArray(d,k);
+		}
+		super.addInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void mulInter(float[] a, float[] b, float[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			FloatVector x=FloatVector.fromArray(S,a,k), y=FloatVector.fromArray(S,b,k);
+			FloatVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);            //{u,u,...}, {v,v,...}
+			x.mul(yr).add(x.rearrange(SWAP).mul(yi).mul(SIGN)).intoArray(d,k); //{xu-yv, yu+xv, ...}
+		}
+		super.mulInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void conjMulInter(float[] a, float[] b, float[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			FloatVector x=FloatVector.fromArray(S,a,k), y=FloatVector.fromArray(S,b,k);
+			FloatVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);
+			x.mul(yr).add(x.rearrange(SWAP).mul(yi).mul(SIGN.neg())).intoArray(d,k); //{xu+yv, yu-xv, ...}
+		}
+		super.conjMulInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void divInter(float[] a, float[] b, float[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			FloatVector y=FloatVector.fromArray(S,b,k);
+			FloatVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);
+			if(!safeDivisor(yr,yi)) { super.divInter(a,b,d,k>>1,(k+L)>>1); continue; } //some divisor needs double precision: do this chunk the slow way
+
+			FloatVector x=FloatVector.fromArray(S,a,k);
+			FloatVector inv = FloatVector.broadcast(S,1f).div(yr.mul(yr).add(yi.mul(yi))); //1/|b|²
+			FloatVector ir = yr.mul(inv), ii = yi.neg().mul(inv);                           //1/b = conj(b)/|b|²
+			x.mul(ir).add(x.rearrange(SWAP).mul(ii).mul(SIGN)).intoArray(d,k);               //multiply a by 1/b
+		}
+		super.divInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void fmaInter(float[] a, float[] b, float[] c, float[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			FloatVector x=FloatVector.fromArray(S,a,k), y=FloatVector.fromArray(S,b,k), z=FloatVector.fromArray(S,c,k);
+			FloatVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);
+			x.fma(yr, x.rearrange(SWAP).mul(SIGN).fma(yi,z)).intoArray(d,k); //{xu+(-yv+Re(c)), yu+(xv+Im(c)), ...}
+		}
+		super.fmaInter(a,b,c,d,k>>1,to);
+	}
+
+	@Override
+	void absqInter(float[] a, float[] dst, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			FloatVector x=FloatVector.fromArray(S,a,k);
+			FloatVector sq=x.mul(x);
+			sq.add(sq.rearrange(SWAP)).intoArray(dst,k>>1,HALF,0,EVEN_LANES); //{x²+y², y²+x², ...}, but only keep the even lanes
+		}
+		super.absqInter(a,dst,k>>1,to);
+	}
+
+////////////////////////////////////////////// HELPERS /////////////////////////////////
+
+	/**
+	 * Whether every divisor in these vectors can take the fast path: neither component is 0, and the lazy absolute value is within the
+	 * range where the <code>float</code> absolute square neither overflows nor underflows.  This also rules out infinities and NaNs.
+	 */
+	private static boolean safeDivisor(FloatVector yr, FloatVector yi) {
+		FloatVector l = yr.abs().max(yi.abs());                                  //lazy absolute value
+		return l.compare(GE,LO).and(l.compare(LT,HI)).and(yr.compare(NE,0)).and(yi.compare(NE,0)).allTrue();
+	}
+}
@@ -0,0 +1,210 @@
+package complexnumbers;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.NE;
+
+/**
+ * The vectorized backend for <code>ComplexKernels</code>, built on the Java Vector API (<code>jdk.incubator.vector</code>).
+ *
+ * <br><br>This class lives in its own source folder because it can only be compiled with <code>--add-modules jdk.incubator.vector</code>
+ * on Java 16 or later.  The rest of the library never refers to it by name: <code>ComplexKernels</code> loads it reflectively, and if the
+ * class or the module is missing, it quietly uses its own scalar loops instead.
+ *
+ * <br><br>Each kernel performs the same floating point operations, in the same order, as the scalar code it overrides, so the two backends
+ * agree bit for bit.  For division, a whole vector of divisors takes the fast path only if every divisor is safely inside the range where
+ * the absolute square neither overflows nor underflows (and neither component is 0).  Otherwise, that chunk is handed to the scalar code,
+ * which performs the same rescaling as <code>Complex.div</code>.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+class VectorKernels extends ComplexKernels {
+
+	private static final VectorSpecies<Double> S = DoubleVector.SPECIES_PREFERRED; //the widest vector shape the CPU supports
+	private static final int L = S.length();                                       //the number of lanes
+
+	private static final double LO = 1.4916681462400413E-154D, HI = 9.480751908109177E+153D; //the range where the absolute square is safe (same as Complex.inv)
+
+	//shuffles & constants for the interleaved layout: {re0, im0, re1, im1, ...}
+	private static final VectorShuffle<Double> SWAP = VectorShuffle.fromOp(S, i -> i^1);  //{im0, re0, im1, re1, ...}
+	private static final VectorShuffle<Double> EVEN = VectorShuffle.fromOp(S, i -> i&~1); //{re0, re0, re1, re1, ...}
+	private static final VectorShuffle<Double> ODD  = VectorShuffle.fromOp(S, i -> i|1);  //{im0, im0, im1, im1, ...}
+	private static final DoubleVector SIGN = DoubleVector.fromArray(S, alternate(L), 0);   //{-1, 1, -1, 1, ...}
+	private static final VectorMask<Double> EVEN_LANES = SIGN.compare(LT, 0);              //{true, false, true, false, ...}
+	private static final int[] HALF = half(L);                                              //{0, 0, 1, 1, 2, 2, ...}
+
+	VectorKernels() {
+		if(L<2) { throw new UnsupportedOperationException("Vectors must hold at least 2 doubles"); } //can't hold a whole complex number: let the loader fall back to scalar
+	}
+
+	private static double[] alternate(int n) { double[] arr = new double[n]; for(int k=0;k<n;k++) { arr[k] = (k&1)==0 ? -1 : 1; } return arr; }
+	private static int[]    half     (int n) { int[]    arr = new int[n];    for(int k=0;k<n;k++) { arr[k] = k>>1; }                  return arr; }
+
+////////////////////////////////////////////// SPLIT LAYOUT /////////////////////////////////
+
+	@Override
+	void addSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			DoubleVector xr=DoubleVector.fromArray(S,ar,k), xi=DoubleVector.fromArray(S,ai,k);
+			DoubleVector yr=DoubleVector.fromArray(S,br,k), yi=DoubleVector.fromArray(S,bi,k);
+			xr.add(yr).intoArray(dr,k); xi.add(yi).intoArray(di,k);
+		}
+		super.addSplit(ar,ai,br,bi,dr,di,k,to); //finish off whatever's left
+	}
+
+	@Override
+	void mulSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			DoubleVector xr=DoubleVector.fromArray(S,ar,k), xi=DoubleVector.fromArray(S,ai,k);
+			DoubleVector yr=DoubleVector.fromArray(S,br,k), yi=DoubleVector.fromArray(S,bi,k);
+			xr.mul(yr).sub(xi.mul(yi)).intoArray(dr,k); //xu-yv
+			xr.mul(yi).add(xi.mul(yr)).intoArray(di,k); //xv+yu
+		}
+		super.mulSplit(ar,ai,br,bi,dr,di,k,to);
+	}
+
+	@Override
+	void conjMulSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			DoubleVector xr=DoubleVector.fromArray(S,ar,k), xi=DoubleVector.fromArray(S,ai,k);
+			DoubleVector yr=DoubleVector.fromArray(S,br,k), yi=DoubleVector.fromArray(S,bi,k);
+			xr.mul(yr).add(xi.mul(yi)).intoArray(dr,k); //xu+yv
+			xi.mul(yr).sub(xr.mul(yi)).intoArray(di,k); //yu-xv
+		}
+		super.conjMulSplit(ar,ai,br,bi,dr,di,k,to);
+	}
+
+	@Override
+	void divSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			DoubleVector yr=DoubleVector.fromArray(S,br,k), yi=DoubleVector.fromArray(S,bi,k);
+			if(!safeDivisor(yr,yi)) { super.divSplit(ar,ai,br,bi,dr,di,k,k+L); continue; } //some divisor needs rescaling: do this chunk the slow way
+
+			DoubleVector xr=DoubleVector.fromArray(S,ar,k), xi=DoubleVector.fromArray(S,ai,k);
+			DoubleVector inv = DoubleVector.broadcast(S,1d).div(yr.mul(yr).add(yi.mul(yi))); //1/|b|²
+			DoubleVector ir = yr.mul(inv), ii = yi.neg().mul(inv);                            //1/b = conj(b)/|b|²
+			xr.mul(ir).sub(xi.mul(ii)).intoArray(dr,k); //multiply a by 1/b
+			xr.mul(ii).add(xi.mul(ir)).intoArray(di,k);
+		}
+		super.divSplit(ar,ai,br,bi,dr,di,k,to);
+	}
+
+	@Override
+	void fmaSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] cr, double[] ci, double[] dr, double[] di, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			DoubleVector xr=DoubleVector.fromArray(S,ar,k), xi=DoubleVector.fromArray(S,ai,k);
+			DoubleVector yr=DoubleVector.fromArray(S,br,k), yi=DoubleVector.fromArray(S,bi,k);
+			DoubleVector zr=DoubleVector.fromArray(S,cr,k), zi=DoubleVector.fromArray(S,ci,k);
+			xr.fma(yr, xi.neg().fma(yi,zr)).intoArray(dr,k); //xu-yv+Re(c)
+			xi.fma(yr, xr      .fma(yi,zi)).intoArray(di,k); //yu+xv+Im(c)
+		}
+		super.fmaSplit(ar,ai,br,bi,cr,ci,dr,di,k,to);
+	}
+
+	@Override
+	void absqSplit(double[] ar, double[] ai, double[] dst, int from, int to) {
+		int k=from, bound=from+S.loopBound(to-from);
+		for(;k<bound;k+=L) {
+			DoubleVector xr=DoubleVector.fromArray(S,ar,k), xi=DoubleVector.fromArray(S,ai,k);
+			xr.mul(xr).add(xi.mul(xi)).intoArray(dst,k);
+		}
+		super.absqSplit(ar,ai,dst,k,to);
+	}
+
+////////////////////////////////////////////// INTERLEAVED LAYOUT /////////////////////////////////
+
+	//here, each vector holds L/2 complex numbers, so k steps through the doubles (2 per complex number) and the leftovers are
+	//handed back in complex units (k>>1)
+
+	@Override
+	void addInter(double[] a, double[] b, double[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			DoubleVector.fromArray(S,a,k).add(DoubleVector.fromArray(S,b,k)).intoArray(d,k);
+		}
+		super.addInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void mulInter(double[] a, double[] b, double[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			DoubleVector x=DoubleVector.fromArray(S,a,k), y=DoubleVector.fromArray(S,b,k);
+			DoubleVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);           //{u,u,...}, {v,v,...}
+			x.mul(yr).add(x.rearrange(SWAP).mul(yi).mul(SIGN)).intoArray(d,k); //{xu-yv, yu+xv, ...}
+		}
+		super.mulInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void conjMulInter(double[] a, double[] b, double[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			DoubleVector x=DoubleVector.fromArray(S,a,k), y=DoubleVector.fromArray(S,b,k);
+			DoubleVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);
+			x.mul(yr).add(x.rearrange(SWAP).mul(yi).mul(SIGN.neg())).intoArray(d,k); //{xu+yv, yu-xv, ...}
+		}
+		super.conjMulInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void divInter(double[] a, double[] b, double[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			DoubleVector y=DoubleVector.fromArray(S,b,k);
+			DoubleVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);
+			if(!safeDivisor(yr,yi)) { super.divInter(a,b,d,k>>1,(k+L)>>1); continue; } //some divisor needs rescaling: do this chunk the slow way
+
+			DoubleVector x=DoubleVector.fromArray(S,a,k);
+			DoubleVector inv = DoubleVector.broadcast(S,1d).div(yr.mul(yr).add(yi.mul(yi))); //1/|b|²
+			DoubleVector ir = yr.mul(inv), ii = yi.neg().mul(inv);                            //1/b = conj(b)/|b|²
+			x.mul(ir).add(x.rearrange(SWAP).mul(ii).mul(SIGN)).intoArray(d,k);                //multiply a by 1/b
+		}
+		super.divInter(a,b,d,k>>1,to);
+	}
+
+	@Override
+	void fmaInter(double[] a, double[] b, double[] c, double[] d, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			DoubleVector x=DoubleVector.fromArray(S,a,k), y=DoubleVector.fromArray(S,b,k), z=DoubleVector.fromArray(S,c,k);
+			DoubleVector yr=y.rearrange(EVEN), yi=y.rearrange(ODD);
+			x.fma(yr, x.rearrange(SWAP).mul(SIGN).fma(yi,z)).intoArray(d,k); //{xu+(-yv+Re(c)), yu+(xv+Im(c)), ...}
+		}
+		super.fmaInter(a,b,c,d,k>>1,to);
+	}
+
+	@Override
+	void absqInter(double[] a, double[] dst, int from, int to) {
+		int k=from<<1, bound=k+S.loopBound((to-from)<<1);
+		for(;k<bound;k+=L) {
+			DoubleVector x=DoubleVector.fromArray(S,a,k);
+			DoubleVector sq=x.mul(x);
+			sq.add(sq.rearrange(SWAP)).intoArray(dst,k>>1,HALF,0,EVEN_LANES); //{x²+y², y²+x², ...}, but only keep the even lanes
+		}
+		super.absqInter(a,dst,k>>1,to);
+	}
+
+////////////////////////////////////////////// HELPERS /////////////////////////////////
+
+	/**
+	 * Whether every divisor in these vectors can take the fast path: neither component is 0, and the lazy absolute value is within the
+	 * range where the absolute square neither overflows nor underflows.  This also rules out infinities and NaNs.
+	 */
+	private static boolean safeDivisor(DoubleVector yr, DoubleVector yi) {
+		DoubleVector l = yr.abs().max(yi.abs());                                 //lazy absolute value
+		return l.compare(GE,LO).and(l.compare(LT,HI)).and(yr.compare(NE,0)).and(yi.compare(NE,0)).allTrue();
+	}
+}
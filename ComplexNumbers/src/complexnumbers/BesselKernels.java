@@ -0,0 +1,321 @@
+package complexnumbers;
+
+/**
+ * The Bessel functions J<sub>n</sub>, Y<sub>n</sub>, I<sub>n</sub> and K<sub>n</sub> of integer order and complex argument, evaluated on
+ * primitive (re, im) pairs without creating any objects.  Every evaluation computes every order from 0 up to the one you asked for, since
+ * that costs about as much as computing the highest order alone.
+ *
+ * <br><br>J comes from Miller's algorithm: the three term recurrence is run backwards from an order well past both n and |z|, where
+ * J<sub>n</sub> is negligible, and the result is normalized with e<sup>∓iz</sup> = J<sub>0</sub> + 2Σ(∓i)<sup>n</sup>J<sub>n</sub>
+ * (the sign is chosen so no terms cancel, and on the real axis it's 1 = J<sub>0</sub> + 2ΣJ<sub>2n</sub> instead).  The e<sup>|Im(z)|</sup>
+ * in that is multiplied in last, so only results that really are too big overflow (to a signed ∞).  Inside the unit circle, where each
+ * backward step would multiply by 2k/|z| and could overflow on its own, J comes from its power series instead.  The same backward pass also sums the Neumann series for Y<sub>0</sub> & Y<sub>1</sub>, and the
+ * other orders of Y follow by forward recurrence, which is stable for Y.  I is J rotated a quarter turn.  K<sub>0</sub> & K<sub>1</sub> come
+ * from their power series near 0 and from Steed's continued fraction elsewhere, and the other orders follow by forward recurrence.
+ *
+ * <br><br>Y & K are cut along the negative real axis, and points on the cut belong to the side above it.  Each multi-order evaluation leaves
+ * its results in the <code>ore</code> & <code>oim</code> buffers, and each single order evaluation leaves it in <code>re</code> &
+ * <code>im</code>, so each thread needs its own instance.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class BesselKernels extends Mafs {
+
+	static final int J=0, Y=1, I=2, K=3; //which function to compute
+
+	static final double RESCALE = 1e250, UNSCALE = 1e-250; //the backward recurrence is scaled down whenever it gets this big
+	static final double EPS = 1e-17;       //the tolerance for the power series & continued fraction
+	static final int MAX_ITERATIONS = 100000; //(the continued fraction needs ~ 1/|z| terms near the imaginary axis, far fewer anywhere else)
+
+	/** The result of the last single order evaluation */
+	double re, im;
+	/** Orders 0 through n of the last multi-order evaluation (they grow whenever they need to) */
+	double[] ore = new double[16], oim = new double[16];
+	private double[] jre = new double[16], jim = new double[16]; //J, while K is being computed for Y
+	static final double HY = 1; //past this distance from the real axis, Y comes from the Hankel functions instead
+	static final double SERIES = 1; //inside this radius, J comes from its power series instead of Miller's algorithm
+
+	/** f<sub>n</sub>(x+yi), where f is J, Y, I or K (Y & K are -∞ at 0, and the negative orders follow from the positive ones) */
+	void order(int func, int n, double x, double y) {
+		final int m=Math.abs(n);
+		orders(func,m,x,y);
+		re=ore[m]; im=oim[m];
+		if(n<0 && (m&1)==1 && (func==J || func==Y)) { re=-re; im=-im; } //J_-n = (-1)ⁿJ_n, and the same for Y (I & K are even in n)
+	}
+
+	/** f<sub>0</sub>(x+yi) through f<sub>n</sub>(x+yi), in <code>ore</code> & <code>oim</code> */
+	void orders(int func, int n, double x, double y) {
+		if(n+2>ore.length) { ore=new double[Math.max(n+2,2*ore.length)]; oim=new double[ore.length]; }
+		if(y==0) { y=0; } //turns -0 into +0: points on a cut belong to the upper side
+		if(x!=x || y!=y) { for(int k=0;k<=n;k++) { ore[k]=oim[k]=Double.NaN; } return; }
+		if(x==0 && y==0) { //J_0 & I_0 are 1, every other J & I is 0, and every Y & K is infinite
+			for(int k=0;k<=n;k++) { ore[k]=func==Y ? -INF : func==K ? INF : k==0 ? 1 : 0; oim[k]=0; }
+			return;
+		}
+		switch(func) {
+			case J: miller(n,x,y,false); break;
+			case Y: besselY(n,x,y); break;
+			case I: besselI(n,x,y); break;
+			default: besselK(n,x,y);
+		}
+	}
+
+	//////////////////// J & Y ////////////////////
+
+	private double t0r, t0i, t1r, t1i; //the Neumann sums Σ(-1)ᵏJ_2k/k and Σ(-1)ᵏ(2k+1)J_2k+1/(k(k+1)), from the last backward pass
+	private double zr, zi, mod, lmod;  //1/z, |z| and ln|z|, from the last call to invert
+
+	/** Finds 1/z, |z| and ln|z| without squaring z first (so they neither overflow nor underflow unless the answer does) */
+	private void invert(final double x, final double y) {
+		final double a=Math.max(Math.abs(x),Math.abs(y)), xs=x/a, ys=y/a, q=xs*xs+ys*ys, d=1/(a*q);
+		zr=xs*d; zi=-ys*d; mod=a*Math.sqrt(q); lmod=Math.log(a)+0.5*Math.log(q);
+	}
+
+	/** Multiplies by e, twice (e is e<sup>|Im(z)|/2</sup>), leaving 0s alone so an infinite e can't turn them into NaN */
+	private static double grow(final double v, final double e) { return v==0 ? v : v*e*e; }
+
+	/** Adds f<sub>k</sub> (proportional to J<sub>k</sub>) to the Neumann sums */
+	private void neumann(final int k, final double fr, final double fi) {
+		final int h=k>>1;
+		if((k&1)==0) { final double c=((h&1)==0 ? 1.0 : -1.0)/h;          t0r+=c*fr; t0i+=c*fi; }
+		else if(k>=3) { final double c=((h&1)==0 ? 1.0 : -1.0)*k/(h*(h+1.0)); t1r+=c*fr; t1i+=c*fi; }
+	}
+
+	/** J<sub>0</sub> through J<sub>n</sub> by Miller's algorithm, or by the power series inside the unit circle (plus the Neumann sums for Y, if asked) */
+	private void miller(final int n, final double x, final double y, final boolean neumann) {
+		invert(x,y);
+		if(mod<SERIES) { ascending(n,x,y,neumann); return; }
+		final double zr=this.zr, zi=this.zi; //1/z
+		final int top=Math.max(n,(int)mod)+1;
+		int m=top+16+(int)Math.sqrt(40*top); m+=m&1; //where to start: J_m is negligible by then
+
+		final double s=y>=0 ? -1 : 1; //we normalize with e^(siz) = J_0 + 2Σ(si)ᵏJ_k, choosing s so it's the larger one
+		double fr=1, fi=0, gr=0, gi=0; //f_k and f_k+1, which are proportional to J_k and J_k+1
+		double nr=0, ni=0;             //the normalization sum
+		t0r=t0i=t1r=t1i=0;
+		for(int k=m;k>=0;k--) {
+			if(k<=n) { ore[k]=fr; oim[k]=fi; }
+			if(y==0) { if((k&1)==0) { nr+=fr; ni+=fi; } } //on the real axis, 1 = J_0 + 2ΣJ_2k (so everything stays real)
+			else switch(k&3) { //add (si)ᵏf_k
+				case 0: nr+=fr; ni+=fi; break;
+				case 1: nr-=s*fi; ni+=s*fr; break;
+				case 2: nr-=fr; ni-=fi; break;
+				default: nr+=s*fi; ni-=s*fr;
+			}
+			if(neumann && k>=2) { neumann(k,fr,fi); }
+			if(k==0) { break; }
+			final double wr=2*k*zr, wi=2*k*zi;                       //2k/z
+			final double pr=wr*fr-wi*fi-gr, pi=wr*fi+wi*fr-gi;        //f_k-1 = (2k/z)f_k - f_k+1
+			gr=fr; gi=fi; fr=pr; fi=pi;
+			if(Math.abs(fr)+Math.abs(fi)>RESCALE) { //scale everything down, so nothing overflows
+				fr*=UNSCALE; fi*=UNSCALE; gr*=UNSCALE; gi*=UNSCALE; nr*=UNSCALE; ni*=UNSCALE;
+				t0r*=UNSCALE; t0i*=UNSCALE; t1r*=UNSCALE; t1i*=UNSCALE;
+				for(int j=k;j<=n;j++) { ore[j]*=UNSCALE; oim[j]*=UNSCALE; }
+			}
+		}
+		nr=2*nr-fr; ni=2*ni-fi; //every term but k=0 counts twice
+
+		final double er=y==0 ? 1 : Math.cos(x), ei=y==0 ? 0 : s*Math.sin(x);         //e^(siz) = e^|y| e^(six), without the e^|y| (or 1)
+		final double sc=1/Math.max(Math.abs(nr),Math.abs(ni)); nr*=sc; ni*=sc;      //(so the sum can be squared)
+		final double d=sc/(nr*nr+ni*ni), cr=(er*nr+ei*ni)*d, ci=(ei*nr-er*ni)*d;   //the normalization factor, e^(six)/sum
+		final double e=Math.exp(0.5*Math.abs(y));                                   //and then e^|y|, in two halves (so values just short of overflow survive)
+		for(int k=0;k<=n;k++) { final double t=ore[k]*cr-oim[k]*ci; oim[k]=grow(ore[k]*ci+oim[k]*cr,e); ore[k]=grow(t,e); }
+		if(neumann) {
+			double t=t0r*cr-t0i*ci; t0i=grow(t0r*ci+t0i*cr,e); t0r=grow(t,e);
+			t=t1r*cr-t1i*ci; t1i=grow(t1r*ci+t1i*cr,e); t1r=grow(t,e);
+		}
+	}
+
+	/** J<sub>0</sub> through J<sub>n</sub> from J<sub>k</sub> = (z/2)ᵏ/k! Σ(-z²/4)ʲ/(j!(k+1)(k+2)...(k+j)), for |z|&lt;1 (plus the Neumann sums for Y, if asked) */
+	private void ascending(final int n, final double x, final double y, final boolean neumann) {
+		final double tr=0.25*(y*y-x*x), ti=-0.5*x*y; //-z²/4
+		final double hr=0.5*x, hi=0.5*y;              //z/2
+		final int last=neumann ? Math.max(n,1) : n;   //(the Neumann sums keep going until the orders are negligible)
+		double pr=1, pi=0;                            //(z/2)ᵏ/k!
+		t0r=t0i=t1r=t1i=0;
+		for(int k=0;;k++) {
+			if(pr==0 && pi==0) { for(int j=k;j<=n;j++) { ore[j]=oim[j]=0; } break; } //every order from here on underflows
+			double sr=1, si=0, ur=1, ui=0; //the series, and its terms (|z/2|²<1/4, so the sum stays near 1)
+			for(int j=1;j<100;j++) {
+				final double c=1/(j*(k+(double)j)), vr=(ur*tr-ui*ti)*c; ui=(ur*ti+ui*tr)*c; ur=vr;
+				sr+=ur; si+=ui;
+				if(Math.abs(ur)+Math.abs(ui)<EPS) { break; }
+			}
+			final double jr=pr*sr-pi*si, ji=pr*si+pi*sr;
+			if(k<=n) { ore[k]=jr; oim[k]=ji; }
+			if(neumann && k>=2) { neumann(k,jr,ji); }
+			if(k>=last && (!neumann || Math.abs(pr)+Math.abs(pi)<EPS*EPS)) { break; }
+			final double q=1.0/(k+1), vr=(pr*hr-pi*hi)*q; pi=(pr*hi+pi*hr)*q; pr=vr; //(z/2)ᵏ⁺¹/(k+1)!
+		}
+	}
+
+	/** Y<sub>0</sub> through Y<sub>n</sub>: Y<sub>0</sub> & Y<sub>1</sub> from the Neumann series, then forward recurrence */
+	private void besselY(final int n, final double x, final double y) {
+		if(Math.abs(y)>HY) { hankelY(n,x,y); return; }
+		miller(Math.max(n,1),x,y,true);
+		final double zr=this.zr, zi=this.zi;                          //1/z
+		final double lr=lmod-LOG2+GAMMA, li=Math.atan2(y,x);           //ln(z/2)+γ
+		final double j0r=ore[0], j0i=oim[0], j1r=ore[1], j1i=oim[1];
+		final double c=2/Math.PI;
+		//Y_0 = 2/π((ln(z/2)+γ)J_0 - 2Σ(-1)ᵏJ_2k/k), Y_1 = 2/π((ln(z/2)+γ-1)J_1 - J_0/z - Σ(-1)ᵏ(2k+1)J_2k+1/(k(k+1)))
+		double ar=c*(lr*j0r-li*j0i-2*t0r), ai=c*(lr*j0i+li*j0r-2*t0i);
+		double br=c*((lr-1)*j1r-li*j1i-(j0r*zr-j0i*zi)-t1r), bi=c*((lr-1)*j1i+li*j1r-(j0r*zi+j0i*zr)-t1i);
+		ore[0]=ar; oim[0]=ai; ore[1]=br; oim[1]=bi;
+		for(int k=1;k<n;k++) { //Y_k+1 = (2k/z)Y_k - Y_k-1
+			final double wr=2*k*zr, wi=2*k*zi;
+			final double pr=wr*br-wi*bi-ar, pi=wr*bi+wi*br-ai;
+			ar=br; ai=bi; br=pr; bi=pi;
+			ore[k+1]=br; oim[k+1]=bi;
+		}
+	}
+
+	/**
+	 * Y<sub>0</sub> through Y<sub>n</sub> far from the real axis, where Y ≈ ±iJ and the forward recurrence would drown the rest of Y in J's
+	 * rounding errors.  Instead, Y = i(J-H<sup>(1)</sup>) = i(H<sup>(2)</sup>-J), and the Hankel functions are K in disguise.
+	 */
+	private void hankelY(final int n, final double x, final double y) {
+		miller(n,x,y,false);
+		if(jre.length<ore.length) { jre=new double[ore.length]; jim=new double[ore.length]; }
+		System.arraycopy(ore,0,jre,0,n+1); System.arraycopy(oim,0,jim,0,n+1);
+		final double c=2/Math.PI;
+		if(y>0) { //H⁽¹⁾_k(z) = 2/π i^-(k+1) K_k(-iz)
+			besselK(n,y,-x);
+			for(int k=0;k<=n;k++) {
+				final double kr=c*ore[k], ki=c*oim[k], hr, hi;
+				switch(k&3) { case 0: hr=ki; hi=-kr; break; case 1: hr=-kr; hi=-ki; break; case 2: hr=-ki; hi=kr; break; default: hr=kr; hi=ki; }
+				ore[k]=hi-jim[k]; oim[k]=jre[k]-hr; //i(J-H)
+			}
+		}
+		else { //H⁽²⁾_k(z) = -2/π i^(k-1) K_k(iz) = 2/π i^(k+1) K_k(iz)
+			besselK(n,-y,x);
+			for(int k=0;k<=n;k++) {
+				final double kr=c*ore[k], ki=c*oim[k], hr, hi;
+				switch(k&3) { case 0: hr=-ki; hi=kr; break; case 1: hr=-kr; hi=-ki; break; case 2: hr=ki; hi=-kr; break; default: hr=kr; hi=ki; }
+				ore[k]=jim[k]-hi; oim[k]=hr-jre[k]; //i(H-J)
+			}
+		}
+	}
+
+	//////////////////// I & K ////////////////////
+
+	/** I<sub>0</sub> through I<sub>n</sub>, from I<sub>k</sub>(z) = (-i)ᵏJ<sub>k</sub>(iz) */
+	private void besselI(final int n, final double x, final double y) {
+		miller(n,-y,x,false);
+		for(int k=1;k<=n;k++) { //rotate by (-i)ᵏ
+			final double r=ore[k], i=oim[k];
+			switch(k&3) {
+				case 1: ore[k]=i; oim[k]=-r; break;
+				case 2: ore[k]=-r; oim[k]=-i; break;
+				case 3: ore[k]=-i; oim[k]=r; break;
+				default:
+			}
+		}
+	}
+
+	private double k0r, k0i, k1r, k1i; //K_0 & K_1 (multiplied by e^z, when they come from the continued fraction)
+	private boolean scaled;             //whether they were multiplied by e^z
+
+	/** K<sub>0</sub> through K<sub>n</sub>, by forward recurrence (reflecting the left half plane onto the right) */
+	private void besselK(final int n, final double x, final double y) {
+		if(x<0) { //K_k(z) = (-1)ᵏK_k(-z) ∓ πiI_k(-z), the sign being the same as Im(z)'s
+			besselI(n,-x,-y);
+			k01(-x,-y);
+			final double zr=this.zr, zi=this.zi;        //1/(-z)
+			double ar=k0r, ai=k0i, br=k1r, bi=k1i, er=1, ei=0;
+			if(scaled) { final double e=Math.exp(x); er=e*Math.cos(y); ei=e*Math.sin(y); } //e^-(-z) = e^z
+			final double sign=Math.PI; //πi times I is subtracted above the real axis (and on it), added below it
+			for(int k=0;k<=n;k++) {
+				final double kr=ar*er-ai*ei, ki=ar*ei+ai*er;      //K_k(-z)
+				final double ir=ore[k], ii=oim[k];
+				final double pr=(k&1)==0 ? kr : -kr, pi=(k&1)==0 ? ki : -ki;
+				if(y>=0) { ore[k]=pr+sign*ii; oim[k]=pi-sign*ir; }
+				else     { ore[k]=pr-sign*ii; oim[k]=pi+sign*ir; }
+				final double wr=2*(k+1)*zr, wi=2*(k+1)*zi;          //K_k+2 = K_k + (2(k+1)/z)K_k+1
+				final double qr=ar+wr*br-wi*bi, qi=ai+wr*bi+wi*br;
+				ar=br; ai=bi; br=qr; bi=qi;
+			}
+			return;
+		}
+
+		k01(x,y);
+		final double zr=this.zr, zi=this.zi;        //1/z
+		double ar=k0r, ai=k0i, br=k1r, bi=k1i;
+		ore[0]=ar; oim[0]=ai;
+		if(n>=1) { ore[1]=br; oim[1]=bi; }
+		for(int k=1;k<n;k++) { //K_k+1 = K_k-1 + (2k/z)K_k
+			final double wr=2*k*zr, wi=2*k*zi;
+			final double qr=ar+wr*br-wi*bi, qi=ai+wr*bi+wi*br;
+			ar=br; ai=bi; br=qr; bi=qi;
+			ore[k+1]=br; oim[k+1]=bi;
+		}
+		if(scaled) { //multiply everything by e^-z
+			final double e=Math.exp(-x), er=e*Math.cos(y), ei=-e*Math.sin(y);
+			for(int k=0;k<=n;k++) { final double t=ore[k]*er-oim[k]*ei; oim[k]=ore[k]*ei+oim[k]*er; ore[k]=t; }
+		}
+	}
+
+	/** K<sub>0</sub> & K<sub>1</sub>, for Re(z)≥0: the power series if |z|≤2, Steed's continued fraction (scaled by e^z) otherwise */
+	private void k01(final double x, final double y) {
+		invert(x,y);
+		if(mod<=2) { //K_0 = -(ln(z/2)+γ)I_0 + ΣH_k tᵏ/k!², K_1 = 1/z + ln(z/2)I_1 - z/4 Σ(ψ(k+1)+ψ(k+2))tᵏ/(k!(k+1)!), where t = z²/4
+			scaled=false;
+			final double tr=0.25*(x*x-y*y), ti=0.5*x*y;
+			double pr=1, pi=0;          //tᵏ/k!²
+			double i0r=0, i0i=0, i1r=0, i1i=0, s0r=0, s0i=0, s1r=0, s1i=0;
+			double h=0;                 //the harmonic number H_k
+			for(int k=0;k<100;k++) {
+				final double q=1.0/(k+1);   //tᵏ/(k!(k+1)!) = tᵏ/k!² / (k+1)
+				final double psi=2*h+q-2*GAMMA; //ψ(k+1)+ψ(k+2) = 2H_k + 1/(k+1) - 2γ
+				i0r+=pr; i0i+=pi; i1r+=q*pr; i1i+=q*pi;
+				s0r+=h*pr; s0i+=h*pi; s1r+=psi*q*pr; s1i+=psi*q*pi;
+				if(Math.abs(pr)+Math.abs(pi)<EPS*(Math.abs(i0r)+Math.abs(i0i))) { break; }
+				h+=q;
+				final double c=q*q, nr=(pr*tr-pi*ti)*c; pi=(pr*ti+pi*tr)*c; pr=nr; //tᵏ⁺¹/(k+1)!²
+			}
+			final double lr=lmod-LOG2, li=Math.atan2(y,x);              //ln(z/2)
+			final double hr=0.5*x, hi=0.5*y;                            //z/2
+			final double ar=hr*i1r-hi*i1i, ai=hr*i1i+hi*i1r;            //I_1 = (z/2)Σtᵏ/(k!(k+1)!)
+			k0r=-((lr+GAMMA)*i0r-li*i0i)+s0r; k0i=-((lr+GAMMA)*i0i+li*i0r)+s0i;
+			k1r=zr+(lr*ar-li*ai)-0.5*(hr*s1r-hi*s1i); k1i=zi+(lr*ai+li*ar)-0.5*(hr*s1i+hi*s1r);
+			return;
+		}
+
+		//Steed's algorithm for the continued fraction CF2 (Temme), at order 0
+		scaled=true;
+		double br=2*(1+x), bi=2*y;                            //b
+		double d=1/(br*br+bi*bi), dr=br*d, di=-bi*d;          //d = 1/b
+		double hr=dr, hi=di, delr=dr, deli=di;                //h, Δh
+		double q1r=0, q1i=0, q2r=1, q2i=0;
+		final double a1=0.25;
+		double qr=a1, qi=0, c=a1, a=-a1;
+		double sr=1+qr*delr, si=qr*deli;                      //s
+		for(int i=1;i<MAX_ITERATIONS;i++) {
+			a-=2*i;
+			c=-a*c/(i+1.0);
+			final double nr=(q1r-(br*q2r-bi*q2i))/a, ni=(q1i-(br*q2i+bi*q2r))/a; //(q1-bq2)/a
+			q1r=q2r; q1i=q2i; q2r=nr; q2i=ni;
+			qr+=c*nr; qi+=c*ni;
+			br+=2;
+			final double er=br+a*dr, ei=bi+a*di;                //d = 1/(b+ad)
+			d=1/(er*er+ei*ei); dr=er*d; di=-ei*d;
+			final double fr=br*dr-bi*di-1, fi=br*di+bi*dr;      //Δh *= bd-1
+			final double t=delr*fr-deli*fi; deli=delr*fi+deli*fr; delr=t;
+			hr+=delr; hi+=deli;
+			final double gr=qr*delr-qi*deli, gi=qr*deli+qi*delr; //Δs = qΔh
+			sr+=gr; si+=gi;
+			if(Math.abs(gr)+Math.abs(gi)<EPS*(Math.abs(sr)+Math.abs(si))) { break; }
+		}
+		hr*=a1; hi*=a1;
+
+		final double pr=Math.sqrt(0.5*(mod+x)), pi=0.5*y/pr;                //√z (Re(z)≥0, so this is safe)
+		final double u=Math.sqrt(0.5*Math.PI)/(pr*pr+pi*pi);                  //√(π/2)/√z = √(π/2)conj(√z)/|z|
+		final double vr=u*pr, vi=-u*pi;
+		d=1/(sr*sr+si*si);
+		k0r=(vr*sr+vi*si)*d; k0i=(vi*sr-vr*si)*d;                             //K_0 e^z = √(π/(2z))/s
+		final double wr=x+0.5-hr, wi=y-hi;                                    //K_1 = K_0(z+1/2-h)/z
+		final double tr=k0r*wr-k0i*wi, ti=k0r*wi+k0i*wr;
+		k1r=tr*zr-ti*zi; k1i=tr*zi+ti*zr;
+	}
+}
@@ -0,0 +1,534 @@
+package complexnumbers;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * An immutable complex number in arbitrary precision, with <code>BigDecimal</code> parts.
+ *
+ * <br><br>This is for when even <code>ComplexDD</code>'s 32 digits aren't enough: certifying a root, checking a table of special function
+ * values, or measuring how accurate the <code>double</code> functions really are.  It works like <code>BigDecimal</code>: addition,
+ * subtraction and multiplication can be exact, and everything else takes a <code>MathContext</code> which says how many digits you want.
+ * Every function with a <code>MathContext</code> is accurate to within an ulp or so of that precision (it works with a few guard digits,
+ * then rounds once at the end).  Transcendental functions need a limited precision, and, like <code>BigDecimal</code>, anything that has
+ * no value (division by 0, the logarithm of 0, the gamma function at a pole) throws an <code>ArithmeticException</code>.
+ *
+ * <br><br>The constants everything is built on (π, ln(2), ln(π), √(π)/2, and the Bernoulli numbers) are computed once, at the highest
+ * precision anyone has asked for, and cached, so asking for them again (or at a lower precision) costs next to nothing.  The elementary
+ * functions reduce their arguments and sum short series, except log & arg, which take Newton steps from the <code>double</code> answer
+ * while doubling the precision, so they cost about as much as two exps.  The gamma functions use the Stirling series, after shifting the
+ * input far enough to the right (with the recurrence) that the series converges to the precision you asked for.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public final class BigComplex {
+
+//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
+
+	/** The real part. */
+	public final BigDecimal re;
+	/** The imaginary part. */
+	public final BigDecimal im;
+
+//////////////////////////////////////////////// CONSTANTS /////////////////////////////////////////
+
+	/** 0+0i */ public static final BigComplex ZERO = new BigComplex(BigDecimal.ZERO, BigDecimal.ZERO);
+	/** 1+0i */ public static final BigComplex ONE  = new BigComplex(BigDecimal.ONE,  BigDecimal.ZERO);
+	/** 0+1i */ public static final BigComplex I    = new BigComplex(BigDecimal.ZERO, BigDecimal.ONE);
+
+/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
+
+	/**
+	 * Constructs x+yi
+	 * @param re the real part
+	 * @param im the imaginary part
+	 */
+	public BigComplex(BigDecimal re, BigDecimal im) { this.re=re; this.im=im; }
+
+	/**
+	 * Constructs a real number
+	 * @param re the real part
+	 */
+	public BigComplex(BigDecimal re) { this(re,BigDecimal.ZERO); }
+
+	/**
+	 * x+yi, exactly (every double is a finite decimal)
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static BigComplex valueOf(double x, double y) { return new BigComplex(new BigDecimal(x),new BigDecimal(y)); }
+	/**
+	 * The integer n
+	 * @param n the integer
+	 * @return n+0i
+	 */
+	public static BigComplex valueOf(long n) { return new BigComplex(BigDecimal.valueOf(n)); }
+	/**
+	 * x+yi, where x & y are written out as decimal strings (such as "0.1" or "-2.5e-40"), exactly
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static BigComplex valueOf(String x, String y) { return new BigComplex(new BigDecimal(x),new BigDecimal(y)); }
+	/**
+	 * The value of a <code>Complex</code>, at the time this is called, exactly
+	 * @param z the complex number
+	 * @return z, as a <code>BigComplex</code>
+	 */
+	public static BigComplex valueOf(Complex z) { return valueOf(z.re,z.im); }
+	/**
+	 * The value of a <code>ComplexValue</code>, exactly
+	 * @param z the complex number
+	 * @return z, as a <code>BigComplex</code>
+	 */
+	public static BigComplex valueOf(ComplexValue z) { return valueOf(z.re,z.im); }
+	/**
+	 * The value of a <code>ComplexDD</code>, exactly
+	 * @param z the complex number
+	 * @return z, as a <code>BigComplex</code>
+	 */
+	public static BigComplex valueOf(ComplexDD z) { return new BigComplex(z.reBig(),z.imBig()); }
+
+	/**
+	 * Rounds to a (mutable) <code>Complex</code>
+	 * @return the nearest <code>Complex</code>
+	 */
+	public Complex toComplex() { return new Complex(re.doubleValue(),im.doubleValue()); }
+	/**
+	 * Rounds to a <code>ComplexValue</code>
+	 * @return the nearest <code>ComplexValue</code>
+	 */
+	public ComplexValue toValue() { return new ComplexValue(re.doubleValue(),im.doubleValue()); }
+	/**
+	 * Rounds to a <code>ComplexDD</code>
+	 * @return the nearest <code>ComplexDD</code>
+	 */
+	public ComplexDD toDD() { return ComplexDD.valueOf(re,im); }
+
+	/**
+	 * Rounds both parts to a given precision
+	 * @param mc the precision & rounding mode
+	 * @return this, rounded
+	 */
+	public BigComplex round(MathContext mc) { return new BigComplex(re.round(mc),im.round(mc)); }
+
+//////////////////////////////////////////////// ACCESSORS & CLASSIFICATION /////////////////////////////////////////
+
+	/** Gets the real part.
+	 * @return real part */
+	public BigDecimal re() { return re; }
+	/** Gets the imaginary part.
+	 * @return imaginary part */
+	public BigDecimal im() { return im; }
+
+	/** Returns whether the input is real.
+	 * @return whether the number is real*/
+	public boolean isReal() { return im.signum()==0; }
+	/** Returns whether the input is imaginary.
+	 * @return whether the number is imaginary*/
+	public boolean isImag() { return re.signum()==0; }
+	/** Returns whether the input is an integer.
+	 * @return whether the number is an integer*/
+	public boolean isInt() { return im.signum()==0 && (re.signum()==0 || re.stripTrailingZeros().scale()<=0); }
+
+//////////////////////////////////////////////// EQUALITY & STRINGS /////////////////////////////////////////
+
+	/** Returns true if the object is a <code>BigComplex</code> with the same value.  Unlike <code>BigDecimal</code>, the scale doesn't
+	 * matter: 2.0 equals 2.00.
+	 * @return true if they equal*/
+	@Override
+	public boolean equals(final Object o) {
+		if(o instanceof BigComplex) {
+			BigComplex z = (BigComplex)o;
+			return re.compareTo(z.re)==0 && im.compareTo(z.im)==0;
+		}
+		return false;
+	}
+
+	/** Computes the hash code.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() { return 31*re.stripTrailingZeros().hashCode() + im.stripTrailingZeros().hashCode(); }
+
+	/** Casts to a <code>String</code>, with every digit.
+	 * @return this as a string */
+	@Override
+	public String toString() {
+		final String x=re.stripTrailingZeros().toString(), y=im.stripTrailingZeros().toString();
+		if(im.signum()==0) { return x; }
+		final String i=y.equals("1") ? "i" : y.equals("-1") ? "-i" : y+"i";
+		if(re.signum()==0) { return i; }
+		return x+(im.signum()>0 ? "+" : "")+i;
+	}
+	/** Casts to a <code>String</code> with a specific number of significant digits per part.
+	 * @param dig the number of digits
+	 * @return this as a string */
+	public String toString(int dig) { return round(new MathContext(dig)).toString(); }
+
+//////////////////////////////////////////////// BASIC ARITHMETIC /////////////////////////////////////////
+
+	/** Sum, exactly
+	 * @param a addend
+	 * @return this+a */
+	public BigComplex add(BigComplex a) { return new BigComplex(re.add(a.re),im.add(a.im)); }
+	/** Sum, rounded
+	 * @param a addend
+	 * @param mc the precision
+	 * @return this+a */
+	public BigComplex add(BigComplex a, MathContext mc) { return new BigComplex(re.add(a.re,mc),im.add(a.im,mc)); }
+	/** Sum, exactly
+	 * @param a real addend
+	 * @return this+a */
+	public BigComplex add(BigDecimal a) { return new BigComplex(re.add(a),im); }
+
+	/** Difference, exactly
+	 * @param a subtrahend
+	 * @return this-a */
+	public BigComplex sub(BigComplex a) { return new BigComplex(re.subtract(a.re),im.subtract(a.im)); }
+	/** Difference, rounded
+	 * @param a subtrahend
+	 * @param mc the precision
+	 * @return this-a */
+	public BigComplex sub(BigComplex a, MathContext mc) { return new BigComplex(re.subtract(a.re,mc),im.subtract(a.im,mc)); }
+	/** Difference, exactly
+	 * @param a real subtrahend
+	 * @return this-a */
+	public BigComplex sub(BigDecimal a) { return new BigComplex(re.subtract(a),im); }
+
+	/** Product, exactly
+	 * @param a multiplier
+	 * @return this*a */
+	public BigComplex mul(BigComplex a) { return new BigComplex(re.multiply(a.re).subtract(im.multiply(a.im)),re.multiply(a.im).add(im.multiply(a.re))); }
+	/** Product, rounded (each part is rounded once, after the exact products are summed)
+	 * @param a multiplier
+	 * @param mc the precision
+	 * @return this*a */
+	public BigComplex mul(BigComplex a, MathContext mc) {
+		return new BigComplex(re.multiply(a.re).subtract(im.multiply(a.im),mc),re.multiply(a.im).add(im.multiply(a.re),mc));
+	}
+	/** Product, exactly
+	 * @param a real multiplier
+	 * @return this*a */
+	public BigComplex mul(BigDecimal a) { return new BigComplex(re.multiply(a),im.multiply(a)); }
+	/** Product, rounded
+	 * @param a real multiplier
+	 * @param mc the precision
+	 * @return this*a */
+	public BigComplex mul(BigDecimal a, MathContext mc) { return new BigComplex(re.multiply(a,mc),im.multiply(a,mc)); }
+
+	/** Quotient.  Throws an <code>ArithmeticException</code> if a is 0.
+	 * @param a divisor
+	 * @param mc the precision
+	 * @return this/a */
+	public BigComplex div(BigComplex a, MathContext mc) {
+		if(a.im.signum()==0) { return div(a.re,mc); }
+		final BigDecimal d = a.absq();                                          //|a|², exactly
+		final BigDecimal x = re.multiply(a.re).add(im.multiply(a.im)), y = im.multiply(a.re).subtract(re.multiply(a.im)); //this·conj(a), exactly
+		if(mc.getPrecision()==0) { return new BigComplex(x.divide(d),y.divide(d)); } //exact, or an ArithmeticException if it doesn't terminate (like BigDecimal)
+		return new BigComplex(x.divide(d,mc),y.divide(d,mc));
+	}
+	/** Quotient.  Throws an <code>ArithmeticException</code> if a is 0.
+	 * @param a real divisor
+	 * @param mc the precision
+	 * @return this/a */
+	public BigComplex div(BigDecimal a, MathContext mc) { return new BigComplex(re.divide(a,mc),im.divide(a,mc)); }
+
+	/** Reciprocal.  Throws an <code>ArithmeticException</code> if this is 0.
+	 * @param mc the precision
+	 * @return 1/this */
+	public BigComplex inv(MathContext mc) { return ONE.div(this,mc); }
+	/** Square, exactly
+	 * @return this² */
+	public BigComplex sq() { return new BigComplex(re.add(im).multiply(re.subtract(im)),re.multiply(im).multiply(BigKernels.TWO)); }
+
+	/** Negation
+	 * @return -this */
+	public BigComplex neg () { return new BigComplex(re.negate(),im.negate()); }
+	/** Complex conjugate
+	 * @return conj(this) */
+	public BigComplex conj() { return new BigComplex(re,im.negate()); }
+	/** Multiply by i
+	 * @return this*i */
+	public BigComplex mulI() { return new BigComplex(im.negate(),re); }
+	/** Divide by i
+	 * @return this/i */
+	public BigComplex divI() { return new BigComplex(im,re.negate()); }
+
+//////////////////////////////////////////////// COMPLEX PARTS /////////////////////////////////////////
+
+	/** Absolute square, re²+im², exactly
+	 * @return absolute square */
+	public BigDecimal absq() { return re.multiply(re).add(im.multiply(im)); }
+	/** Absolute value
+	 * @param mc the precision
+	 * @return absolute value */
+	public BigDecimal abs(MathContext mc) {
+		if(im.signum()==0) { return re.abs(mc); }
+		if(re.signum()==0) { return im.abs(mc); }
+		return absq().sqrt(mc);
+	}
+	/** Argument (angle), measured counterclockwise from the positive real axis, in (-π,π].  The argument of 0 is 0.
+	 * @param mc the precision
+	 * @return the argument */
+	public BigDecimal arg(MathContext mc) { return BigKernels.atan2(im,re,BigKernels.digits(mc)).round(mc); }
+
+/////////////////////////////////////////////// POWERS, EXPONENTS & LOGARITHMS /////////////////////////////////////////////
+
+	/** Principal square root
+	 * @param mc the precision
+	 * @return √this */
+	public BigComplex sqrt(MathContext mc) {
+		final MathContext w = BigKernels.work(BigKernels.digits(mc));
+		if(im.signum()==0) {
+			if(re.signum()>=0) { return new BigComplex(re.sqrt(mc)); }
+			return new BigComplex(BigDecimal.ZERO,re.negate().sqrt(mc));
+		}
+		final BigDecimal r = absq().sqrt(w);
+		if(re.signum()>=0) {                                                  //t = √((|z|+x)/2), √z = t + iy/(2t)
+			final BigDecimal t = r.add(re).multiply(BigKernels.HALF).sqrt(w);
+			return new BigComplex(t.round(mc),im.divide(t.multiply(BigKernels.TWO),mc));
+		}
+		final BigDecimal t = r.subtract(re).multiply(BigKernels.HALF).sqrt(w); //t = √((|z|-x)/2), √z = |y|/(2t) + i·sgn(y)t
+		return new BigComplex(im.abs().divide(t.multiply(BigKernels.TWO),mc),im.signum()>0 ? t.round(mc) : t.negate().round(mc));
+	}
+
+	/** Exponential
+	 * @param mc the precision
+	 * @return e^this */
+	public BigComplex exp(MathContext mc) {
+		final int p = BigKernels.digits(mc);
+		final BigDecimal m = BigKernels.exp(re,p);
+		if(im.signum()==0) { return new BigComplex(m.round(mc)); }
+		final BigDecimal[] sc = BigKernels.sincos(im,p);
+		return new BigComplex(m.multiply(sc[1],mc),m.multiply(sc[0],mc));
+	}
+
+	/** Principal natural logarithm.  Throws an <code>ArithmeticException</code> if this is 0.
+	 * @param mc the precision
+	 * @return ln(this) */
+	public BigComplex log(MathContext mc) {
+		final int p = BigKernels.digits(mc);
+		final BigDecimal a = BigKernels.atan2(im,re,p).round(mc);
+		return new BigComplex(BigKernels.log(absq(),p).multiply(BigKernels.HALF).round(mc),a); //ln|z| = ln(|z|²)/2, and |z|² is exact
+	}
+	/** Principal natural logarithm (the same as <code>log</code>)
+	 * @param mc the precision
+	 * @return ln(this) */
+	public BigComplex ln(MathContext mc) { return log(mc); }
+
+	/**
+	 * Integer power, by squaring.
+	 * @param a the exponent
+	 * @param mc the precision
+	 * @return this^a
+	 */
+	public BigComplex pow(int a, MathContext mc) {
+		if(a<0) { return pow(-a,mc).inv(mc); }
+		final int bits = 32-Integer.numberOfLeadingZeros(a);
+		final MathContext w = mc.getPrecision()==0 ? MathContext.UNLIMITED : BigKernels.work(mc.getPrecision()+bits/3+1); //each squaring can double the relative error
+		BigComplex ans = ONE, pow = this;
+		for(int n=a;n!=0;n>>=1) {
+			if((n&1)==1) { ans = ans.mul(pow,w); }
+			if(n>1) { pow = pow.mul(pow,w); }
+		}
+		return ans.round(mc);
+	}
+	/**
+	 * Complex power, e^(a·ln(this)), on the principal branch.  0 to any power is 0.
+	 * @param a the exponent
+	 * @param mc the precision
+	 * @return this^a
+	 */
+	public BigComplex pow(BigComplex a, MathContext mc) {
+		if(re.signum()==0 && im.signum()==0) { return ZERO; }
+		final BigComplex l = log(BigKernels.work(BigKernels.digits(mc)+magnitude(a)));
+		return l.mul(a).exp(mc);
+	}
+
+////////////////////////////////////////////// TRIGONOMETRY //////////////////////////////////////////////
+
+	/** Sine
+	 * @param mc the precision
+	 * @return sin(this) */
+	public BigComplex sin(MathContext mc) { //sin(x)cosh(y) + i·cos(x)sinh(y)
+		final int p = BigKernels.digits(mc);
+		final BigDecimal[] sc = BigKernels.sincos(re,p), h = sinhcosh(im,p);
+		return new BigComplex(sc[0].multiply(h[1],mc),sc[1].multiply(h[0],mc));
+	}
+	/** Cosine
+	 * @param mc the precision
+	 * @return cos(this) */
+	public BigComplex cos(MathContext mc) { //cos(x)cosh(y) - i·sin(x)sinh(y)
+		final int p = BigKernels.digits(mc);
+		final BigDecimal[] sc = BigKernels.sincos(re,p), h = sinhcosh(im,p);
+		return new BigComplex(sc[1].multiply(h[1],mc),sc[0].multiply(h[0],mc).negate());
+	}
+
+	private static BigDecimal[] sinhcosh(BigDecimal y, int p) { //{sinh(y), cosh(y)}
+		if(y.signum()==0) { return new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ONE}; }
+		final int lost = Math.max(-BigKernels.exponent(y),0);          //sinh(y) ≈ y for small y, so e^y - e^-y cancels this many digits
+		final MathContext w = BigKernels.work(p+lost);
+		final BigDecimal e = BigKernels.exp(y,p+lost), f = BigDecimal.ONE.divide(e,w);
+		return new BigDecimal[] {e.subtract(f).multiply(BigKernels.HALF).round(BigKernels.work(p)), e.add(f).multiply(BigKernels.HALF).round(BigKernels.work(p))};
+	}
+
+////////////////////////////////////////////// CONSTANTS //////////////////////////////////////////////
+
+	/** π, computed once and cached (see <code>BigKernels</code>)
+	 * @param mc the precision
+	 * @return π */
+	public static BigDecimal pi(MathContext mc) { return BigKernels.pi(BigKernels.digits(mc)).round(mc); }
+	/** ln(2), computed once and cached (the high precision <code>Mafs.LOG2</code>)
+	 * @param mc the precision
+	 * @return ln(2) */
+	public static BigDecimal log2(MathContext mc) { return BigKernels.ln2(BigKernels.digits(mc)).round(mc); }
+	/** ln(π), computed once and cached (the high precision <code>Mafs.LOGPI</code>)
+	 * @param mc the precision
+	 * @return ln(π) */
+	public static BigDecimal logPi(MathContext mc) { return BigKernels.lnPi(BigKernels.digits(mc)).round(mc); }
+	/** √(π)/2, computed once and cached (the high precision <code>Mafs.ROOTPI2</code>)
+	 * @param mc the precision
+	 * @return √(π)/2 */
+	public static BigDecimal rootPi2(MathContext mc) { return BigKernels.rootPi2(BigKernels.digits(mc)).round(mc); }
+	/**
+	 * The n-th Bernoulli number, with the same convention as <code>Cpx2.bernoulli</code> (B_1=+1/2).  They're computed exactly, once,
+	 * and cached, as are their rounded values.
+	 * @param n the index (non-negative)
+	 * @param mc the precision
+	 * @return B_n
+	 */
+	public static BigDecimal bernoulli(int n, MathContext mc) {
+		if(n<0) { throw new ArithmeticException("Negative index"); }
+		if(n==1) { return BigKernels.HALF; }
+		if((n&1)==1) { return BigDecimal.ZERO; }
+		return BigKernels.bernoulli(n>>1,BigKernels.digits(mc))[n>>1].round(mc);
+	}
+
+////////////////////////////////////////////// GAMMA FUNCTIONS //////////////////////////////////////////////
+
+	/** The gamma function, Γ(this).  Throws an <code>ArithmeticException</code> at the poles (0, -1, -2, ...).
+	 * @param mc the precision
+	 * @return Γ(this) */
+	public BigComplex gamma(MathContext mc) {
+		final int p = BigKernels.digits(mc);
+		final int extra = (int)Math.ceil(Math.log10(Math.max(lazyabs(),2)*Math.log(Math.max(lazyabs(),2))+2)); //ln(Γ) is about |z|ln|z|: we need that many more digits of it
+		final BigComplex lg = polygamma(-1,this,p+extra);
+		if(im.signum()==0) { //real input: lnΓ's imaginary part is an exact multiple of π, so take only the sign from it (not a rounded sin(kπ))
+			final BigDecimal g = new BigComplex(lg.re).exp(mc).re;
+			final boolean negative = re.signum()<0 && re.negate().setScale(0,RoundingMode.CEILING).toBigInteger().testBit(0); //Γ<0 on (-1,0), (-3,-2), ...
+			return new BigComplex(negative ? g.negate() : g);
+		}
+		return lg.exp(mc);
+	}
+	/** The principal log gamma function, ln(Γ(this)), which is analytic everywhere except on the non-positive real axis.  Throws an
+	 * <code>ArithmeticException</code> at the poles (0, -1, -2, ...).
+	 * @param mc the precision
+	 * @return lnΓ(this) */
+	public BigComplex loggamma(MathContext mc) { return polygamma(-1,this,BigKernels.digits(mc)).round(mc); }
+	/** The digamma function, ψ(this) = Γ'(this)/Γ(this).  Throws an <code>ArithmeticException</code> at the poles (0, -1, -2, ...).
+	 * @param mc the precision
+	 * @return ψ(this) */
+	public BigComplex digamma(MathContext mc) { return polygamma(0,this,BigKernels.digits(mc)).round(mc); }
+	/** The m-th polygamma function, ψ^(m)(this).  As with <code>Cpx2.polygamma</code>, m=-1 gives lnΓ.  Throws an
+	 * <code>ArithmeticException</code> at the poles (0, -1, -2, ...).
+	 * @param m the order (an integer >= -1)
+	 * @param mc the precision
+	 * @return ψ^(m)(this) */
+	public BigComplex polygamma(int m, MathContext mc) {
+		if(m<-1) { throw new ArithmeticException("Order below -1"); }
+		return polygamma(m,this,BigKernels.digits(mc)).round(mc);
+	}
+
+	/**
+	 * The engine behind all four gamma functions: m=-1 is lnΓ, m=0 is ψ, m>0 is ψ^(m).  We shift z to the right by N, until |z+N| is at
+	 * least about p+m (and Re(z+N)≥0), so that the Stirling series converges to p digits before it starts diverging, then sum the series
+	 * and undo the shift with the recurrence:
+	 * <br>lnΓ(z) = lnΓ(z+N) - Σ ln(z+j), with each log on its principal branch (their sum is found with a single log, plus 2πi times the
+	 * right integer, which is easy to get from the double precision arguments),
+	 * <br>ψ^(m)(z) = ψ^(m)(z+N) + (-1)^(m+1)m!Σ 1/(z+j)^(m+1).
+	 */
+	private static BigComplex polygamma(int m, BigComplex z, int p) {
+		if(z.isInt() && z.re.signum()<=0) { throw new ArithmeticException("Pole of the gamma function"); }
+		final double x = z.re.doubleValue(), y = z.im.doubleValue();
+		final double r = p+Math.max(m,0)+10;                                          //the |z| we shift out to
+		final int n = (int)Math.max(0,Math.ceil(Math.abs(y)>=r ? -x : Math.sqrt(r*r-y*y)-x));
+		final int q = p+3+(int)Math.log10(r+Math.abs(x)+Math.abs(y)+n);            //the shift & the series lose a few digits
+		final MathContext w = BigKernels.work(q);
+		final BigComplex s = z.add(BigDecimal.valueOf(n));                            //the shifted input
+
+		//the series: each term is B_2k·c_k/s^(2k+m), where c_k is 1/(2k(2k-1)) for lnΓ, -1/2k for ψ, or (-1)^(m+1)(2k+m-1)!/(2k)! for ψ^(m)
+		final BigComplex inv = s.inv(w), inv2 = inv.mul(inv,w);
+		BigComplex sum, pow;                                                          //the sum so far, and 1/s^(2k+m) (or 1/s^(2k-1) for lnΓ)
+		final BigComplex ls = m<=0 ? s.log(w) : null;
+		BigDecimal fact = BigDecimal.ONE;                                             //(2k+m-1)!/(2k)!, for the polygammas
+		if(m==-1) {                                                                   //(s-1/2)ln(s) - s + ln(2π)/2
+			final BigDecimal halfLog2Pi = BigKernels.ln2(q).add(BigKernels.lnPi(q)).multiply(BigKernels.HALF);
+			sum = s.sub(BigKernels.HALF).mul(ls,w).sub(s).add(halfLog2Pi);
+			pow = inv;
+		}
+		else if(m==0) {                                                               //ln(s) - 1/2s
+			sum = ls.sub(inv.mul(BigKernels.HALF),w);
+			pow = inv2;
+		}
+		else {                                                                        //(-1)^(m+1)((m-1)!/s^m + m!/2s^(m+1))
+			BigDecimal mf = BigDecimal.ONE; for(int j=2;j<m;j++) { mf = mf.multiply(BigDecimal.valueOf(j)); } //(m-1)!
+			final BigComplex sm = inv.pow(m,w);
+			sum = sm.mul(mf).add(sm.mul(inv,w).mul(mf.multiply(BigDecimal.valueOf(m)).multiply(BigKernels.HALF)));
+			if((m&1)==0) { sum = sum.neg(); }
+			pow = sm.mul(inv2,w);
+			fact = mf;                                                                //(2k+m-1)!/(2k)! at k=0 is (m-1)!/1
+		}
+		final BigDecimal eps = sum.lazyabsBig().max(BigDecimal.ONE.movePointLeft(q)).movePointLeft(q);
+		final BigDecimal[] b = BigKernels.bernoulli(terms(m,Math.hypot(x+n,y),q),q);
+		for(int k=1;k<b.length;k++) {
+			final BigDecimal c;
+			if(m==-1)     { c = b[k].divide(BigDecimal.valueOf(2L*k*(2*k-1)),w); }
+			else if(m==0) { c = b[k].divide(BigDecimal.valueOf(-2L*k),w); }
+			else {
+				fact = fact.multiply(BigDecimal.valueOf((2L*k+m-2)*(2L*k+m-1))).divide(BigDecimal.valueOf(2L*k*(2*k-1)),w); //(2k+m-1)!/(2k)!
+				c = (m&1)==1 ? b[k].multiply(fact,w) : b[k].multiply(fact,w).negate();
+			}
+			final BigComplex term = pow.mul(c,w);
+			sum = sum.add(term,w);
+			if(term.lazyabsBig().compareTo(eps)<0) { break; }
+			pow = pow.mul(inv2,w);
+		}
+		if(n==0) { return sum; }
+
+		//undo the shift
+		if(m==-1) {
+			BigComplex prod = z; double args = Math.atan2(y,x);
+			for(int j=1;j<n;j++) { prod = prod.mul(z.add(BigDecimal.valueOf(j)),w); args += Math.atan2(y,x+j); }
+			final BigComplex lp = prod.log(w);
+			final BigDecimal twoPi = BigKernels.pi(q).multiply(BigKernels.TWO);
+			final long turns = Math.round((args-lp.im.doubleValue())/(2*Math.PI)); //how many times the sum of the arguments wraps around
+			return sum.sub(lp).sub(new BigComplex(BigDecimal.ZERO,twoPi.multiply(BigDecimal.valueOf(turns))),w);
+		}
+		BigComplex shift = ZERO;
+		for(int j=0;j<n;j++) { shift = shift.add(z.add(BigDecimal.valueOf(j)).inv(w).pow(m+1,w),w); }
+		BigDecimal mf = BigDecimal.ONE; for(int j=2;j<=m;j++) { mf = mf.multiply(BigDecimal.valueOf(j)); } //m!
+		shift = shift.mul(mf);
+		return (m&1)==0 ? sum.sub(shift,w) : sum.add(shift,w);
+	}
+
+	/** About how many terms of the Stirling series we need for p digits at |s|, from |B_2k| ≈ 2(2k)!/(2π)^2k, which makes the k-th term
+	 * about 2(2k+m-1)!/(2π)^2k/s^(2k+m), and the series starts at about 1/s^m */
+	private static int terms(int m, double s, int p) {
+		final double goal = -p*Math.log(10)-5, l = Math.log(2*Math.PI*s);
+		double lf = 0;                                                          //ln((2k+m-1)!)
+		for(int k=1;k<100000;k++) {
+			lf += Math.log(Math.max(2*k+m-1,1)) + Math.log(Math.max(2*k+m-2,1));
+			if(Math.log(2)+lf-2*k*l<goal) { return k+1; }
+		}
+		return 100000;
+	}
+
+	private double lazyabs() { return Math.max(Math.abs(re.doubleValue()),Math.abs(im.doubleValue())); } //(only for estimates)
+	private BigDecimal lazyabsBig() { return re.abs().max(im.abs()); }
+	private static int magnitude(BigComplex a) { return Math.max(0,(int)Math.ceil(Math.log10(a.lazyabs()+1))); } //extra digits of ln(z) we need to multiply it by a
+}
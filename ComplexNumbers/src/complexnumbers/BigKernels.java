@@ -0,0 +1,321 @@
+package complexnumbers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Arbitrary precision real kernels, and the constant tables behind <code>BigComplex</code>.
+ *
+ * <br><br>Every constant (π, ln(2), ln(π), √(π)/2, and the Bernoulli numbers) is computed once, at the highest precision anyone has
+ * asked for so far, and cached.  A request at that precision or lower is answered by rounding the cached value, which costs next to
+ * nothing; a request at a higher precision recomputes it with (at least) twice as many digits, so a program that keeps raising its
+ * precision only pays for a handful of recomputations.  As with the tables in <code>Cpx2</code>, each cache lives in an
+ * <code>AtomicReference</code>, so reading it never waits on a lock.
+ *
+ * <br><br>π comes from the Chudnovsky series, summed by binary splitting on <code>BigInteger</code>s, and ln(2) from three fast-converging
+ * arctangent series.  exp reduces its argument by ln(2) and then by a power of 2, sums a Taylor series, and squares back up.  sin & cos do
+ * the same with π/2 and the double angle formulas.  log and atan2 start from the <code>double</code> answer (15 or so digits) and take
+ * Newton steps, doubling the working precision each time, so the whole thing costs about as much as two exps (or sincoses) at the final
+ * precision.  The Bernoulli numbers are computed exactly, as fractions, from the tangent numbers (the same way as in <code>Cpx2</code>).
+ *
+ * <br><br>Every function takes the number of significant digits it should be accurate to, and works with a few guard digits past that.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class BigKernels {
+
+	private BigKernels() { } //this class is never instantiated
+
+	static final int GUARD = 10; //guard digits, carried past the requested precision
+
+	static final BigDecimal TWO = BigDecimal.valueOf(2), HALF = new BigDecimal("0.5");
+
+	private static final AtomicReference<BigDecimal> PI    = new AtomicReference<>(BigDecimal.ZERO); //π, to the most digits computed so far
+	private static final AtomicReference<BigDecimal> LN2   = new AtomicReference<>(BigDecimal.ZERO); //ln(2)
+	private static final AtomicReference<BigDecimal> LNPI  = new AtomicReference<>(BigDecimal.ZERO); //ln(π)
+	private static final AtomicReference<BigDecimal> RTPI2 = new AtomicReference<>(BigDecimal.ZERO); //√(π)/2
+	private static final AtomicReference<BigInteger[][]> BERNOULLI = new AtomicReference<>(new BigInteger[][] {{},{}}); //exact B_2k: numerators, denominators
+	private static final AtomicReference<BigDecimal[]> BERNOULLI_ROUNDED = new AtomicReference<>(new BigDecimal[0]); //B_2k, to the most digits computed so far
+
+	/**
+	 * The working context for p digits: p plus the guard digits, rounded to nearest.
+	 * @param p the number of digits
+	 * @return the context
+	 */
+	static MathContext work(int p) { return new MathContext(p+GUARD, RoundingMode.HALF_EVEN); }
+
+	/**
+	 * Checks that the precision is limited (transcendental results can't be exact), and returns it.
+	 * @param mc the context
+	 * @return its precision
+	 */
+	static int digits(MathContext mc) {
+		if(mc.getPrecision()==0) { throw new ArithmeticException("Transcendental functions need a limited precision"); }
+		return mc.getPrecision();
+	}
+
+	/** The decimal exponent of x: x is in [10^e, 10^(e+1)).  (0 gives a very small number.) */
+	static int exponent(BigDecimal x) { return x.signum()==0 ? -Integer.MAX_VALUE/2 : x.precision()-x.scale()-1; }
+
+	//////////////////// CACHED CONSTANTS ////////////////////
+
+	/**
+	 * Looks in a cache for a constant to at least p digits, and if it isn't there, computes it (to at least twice the digits of what was
+	 * there) and swaps it in.
+	 */
+	private static BigDecimal cached(AtomicReference<BigDecimal> cache, int p, java.util.function.IntFunction<BigDecimal> compute) {
+		BigDecimal c = cache.get();
+		if(c.precision()<p+GUARD) { //not enough digits: compute it again
+			c = compute.apply(Math.max(p+GUARD,2*c.precision()));
+			cache.accumulateAndGet(c, (a,b) -> a.precision()>=b.precision() ? a : b); //keep whichever is more precise
+		}
+		return c.round(work(p));
+	}
+
+	/** π, to p digits (plus guard digits) */
+	static BigDecimal pi(int p) { return cached(PI, p, BigKernels::chudnovsky); }
+	/** ln(2), to p digits (plus guard digits) */
+	static BigDecimal ln2(int p) { return cached(LN2, p, BigKernels::computeLn2); }
+	/** ln(π), to p digits (plus guard digits) */
+	static BigDecimal lnPi(int p) { return cached(LNPI, p, q -> log(pi(q),q)); }
+	/** √(π)/2, to p digits (plus guard digits) */
+	static BigDecimal rootPi2(int p) { return cached(RTPI2, p, q -> pi(q).sqrt(work(q)).multiply(HALF)); }
+
+	/**
+	 * π from the Chudnovsky series, 1/π = 12 Σ (-1)^k (6k)! (13591409+545140134k) / ((3k)!(k!)³ 640320^(3k+3/2)), which gives about 14
+	 * digits per term.  The sum is evaluated exactly by binary splitting, then divided once.
+	 */
+	private static BigDecimal chudnovsky(int p) {
+		final MathContext mc = new MathContext(p+5);
+		final long n = p/14+2;                                    //the number of terms
+		final BigInteger[] pqt = split(0,n);
+		final BigDecimal root = BigDecimal.valueOf(10005).sqrt(mc);
+		return new BigDecimal(pqt[1]).multiply(BigDecimal.valueOf(426880)).multiply(root).divide(new BigDecimal(pqt[2]),mc).round(new MathContext(p));
+	}
+
+	/** The binary splitting {P, Q, T} of the Chudnovsky terms a through b-1 */
+	private static BigInteger[] split(long a, long b) {
+		if(b-a==1) {
+			if(a==0) { return new BigInteger[] {BigInteger.ONE, BigInteger.ONE, BigInteger.valueOf(13591409)}; }
+			BigInteger p = BigInteger.valueOf(6*a-5).multiply(BigInteger.valueOf(2*a-1)).multiply(BigInteger.valueOf(6*a-1));
+			BigInteger q = BigInteger.valueOf(a).pow(3).multiply(BigInteger.valueOf(10939058860032000L)); //a³·640320³/24
+			BigInteger t = p.multiply(BigInteger.valueOf(13591409).add(BigInteger.valueOf(545140134).multiply(BigInteger.valueOf(a))));
+			return new BigInteger[] {p, q, (a&1)==1 ? t.negate() : t};
+		}
+		final long m = (a+b)>>>1;
+		final BigInteger[] l = split(a,m), r = split(m,b);
+		return new BigInteger[] {l[0].multiply(r[0]), l[1].multiply(r[1]), l[2].multiply(r[1]).add(l[0].multiply(r[2]))};
+	}
+
+	/** ln(2) = 18atanh(1/26) - 2atanh(1/4801) + 8atanh(1/8749) */
+	private static BigDecimal computeLn2(int p) {
+		final MathContext mc = new MathContext(p+5);
+		BigDecimal sum = atanhInv(26,mc).multiply(BigDecimal.valueOf(18));
+		sum = sum.subtract(atanhInv(4801,mc).multiply(TWO));
+		sum = sum.add(atanhInv(8749,mc).multiply(BigDecimal.valueOf(8)));
+		return sum.round(new MathContext(p));
+	}
+
+	/** atanh(1/n) = Σ 1/((2k+1)n^(2k+1)) */
+	private static BigDecimal atanhInv(int n, MathContext mc) {
+		final BigDecimal n2 = BigDecimal.valueOf((long)n*n);
+		final BigDecimal eps = BigDecimal.ONE.movePointLeft(mc.getPrecision());
+		BigDecimal pow = BigDecimal.ONE.divide(BigDecimal.valueOf(n),mc), sum = pow; //1/n^(2k+1)
+		for(int k=1;;k++) {
+			pow = pow.divide(n2,mc);
+			final BigDecimal term = pow.divide(BigDecimal.valueOf(2*k+1),mc);
+			sum = sum.add(term);
+			if(term.compareTo(eps)<0) { return sum; }
+		}
+	}
+
+	/**
+	 * B_2k for k=0 through n, rounded to p digits (plus guard digits).  The table is shared, so it must not be modified.
+	 * @param n the largest index k we need
+	 * @param p the number of digits
+	 * @return the table (which may be longer than n+1)
+	 */
+	static BigDecimal[] bernoulli(int n, int p) {
+		BigDecimal[] table = BERNOULLI_ROUNDED.get();
+		if(table.length>n && table[table.length-1].precision()>=p+GUARD) { return table; } //already there: this is the usual case
+
+		final BigInteger[][] exact = exactBernoulli(Math.max(n,table.length-1));
+		final MathContext mc = work(Math.max(p, table.length==0 ? 0 : table[table.length-1].precision()-GUARD));
+		final BigDecimal[] bigger = new BigDecimal[exact[0].length];
+		for(int k=0;k<bigger.length;k++) { bigger[k] = new BigDecimal(exact[0][k]).divide(new BigDecimal(exact[1][k]),mc); }
+		BERNOULLI_ROUNDED.accumulateAndGet(bigger, (a,b) -> b.length>=a.length && (a.length==0 || b[b.length-1].precision()>=a[a.length-1].precision()) ? b : a);
+		return bigger;
+	}
+
+	/**
+	 * B_2k for k=0 through (at least) n, as exact fractions {numerators, denominators}.  They're built from the tangent numbers T_k, with
+	 * the same recurrence as <code>Cpx2.computeBernoulli</code>: B_2k = (-1)^(k-1)*2k*T_k/(4^k(4^k-1)).
+	 */
+	private static BigInteger[][] exactBernoulli(int n) {
+		BigInteger[][] table = BERNOULLI.get();
+		if(table[0].length>n) { return table; }
+
+		final int half = Math.max(n,2*table[0].length);
+		final BigInteger[] tan = new BigInteger[half+1];
+		if(half>=1) { tan[1]=BigInteger.ONE; }
+		for(int k=2;k<=half;k++) { tan[k]=tan[k-1].multiply(BigInteger.valueOf(k-1)); }
+		for(int k=2;k<=half;k++) {
+			for(int j=k;j<=half;j++) {
+				tan[j]=tan[j-1].multiply(BigInteger.valueOf(j-k)).add(tan[j].multiply(BigInteger.valueOf(j-k+2)));
+			}
+		}
+
+		final BigInteger[] num = new BigInteger[half+1], den = new BigInteger[half+1];
+		num[0]=BigInteger.ONE; den[0]=BigInteger.ONE;
+		for(int k=1;k<=half;k++) {
+			final BigInteger four = BigInteger.ONE.shiftLeft(2*k);
+			BigInteger a = tan[k].multiply(BigInteger.valueOf(2*k)), b = four.multiply(four.subtract(BigInteger.ONE));
+			final BigInteger g = a.gcd(b); a = a.divide(g); b = b.divide(g); //reduce the fraction
+			num[k] = (k&1)==1 ? a : a.negate(); den[k] = b;
+		}
+		table = new BigInteger[][] {num, den};
+		return BERNOULLI.accumulateAndGet(table, (x,y) -> x[0].length>=y[0].length ? x : y);
+	}
+
+	//////////////////// ELEMENTARY FUNCTIONS ////////////////////
+
+	/**
+	 * 2^k, exactly
+	 * @param k the exponent
+	 * @return 2^k
+	 */
+	static BigDecimal pow2(int k) {
+		if(k>=0) { return new BigDecimal(BigInteger.ONE.shiftLeft(k)); }
+		return new BigDecimal(BigInteger.valueOf(5).pow(-k)).scaleByPowerOfTen(k); //2^-k = 5^k/10^k
+	}
+
+	/**
+	 * e^x, to p digits (plus guard digits).  We write x = k·ln(2) + r, sum the Taylor series of e^(r/2^s), and square it s times.
+	 * @param x the exponent
+	 * @param p the number of digits
+	 * @return e^x
+	 */
+	static BigDecimal exp(BigDecimal x, int p) {
+		if(x.signum()==0) { return BigDecimal.ONE; }
+		final int ex = Math.max(exponent(x),0);                                   //the digits of x before the decimal point, minus 1
+		final int s = (int)Math.sqrt(3.3*p)+1;                                    //how many times we halve (and square back up)
+		final int q = p+ex+s/3+2;                                                 //extra digits: the squarings double the relative error each time
+		final MathContext mc = work(q);
+
+		final BigDecimal l2 = ln2(q);
+		final BigInteger k = x.divide(l2,MathContext.DECIMAL64).setScale(0,RoundingMode.HALF_EVEN).toBigIntegerExact();
+		if(k.bitLength()>31) { throw new ArithmeticException("Overflow"); }       //|x| is more than about 1.5 billion: e^x can't be represented
+		final BigDecimal r = x.subtract(l2.multiply(new BigDecimal(k)),mc).multiply(pow2(-s),mc); //(x-k·ln(2))/2^s
+
+		final BigDecimal eps = BigDecimal.ONE.movePointLeft(q+GUARD);
+		BigDecimal sum = BigDecimal.ZERO, term = r;                            //e^r - 1, so the squaring doesn't lose anything to cancellation
+		for(int n=2;term.abs().compareTo(eps)>=0;n++) {
+			sum = sum.add(term,mc);
+			term = term.multiply(r,mc).divide(BigDecimal.valueOf(n),mc);
+		}
+		for(int j=0;j<s;j++) { sum = sum.multiply(sum.add(TWO),mc); }          //e^2a - 1 = (e^a - 1)(e^a - 1 + 2)
+		return sum.add(BigDecimal.ONE).multiply(TWO.pow(k.intValue(),mc)).round(work(p)); //(pow is within 2 ulps, so that's what the guard digits are for)
+	}
+
+	/**
+	 * ln(x), for x>0, to p digits (plus guard digits).  Starts from the <code>double</code> logarithm, then takes Newton steps on exp,
+	 * y ← y + x·e^-y - 1, doubling the precision each time.
+	 * @param x the input (positive)
+	 * @param p the number of digits
+	 * @return ln(x)
+	 */
+	static BigDecimal log(BigDecimal x, int p) {
+		if(x.signum()<=0) { throw new ArithmeticException("Logarithm of a non-positive number"); }
+		final BigDecimal u = x.subtract(BigDecimal.ONE);
+		if(u.signum()==0) { return BigDecimal.ZERO; }
+		final int lost = Math.max(-exponent(u),0);            //near 1, the answer is about x-1, so we need this many more digits of x·e^-y
+
+		final BigInteger m = x.unscaledValue();              //x = m·10^-scale, and m might not fit in a double
+		final int shift = Math.max(m.bitLength()-60,0);
+		double y0 = Math.log(m.shiftRight(shift).doubleValue()) + shift*Mafs.LOG2 - x.scale()*Math.log(10);
+		if(lost>8) { y0 = u.doubleValue(); }                 //(really close to 1, the double logarithm is worse than x-1)
+		BigDecimal y = new BigDecimal(y0);
+
+		final int target = p+lost;
+		for(int prec=14;;) {
+			prec = Math.min(2*prec,target);
+			final MathContext mc = work(prec);
+			y = y.add(x.multiply(exp(y.negate(),prec+lost),mc).subtract(BigDecimal.ONE),mc).round(mc);
+			if(prec==target) { break; }
+		}
+		return y.round(work(p));
+	}
+
+	/**
+	 * Sets {sin(x), cos(x)}, to p digits (plus guard digits).  We write x = k·π/2 + r, sum the Taylor series of sin & cos of r/2^s, double
+	 * the angle s times, then rotate back by k quarter turns.
+	 * @param x the angle
+	 * @param p the number of digits
+	 * @return {sin(x), cos(x)}
+	 */
+	static BigDecimal[] sincos(BigDecimal x, int p) {
+		if(x.signum()==0) { return new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ONE}; }
+		final int ex = Math.max(exponent(x),0);
+		int extra = 0;                                                            //the digits lost when x is right next to a multiple of π/2
+		for(;;) {
+			final int s = (int)Math.sqrt(1.7*p)+1;
+			final int q = p+ex+extra+s/3+2;
+			final MathContext mc = work(q);
+			final BigDecimal hp = pi(q).multiply(HALF);
+			final BigInteger k = x.divide(hp,MathContext.DECIMAL64).setScale(0,RoundingMode.HALF_EVEN).toBigIntegerExact();
+			final BigDecimal r0 = x.subtract(hp.multiply(new BigDecimal(k)),mc);
+			final int lost = Math.max(-exponent(r0),0);
+			if(lost>extra && r0.signum()!=0) { extra = lost; continue; }         //we need more digits of π: try again
+
+			final BigDecimal r = r0.multiply(pow2(-s),mc), r2 = r.multiply(r,mc).negate();
+			final BigDecimal eps = BigDecimal.ONE.movePointLeft(q+GUARD);
+			BigDecimal sin = BigDecimal.ZERO, term = r;                            //r - r³/3! + ...
+			for(int n=2;term.abs().compareTo(eps)>=0;n+=2) { sin = sin.add(term,mc); term = term.multiply(r2,mc).divide(BigDecimal.valueOf((long)n*(n+1)),mc); }
+			BigDecimal vers = BigDecimal.ZERO; term = r2.negate().multiply(HALF);  //1-cos(r) = r²/2! - r⁴/4! + ..., so doubling doesn't lose anything to cancellation
+			for(int n=3;term.abs().compareTo(eps)>=0;n+=2) { vers = vers.add(term,mc); term = term.multiply(r2,mc).divide(BigDecimal.valueOf((long)n*(n+1)),mc); }
+			for(int j=0;j<s;j++) {                                                //sin(2a) = 2sin(a)cos(a), 1-cos(2a) = 2sin²(a)
+				final BigDecimal cos = BigDecimal.ONE.subtract(vers);
+				vers = sin.multiply(sin,mc).multiply(TWO);
+				sin = sin.multiply(cos,mc).multiply(TWO);
+			}
+			BigDecimal cos = BigDecimal.ONE.subtract(vers,mc);
+			final MathContext out = work(p);
+			sin = sin.round(out); cos = cos.round(out);
+			switch(k.intValue()&3) {                                              //rotate by k quarter turns
+				case 1:  return new BigDecimal[] { cos, sin.negate()};
+				case 2:  return new BigDecimal[] {sin.negate(), cos.negate()};
+				case 3:  return new BigDecimal[] {cos.negate(), sin};
+				default: return new BigDecimal[] {sin, cos};
+			}
+		}
+	}
+
+	/**
+	 * atan2(y,x), to p digits (plus guard digits).  Starts from the <code>double</code> atan2, then takes Newton steps,
+	 * θ ← θ + (y·cos(θ) - x·sin(θ))/(x·cos(θ) + y·sin(θ)), doubling the precision each time.
+	 * @param y the y coordinate
+	 * @param x the x coordinate
+	 * @param p the number of digits
+	 * @return the angle, in (-π,π]
+	 */
+	static BigDecimal atan2(BigDecimal y, BigDecimal x, int p) {
+		if(y.signum()==0) { return x.signum()>=0 ? BigDecimal.ZERO : pi(p); }
+		if(x.signum()==0) { return y.signum()>0 ? pi(p).multiply(HALF) : pi(p).multiply(HALF).negate(); }
+		final int e = Math.max(exponent(x),exponent(y));                        //scale to about 1, so the doubles neither overflow nor underflow
+		BigDecimal t = new BigDecimal(Math.atan2(y.scaleByPowerOfTen(-e).doubleValue(),x.scaleByPowerOfTen(-e).doubleValue()));
+		for(int prec=14;;) {
+			prec = Math.min(2*prec,p);
+			final MathContext mc = work(prec);
+			final BigDecimal[] sc = sincos(t,prec);
+			final BigDecimal num = y.multiply(sc[1],mc).subtract(x.multiply(sc[0],mc),mc);
+			final BigDecimal den = x.multiply(sc[1],mc).add(y.multiply(sc[0],mc),mc);
+			t = t.add(num.divide(den,mc),mc);                                   //(tan(θ-t) = num/den, and θ-t is too small for its cube to matter)
+			if(prec==p) { return t.round(work(p)); }
+		}
+	}
+}
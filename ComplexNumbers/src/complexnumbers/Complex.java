@@ -1,1102 +1,1451 @@
-package complexnumbers;
-
-//Don't be intimidated by the line count.  About half of the lines are just javadoc comments.
-
-////////////////////////////////////////////////////////// COMPLEX CLASS ////////////////////////////////////////////////////////////////////////////////////////
-
-/**
- * A Complex Object.
- * 
- * <br><br>Each instance of <code>Complex</code> represents a complex number.  That is, a linear combination of 1 and the square root of -1 
- * (also known as i).  The multiple of 1 is known as the real part, while the multiple of i is known as the imaginary part.  Complex numbers
- * play a very important role in many fields.  Simpler examples of such fields might include rotations, matrix algebra, and differential 
- * equations, while more complicated fields might include AC circuits and quantum mechanics.  They are also the foundation for many intricate
- * fractalsm, such as the Mandelbrot set.  The complex class is double precision, meaning each component is represented with 64-bit floating
- * points, totaling 128 bits (16 bytes) of data.
- * 
- * <br><br>It has two components, <code>re</code> and <code>im</code>, each <code>double</code>s representing the real and imaginary parts
- * of the number.  There are no illegal permutations of <code>re</code> and <code>im</code>, and thus both attributes are public.
- * 
- * <br><br>It should be noted that, due to the way this was implemented, Infinite numbers and NaN numbers are practically interchangeable.
- * 
- * @author Math Machine
- * @version 1.1.0
- */
-
-public class Complex extends Mafs implements Cloneable { //this object represents a complex number.
-	
-//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
-	
-	/** The real part. Since there are no illegal numbers, this attribute is public. */
-	public double re;
-	/** The imaginary part. Since there are no illegal numbers, this attribute is public. */
-	public double im;
-	
-	/** If true, cbrt(-1)=-1; If false, cbrt(-1)=(1+√(3)i)/2. */
-	public static boolean cbrt_Option=true;
-	
-	/** If true, small components are omitted from string conversion due to roundoff; If false, they are preserved for accuracy.*/
-	public static boolean omit_Option=true;
-	
-/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
-	
-	/** Default constructor: Constructs 0+0i*/
-	public Complex() { re=im=0; }
-	/**
-	 * Constructs x+yi.
-	 * @param x real part
-	 * @param y imaginary part
-	 */
-	public Complex(final double x, final double y) { re=x; im=y; }
-	/**
-	 * Constructs x+0i.
-	 * @param x real part
-	 */
-	public Complex(final double x) { re=x; im=0; }
-	
-	/**
-	 * Pseudo-constructor with a check.  Constructs x+yi, before performing a check to avoid
-	 * the undesirable permutations of NaN±∞i or ±∞+NaN*i.  See <a href="#validate()">validate()</a> for more information.
-	 * 
-	 * @param x the real part
-	 * @param y the imaginary part
-	 * @return the constructed object
-	 */
-	public Complex compCheck(final double x, final double y) { return new Complex(x,y).validate(); }
-	
-////////////////////////////////////////////// BASIC FUNCTIONS /////////////////////////////////
-	
-	/** Returns a deep copy.
-	 * @return a deep copy */
-	@Override
-	public Complex clone() { return new Complex(re,im); } //create clone
-	/** Returns a deep copy.
-	 * @return a deep copy */
-	public Complex copy () { return new Complex(re,im); } //create deep copy
-	
-	/**
-	 * Sets to x+yi
-	 * @param x the new real part
-	 * @param y the new imaginary part
-	 */
-	public void set(double x, double y) { re=x;    im=y;    }
-	/**
-	 * Sets this equal to z
-	 * @param z what gets copied to this instance
-	 */
-	public void set(Complex z)          { re=z.re; im=z.im; }
-	/**
-	 * Sets to x+0i
-	 * @param x the new real part
-	 */
-	public void set(double x)           { re=x;    im=0;    }
-	/**
-	 * Sets to 0+yi
-	 * @param y the new imaginary part
-	 */
-	public void setI(double y)          { re=0;    im=y;    }
-	
-	/**
-	 * Sets equal to x+yi, then performs a check.  This check is to avoid the undesirable permutations of NaN±∞i or ±∞+NaN*i.
-	 * See <a href="#validate()">validate()</a> for more information.
-	 * @param x the new real part
-	 * @param y the new imaginary part
-	 */
-	public void setCheck(double x, double y) { re=x; im=y; validate(); }
-	
-	/**
-	 * Sets polar components (magnitude and angle).
-	 * @param r the new absolute value
-	 * @param ang the new argument
-	 */
-	public void setPolar(double r, double ang) { re=r*cos(ang); im=r*sin(ang); validate(); }
-	
-	/**
-	 * Sets the real part to x.  Does not change imaginary part.
-	 * @param x the real part
-	 */
-	public void setRe(double x) { re=x; }
-	/**
-	 * Sets the imaginary part to y.  Does not change the real part.
-	 * @param y the imaginary part
-	 */
-	public void setIm(double y) { im=y; }
-	/**
-	 * Sets the absolute value to r.  Does not change the angle
-	 * @param r the absolute value
-	 */
-	public void setAbs(double r) { muleq(r/abs()); }
-	/**
-	 * Sets the argument to a.  Does not change the magnitude.
-	 * @param a the argument
-	 */
-	public void setArg(double a) { double abs = abs(); set(abs*cos(a), abs*sin(a)); }
-	
-	/**
-	 * Tests for equality with x+yi.
-	 * @param x the real part
-	 * @param y the imaginary part
-	 * @return whether or not they equal
-	 */
-	public boolean equals(double x, double y) { return (re==x && im==y) || (isNaN() && (x!=x||y!=y)); }
-	/**
-	 * Tests for equality with x+0i.  Returns true if re==x and im==0.
-	 * @param x the real number
-	 * @return  whether or not they equal.
-	 */
-	public boolean equals(double x) { return (re==x && im==0) || (isNaN() && x!=x); }
-	/**
-	 * Tests for equality with 0+yi.  Returns true if re==0 and im==y
-	 * @param y the imaginary number
-	 * @return  whether or not they equal
-	 */
-	public boolean equalsI(double y) { return (re==0 && im==y) || (isNaN() && y!=y); } //test for equality w/ an imaginary number
-	
-	/**
-	 * Tests for equality with the number r∠ang (in polar notation).
-	 * @param r the magnitude
-	 * @param ang the angle
-	 * @return whether or not they equal
-	 */
-	public boolean equalsPolar(double r, double ang) { return re==r*cos(ang) && im==r*sin(ang); }
-	
-	/** Returns true if the object is a <code>Complex</code> with the same value.
-	 * @return true if they equal*/
-	@Override
-	public boolean equals(final Object o) { //test for equality with another object
-		if(o instanceof Complex) { //if complex:
-			Complex z = (Complex)o; //cast to complex
-			return re==z.re && im==z.im || isNaN() && z.isNaN(); //return true iff both components match, or they're both NaN
-		}
-		return false; //otherwise, return false
-	}
-	
-	/** Computes the hash code.
-	 * @return the hash code
-	 */
-	@Override
-	public int hashCode() { //returns the hash code
-		if(isNaN()) { return -585754751; } //if NaN, return the same hashCode we'd get from NaN+0i
-		
-		long x=Double.doubleToLongBits(re), y=Double.doubleToLongBits(im); //get the bits from the real & imaginary parts
-		int result = 1;
-		result = 31*result + (int)(x>>32); //compute the hashcode from 4 ints. 2 from splitting up the re, 2 from splitting up the im.
-		result = 31*result + (int)x;
-		result = 31*result + (int)(y>>32);
-		result = 31*result + (int)y;
-		return result;
-	}
-	
-	/**
-	 * Performs a check to avoid the undesirable states of NaN±∞i or ±∞+NaN*i.  In doing so, it replaces them with 0±∞i and ±∞+0i, respectively.
-	 * It then returns the result.  This function is a mutator.
-	 * 
-	 * These states typically arise when dividing (0+yi)/0 or (x+0i)/0.  The actual answer is supposed to be 0±∞i or ±∞+0i, but the
-	 * result comes up with NaN, since technically that 0 component could be anything.  It should be noted, this library does not do a
-	 * very good job at dealing with infinite values.  Often times, calculations that should yield some sort of infinity instead yield a
-	 * NaN, and while using this function doesn't completely fix this issue, it does help prevent the issue most of the time.  With the
-	 * notable exception of ±∞±∞i multiplied by x+0i or 0+yi, which results in NaN+NaN*i.
-	 * 
-	 * @return the object which was validated
-	 */
-	public Complex validate() { //validate: removes an undesirable (though not illegal) state
-		if(re==re && im==im) { return this; } //if not NaN, leave
-		if     (Math.abs(re)==INF) { im=0; }  //if re is infinite & im is NaN, make im=0
-		else if(Math.abs(im)==INF) { re=0; }  //if im is infinite & re is NaN, make re=0
-		return this;                          //return
-	}
-	
-///////////////////////////////////////////// CLASSIFYING NUMBERS /////////////////////////////
-	
-	/** Returns whether the input is infinite.
-	 * @return whether the number is infinite*/
-	public boolean isInf()     { return Double.isInfinite(re) || Double.isInfinite(im); } //this is true if the complex number is infinite
-	/** Returns whether the input is NaN.
-	 * @return whether the number is NaN*/
-	public boolean isNaN()     { return re!=re || im!=im;                               } //this is true if the complex number is NaN
-	
-	/** Returns whether the input is real.
-	 * @return whether the number is real*/
-	public boolean isReal()    { return im==0;                     } //test for real
-	/** Returns whether the input is imaginary.
-	 * @return whether the number is imaginary*/
-	public boolean isImag()    { return re==0;                     } //test for imaginary
-	/** Returns whether the input is a real integer.
-	 * @return whether the number is a real integer*/
-	public boolean isInt()     { return im==0 && re%1==0;          } //test for integer
-	/** Returns whether the input is a whole number.
-	 * @return whether the number is a whole number (a non-negative integer)*/
-	public boolean isWhole()   { return im==0 && re%1==0 && re>=0; } //whole number
-	/** Returns whether the input is a natural number.
-	 * @return whether the number is a natural number (a positive integer)*/
-	public boolean isNatural() { return im==0 && re%1==0 && re> 0; } //natural number
-	
-//////////////////////////////////////////// CAST TO A STRING ////////////////////////////////
-	
-	/**
-	 * Casts to a <code>String</code>.  If you were to write this complex number out as a string (in rectangular notation), this is what
-	 * you'd get.
-	 * @return this as a string
-	 */
-	@Override
-	public String toString() { //Complex -> String
-		return toString(-1);   //run the below function with the recommended number of digits
-	}
-	
-	/**
-	 * Casts to a string with specific precision.  If you were to write this complex number out as a string in rectangular notation,
-	 * with a specified number of digits, this is what you'd get. 
-	 * @param dig the number of digits
-	 * @return this as a string
-	 */
-	public String toString(int dig) {                             //Complex -> String (with a specific number of digits)
-		
-		if(isInf()) {                                             //special case: infinite input
-			if(Double.isInfinite(im)) { return "Complex Overflow";  } //  Complex Overflow
-			else if(re<0)             { return "Negative Overflow"; } // Negative Overflow
-			else                      { return "Overflow";          } //[regular] Overflow
-		}
-		if(isNaN()) { return "NaN"; }                             //special case: NaN, return NaN
-		
-		Complex sto=copy();                                       //copy input
-		if(omit_Option) {                                         //if we've elected to omit small components:
-			if(Math.abs(re)<1e-12 && Math.abs(im)>1e11*Math.abs(re)) { sto.re=0; } //small real, big imag: remove real from copy
-			if(Math.abs(im)<1e-12 && Math.abs(re)>1e11*Math.abs(im)) { sto.im=0; } //big real, small imag: remove imag from copy
-		}
-		
-		String ret="";                                   //initialize return String to ""
-		
-		if(sto.re!=0||sto.im==0) { ret+=str(sto.re,dig); } //display real part if it's nonzero (or if the entire number is 0)
-		if(sto.re!=0&&sto.im> 0) { ret+='+';             } //real "+" imag*i, include only if real!=0 & imag is positive
-		
-		String imag=str(sto.im,dig);
-		if     (imag.equals( "1")) { ret+= "i";     } //imag part =  1 : print  i instead of  1i
-		else if(imag.equals("-1")) { ret+="-i";     } //imag part = -1 : print -i instead of -1i
-		else if(sto.im!=0)         { ret+=imag+"i"; } //else if imag!=0: print imag + "i"
-		
-		return ret;                                                 //return the result
-	}
-	
-	/**
-	 * Casts to a <code>String</code> in polar notation.  If you were to write this complex number out as a string (in polar notation), this is 
-	 * what you'd get.
-	 * @return cast to a string, but in polar notation
-	 */
-	public String polarString() { //convert to a string, but written in polar notation
-		return polarString(-1);   //run the below function with the recommended number of digits
-	}
-	
-	/**
-	 * Casts to a <code>String</code> in polar notation with a specific number of digits.  If you were to write this complex number out as a
-	 * string, in polar notation, with a specified number of digits, this is what you'd get.
-	 * @return cast to a string, but in polar notation
-	 */
-	public String polarString(int dig) {            //convert to a string, but written in polar notation
-		return str(abs(),dig)+" ∠ "+str(arg(),dig); //absolute value, phaser, argument
-	}
-	
-////////////////////////////////////////////// OBSCURE YET REALLY USEFUL FUNCTIONS //////////////////////////////////////////////
-	
-	/**
-	 * Lazy absolute value. A minimal cost test which returns the approximate magnitude of the number.
-	 * It's useful for certain algorithms where overflow/underflow can be a problem.  Namely, where you need to use one algorithm when
-	 * the input is small, and another algorithm when the input is large, but there's a large range of values where both algorithms will
-	 * perform equally well.
-	 * @return the lazy absolute value, equivalent to max(|re|, |im|)
-	 */
-	public double lazyabs() { //lazy absolute value (minimal cost size test, useful for testing overflow/underflow errors)
-		return Math.max(Math.abs(re),Math.abs(im)); //return the biggest of the two components
-	}
-	
-	/**
-	 * Whether the input is the principal square root of its square.  For real numbers, this calculation is just z>=0.
-	 * But for complex numbers, it's a bit more complicated.  This function often comes in handy when determining the sign of a square
-	 * root, for instance, in the <code>acosh</code> and <code>asinh</code> functions.
-	 * @return true if and only if z==√(z²)
-	 */
-	public boolean isRoot() { return re>0 || re==0 && im>=0; }
-	
-	/**
-	 * Complex signum. An official function which returns 1 if the input is the square root of its square, -1 otherwise.  In other words,
-	 * it's equal to z/√(z²) for z!=0.
-	 * @return z/√(z²) if z!=0, 1 if z==0.
-	 */
-	public int csgn() { return isRoot()?1:-1; }
-	
-	/**
-	 * Multiply by csgn. Returns a copy of the input multiplied by the csgn of a.
-	 * This gets its own function because the calculation doesn't require any multiplications.
-	 * @param a the number we multiply by the sign of.
-	 * @return the product
-	 */
-	public Complex mulcsgn  (double a) { return a>=0 ? copy() : neg(); }
-	/**
-	 * Multiply by csgn. Returns a copy of the input multiplied by the csgn of z.
-	 * This gets its own function because the calculation doesn't require any multiplications.
-	 * @param z the number we multiply by the sign of.
-	 * @return the product
-	 */
-	public Complex mulcsgn  (Complex z) { return z.isRoot() ? copy() : neg(); } //multiply by csgn of z & create new instance
-	/**
-	 * Multiply equals csgn. Multiplies the input by the csgn of a, then returns the result.  Mutates the original object.
-	 * This gets its own function because the calculation doesn't require any multiplications.
-	 * @param a the number we multiply by the sign of
-	 * @return the product
-	 */
-	public Complex muleqcsgn(double a) { return a>=0 ? this : negeq(); } //multiply equals by sgn of a
-	/**
-	 * Multiply equals csgn. Multiplies the input by the csgn of a, then returns the result.  Mutates the original object.
-	 * This gets its own function because the calculation doesn't require any multiplications.
-	 * @param z the number we multiply by the sign of
-	 * @return the product
-	 */
-	public Complex muleqcsgn(Complex z) { return z.isRoot() ? this : negeq(); } //multiply equals by csgn of z
-	
-	/**
-	 * "Secondary absolute value", √(z²). A non-official math function which behaves similarly to the absolute value for real inputs.
-	 * While √(z²) is often just shortened to |z| when the input is a real number, for complex numbers, this is no longer the case.
-	 * However, since this still comes up for complex numbers just as it does real numbers, and since square roots are computationally
-	 * expensive, I've added this function to evaluate √(z²) without using any square roots (or even any multiplications).
-	 * @return √(z²)
-	 */
-	public Complex abs2() { return mulcsgn(this); } //secondary absolute value, return √(z²)
-	
-	/**
-	 * Copies and rotates ang radians counterclockwise in the complex plane.
-	 * @param ang the angle we rotate by
-	 * @return the rotated copy
-	 */
-	public Complex rotate(double ang) { //returns a rotated copy
-		double cos = cos(ang), sin = sin(ang); return new Complex(re*cos-im*sin,re*sin+im*cos);
-	}
-	/**
-	 * Rotate-equals by ang radians counterclockwise in the complex plane.
-	 * @param ang the angle we rotate by
-	 * @return the rotated result
-	 */
-	public Complex rotateEq(double ang) { //rotates & returns
-		double cos = cos(ang), sin = sin(ang); set(re*cos-im*sin,re*sin+im*cos); return this;
-	}
-	
-	/**
-	 * The minimum of the ulps (unit in the last place) of the real and imaginary part
-	 * @return min(ulp(re),ulp(im))
-	 */
-	public double ulpMin() {
-		return Math.min(Math.ulp(re),Math.ulp(im));
-	}
-	
-	/**
-	 * The maximum of the ulps (unit in the last place) of the real and imaginary part
-	 * @return max(ulp(re),ulp(im))
-	 */
-	public double ulpMax() {
-		return Math.max(Math.ulp(re),Math.ulp(im));
-	}
-	
-///////////////////////////////////////////// BASIC ARITHMETIC /////////////////////////////////////////////////
-	
-	//create a new instance
-	
-	/**
-	 * Adds complex number
-	 * @param a the complex number we add (known as the addend)
-	 * @return the sum
-	 */
-	public Complex add(Complex a) { return new Complex(re+a.re, im+a.im); }
-	/**
-	 * Adds x+yi
-	 * @param x addend's real part
-	 * @param y addend's imaginary part
-	 * @return sum
-	 */
-	public Complex add(double x, double y) { return new Complex(re+x, im+y); }
-	/**
-	 * Adds real number
-	 * @param a real addend
-	 * @return sum
-	 */
-	public Complex add(double a) { return new Complex(re+a, im  ); }
-	/**
-	 * Adds imaginary number
-	 * @param a imaginary addend
-	 * @return sum
-	 */
-	public Complex addI(double a) { return new Complex(re, im+a); }
-	
-	/**
-	 * Subtracts complex number
-	 * @param a the complex number we subtract (known as the subtrahend)
-	 * @return the difference
-	 */
-	public Complex sub(Complex a) { return new Complex(re-a.re, im-a.im); }
-	/**
-	 * Subtracts x+yi
-	 * @param x the subtrahend's real part
-	 * @param y the subtrahend's imaginary part
-	 * @return difference
-	 */
-	public Complex sub(double x, double y) { return new Complex(re-x, im-y); }
-	/**
-	 * Subtracts real number
-	 * @param a real subtrahend
-	 * @return difference
-	 */
-	public Complex sub(double a) { return new Complex(re-a, im  ); }
-	/**
-	 * Subtracts imaginary number
-	 * @param a imaginary subtrahend
-	 * @return difference
-	 */
-	public Complex subI(double a) { return new Complex(re, im-a); }
-	
-	/**
-	 * Multiplies by complex number
-	 * @param a the complex number we multiply by (known as the multiplier)
-	 * @return the product
-	 */
-	public Complex mul(Complex a) { return new Complex(re*a.re-im*a.im, re*a.im+im*a.re); }
-	/**
-	 * Multiplies x+yi
-	 * @param x the multiplier's real part
-	 * @param y the multiplier's imaginary part
-	 * @return product
-	 */
-	public Complex mul(double x, double y) { return new Complex(re*x-im*y, re*y+im*x); }
-	/**
-	 * Multiplies real number
-	 * @param a real multiplier
-	 * @return product
-	 */
-	public Complex mul(double a) { return new Complex(re*a, im*a); }
-	/**
-	 * Multiplies imaginary number
-	 * @param a imaginary multiplier
-	 * @return product
-	 */
-	public Complex mulI(double a) { return new Complex(-im*a, re*a); }
-	
-	/**
-	 * Divides by complex number
-	 * @param a the complex number we divide by (known as the divisor)
-	 * @return the quotient
-	 */
-	public Complex div(Complex a) {
-		if(a.lazyabs()<Double.MIN_NORMAL) { return scalb(512).mul(a.scalb(512).inv()); } //a is subnormal: multiply dividend & divisor by 2^512
-		return mul(a.inv());
-	}
-	/**
-	 * Divides x+yi
-	 * @param x divisor's real part
-	 * @param y divisor's imaginary part
-	 * @return quotient
-	 */
-	public Complex div(double x, double y) { return div(new Complex(x,y)); }
-	/**
-	 * Divides by real number
-	 * @param a real divisor
-	 * @return quotient
-	 */
-	public Complex div(double a) {
-		if(Math.abs(a)<Double.MIN_NORMAL) { return new Complex(re/a, im/a); } //for subnormal a, we divide each component by a
-		double rec=1.0D/a; return new Complex(re*rec, im*rec);                //else, multiply each component by 1/a
-	}
-	/**
-	 * Divides by imaginary number
-	 * @param a imaginary divisor
-	 * @return the quotient
-	 */
-	public Complex divI(double a) {
-		if(Math.abs(a)<Double.MIN_NORMAL) { return new Complex(im/a, -re/a); } //for subnormal a, we divide each component by a
-		double rec=1.0D/a; return new Complex(im*rec, -re*rec);                //else, multiply each component by 1/a
-	}
-	
-	//assign equals
-	
-	/**
-	 * Plus-equals complex number
-	 * @param a the number we add (or addend)
-	 * @return the sum
-	 */
-	public Complex addeq(Complex a) { re+=a.re; im+=a.im; return this; } // +=
-	/**
-	 * Plus-equals x+yi
-	 * @param x addend's real part
-	 * @param y addend's imaginary part
-	 * @return sum
-	 */
-	public Complex addeq(double x, double y) { re+=x; im+=y; return this; }
-	/**
-	 * Plus-equals real number
-	 * @param a real addend
-	 * @return sum
-	 */
-	public Complex addeq(double a) { re+=a; return this; }
-	/**
-	 * Plus-equals imaginary number
-	 * @param a imaginary addend
-	 * @return sum
-	 */
-	public Complex addeqI(double a) { im+=a; return this; }
-	
-	
-	/**
-	 * Minus-equals complex number
-	 * @param a the number we subtract (or subtrahend)
-	 * @return the difference
-	 */
-	public Complex subeq(Complex a) { re-=a.re; im-=a.im; return this; } // -=
-	/**
-	 * Minus-equals x+yi
-	 * @param x subtrahend's real part
-	 * @param y subtrahend's imaginary part
-	 * @return difference
-	 */
-	public Complex subeq(double x, double y) { re-=x; im-=y; return this; }
-	/**
-	 * Minus-equals real number
-	 * @param a real subtrahend
-	 * @return difference
-	 */
-	public Complex subeq(double a) { re-=a; return this; }
-	/**
-	 * Minus-equals imaginary number
-	 * @param a imaginary subtrahend
-	 * @return difference
-	 */
-	public Complex subeqI(double a) { im-=a; return this; } // Complex -= double*i
-	
-	
-	/**
-	 * Times-equals complex number
-	 * @param a the number we multiply by (or multiplier)
-	 * @return the product
-	 */
-	public Complex muleq(Complex a) { set(re*a.re-im*a.im, re*a.im+im*a.re); return this; } // *=
-	/**
-	 * Times-equals x+yi
-	 * @param x multiplier's real part
-	 * @param y multiplier's imaginary part
-	 * @return product
-	 */
-	public Complex muleq(double x, double y) { set(re*x-im*y, re*y+im*x); return this; }
-	/**
-	 * Times-equals real number
-	 * @param a real multiplier
-	 * @return product
-	 */
-	public Complex muleq(double a) { re*=a; im*=a; return this; }
-	/**
-	 * Times-equals imaginary number
-	 * @param a imaginary multiplier
-	 * @return product
-	 */
-	public Complex muleqI(double a) { set(-im*a, re*a); return this; }
-	
-	
-	/**
-	 * Divide-equals complex number
-	 * @param a the number we divide by (or divisor)
-	 * @return the quotient
-	 */
-	public Complex diveq(Complex a) { // /=
-		if(a.lazyabs()<Double.MIN_NORMAL) { return scalbeq(512).muleq(a.scalb(512).inv()); } //a is subnormal: multiply dividend & divisor by 2^512
-		return muleq(a.inv()); //otherwise, just multiply by the inverse
-	}
-	/**
-	 * Divide-equals x+yi
-	 * @param x divisor's real part
-	 * @param y divisor's imaginary part
-	 * @return the quotient
-	 */
-	public Complex diveq(double x, double y) { return diveq(new Complex(x,y)); }
-	/**
-	 * Divide-equals real number
-	 * @param a real divisor
-	 * @return quotient
-	 */
-	public Complex diveq(double a) {
-		if(Math.abs(a)<=Double.MIN_NORMAL) { re/=a; im/=a; return this; }
-		return muleq(1.0D/a);
-	}
-	/**
-	 * Divide-equals imaginary number
-	 * @param a imaginary divisor
-	 * @return quotient
-	 */
-	public Complex diveqI(double a) {
-		if(Math.abs(a)<=Double.MIN_NORMAL) { set(im/a,-re/a); return this; }
-		return muleqI(-1.0D/a);
-	}
-	
-/////////////////////////////////////// NEGATION AND OTHER SIMPLE OPERATIONS ////////////////////////////////
-	
-	//new instance
-	/**
-	 * Negates copy (multiplies it by -1)
-	 * @return a negated copy
-	 */
-	public Complex neg () { return new Complex(-re,-im); } //negation
-	/**
-	 * Complex conjugates copy (negates imaginary part)
-	 * @return a conjugated copy
-	 */
-	public Complex conj() { return new Complex( re,-im); } //complex conjugate
-	/**
-	 * Multiplies by i
-	 * @return a copy that's been multiplied by i; rotated 90 degrees counter-clockwise
-	 */
-	public Complex mulI() { return new Complex(-im, re); } //multiply by i
-	/**
-	 * Divides by i
-	 * @return a copy that's been divided by i; multiplied by -i; rotated 90 degrees clockwise
-	 */
-	public Complex divI() { return new Complex( im,-re); } //divide   by i
-	
-	//assign equals
-	/**
-	 * Negate-equals (x+yi -> -x-yi)
-	 * @return the negated result
-	 */
-	public Complex negeq()  { set(-re, -im); return this; } // negate-equals
-	/**
-	 * Complex conjugate-equals (x+yi -> x-yi)
-	 * @return the conjugated result
-	 */
-	public Complex conjeq() { im = -im;      return this; } // conjugate-equals
-	/**
-	 * Times-equals i (x+yi -> -y+xi)
-	 * @return the product
-	 */
-	public Complex muleqI() { set(-im,  re); return this; } // *= i
-	/**
-	 * Divide-equals i (x+yi -> y-xi)
-	 * @return the quotient
-	 */
-	public Complex diveqI() { set( im, -re); return this; } // /= i
-	
-	/**
-	 * Multiplies by 2^scaleFactor
-	 * @param scaleFactor the power of 2
-	 * @return the product with the binary exponent
-	 */
-	public Complex scalb(int scaleFactor) {
-		return new Complex(Math.scalb(re,scaleFactor),Math.scalb(im,scaleFactor));
-	}
-	
-	/**
-	 * Multiply-equals by 2^scaleFactor
-	 * @param scaleFactor the power of 2
-	 * @return the product with the binary exponent
-	 */
-	public Complex scalbeq(int scaleFactor) {
-		re = Math.scalb(re,scaleFactor); im = Math.scalb(im,scaleFactor); return this;
-	}
-	
-/////////////////////////////////////// COMPLEX PARTS ////////////////////////////////////////////////////
-	
-	/** Gets the real part.
-	 * @return real part */
-	public double re() { return re; } //real part
-	/** Gets the imaginary part. 
-	 * @return imaginary part */
-	public double im() { return im; } //imaginary part
-	
-	/**
-	 * Absolute square.  The square of the absolute value, equal to re²+im².
-	 * @return absolute square
-	 */
-	public double absq() { return re*re+im*im; } //absolute square
-	
-	/**
-	 * Absolute value.  The Pythagorean distance from 0 on the complex plane, equal to √(re²+im²).
-	 * @return absolute value
-	 */
-	public double abs()  {                       //absolute value
-		if(im==0) { return Math.abs(re); } //if it's real, return abs(Re(x))
-		if(re==0) { return Math.abs(im); } //if it's imaginary, return abs(Im(x))
-		if(isInf()) { return INF; } //if infinite, return infinity
-		
-		double l=lazyabs();                    //take lazy abs for a quick sense of scale
-		if(l<1.4916681462400413E-154D) { return Math.scalb(scalb( 1022).abs(),-1022); } //absolute square underflows (l<2^-511): *2^1022, abs, /2^1022
-		if(l>=9.480751908109177E+153D) { return Math.scalb(scalb(-1022).abs(), 1022); } //absolute square underflows (l>=2^511.5): /2^1022, abs, *2^1022
-		
-		return Math.sqrt(absq()); //general case: return the square root of the absolute square
-	}
-	
-	/**
-	 * Argument (angle).  The angle of the input, measured counterclockwise from the positive real axis.
-	 * @return the argument
-	 */
-	public double arg()  {                             //polar argument
-		if(im==0) { return re>=0 ? 0 : Math.PI;      } //real      number: return either 0 or π
-		if(re==0) { return im>=0 ? HALFPI : -HALFPI; } //imaginary number: return ±π/2
-		return Math.atan2(im, re);                     //general case: find the angle with atan2
-	}
-	
-	/**
-	 * Sign (or signum).  The input divided by its absolute value.  Similar to putting a hat over a vector.
-	 * In the special case that the input is 0, the result is 0.
-	 * @return the sign
-	 */
-	public Complex sgn() { //signum
-		if(equals(0)) { return new Complex(); } //0: return 0
-		if(isInf()) {                           //∞: it depends
-			if(Math.abs(re)==Math.abs(im)) { return new Complex(0.5*ROOT2*sgn(re),0.5*ROOT2*sgn(im)); } //both components are infinite
-			return new Complex(sgn(re),sgn(im));                                                        //one component is infinite
-		}
-		return div(abs());                      //otherwise: return this divided by the absolute value
-	}
-	
-///////////////////////////////////////// RECIPROCAL, SQUARE ROOT, AND OTHER IMPORTANT FUNCTIONS ////////////////////
-	
-	/**
-	 * Inverse (or reciprocal).  Equivalent to the conjugate divided by the absolute square.
-	 * @return the reciprocal
-	 */
-	public Complex inv() {                       //reciprocal
-		if(im==0)   { return new Complex(1.0/re);    } //real      number: return  1/(real part)
-		if(re==0)   { return new Complex(0,-1.0/im); } //imaginary number: return -i/(imag part)
-		if(isInf()) { return new Complex();          } //infinite  number: return 0
-		
-		double l=lazyabs();                    //take lazy abs for a quick sense of scale
-		
-		if(l<1.4916681462400413E-154D) { return scalb( 1022).inv().scalb( 1022); } //absolute square underflows: *2^1022, invert, *2^1022 again
-		if(l>=9.480751908109177E+153D) { return scalb(-1022).inv().scalb(-1022); } //absolute square overflows: *2^-1022, invert, *2^-1022 again
-		
-		double inv = 1d/absq();             //compute the reciprocal of the absolute square
-		return new Complex(re*inv,-im*inv); //general case: return the conjugate over the absolute square
-		
-		//Complex res = new Complex(re*inv,-im*inv);        //this would be used if you wanted to perform one iteration of Newton-Raphson
-		//res.addeq(mul(res).negeq().addeq(1).muleq(res));
-		//return res;
-	}
-	
-	/**
-	 * Square.  Multiplication of a number by itself.  (x+yi)² = (x²-y²)+2xy*i = (x+y)(x-y) + 2xyi.
-	 * @return the square
-	 */
-	public Complex sq () { return new Complex((re+im)*(re-im),2*re*im); } //z²
-	/**
-	 * Cube.  Multiplication of a number by its square. 
-	 * @return the cube */
-	public Complex cub() { return mul(sq());                                        } //z³
-	
-	/**
-	 * Square root.  More specifically, the principal square root, whichever of the two square roots has the largest real part.
-	 * If it's a tie, whichever one has the largest imaginary part is returned.
-	 * @return the square root
-	 */
-	public Complex sqrt() { //√(z)
-		
-		if(equals(0)) { return new Complex(); } //special case: √(0)=0
-		if(isInf()) {                                                             		                   //special case: infinite input
-			if(Double.isFinite(im)) { return re==INF ? new Complex(INF) : new Complex(0,im>=0?INF:-INF); } //non-inf imag part: return either ∞ or ±∞i
-			return new Complex(INF,im);                                           		                   //otherwise, reutrn ∞±∞i
-		}
-		if(2*Math.abs(re)+Math.abs(im)==INF) { return mul(0.25D).sqrt().muleq(2D); } //special case: |z|+|x|=Overflow, return √(z/4)*2
-		//2|x|+|y|=2^1024 is the diamond of maximum area such that all z such that |z|+|x| are outside that diamond. I just figured it'd make things easier.
-		
-		//the formula for √(z) = √((|z|+x)/2) + sgn(y)√((|z|-x)/2)i    (where z = x + yi)
-		//since √((|z|+x)/2) * sgn(y)√((|z|-x)/2) = y/2, we'll just find one sqrt & use division to find the other
-		
-		double part1=Math.sqrt(0.5D*(abs()+Math.abs(re))); //compute whichever sqrt has the least roundoff error
-		
-		if(re>=0) { return new Complex(part1, im/(2.0D*part1));               } //if x>0, that'd be the real part
-		else      { return new Complex(im/(2.0D*part1), part1).muleqcsgn(im); } //if x<0, that'd be the imaginary part
-	}
-	
-	/** 
-	 * Cube root.  More specifically, the principal cube root.  Returns whichever of the 3 cube roots has the largest real part.
-	 * If cbrt_Option is true, an exception is made for negative reals, instead returning the negative real cube root.  Otherwise, the
-	 * cube root of a negative real will have an angle of +60°, or π/3 radians.
-	 * @return the cube root
-	 */
-	public Complex cbrt() { //cube root of complex z
-		if(im==0 && (cbrt_Option||re>=0)) { return new Complex(Math.cbrt(re)); } //z is real: return cbrt(re(z)) (we may or may not exclude negatives)
-		
-		if(re==-INF)                           { return new Complex(INF,im>=0?INF:-INF);             } //special case : -∞+something*i
-		if(isInf())                            { return new Complex(INF,Double.isInfinite(im)?im:0); } //special case : something else infinite
-		if(lazyabs()>=1.2711610061536464E308D) { return mul(0.125D).cbrt().muleq(2D);                } //|z| overflows (L>=2^1023.5): return 2cbrt(z/8)
-		
-		double ang = arg()/3;                           //compute arg(z)/3
-		double mag = Math.cbrt(abs());                  //compute cbrt(|z|)
-		return new Complex(mag*cos(ang), mag*sin(ang)); //general case : return cbrt(|z|)*e^(arg(z)i/3)
-	}
-	
-	/**
-	 * Natural exponential.  Euler's number raised to the power of this number.  In polar notation, it's exp(re)∠im.
-	 * @return the exponential
-	 */
-	public Complex exp() { //e^z
-		if(im==0) { return new Complex(Math.exp(re));    }   //real number : return e^(real part)
-		if(re==0) { return new Complex(cos(im),sin(im)); }   //imag number : return cos(imag)+sin(imag)*i
-		if(re>=709.782712893384d && re<710.1292864836639d) { return sub(LOG2).exp().muleq(2D); }   //large real part: subtract ln(2), take exponent, multiply by 2
-		if(re<-744.4400719213812d)                         { return new Complex();             }   //large negative real part: return 0
-		
-		double exp = Math.exp(re);                   //compute exp of real part
-		return new Complex(exp*cos(im),exp*sin(im)); //return e^(real)*(cos(imag)+sin(imag)*i)
-	}
-	
-	/**
-	 * Natural logarithm.  Equal to the log of the absolute value plus i times the polar argument.
-	 * Technically, this returns the principal value of the logarithm, since all non-zero numbers have infinitely many natural logarithms,
-	 * but the principal value is whichever one has the imaginary part closest to 0.
-	 * @return the natural logarithm
-	 */
-	public Complex log() { //log(z)
-		if(re==0||im==0) { return new Complex(Math.log(abs()), arg()); } //real/imaginary number: return ln|z|+arg(z)i
-		if(isInf())      { return new Complex(INF, arg());             } //infinite number: return ∞+arg(z)i
-		
-		double l=lazyabs();                         //take lazy abs for a quick sense of scale
-		if(l<1.4916681462400413E-154D) { return scalb( 1022).log().subeq(1022*LOG2); } //absolute square underflows: *2^1022, find log, -ln(2^1022)
-		if(l>=9.480751908109177E+153D) { return scalb(-1022).log().addeq(1022*LOG2); } //absolute square  overflows: /2^1022, find log, +ln(2^1022)
-		
-		return new Complex(0.5D*Math.log(absq()), arg()); //general case: return ln(|z|²)/2+arg(z)i
-	}
-	
-	/**
-	 * Natural logarithm.  Some prefer to write it as log, while others prefer ln (Latin for "logarithmus naturalis").  Both ln
-	 * and log return the same thing, so which one you use is purely a matter of convention and/or preference.
-	 * @return the natural logarithm
-	 */
-	public Complex ln() { return log(); } //ln(z)
-	
-	/**
-	 * This number raised to the power of integer a.  Computed via exponentiation by squaring, a highly efficient combination of squaring
-	 * and multiplication that's ultimately equivalent to the base multiplied by itself a times (but more efficient).
-	 * @param a exponent
-	 * @return power
-	 */
-	public Complex pow(int a) { //Complex z ^ int a (exponentiation by squaring)
-		
-		if(im==0) { return new Complex(pow(re,a)); } //input is real: use the other implementation for doubles (results in ~1/4 the # of multiplications)
-		
-		if(a==Integer.MIN_VALUE) { return inv().pow(0xC0000000).sq(); } //special case: exponent is minimum integer, raise to the power of -2^30, then square result.
-		//NOTE: without the above code, raising a number to the power of -2^31 would result in a stack overflow, since a would be repeatedly negated (to no effect) and z would be repeatedly inverted
-		
-		if(a<0) { return inv().pow(-a); } //a is negative: return (1/z)^(-a)
-		//general case:
-		Complex ans=new Complex(1);     //return value: z^a (init to 1 in case a==0)
-		int ex=a;                       //copy of a
-		Complex iter=copy();            //z ^ (2 ^ (whatever digit we're at))
-		boolean inits=false;            //true once ans is initialized (to something other than 1)
-		
-		while(ex!=0) {                               //loop through all a's digits (if a==0, exit loop, return 1)
-			if((ex&1)==1) {
-				if(inits) { ans.muleq(iter);           } //mult ans by iter ONLY if this digit is 1
-				else      { ans.set(iter); inits=true; } //if ans still = 1, set ans=iter (instead of multiplying by iter)
-			}
-			ex >>= 1;                                    //remove the last digit
-			if(ex!=0)     { iter.muleq(iter); }          //square the iterator (unless the loop is over)
-		}
-		
-		return ans; //return the result
-	}
-	
-	/**
-	 * This number raised to the power of the real number a.  Computed by raising the absolute value to the power of a, multiplying the
-	 * angle by a, and returning the result.  If this is a real number, we use <code>Mafs.pow</code> to reduce multiplications.  If a is
-	 * an integer, we use the <code>pow(int)</code> function to improve performance and accuracy.
-	 * @param a the exponent
-	 * @return the result
-	 */
-	public Complex pow(double a) { //complex z ^ double a
-		if(Math.abs(a)<=2147483647 && a%1==0) { return pow((int)a);                 } //exponent is an integer: there's a faster (and more accurate) way of doing this
-		if(im==0 && (re>=0||a%1==0))          { return new Complex(Math.pow(re,a)); } //if the base is real and non-negative, or it's negative but the exponent is an integer, we'll just use the built in power function 
-		
-		double mag;                                   //compute |z|^a
-		double l=lazyabs();                           //use lazy absolute value for a sense of scale
-		if     (l>=1.4916681462400413E-154D && l<9.480751908109177E+153D) { mag=Math.pow(absq(),0.5*a); } //if within range, take (|z|²)^(a/2)
-		else if(l>=Double.MIN_NORMAL        && l<1.2711610061536464E308D) { mag=Math.pow(abs (),    a); } //if within another range, take |z|^a
-		else                                                 { return div(l).pow(a).mul(Math.pow(l,a)); } //if outside both ranges, divide by l, raise to a-th power, mult by l^a
-		
-		double arg = arg();                                //compute the argument
-		return new Complex(mag*cos(a*arg),mag*sin(a*arg)); //return complex number with magnitude |z|^a & angle a*θ
-	}
-	
-	/**
-	 * This number raised to the power of complex number a.  Computed by multiplying the logarithm by a, then taking the exponential.
-	 * If a is real, we use the <code>pow(double)</code> function.  If this is Euler's number, we return the <code>exp</code> function.
-	 * @param a the exponent
-	 * @return the result
-	 */
-	public Complex pow(Complex a) {              //complex z ^ complex a
-		if(equals(Math.E)) { return a.exp();   } //z==e        : return e^a (just in case someone feels like doing exp this way)
-		if(a.im==0)        { return pow(a.re); } //a is real   : return complex z ^ double a.re
-		return log().muleq(a).exp();             //general case: return e to the power of the log times a
-	}
-	
-//////////////////// ROUNDING & MODULOS ////////////////////////////////////
-	
-	/** Floor of the real part.
-	 * @return the floor of the real part*/
-	public double floor() { return Math.floor(re); }
-	/** Ceiling of the real part.
-	 * @return the ceiling of the real part*/
-	public double ceil () { return Math.ceil(re);  }
-	/** Round the real part to the nearest integer.
-	 * @return the real part rounded to the nearest integer*/
-	public double round() { return Math.round(re); }
-	
-	/**
-	 * Modulo.
-	 * @param a divisor in the modulo
-	 * @return this minus the largest integer multiple of a that fits in this. (Read the code for more information)
-	 */
-	public Complex mod(Complex a) {         //Complex modulo (sign standard: +%+ = +, +%- = -, -%+ = +, -%- = -)
-		Complex part=a.mul(div(a).floor()); //part: the largest* integer multiple of a that fits in "this": / by a, round down, * back by a
-		return sub(part);                   //subtract this multiple
-	}
-	//* "largest" meaning the largest integer that multiplies by a
-	
-	/**
-	 * Modulo, version 2.  Here, a very specific integer multiple of a is subtracted: whichever integer multiple causes the output to be
-	 * closest to 0.
-	 * @param a the divisor of the modulo
-	 * @return the secondary modulo.
-	 */
-	public Complex mod_v2(Complex a) {             //Secondary modulo: drops sign convention & just returns whichever modulo is closer to 0
-		Complex part=a.mul(-div(a).neg().round()); //part: the closest integer multiple of a to "this": / by -a, round, * back by -a
-		return sub(part);                          //subtract this multiple
-	}                                            //note, if two multiples are equally close, we default to the multiple corresponding to the lower integer (hence why a is negated)
-	
-	//when adding logarithms, you can use this tool (with "a" set to 2πi) to ensure the imaginary part is within the range (-π,π]
-	
-//////////////////// TRIGONOMETRY //////////////////////////////////////
-	
-	/** Complex cosine
-	 * @return the cosine*/
-	public Complex cos() {                                                  //cos
-		if(im==0) { return new Complex(cos(re));       } //real input: return cos
-		if(re==0) { return new Complex(Math.cosh(im)); } //imag input: return cosh
-		
-		double[] sinhcosh=fsinhcosh(im);                 //compute sinh & cosh of imag part
-		return new Complex(cos(re)*sinhcosh[1],-sin(re)*sinhcosh[0]); //cos(x+yi) = cos(x)cosh(y)-sin(x)sinh(y)i
-	}
-	/** Complex sine
-	 * @return the sine*/
-	public Complex sin() {                                                    //sin
-		if(im==0) { return new Complex(sin(re));         } //real input: return sin
-		if(re==0) { return new Complex(0,Math.sinh(im)); } //imag input: return sinh*i
-		
-		double[] sinhcosh=fsinhcosh(im);                   //compute sinh & cosh of imag part
-		return new Complex(sin(re)*sinhcosh[1],cos(re)*sinhcosh[0]); //sin(x+yi) = sin(x)cosh(y)+cos(x)sinh(y)i
-	}
-	/** Complex sine and cosine
-	 * @return sine and cosine */
-	public Complex[] fsincos() {
-		if(im==0) { return new Complex[] {new Complex(sin(re)),new Complex(cos(re))}; }
-		if(re==0) { double[] sc=fsinhcosh(im); return new Complex[] {new Complex(0,sc[0]),new Complex(sc[1])}; }
-		
-		double sin=sin(re), cos=cos(re);
-		double sinhcosh[] = fsinhcosh(im);
-		return new Complex[] {new Complex(sin*sinhcosh[1],cos(re)*sinhcosh[0]), new Complex(cos*sinhcosh[1],-sin*sinhcosh[0])};
-	}
-	/** Complex tangent
-	 * @return the tangent*/
-	public Complex tan() {                                                        //tan
-		if(im==0) 	 { return new Complex(tan(re));         } //real input: return tan
-		if(re==0)    { return new Complex(0,Math.tanh(im)); } //imag input: return tan*i
-		
-		if(Math.abs(im)>18.7149738751185d) { return new Complex(0,sgn(im)); } //large input: return +-1
-		
-		double sin=sin(2*re), cos=cos(2*re); //compute sin  & cos  of twice the real part
-		double[] sinhcosh=fsinhcosh(2*im);   //compute sinh & cosh of twice the imag part
-		
-		if(cos<-0.9998D && sinhcosh[1]<1.0002D) { //SPECIAL CASE: our input is close to an odd multiple of π/2
-			double denom = 1.0D/(sinhcosh[1]-cos);                   //compute 1/(cosh(2y)-cos(2x))
-			return new Complex(sin*denom, -sinhcosh[0]*denom).inv(); //cot(x+yi) = (sin(2x)-sinh(2y)i)/(cosh(2y)-cos(2x)), tan = 1/cot
-		}
-		//DEFAULT CASE: use the following formula on our input
-		double denom = 1.0D/(cos+sinhcosh[1]);            //compute 1/(cos(2x)+cosh(2y))
-		return new Complex(sin*denom, sinhcosh[0]*denom); //tan(x+yi) = (sin(2x)+sinh(2y)i)/(cos(2x)+cosh(2y))
-	}
-	
-	/** Hyperbolic cosine
-	 * @return the hyperbolic cosine*/
-	public Complex cosh() { return mulI().cos();          } //cosh
-	/** Hyperbolic sine
-	 * @return the hyperbolic sine*/
-	public Complex sinh() { return mulI().sin().diveqI(); } //sinh
-	/** Hyperbolic tangent
-	 * @return the hyperbolic tangent*/
-	public Complex tanh() { return mulI().tan().diveqI(); } //tanh
-	
-	/** Secant
-	 * @return secant*/    public Complex sec () { return cos().inv(); } //sec
-	/** Cosecant
-	 * @return cosecant*/  public Complex csc () { return sin().inv(); } //csc
-	/** Cotangent
-	 * @return cotangent*/ public Complex cot () { return tan().inv(); } //cot
-	
-	/** Hyperbolic secant
-	 * @return hyperbolic secant*/    public Complex sech() { return cosh().inv(); } //sech
-	/** Hyperbolic cosecant
-	 * @return hyperbolic cosecant*/  public Complex csch() { return sinh().inv(); } //csch
-	/** Hyperbolic cotangent
-	 * @return hyperbolic cotangent*/ public Complex coth() { return tanh().inv(); } //coth
-	
-//////////////////////////////////////////////////////////////////////////INVERSE TRIGONOMETRY////////////////////////////////////////////////////////////////////////////////////
-	
-	/** Inverse cosh
-	 * @return inverse hyperbolic cosine*/
-	public Complex acosh() {                                                //arcosh
-		if(im==0&&Math.abs(re)<=1) { return new Complex(0,Math.acos(re)); } //real input [-1,1]: return acos*i
-		
-		if(absq()>1E18D) { return log().addeq(LOG2); }            //huge input: return asymptotic approximation
-		
-		return add( sq().subeq(1).sqrt().muleqcsgn(this) ).log(); //else: return ln(z+csgn(z)√(z²-1))
-	}
-	/** Inverse sinh
-	 * @return inverse hyperbolic sine*/
-	public Complex asinh() {                                                //arsinh
-		if(re==0&&Math.abs(im)<=1) { return new Complex(0,Math.asin(im)); } //imag input [-i,i]: return asin*i
-		
-		if(absq()>1E18D) { return abs2().log().addeq(LOG2).muleqcsgn(this); } //huge input: return asymptotic approximation
-		if(lazyabs()<=1E-4D) { return mul(Cpx.sub(1,sq().div(6))); }          //tiny input: return taylor's series
-		
-		return (abs2().addeq( sq().addeq(1).sqrt() )).log().muleqcsgn(this);  //else: return csgn(z)ln(|z|+√(z²+1))
-	}
-	/** Inverse tanh
-	 * @return inverse hyperbolic tangent*/
-	public Complex atanh() {                                                               //artanh
-		if(im==0 && Math.abs(re)==1)           { return new Complex(re==1 ? INF : -INF); } //special case: atanh(±1)=±∞
-		if(isInf()) { return new Complex(0,(im>0 || im==0 && re<=1) ? HALFPI : -HALFPI); } //special case: z is infinite, return ±πi/2
-		
-		if(re==0)            { return new Complex(0,Math.atan(im)); } //imag input: return atan*i
-		if(lazyabs()<=1E-4D) { return mul(sq().div(3).addeq(1));    } //tiny input: return taylor's series
-		
-		Complex ans=(add(1).diveq(Cpx.sub(1,this))).log().muleq(0.5D); //else      : atanh(z)=ln((1+z)/(1-z))/2
-		if(im==0&&re>1) { ans.im=-HALFPI; }                            //(special case) z is real & >1: negate im to keep function odd
-		return ans;                                                    //return answer
-	}
-	
-	/**Arc cosine
-	 * @return the principal value of the arc cosine*/
-	public Complex acos() {                                                 //acos
-		if(im==0 && Math.abs(re)<=1) { return new Complex(Math.acos(re)); } //real input [-1,1]: return acos
-		return mulI().asinh().muleqI().addeq(HALFPI);                       //else             : return π/2-asin
-	}
-	/**Arc sine
-	 * @return the principal value of the arc sine*/
-	public Complex asin() { return mulI().asinh().diveqI(); } //asin
-	/**Arc tangent
-	 * @return the principal value of the arc tangent*/
-	public Complex atan() { return mulI().atanh().diveqI(); } //atan
-	
-	
-	/**Arc secant
-	 * @return the arc    secant*/ public Complex asec() { return inv().acos(); } //asec
-	/**Arc cosecant
-	 * @return the arc  cosecant*/ public Complex acsc() { return inv().asin(); } //acsc
-	/**Arc cotangent
-	 * @return the arc cotangent*/ public Complex acot() { return inv().atan(); } //acot
-	
-	/**Inverse sech
-	 * @return the inverse hyperbolic secant*/    public Complex asech() { return inv().acosh(); } //asech
-	/**Inverse csch
-	 * @return the inverse hyperbolic cosecant*/  public Complex acsch() { return inv().asinh(); } //acsch
-	/**Inverse coth
-	 * @return the inverse hyperbolic cotangent*/ public Complex acoth() { return inv().atanh(); } //acoth
-}
\ No newline at end of file
+package complexnumbers;
+
+//Don't be intimidated by the line count.  About half of the lines are just javadoc comments.
+
+////////////////////////////////////////////////////////// COMPLEX CLASS ////////////////////////////////////////////////////////////////////////////////////////
+
+/**
+ * A Complex Object.
+ * 
+ * <br><br>Each instance of <code>Complex</code> represents a complex number.  That is, a linear combination of 1 and the square root of -1 
+ * (also known as i).  The multiple of 1 is known as the real part, while the multiple of i is known as the imaginary part.  Complex numbers
+ * play a very important role in many fields.  Simpler examples of such fields might include rotations, matrix algebra, and differential 
+ * equations, while more complicated fields might include AC circuits and quantum mechanics.  They are also the foundation for many intricate
+ * fractalsm, such as the Mandelbrot set.  The complex class is double precision, meaning each component is represented with 64-bit floating
+ * points, totaling 128 bits (16 bytes) of data.
+ * 
+ * <br><br>It has two components, <code>re</code> and <code>im</code>, each <code>double</code>s representing the real and imaginary parts
+ * of the number.  There are no illegal permutations of <code>re</code> and <code>im</code>, and thus both attributes are public.
+ * 
+ * <br><br>It should be noted that, due to the way this was implemented, Infinite numbers and NaN numbers are practically interchangeable.
+ * 
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class Complex extends Mafs implements Cloneable { //this object represents a complex number.
+	
+//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
+	
+	/** The real part. Since there are no illegal numbers, this attribute is public. */
+	public double re;
+	/** The imaginary part. Since there are no illegal numbers, this attribute is public. */
+	public double im;
+	
+	/** If true, cbrt(-1)=-1; If false, cbrt(-1)=(1+√(3)i)/2. */
+	public static boolean cbrt_Option=true;
+	
+	/** If true, small components are omitted from string conversion due to roundoff; If false, they are preserved for accuracy.*/
+	public static boolean omit_Option=true;
+	
+/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
+	
+	/** Default constructor: Constructs 0+0i*/
+	public Complex() { re=im=0; }
+	/**
+	 * Constructs x+yi.
+	 * @param x real part
+	 * @param y imaginary part
+	 */
+	public Complex(final double x, final double y) { re=x; im=y; }
+	/**
+	 * Constructs x+0i.
+	 * @param x real part
+	 */
+	public Complex(final double x) { re=x; im=0; }
+	
+	/**
+	 * Pseudo-constructor with a check.  Constructs x+yi, before performing a check to avoid
+	 * the undesirable permutations of NaN±∞i or ±∞+NaN*i.  See <a href="#validate()">validate()</a> for more information.
+	 * 
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return the constructed object
+	 */
+	public Complex compCheck(final double x, final double y) { return new Complex(x,y).validate(); }
+	
+////////////////////////////////////////////// BASIC FUNCTIONS /////////////////////////////////
+	
+	/** Returns a deep copy.
+	 * @return a deep copy */
+	@Override
+	public Complex clone() { return new Complex(re,im); } //create clone
+	/** Returns a deep copy.
+	 * @return a deep copy */
+	public Complex copy () { return new Complex(re,im); } //create deep copy
+	
+	/**
+	 * Creates an immutable <code>ComplexValue</code> with the same value
+	 * @return the immutable value
+	 */
+	public ComplexValue toValue() { return new ComplexValue(re,im); } //convert to an immutable value
+	
+	/**
+	 * Sets to x+yi
+	 * @param x the new real part
+	 * @param y the new imaginary part
+	 */
+	public void set(double x, double y) { re=x;    im=y;    }
+	/**
+	 * Sets this equal to z
+	 * @param z what gets copied to this instance
+	 */
+	public void set(Complex z)          { re=z.re; im=z.im; }
+	/**
+	 * Sets the value equal to an immutable <code>ComplexValue</code>
+	 * @param z the value we set this to
+	 */
+	public void set(ComplexValue z)     { re=z.re; im=z.im; }
+	/**
+	 * Sets to x+0i
+	 * @param x the new real part
+	 */
+	public void set(double x)           { re=x;    im=0;    }
+	/**
+	 * Sets to 0+yi
+	 * @param y the new imaginary part
+	 */
+	public void setI(double y)          { re=0;    im=y;    }
+	
+	/**
+	 * Sets equal to x+yi, then performs a check.  This check is to avoid the undesirable permutations of NaN±∞i or ±∞+NaN*i.
+	 * See <a href="#validate()">validate()</a> for more information.
+	 * @param x the new real part
+	 * @param y the new imaginary part
+	 */
+	public void setCheck(double x, double y) { re=x; im=y; validate(); }
+	
+	/**
+	 * Sets polar components (magnitude and angle).
+	 * @param r the new absolute value
+	 * @param ang the new argument
+	 */
+	public void setPolar(double r, double ang) { re=r*cos(ang); im=r*sin(ang); validate(); }
+	
+	/**
+	 * Sets the real part to x.  Does not change imaginary part.
+	 * @param x the real part
+	 */
+	public void setRe(double x) { re=x; }
+	/**
+	 * Sets the imaginary part to y.  Does not change the real part.
+	 * @param y the imaginary part
+	 */
+	public void setIm(double y) { im=y; }
+	/**
+	 * Sets the absolute value to r.  Does not change the angle
+	 * @param r the absolute value
+	 */
+	public void setAbs(double r) { muleq(r/abs()); }
+	/**
+	 * Sets the argument to a.  Does not change the magnitude.
+	 * @param a the argument
+	 */
+	public void setArg(double a) { double abs = abs(); set(abs*cos(a), abs*sin(a)); }
+	
+	/**
+	 * Tests for equality with x+yi.
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return whether or not they equal
+	 */
+	public boolean equals(double x, double y) { return (re==x && im==y) || (isNaN() && (x!=x||y!=y)); }
+	/**
+	 * Tests for equality with x+0i.  Returns true if re==x and im==0.
+	 * @param x the real number
+	 * @return  whether or not they equal.
+	 */
+	public boolean equals(double x) { return (re==x && im==0) || (isNaN() && x!=x); }
+	/**
+	 * Tests for equality with 0+yi.  Returns true if re==0 and im==y
+	 * @param y the imaginary number
+	 * @return  whether or not they equal
+	 */
+	public boolean equalsI(double y) { return (re==0 && im==y) || (isNaN() && y!=y); } //test for equality w/ an imaginary number
+	
+	/**
+	 * Tests for equality with the number r∠ang (in polar notation).
+	 * @param r the magnitude
+	 * @param ang the angle
+	 * @return whether or not they equal
+	 */
+	public boolean equalsPolar(double r, double ang) { return re==r*cos(ang) && im==r*sin(ang); }
+	
+	/** Returns true if the object is a <code>Complex</code> with the same value.
+	 * @return true if they equal*/
+	@Override
+	public boolean equals(final Object o) { //test for equality with another object
+		if(o instanceof Complex) { //if complex:
+			Complex z = (Complex)o; //cast to complex
+			return re==z.re && im==z.im || isNaN() && z.isNaN(); //return true iff both components match, or they're both NaN
+		}
+		return false; //otherwise, return false
+	}
+	
+	/** Computes the hash code.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() { //returns the hash code
+		if(isNaN()) { return -585754751; } //if NaN, return the same hashCode we'd get from NaN+0i
+		
+		long x=Double.doubleToLongBits(re), y=Double.doubleToLongBits(im); //get the bits from the real & imaginary parts
+		int result = 1;
+		result = 31*result + (int)(x>>32); //compute the hashcode from 4 ints. 2 from splitting up the re, 2 from splitting up the im.
+		result = 31*result + (int)x;
+		result = 31*result + (int)(y>>32);
+		result = 31*result + (int)y;
+		return result;
+	}
+	
+	/**
+	 * Performs a check to avoid the undesirable states of NaN±∞i or ±∞+NaN*i.  In doing so, it replaces them with 0±∞i and ±∞+0i, respectively.
+	 * It then returns the result.  This function is a mutator.
+	 * 
+	 * These states typically arise when dividing (0+yi)/0 or (x+0i)/0.  The actual answer is supposed to be 0±∞i or ±∞+0i, but the
+	 * result comes up with NaN, since technically that 0 component could be anything.  It should be noted, this library does not do a
+	 * very good job at dealing with infinite values.  Often times, calculations that should yield some sort of infinity instead yield a
+	 * NaN, and while using this function doesn't completely fix this issue, it does help prevent the issue most of the time.  With the
+	 * notable exception of ±∞±∞i multiplied by x+0i or 0+yi, which results in NaN+NaN*i.
+	 * 
+	 * @return the object which was validated
+	 */
+	public Complex validate() { //validate: removes an undesirable (though not illegal) state
+		if(re==re && im==im) { return this; } //if not NaN, leave
+		if     (Math.abs(re)==INF) { im=0; }  //if re is infinite & im is NaN, make im=0
+		else if(Math.abs(im)==INF) { re=0; }  //if im is infinite & re is NaN, make re=0
+		return this;                          //return
+	}
+	
+///////////////////////////////////////////// CLASSIFYING NUMBERS /////////////////////////////
+	
+	/** Returns whether the input is infinite.
+	 * @return whether the number is infinite*/
+	public boolean isInf()     { return Double.isInfinite(re) || Double.isInfinite(im); } //this is true if the complex number is infinite
+	/** Returns whether the input is NaN.
+	 * @return whether the number is NaN*/
+	public boolean isNaN()     { return re!=re || im!=im;                               } //this is true if the complex number is NaN
+	
+	/** Returns whether the input is real.
+	 * @return whether the number is real*/
+	public boolean isReal()    { return im==0;                     } //test for real
+	/** Returns whether the input is imaginary.
+	 * @return whether the number is imaginary*/
+	public boolean isImag()    { return re==0;                     } //test for imaginary
+	/** Returns whether the input is a real integer.
+	 * @return whether the number is a real integer*/
+	public boolean isInt()     { return im==0 && re%1==0;          } //test for integer
+	/** Returns whether the input is a whole number.
+	 * @return whether the number is a whole number (a non-negative integer)*/
+	public boolean isWhole()   { return im==0 && re%1==0 && re>=0; } //whole number
+	/** Returns whether the input is a natural number.
+	 * @return whether the number is a natural number (a positive integer)*/
+	public boolean isNatural() { return im==0 && re%1==0 && re> 0; } //natural number
+	
+//////////////////////////////////////////// CAST TO A STRING ////////////////////////////////
+	
+	/**
+	 * Casts to a <code>String</code>.  If you were to write this complex number out as a string (in rectangular notation), this is what
+	 * you'd get.
+	 * @return this as a string
+	 */
+	@Override
+	public String toString() { //Complex -> String
+		return toString(-1);   //run the below function with the recommended number of digits
+	}
+	
+	/**
+	 * Casts to a string with specific precision.  If you were to write this complex number out as a string in rectangular notation,
+	 * with a specified number of digits, this is what you'd get. 
+	 * @param dig the number of digits
+	 * @return this as a string
+	 */
+	public String toString(int dig) {                             //Complex -> String (with a specific number of digits)
+		
+		if(isInf()) {                                             //special case: infinite input
+			if(Double.isInfinite(im)) { return "Complex Overflow";  } //  Complex Overflow
+			else if(re<0)             { return "Negative Overflow"; } // Negative Overflow
+			else                      { return "Overflow";          } //[regular] Overflow
+		}
+		if(isNaN()) { return "NaN"; }                             //special case: NaN, return NaN
+		
+		Complex sto=copy();                                       //copy input
+		if(omit_Option) {                                         //if we've elected to omit small components:
+			if(Math.abs(re)<1e-12 && Math.abs(im)>1e11*Math.abs(re)) { sto.re=0; } //small real, big imag: remove real from copy
+			if(Math.abs(im)<1e-12 && Math.abs(re)>1e11*Math.abs(im)) { sto.im=0; } //big real, small imag: remove imag from copy
+		}
+		
+		String ret="";                                   //initialize return String to ""
+		
+		if(sto.re!=0||sto.im==0) { ret+=str(sto.re,dig); } //display real part if it's nonzero (or if the entire number is 0)
+		if(sto.re!=0&&sto.im> 0) { ret+='+';             } //real "+" imag*i, include only if real!=0 & imag is positive
+		
+		String imag=str(sto.im,dig);
+		if     (imag.equals( "1")) { ret+= "i";     } //imag part =  1 : print  i instead of  1i
+		else if(imag.equals("-1")) { ret+="-i";     } //imag part = -1 : print -i instead of -1i
+		else if(sto.im!=0)         { ret+=imag+"i"; } //else if imag!=0: print imag + "i"
+		
+		return ret;                                                 //return the result
+	}
+	
+	/**
+	 * Casts to a <code>String</code> in polar notation.  If you were to write this complex number out as a string (in polar notation), this is 
+	 * what you'd get.
+	 * @return cast to a string, but in polar notation
+	 */
+	public String polarString() { //convert to a string, but written in polar notation
+		return polarString(-1);   //run the below function with the recommended number of digits
+	}
+	
+	/**
+	 * Casts to a <code>String</code> in polar notation with a specific number of digits.  If you were to write this complex number out as a
+	 * string, in polar notation, with a specified number of digits, this is what you'd get.
+	 * @return cast to a string, but in polar notation
+	 */
+	public String polarString(int dig) {            //convert to a string, but written in polar notation
+		return str(abs(),dig)+" ∠ "+str(arg(),dig); //absolute value, phaser, argument
+	}
+	
+////////////////////////////////////////////// OBSCURE YET REALLY USEFUL FUNCTIONS //////////////////////////////////////////////
+	
+	/**
+	 * Lazy absolute value. A minimal cost test which returns the approximate magnitude of the number.
+	 * It's useful for certain algorithms where overflow/underflow can be a problem.  Namely, where you need to use one algorithm when
+	 * the input is small, and another algorithm when the input is large, but there's a large range of values where both algorithms will
+	 * perform equally well.
+	 * @return the lazy absolute value, equivalent to max(|re|, |im|)
+	 */
+	public double lazyabs() { //lazy absolute value (minimal cost size test, useful for testing overflow/underflow errors)
+		return Math.max(Math.abs(re),Math.abs(im)); //return the biggest of the two components
+	}
+	
+	/**
+	 * Whether the input is the principal square root of its square.  For real numbers, this calculation is just z>=0.
+	 * But for complex numbers, it's a bit more complicated.  This function often comes in handy when determining the sign of a square
+	 * root, for instance, in the <code>acosh</code> and <code>asinh</code> functions.
+	 * @return true if and only if z==√(z²)
+	 */
+	public boolean isRoot() { return re>0 || re==0 && im>=0; }
+	
+	/**
+	 * Complex signum. An official function which returns 1 if the input is the square root of its square, -1 otherwise.  In other words,
+	 * it's equal to z/√(z²) for z!=0.
+	 * @return z/√(z²) if z!=0, 1 if z==0.
+	 */
+	public int csgn() { return isRoot()?1:-1; }
+	
+	/**
+	 * Multiply by csgn. Returns a copy of the input multiplied by the csgn of a.
+	 * This gets its own function because the calculation doesn't require any multiplications.
+	 * @param a the number we multiply by the sign of.
+	 * @return the product
+	 */
+	public Complex mulcsgn  (double a) { return a>=0 ? copy() : neg(); }
+	/**
+	 * Multiply by csgn. Returns a copy of the input multiplied by the csgn of z.
+	 * This gets its own function because the calculation doesn't require any multiplications.
+	 * @param z the number we multiply by the sign of.
+	 * @return the product
+	 */
+	public Complex mulcsgn  (Complex z) { return z.isRoot() ? copy() : neg(); } //multiply by csgn of z & create new instance
+	/**
+	 * Multiply equals csgn. Multiplies the input by the csgn of a, then returns the result.  Mutates the original object.
+	 * This gets its own function because the calculation doesn't require any multiplications.
+	 * @param a the number we multiply by the sign of
+	 * @return the product
+	 */
+	public Complex muleqcsgn(double a) { return a>=0 ? this : negeq(); } //multiply equals by sgn of a
+	/**
+	 * Multiply equals csgn. Multiplies the input by the csgn of a, then returns the result.  Mutates the original object.
+	 * This gets its own function because the calculation doesn't require any multiplications.
+	 * @param z the number we multiply by the sign of
+	 * @return the product
+	 */
+	public Complex muleqcsgn(Complex z) { return z.isRoot() ? this : negeq(); } //multiply equals by csgn of z
+	
+	/**
+	 * "Secondary absolute value", √(z²). A non-official math function which behaves similarly to the absolute value for real inputs.
+	 * While √(z²) is often just shortened to |z| when the input is a real number, for complex numbers, this is no longer the case.
+	 * However, since this still comes up for complex numbers just as it does real numbers, and since square roots are computationally
+	 * expensive, I've added this function to evaluate √(z²) without using any square roots (or even any multiplications).
+	 * @return √(z²)
+	 */
+	public Complex abs2() { return mulcsgn(this); } //secondary absolute value, return √(z²)
+	/**
+	 * "Secondary absolute value", √(z²), written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding √(z²)
+	 */
+	public Complex abs2Into(Complex dst) { if(isRoot()) { dst.set(re,im); } else { dst.set(-re,-im); } return dst; } //secondary absolute value, written into dst
+	
+	/**
+	 * Copies and rotates ang radians counterclockwise in the complex plane.
+	 * @param ang the angle we rotate by
+	 * @return the rotated copy
+	 */
+	public Complex rotate(double ang) { //returns a rotated copy
+		double cos = cos(ang), sin = sin(ang); return new Complex(re*cos-im*sin,re*sin+im*cos);
+	}
+	/**
+	 * Rotate-equals by ang radians counterclockwise in the complex plane.
+	 * @param ang the angle we rotate by
+	 * @return the rotated result
+	 */
+	public Complex rotateEq(double ang) { //rotates & returns
+		double cos = cos(ang), sin = sin(ang); set(re*cos-im*sin,re*sin+im*cos); return this;
+	}
+	/**
+	 * Rotates by ang radians counterclockwise in the complex plane, writing the result into dst.
+	 * @param ang the angle we rotate by
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the rotated result
+	 */
+	public Complex rotateInto(double ang, Complex dst) { //rotates into dst
+		double cos = cos(ang), sin = sin(ang); dst.set(re*cos-im*sin,re*sin+im*cos); return dst;
+	}
+	
+	/**
+	 * The minimum of the ulps (unit in the last place) of the real and imaginary part
+	 * @return min(ulp(re),ulp(im))
+	 */
+	public double ulpMin() {
+		return Math.min(Math.ulp(re),Math.ulp(im));
+	}
+	
+	/**
+	 * The maximum of the ulps (unit in the last place) of the real and imaginary part
+	 * @return max(ulp(re),ulp(im))
+	 */
+	public double ulpMax() {
+		return Math.max(Math.ulp(re),Math.ulp(im));
+	}
+	
+///////////////////////////////////////////// BASIC ARITHMETIC /////////////////////////////////////////////////
+	
+	//create a new instance
+	
+	/**
+	 * Adds complex number
+	 * @param a the complex number we add (known as the addend)
+	 * @return the sum
+	 */
+	public Complex add(Complex a) { return new Complex(re+a.re, im+a.im); }
+	/**
+	 * Adds x+yi
+	 * @param x addend's real part
+	 * @param y addend's imaginary part
+	 * @return sum
+	 */
+	public Complex add(double x, double y) { return new Complex(re+x, im+y); }
+	/**
+	 * Adds real number
+	 * @param a real addend
+	 * @return sum
+	 */
+	public Complex add(double a) { return new Complex(re+a, im  ); }
+	/**
+	 * Adds imaginary number
+	 * @param a imaginary addend
+	 * @return sum
+	 */
+	public Complex addI(double a) { return new Complex(re, im+a); }
+	
+	/**
+	 * Subtracts complex number
+	 * @param a the complex number we subtract (known as the subtrahend)
+	 * @return the difference
+	 */
+	public Complex sub(Complex a) { return new Complex(re-a.re, im-a.im); }
+	/**
+	 * Subtracts x+yi
+	 * @param x the subtrahend's real part
+	 * @param y the subtrahend's imaginary part
+	 * @return difference
+	 */
+	public Complex sub(double x, double y) { return new Complex(re-x, im-y); }
+	/**
+	 * Subtracts real number
+	 * @param a real subtrahend
+	 * @return difference
+	 */
+	public Complex sub(double a) { return new Complex(re-a, im  ); }
+	/**
+	 * Subtracts imaginary number
+	 * @param a imaginary subtrahend
+	 * @return difference
+	 */
+	public Complex subI(double a) { return new Complex(re, im-a); }
+	
+	/**
+	 * Multiplies by complex number
+	 * @param a the complex number we multiply by (known as the multiplier)
+	 * @return the product
+	 */
+	public Complex mul(Complex a) { return ComplexArithmetic.defaultMulInto(re,im,a.re,a.im,new Complex()); }
+	/**
+	 * Multiplies x+yi
+	 * @param x the multiplier's real part
+	 * @param y the multiplier's imaginary part
+	 * @return product
+	 */
+	public Complex mul(double x, double y) { return ComplexArithmetic.defaultMulInto(re,im,x,y,new Complex()); }
+	/**
+	 * Multiplies real number
+	 * @param a real multiplier
+	 * @return product
+	 */
+	public Complex mul(double a) { return new Complex(re*a, im*a); }
+	/**
+	 * Multiplies imaginary number
+	 * @param a imaginary multiplier
+	 * @return product
+	 */
+	public Complex mulI(double a) { return new Complex(-im*a, re*a); }
+	
+	/**
+	 * Divides by complex number
+	 * @param a the complex number we divide by (known as the divisor)
+	 * @return the quotient
+	 */
+	public Complex div(Complex a) { return divInto(a.re,a.im,new Complex()); }
+	/**
+	 * Divides x+yi
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 * @return quotient
+	 */
+	public Complex div(double x, double y) { return divInto(x,y,new Complex()); }
+	/**
+	 * Divides by real number
+	 * @param a real divisor
+	 * @return quotient
+	 */
+	public Complex div(double a) {
+		if(Math.abs(a)<Double.MIN_NORMAL) { return new Complex(re/a, im/a); } //for subnormal a, we divide each component by a
+		double rec=1.0D/a; return new Complex(re*rec, im*rec);                //else, multiply each component by 1/a
+	}
+	/**
+	 * Divides by imaginary number
+	 * @param a imaginary divisor
+	 * @return the quotient
+	 */
+	public Complex divI(double a) {
+		if(Math.abs(a)<Double.MIN_NORMAL) { return new Complex(im/a, -re/a); } //for subnormal a, we divide each component by a
+		double rec=1.0D/a; return new Complex(im*rec, -re*rec);                //else, multiply each component by 1/a
+	}
+	
+	//write into a destination (the destination may be this object, or even the other operand, and nothing gets allocated)
+	
+	/**
+	 * Adds complex number, writing the sum into dst
+	 * @param a the addend
+	 * @param dst the destination
+	 * @return dst, holding the sum
+	 */
+	public Complex addInto(Complex a, Complex dst) { dst.set(re+a.re, im+a.im); return dst; }
+	/**
+	 * Adds x+yi, writing the sum into dst
+	 * @param x addend's real part
+	 * @param y addend's imaginary part
+	 * @param dst the destination
+	 * @return dst, holding the sum
+	 */
+	public Complex addInto(double x, double y, Complex dst) { dst.set(re+x, im+y); return dst; }
+	/**
+	 * Subtracts complex number, writing the difference into dst
+	 * @param a the subtrahend
+	 * @param dst the destination
+	 * @return dst, holding the difference
+	 */
+	public Complex subInto(Complex a, Complex dst) { dst.set(re-a.re, im-a.im); return dst; }
+	/**
+	 * Subtracts x+yi, writing the difference into dst
+	 * @param x subtrahend's real part
+	 * @param y subtrahend's imaginary part
+	 * @param dst the destination
+	 * @return dst, holding the difference
+	 */
+	public Complex subInto(double x, double y, Complex dst) { dst.set(re-x, im-y); return dst; }
+	/**
+	 * Multiplies complex number, writing the product into dst
+	 * @param a the multiplier
+	 * @param dst the destination
+	 * @return dst, holding the product
+	 */
+	public Complex mulInto(Complex a, Complex dst) { return ComplexArithmetic.defaultMulInto(re,im,a.re,a.im,dst); }
+	/**
+	 * Multiplies x+yi, writing the product into dst
+	 * @param x the multiplier's real part
+	 * @param y the multiplier's imaginary part
+	 * @param dst the destination
+	 * @return dst, holding the product
+	 */
+	public Complex mulInto(double x, double y, Complex dst) { return ComplexArithmetic.defaultMulInto(re,im,x,y,dst); }
+	/**
+	 * Multiplies real number, writing the product into dst
+	 * @param a real multiplier
+	 * @param dst the destination
+	 * @return dst, holding the product
+	 */
+	public Complex mulInto(double a, Complex dst) { dst.set(re*a, im*a); return dst; }
+	/**
+	 * Divides by complex number, writing the quotient into dst
+	 * @param a the divisor
+	 * @param dst the destination
+	 * @return dst, holding the quotient
+	 */
+	public Complex divInto(Complex a, Complex dst) { return divInto(a.re,a.im,dst); }
+	/**
+	 * Divides by x+yi, writing the quotient into dst
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 * @param dst the destination
+	 * @return dst, holding the quotient
+	 */
+	public Complex divInto(double x, double y, Complex dst) { return ComplexArithmetic.defaultDivInto(re,im,x,y,dst); } //(see ComplexArithmetic)
+	/**
+	 * Divides by real number, writing the quotient into dst
+	 * @param a real divisor
+	 * @param dst the destination
+	 * @return dst, holding the quotient
+	 */
+	public Complex divInto(double a, Complex dst) {
+		if(Math.abs(a)<Double.MIN_NORMAL) { dst.set(re/a, im/a); return dst; } //for subnormal a, we divide each component by a
+		double rec=1.0D/a; dst.set(re*rec, im*rec); return dst;                //else, multiply each component by 1/a
+	}
+	
+	//assign equals
+	
+	/**
+	 * Plus-equals complex number
+	 * @param a the number we add (or addend)
+	 * @return the sum
+	 */
+	public Complex addeq(Complex a) { re+=a.re; im+=a.im; return this; } // +=
+	/**
+	 * Plus-equals x+yi
+	 * @param x addend's real part
+	 * @param y addend's imaginary part
+	 * @return sum
+	 */
+	public Complex addeq(double x, double y) { re+=x; im+=y; return this; }
+	/**
+	 * Plus-equals real number
+	 * @param a real addend
+	 * @return sum
+	 */
+	public Complex addeq(double a) { re+=a; return this; }
+	/**
+	 * Plus-equals imaginary number
+	 * @param a imaginary addend
+	 * @return sum
+	 */
+	public Complex addeqI(double a) { im+=a; return this; }
+	
+	
+	/**
+	 * Minus-equals complex number
+	 * @param a the number we subtract (or subtrahend)
+	 * @return the difference
+	 */
+	public Complex subeq(Complex a) { re-=a.re; im-=a.im; return this; } // -=
+	/**
+	 * Minus-equals x+yi
+	 * @param x subtrahend's real part
+	 * @param y subtrahend's imaginary part
+	 * @return difference
+	 */
+	public Complex subeq(double x, double y) { re-=x; im-=y; return this; }
+	/**
+	 * Minus-equals real number
+	 * @param a real subtrahend
+	 * @return difference
+	 */
+	public Complex subeq(double a) { re-=a; return this; }
+	/**
+	 * Minus-equals imaginary number
+	 * @param a imaginary subtrahend
+	 * @return difference
+	 */
+	public Complex subeqI(double a) { im-=a; return this; } // Complex -= double*i
+	
+	
+	/**
+	 * Times-equals complex number
+	 * @param a the number we multiply by (or multiplier)
+	 * @return the product
+	 */
+	public Complex muleq(Complex a) { return ComplexArithmetic.defaultMulInto(re,im,a.re,a.im,this); } // *=
+	/**
+	 * Times-equals x+yi
+	 * @param x multiplier's real part
+	 * @param y multiplier's imaginary part
+	 * @return product
+	 */
+	public Complex muleq(double x, double y) { return ComplexArithmetic.defaultMulInto(re,im,x,y,this); }
+	/**
+	 * Times-equals real number
+	 * @param a real multiplier
+	 * @return product
+	 */
+	public Complex muleq(double a) { re*=a; im*=a; return this; }
+	/**
+	 * Times-equals imaginary number
+	 * @param a imaginary multiplier
+	 * @return product
+	 */
+	public Complex muleqI(double a) { set(-im*a, re*a); return this; }
+	
+	
+	/**
+	 * Divide-equals complex number
+	 * @param a the number we divide by (or divisor)
+	 * @return the quotient
+	 */
+	public Complex diveq(Complex a) { return divInto(a.re,a.im,this); } // /=
+	/**
+	 * Divide-equals x+yi
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 * @return the quotient
+	 */
+	public Complex diveq(double x, double y) { return divInto(x,y,this); }
+	/**
+	 * Divide-equals real number
+	 * @param a real divisor
+	 * @return quotient
+	 */
+	public Complex diveq(double a) {
+		if(Math.abs(a)<=Double.MIN_NORMAL) { re/=a; im/=a; return this; }
+		return muleq(1.0D/a);
+	}
+	/**
+	 * Divide-equals imaginary number
+	 * @param a imaginary divisor
+	 * @return quotient
+	 */
+	public Complex diveqI(double a) {
+		if(Math.abs(a)<=Double.MIN_NORMAL) { set(im/a,-re/a); return this; }
+		return muleqI(-1.0D/a);
+	}
+	
+/////////////////////////////////////// NEGATION AND OTHER SIMPLE OPERATIONS ////////////////////////////////
+	
+	//new instance
+	/**
+	 * Negates copy (multiplies it by -1)
+	 * @return a negated copy
+	 */
+	public Complex neg () { return new Complex(-re,-im); } //negation
+	/**
+	 * Complex conjugates copy (negates imaginary part)
+	 * @return a conjugated copy
+	 */
+	public Complex conj() { return new Complex( re,-im); } //complex conjugate
+	/**
+	 * Multiplies by i
+	 * @return a copy that's been multiplied by i; rotated 90 degrees counter-clockwise
+	 */
+	public Complex mulI() { return new Complex(-im, re); } //multiply by i
+	/**
+	 * Divides by i
+	 * @return a copy that's been divided by i; multiplied by -i; rotated 90 degrees clockwise
+	 */
+	public Complex divI() { return new Complex( im,-re); } //divide   by i
+	
+	//write into a destination
+	/**
+	 * Negates into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the negation
+	 */
+	public Complex negInto (Complex dst) { dst.set(-re,-im); return dst; } //negation
+	/**
+	 * Complex conjugates into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the conjugate
+	 */
+	public Complex conjInto(Complex dst) { dst.set( re,-im); return dst; } //complex conjugate
+	/**
+	 * Multiplies by i, writing the product into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the product
+	 */
+	public Complex mulIInto(Complex dst) { dst.set(-im, re); return dst; } //multiply by i
+	/**
+	 * Divides by i, writing the quotient into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the quotient
+	 */
+	public Complex divIInto(Complex dst) { dst.set( im,-re); return dst; } //divide   by i
+	
+	//assign equals
+	/**
+	 * Negate-equals (x+yi -> -x-yi)
+	 * @return the negated result
+	 */
+	public Complex negeq()  { set(-re, -im); return this; } // negate-equals
+	/**
+	 * Complex conjugate-equals (x+yi -> x-yi)
+	 * @return the conjugated result
+	 */
+	public Complex conjeq() { im = -im;      return this; } // conjugate-equals
+	/**
+	 * Times-equals i (x+yi -> -y+xi)
+	 * @return the product
+	 */
+	public Complex muleqI() { set(-im,  re); return this; } // *= i
+	/**
+	 * Divide-equals i (x+yi -> y-xi)
+	 * @return the quotient
+	 */
+	public Complex diveqI() { set( im, -re); return this; } // /= i
+	
+	/**
+	 * Multiplies by 2^scaleFactor
+	 * @param scaleFactor the power of 2
+	 * @return the product with the binary exponent
+	 */
+	public Complex scalb(int scaleFactor) {
+		return new Complex(Math.scalb(re,scaleFactor),Math.scalb(im,scaleFactor));
+	}
+	
+	/**
+	 * Multiply-equals by 2^scaleFactor
+	 * @param scaleFactor the power of 2
+	 * @return the product with the binary exponent
+	 */
+	public Complex scalbeq(int scaleFactor) {
+		re = Math.scalb(re,scaleFactor); im = Math.scalb(im,scaleFactor); return this;
+	}
+	
+	/**
+	 * Multiplies by 2^scaleFactor, writing the product into dst
+	 * @param scaleFactor the power of 2
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the product with the binary exponent
+	 */
+	public Complex scalbInto(int scaleFactor, Complex dst) {
+		dst.set(Math.scalb(re,scaleFactor),Math.scalb(im,scaleFactor)); return dst;
+	}
+	
+/////////////////////////////////////// COMPLEX PARTS ////////////////////////////////////////////////////
+	
+	/** Gets the real part.
+	 * @return real part */
+	public double re() { return re; } //real part
+	/** Gets the imaginary part. 
+	 * @return imaginary part */
+	public double im() { return im; } //imaginary part
+	
+	/**
+	 * Absolute square.  The square of the absolute value, equal to re²+im².
+	 * @return absolute square
+	 */
+	public double absq() { return re*re+im*im; } //absolute square
+	
+	/**
+	 * Absolute value.  The Pythagorean distance from 0 on the complex plane, equal to √(re²+im²).
+	 * @return absolute value
+	 */
+	public double abs()  { return ComplexArithmetic.defaultAbs(re,im); } //absolute value (see ComplexArithmetic)
+	
+	/**
+	 * Argument (angle).  The angle of the input, measured counterclockwise from the positive real axis.
+	 * @return the argument
+	 */
+	public double arg()  {                             //polar argument
+		if(im==0) { return re>=0 ? 0 : Math.PI;      } //real      number: return either 0 or π
+		if(re==0) { return im>=0 ? HALFPI : -HALFPI; } //imaginary number: return ±π/2
+		return Math.atan2(im, re);                     //general case: find the angle with atan2
+	}
+	
+	/**
+	 * Sign (or signum).  The input divided by its absolute value.  Similar to putting a hat over a vector.
+	 * In the special case that the input is 0, the result is 0.
+	 * @return the sign
+	 */
+	public Complex sgn() { return sgnInto(new Complex()); } //signum
+	/**
+	 * Sign (or signum), written into dst.  Allocates nothing.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the sign
+	 */
+	public Complex sgnInto(Complex dst) { //signum
+		if(equals(0)) { dst.set(0,0); return dst; } //0: return 0
+		if(isInf()) {                               //∞: it depends
+			if(Math.abs(re)==Math.abs(im)) { dst.set(0.5*ROOT2*sgn(re),0.5*ROOT2*sgn(im)); return dst; } //both components are infinite
+			dst.set(sgn(re),sgn(im)); return dst;                                                      //one component is infinite
+		}
+		return divInto(abs(),dst);                  //otherwise: return this divided by the absolute value
+	}
+	
+///////////////////////////////////////// RECIPROCAL, SQUARE ROOT, AND OTHER IMPORTANT FUNCTIONS ////////////////////
+	
+	//each of these functions has an "Into" variant, which writes the result into a destination instead of creating a new instance.
+	//The destination is allowed to be this object (or any of the other inputs), and none of the "Into" variants allocate anything.
+	
+	/**
+	 * Inverse (or reciprocal).  Equivalent to the conjugate divided by the absolute square.
+	 * @return the reciprocal
+	 */
+	public Complex inv() { return invInto(new Complex()); } //reciprocal
+	/**
+	 * Inverse (or reciprocal), written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the reciprocal
+	 */
+	public Complex invInto(Complex dst) {                     //reciprocal
+		if(im==0)   { dst.set(1.0/re,0);  return dst; } //real      number: return  1/(real part)
+		if(re==0)   { dst.set(0,-1.0/im); return dst; } //imaginary number: return -i/(imag part)
+		if(isInf()) { dst.set(0,0);       return dst; } //infinite  number: return 0
+		
+		double l=lazyabs();                    //take lazy abs for a quick sense of scale
+		
+		if(l<1.4916681462400413E-154D) { return scalbInto( 1022,dst).invInto(dst).scalbeq( 1022); } //absolute square underflows: *2^1022, invert, *2^1022 again
+		if(l>=9.480751908109177E+153D) { return scalbInto(-1022,dst).invInto(dst).scalbeq(-1022); } //absolute square overflows: *2^-1022, invert, *2^-1022 again
+		
+		double inv = 1d/absq();            //compute the reciprocal of the absolute square
+		dst.set(re*inv,-im*inv); return dst; //general case: return the conjugate over the absolute square
+		
+		//Complex res = new Complex(re*inv,-im*inv);        //this would be used if you wanted to perform one iteration of Newton-Raphson
+		//res.addeq(mul(res).negeq().addeq(1).muleq(res));
+		//return res;
+	}
+	
+	/**
+	 * Square.  Multiplication of a number by itself.  (x+yi)² = (x²-y²)+2xy*i = (x+y)(x-y) + 2xyi.
+	 * @return the square
+	 */
+	public Complex sq () { return new Complex((re+im)*(re-im),2*re*im); } //z²
+	/**
+	 * Square, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the square
+	 */
+	public Complex sqInto(Complex dst) { dst.set((re+im)*(re-im),2*re*im); return dst; } //z²
+	/**
+	 * Cube.  Multiplication of a number by its square. 
+	 * @return the cube */
+	public Complex cub() { return cubInto(new Complex()); } //z³
+	/**
+	 * Cube, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the cube
+	 */
+	public Complex cubInto(Complex dst) { //z³
+		double x=re, y=im, sr=(x+y)*(x-y), si=2*x*y; //compute the square
+		dst.set(x*sr-y*si, x*si+y*sr); return dst;   //multiply by the square
+	}
+	
+	/**
+	 * Square root.  More specifically, the principal square root, whichever of the two square roots has the largest real part.
+	 * If it's a tie, whichever one has the largest imaginary part is returned.
+	 * @return the square root
+	 */
+	public Complex sqrt() { return sqrtInto(new Complex()); } //√(z)
+	/**
+	 * Square root, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the square root
+	 */
+	public Complex sqrtInto(Complex dst) { //√(z)
+		
+		if(equals(0)) { dst.set(0,0); return dst; } //special case: √(0)=0
+		if(isInf()) {                                                                                        //special case: infinite input
+			if(Double.isFinite(im)) { if(re==INF) { dst.set(INF,0); } else { dst.set(0,im>=0?INF:-INF); } return dst; } //non-inf imag part: return either ∞ or ±∞i
+			dst.set(INF,im); return dst;                                                                     //otherwise, reutrn ∞±∞i
+		}
+		if(2*Math.abs(re)+Math.abs(im)==INF) { dst.set(re*0.25D,im*0.25D); return dst.sqrtInto(dst).muleq(2D); } //special case: |z|+|x|=Overflow, return √(z/4)*2
+		//2|x|+|y|=2^1024 is the diamond of maximum area such that all z such that |z|+|x| are outside that diamond. I just figured it'd make things easier.
+		
+		//the formula for √(z) = √((|z|+x)/2) + sgn(y)√((|z|-x)/2)i    (where z = x + yi)
+		//since √((|z|+x)/2) * sgn(y)√((|z|-x)/2) = y/2, we'll just find one sqrt & use division to find the other
+		
+		double part1=Math.sqrt(0.5D*(abs()+Math.abs(re))); //compute whichever sqrt has the least roundoff error
+		double y=im;
+		
+		if(re>=0) { dst.set(part1, y/(2.0D*part1)); return dst;                  } //if x>0, that'd be the real part
+		else      { dst.set(y/(2.0D*part1), part1); return dst.muleqcsgn(y);     } //if x<0, that'd be the imaginary part
+	}
+	
+	/** 
+	 * Cube root.  More specifically, the principal cube root.  Returns whichever of the 3 cube roots has the largest real part.
+	 * If cbrt_Option is true, an exception is made for negative reals, instead returning the negative real cube root.  Otherwise, the
+	 * cube root of a negative real will have an angle of +60°, or π/3 radians.
+	 * @return the cube root
+	 */
+	public Complex cbrt() { return cbrtInto(new Complex()); } //cube root of complex z
+	/**
+	 * Cube root, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the cube root
+	 */
+	public Complex cbrtInto(Complex dst) { //cube root of complex z
+		if(im==0 && (cbrt_Option||re>=0)) { dst.set(Math.cbrt(re),0); return dst; } //z is real: return cbrt(re(z)) (we may or may not exclude negatives)
+		
+		if(re==-INF)                           { dst.set(INF,im>=0?INF:-INF);             return dst; } //special case : -∞+something*i
+		if(isInf())                            { dst.set(INF,Double.isInfinite(im)?im:0); return dst; } //special case : something else infinite
+		if(lazyabs()>=1.2711610061536464E308D) { dst.set(re*0.125D,im*0.125D); return dst.cbrtInto(dst).muleq(2D); } //|z| overflows (L>=2^1023.5): return 2cbrt(z/8)
+		
+		double ang = arg()/3;                           //compute arg(z)/3
+		double mag = Math.cbrt(abs());                  //compute cbrt(|z|)
+		dst.set(mag*cos(ang), mag*sin(ang)); return dst; //general case : return cbrt(|z|)*e^(arg(z)i/3)
+	}
+	
+	/**
+	 * Natural exponential.  Euler's number raised to the power of this number.  In polar notation, it's exp(re)∠im.
+	 * @return the exponential
+	 */
+	public Complex exp() { return expInto(new Complex()); } //e^z
+	/**
+	 * Natural exponential, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the exponential
+	 */
+	public Complex expInto(Complex dst) { //e^z
+		if(im==0) { dst.set(Math.exp(re),0);    return dst; } //real number : return e^(real part)
+		if(re==0) { dst.set(cos(im),sin(im));   return dst; } //imag number : return cos(imag)+sin(imag)*i
+		if(re>=709.782712893384d && re<710.1292864836639d) { dst.set(re-LOG2,im); return dst.expInto(dst).muleq(2D); } //large real part: subtract ln(2), take exponent, multiply by 2
+		if(re<-744.4400719213812d)                         { dst.set(0,0);        return dst;                        } //large negative real part: return 0
+		
+		double exp = Math.exp(re);                        //compute exp of real part
+		dst.set(exp*cos(im),exp*sin(im)); return dst;     //return e^(real)*(cos(imag)+sin(imag)*i)
+	}
+	
+	/**
+	 * Natural logarithm.  Equal to the log of the absolute value plus i times the polar argument.
+	 * Technically, this returns the principal value of the logarithm, since all non-zero numbers have infinitely many natural logarithms,
+	 * but the principal value is whichever one has the imaginary part closest to 0.
+	 * @return the natural logarithm
+	 */
+	public Complex log() { return logInto(new Complex()); } //log(z)
+	/**
+	 * Natural logarithm, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the natural logarithm
+	 */
+	public Complex logInto(Complex dst) { //log(z)
+		if(re==0||im==0) { dst.set(Math.log(abs()), arg()); return dst; } //real/imaginary number: return ln|z|+arg(z)i
+		if(isInf())      { dst.set(INF, arg());             return dst; } //infinite number: return ∞+arg(z)i
+		
+		double l=lazyabs();                         //take lazy abs for a quick sense of scale
+		if(l<1.4916681462400413E-154D) { return scalbInto( 1022,dst).logInto(dst).subeq(1022*LOG2); } //absolute square underflows: *2^1022, find log, -ln(2^1022)
+		if(l>=9.480751908109177E+153D) { return scalbInto(-1022,dst).logInto(dst).addeq(1022*LOG2); } //absolute square  overflows: /2^1022, find log, +ln(2^1022)
+		
+		dst.set(0.5D*Math.log(absq()), arg()); return dst; //general case: return ln(|z|²)/2+arg(z)i
+	}
+	
+	/**
+	 * Natural logarithm.  Some prefer to write it as log, while others prefer ln (Latin for "logarithmus naturalis").  Both ln
+	 * and log return the same thing, so which one you use is purely a matter of convention and/or preference.
+	 * @return the natural logarithm
+	 */
+	public Complex ln() { return log(); } //ln(z)
+	/**
+	 * Natural logarithm, written into dst.
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the natural logarithm
+	 */
+	public Complex lnInto(Complex dst) { return logInto(dst); } //ln(z)
+	
+	/**
+	 * This number raised to the power of integer a.  Computed via exponentiation by squaring, a highly efficient combination of squaring
+	 * and multiplication that's ultimately equivalent to the base multiplied by itself a times (but more efficient).
+	 * @param a exponent
+	 * @return power
+	 */
+	public Complex pow(int a) { return powInto(a,new Complex()); } //Complex z ^ int a (exponentiation by squaring)
+	/**
+	 * This number raised to the power of integer a, written into dst.
+	 * @param a exponent
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the power
+	 */
+	public Complex powInto(int a, Complex dst) { //Complex z ^ int a (exponentiation by squaring)
+		
+		if(im==0) { dst.set(pow(re,a),0); return dst; } //input is real: use the other implementation for doubles (results in ~1/4 the # of multiplications)
+		
+		if(a==Integer.MIN_VALUE) { return invInto(dst).powInto(0xC0000000,dst).sqInto(dst); } //special case: exponent is minimum integer, raise to the power of -2^30, then square result.
+		//NOTE: without the above code, raising a number to the power of -2^31 would result in a stack overflow, since a would be repeatedly negated (to no effect) and z would be repeatedly inverted
+		
+		if(a<0) { return invInto(dst).powInto(-a,dst); } //a is negative: return (1/z)^(-a)
+		//general case:
+		double ar=1, ai=0;              //return value: z^a (init to 1 in case a==0)
+		int ex=a;                       //copy of a
+		double ir=re, ii=im;            //z ^ (2 ^ (whatever digit we're at))
+		boolean inits=false;            //true once ans is initialized (to something other than 1)
+		
+		while(ex!=0) {                               //loop through all a's digits (if a==0, exit loop, return 1)
+			if((ex&1)==1) {
+				if(inits) { double t=ar*ir-ai*ii; ai=ar*ii+ai*ir; ar=t; } //mult ans by iter ONLY if this digit is 1
+				else      { ar=ir; ai=ii; inits=true;                   } //if ans still = 1, set ans=iter (instead of multiplying by iter)
+			}
+			ex >>= 1;                                    //remove the last digit
+			if(ex!=0)     { double t=ir*ir-ii*ii; ii=ir*ii+ii*ir; ir=t; } //square the iterator (unless the loop is over)
+		}
+		
+		dst.set(ar,ai); return dst; //return the result
+	}
+	
+	/**
+	 * This number raised to the power of the real number a.  Computed by raising the absolute value to the power of a, multiplying the
+	 * angle by a, and returning the result.  If this is a real number, we use <code>Mafs.pow</code> to reduce multiplications.  If a is
+	 * an integer, we use the <code>pow(int)</code> function to improve performance and accuracy.
+	 * @param a the exponent
+	 * @return the result
+	 */
+	public Complex pow(double a) { return powInto(a,new Complex()); } //complex z ^ double a
+	/**
+	 * This number raised to the power of the real number a, written into dst.
+	 * @param a the exponent
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the result
+	 */
+	public Complex powInto(double a, Complex dst) { //complex z ^ double a
+		if(Math.abs(a)<=2147483647 && a%1==0) { return powInto((int)a,dst);           } //exponent is an integer: there's a faster (and more accurate) way of doing this
+		if(im==0 && (re>=0||a%1==0))          { dst.set(Math.pow(re,a),0); return dst; } //if the base is real and non-negative, or it's negative but the exponent is an integer, we'll just use the built in power function 
+		
+		double mag;                                   //compute |z|^a
+		double l=lazyabs();                           //use lazy absolute value for a sense of scale
+		if     (l>=1.4916681462400413E-154D && l<9.480751908109177E+153D) { mag=Math.pow(absq(),0.5*a); } //if within range, take (|z|²)^(a/2)
+		else if(l>=Double.MIN_NORMAL        && l<1.2711610061536464E308D) { mag=Math.pow(abs (),    a); } //if within another range, take |z|^a
+		else                            { return divInto(l,dst).powInto(a,dst).muleq(Math.pow(l,a)); } //if outside both ranges, divide by l, raise to a-th power, mult by l^a
+		
+		double arg = arg();                                     //compute the argument
+		dst.set(mag*cos(a*arg),mag*sin(a*arg)); return dst;     //return complex number with magnitude |z|^a & angle a*θ
+	}
+	
+	/**
+	 * This number raised to the power of complex number a.  Computed by multiplying the logarithm by a, then taking the exponential.
+	 * If a is real, we use the <code>pow(double)</code> function.  If this is Euler's number, we return the <code>exp</code> function.
+	 * @param a the exponent
+	 * @return the result
+	 */
+	public Complex pow(Complex a) { return powInto(a,new Complex()); } //complex z ^ complex a
+	/**
+	 * This number raised to the power of complex number a, written into dst.
+	 * @param a the exponent
+	 * @param dst the destination (may be this or a)
+	 * @return dst, holding the result
+	 */
+	public Complex powInto(Complex a, Complex dst) {         //complex z ^ complex a
+		if(equals(Math.E)) { return a.expInto(dst);     } //z==e        : return e^a (just in case someone feels like doing exp this way)
+		if(a.im==0)        { return powInto(a.re,dst);  } //a is real   : return complex z ^ double a.re
+		double x=a.re, y=a.im;                            //store a (in case dst is a)
+		return logInto(dst).muleq(x,y).expInto(dst);      //general case: return e to the power of the log times a
+	}
+	
+//////////////////// ROUNDING & MODULOS ////////////////////////////////////
+	
+	/** Floor of the real part.
+	 * @return the floor of the real part*/
+	public double floor() { return Math.floor(re); }
+	/** Ceiling of the real part.
+	 * @return the ceiling of the real part*/
+	public double ceil () { return Math.ceil(re);  }
+	/** Round the real part to the nearest integer.
+	 * @return the real part rounded to the nearest integer*/
+	public double round() { return Math.round(re); }
+	
+	/**
+	 * Modulo.
+	 * @param a divisor in the modulo
+	 * @return this minus the largest integer multiple of a that fits in this. (Read the code for more information)
+	 */
+	public Complex mod(Complex a) { return modInto(a,new Complex()); } //Complex modulo (sign standard: +%+ = +, +%- = -, -%+ = +, -%- = -)
+	/**
+	 * Modulo, written into dst.
+	 * @param a divisor in the modulo
+	 * @param dst the destination (may be this or a)
+	 * @return dst, holding the modulo
+	 */
+	public Complex modInto(Complex a, Complex dst) { //Complex modulo
+		double x=re, y=im, ar=a.re, ai=a.im;          //store both inputs (in case dst is one of them)
+		double f=divInto(ar,ai,dst).floor();          //part: the largest* integer multiple of a that fits in "this": / by a, round down, * back by a
+		dst.set(x-ar*f, y-ai*f); return dst;          //subtract this multiple
+	}
+	//* "largest" meaning the largest integer that multiplies by a
+	
+	/**
+	 * Modulo, version 2.  Here, a very specific integer multiple of a is subtracted: whichever integer multiple causes the output to be
+	 * closest to 0.
+	 * @param a the divisor of the modulo
+	 * @return the secondary modulo.
+	 */
+	public Complex mod_v2(Complex a) { return mod_v2Into(a,new Complex()); } //Secondary modulo: drops sign convention & just returns whichever modulo is closer to 0
+	/**
+	 * Modulo, version 2, written into dst.
+	 * @param a the divisor of the modulo
+	 * @param dst the destination (may be this or a)
+	 * @return dst, holding the secondary modulo
+	 */
+	public Complex mod_v2Into(Complex a, Complex dst) { //Secondary modulo
+		double x=re, y=im, ar=a.re, ai=a.im;             //store both inputs (in case dst is one of them)
+		double f=-divInto(ar,ai,dst).negeq().round();    //part: the closest integer multiple of a to "this": / by -a, round, * back by -a
+		dst.set(x-ar*f, y-ai*f); return dst;             //subtract this multiple
+	}                                                  //note, if two multiples are equally close, we default to the multiple corresponding to the lower integer (hence why a is negated)
+	
+	//when adding logarithms, you can use this tool (with "a" set to 2πi) to ensure the imaginary part is within the range (-π,π]
+	
+//////////////////// TRIGONOMETRY //////////////////////////////////////
+	
+	/**
+	 * Writes sinh(d) into dst.re and cosh(d) into dst.im.  This is the same computation as <code>Mafs.fsinhcosh</code>, but since it
+	 * writes into a <code>Complex</code> we already have, it doesn't have to allocate an array.
+	 */
+	static Complex fsinhcoshInto(double d, Complex dst) {
+		if(Math.abs(d)<1E-4D) { double sq = d*d; dst.set(d+d*sq/6, 1+0.5*sq+sq*sq/24); return dst; }                   //small input: return Taylor's series
+		if(Math.abs(d)>20)    { double exp = Math.exp(Math.abs(d)-LOG2); dst.set(d>0 ? exp : -exp, exp); return dst; } //large input: return +-e^(|x|-ln(2))
+		
+		double part = Math.exp(d); //regular input: compute e^d
+		double inv  = 1.0D/part;   //and e^-d
+		dst.set(0.5*(part-inv), 0.5*(part+inv)); return dst; //return their sum & difference (over 2)
+	}
+	
+	/** Complex cosine
+	 * @return the cosine*/
+	public Complex cos() { return cosInto(new Complex()); } //cos
+	/** Complex cosine, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the cosine*/
+	public Complex cosInto(Complex dst) {                                      //cos
+		if(im==0) { dst.set(cos(re),0);       return dst; } //real input: return cos
+		if(re==0) { dst.set(Math.cosh(im),0); return dst; } //imag input: return cosh
+		
+		double x=re;
+		fsinhcoshInto(im,dst);                               //compute sinh & cosh of imag part
+		dst.set(cos(x)*dst.im,-sin(x)*dst.re); return dst;   //cos(x+yi) = cos(x)cosh(y)-sin(x)sinh(y)i
+	}
+	/** Complex sine
+	 * @return the sine*/
+	public Complex sin() { return sinInto(new Complex()); } //sin
+	/** Complex sine, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the sine*/
+	public Complex sinInto(Complex dst) {                                        //sin
+		if(im==0) { dst.set(sin(re),0);          return dst; } //real input: return sin
+		if(re==0) { dst.set(0,Math.sinh(im));    return dst; } //imag input: return sinh*i
+		
+		double x=re;
+		fsinhcoshInto(im,dst);                                 //compute sinh & cosh of imag part
+		dst.set(sin(x)*dst.im,cos(x)*dst.re); return dst;      //sin(x+yi) = sin(x)cosh(y)+cos(x)sinh(y)i
+	}
+	/** Complex sine and cosine
+	 * @return sine and cosine */
+	public Complex[] fsincos() { Complex[] sc = {new Complex(), new Complex()}; fsincosInto(sc[0],sc[1]); return sc; }
+	/** Complex sine and cosine, written into two destinations
+	 * @param sin the destination for the sine (may be this)
+	 * @param cos the destination for the cosine (may be this, but not the same object as sin)
+	 */
+	public void fsincosInto(Complex sin, Complex cos) {
+		double x=re, y=im;
+		if(y==0) { sin.set(sin(x),0); cos.set(cos(x),0); return; }
+		if(x==0) { fsinhcoshInto(y,cos); sin.set(0,cos.re); cos.set(cos.im,0); return; }
+		
+		double s=sin(x), c=cos(x);
+		fsinhcoshInto(y,cos); double sinh=cos.re, cosh=cos.im;
+		sin.set(s*cosh,c*sinh); cos.set(c*cosh,-s*sinh);
+	}
+	/** Complex tangent
+	 * @return the tangent*/
+	public Complex tan() { return tanInto(new Complex()); } //tan
+	/** Complex tangent, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the tangent*/
+	public Complex tanInto(Complex dst) {                                            //tan
+		if(im==0) 	 { dst.set(tan(re),0);         return dst; } //real input: return tan
+		if(re==0)    { dst.set(0,Math.tanh(im));   return dst; } //imag input: return tan*i
+		
+		if(Math.abs(im)>18.7149738751185d) { dst.set(0,sgn(im)); return dst; } //large input: return +-1
+		
+		double sin=sin(2*re), cos=cos(2*re);            //compute sin  & cos  of twice the real part
+		fsinhcoshInto(2*im,dst);                        //compute sinh & cosh of twice the imag part
+		double sinh=dst.re, cosh=dst.im;
+		
+		if(cos<-0.9998D && cosh<1.0002D) { //SPECIAL CASE: our input is close to an odd multiple of π/2
+			double denom = 1.0D/(cosh-cos);                                 //compute 1/(cosh(2y)-cos(2x))
+			dst.set(sin*denom, -sinh*denom); return dst.invInto(dst);       //cot(x+yi) = (sin(2x)-sinh(2y)i)/(cosh(2y)-cos(2x)), tan = 1/cot
+		}
+		//DEFAULT CASE: use the following formula on our input
+		double denom = 1.0D/(cos+cosh);                   //compute 1/(cos(2x)+cosh(2y))
+		dst.set(sin*denom, sinh*denom); return dst;       //tan(x+yi) = (sin(2x)+sinh(2y)i)/(cos(2x)+cosh(2y))
+	}
+	
+	/** Hyperbolic cosine
+	 * @return the hyperbolic cosine*/
+	public Complex cosh() { return coshInto(new Complex()); } //cosh
+	/** Hyperbolic sine
+	 * @return the hyperbolic sine*/
+	public Complex sinh() { return sinhInto(new Complex()); } //sinh
+	/** Hyperbolic tangent
+	 * @return the hyperbolic tangent*/
+	public Complex tanh() { return tanhInto(new Complex()); } //tanh
+	/** Hyperbolic cosine, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the hyperbolic cosine*/
+	public Complex coshInto(Complex dst) { return mulIInto(dst).cosInto(dst);          } //cosh
+	/** Hyperbolic sine, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the hyperbolic sine*/
+	public Complex sinhInto(Complex dst) { return mulIInto(dst).sinInto(dst).diveqI(); } //sinh
+	/** Hyperbolic tangent, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the hyperbolic tangent*/
+	public Complex tanhInto(Complex dst) { return mulIInto(dst).tanInto(dst).diveqI(); } //tanh
+	
+	/** Secant
+	 * @return secant*/    public Complex sec () { return secInto(new Complex()); } //sec
+	/** Cosecant
+	 * @return cosecant*/  public Complex csc () { return cscInto(new Complex()); } //csc
+	/** Cotangent
+	 * @return cotangent*/ public Complex cot () { return cotInto(new Complex()); } //cot
+	
+	/** Hyperbolic secant
+	 * @return hyperbolic secant*/    public Complex sech() { return sechInto(new Complex()); } //sech
+	/** Hyperbolic cosecant
+	 * @return hyperbolic cosecant*/  public Complex csch() { return cschInto(new Complex()); } //csch
+	/** Hyperbolic cotangent
+	 * @return hyperbolic cotangent*/ public Complex coth() { return cothInto(new Complex()); } //coth
+	
+	/** Secant, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the secant*/    public Complex secInto (Complex dst) { return cosInto (dst).invInto(dst); } //sec
+	/** Cosecant, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the cosecant*/  public Complex cscInto (Complex dst) { return sinInto (dst).invInto(dst); } //csc
+	/** Cotangent, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the cotangent*/ public Complex cotInto (Complex dst) { return tanInto (dst).invInto(dst); } //cot
+	
+	/** Hyperbolic secant, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the hyperbolic secant*/    public Complex sechInto(Complex dst) { return coshInto(dst).invInto(dst); } //sech
+	/** Hyperbolic cosecant, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the hyperbolic cosecant*/  public Complex cschInto(Complex dst) { return sinhInto(dst).invInto(dst); } //csch
+	/** Hyperbolic cotangent, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the hyperbolic cotangent*/ public Complex cothInto(Complex dst) { return tanhInto(dst).invInto(dst); } //coth
+	
+//////////////////////////////////////////////////////////////////////////INVERSE TRIGONOMETRY////////////////////////////////////////////////////////////////////////////////////
+	
+	/** Inverse cosh
+	 * @return inverse hyperbolic cosine*/
+	public Complex acosh() { return acoshInto(new Complex()); } //arcosh
+	/** Inverse cosh, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the inverse hyperbolic cosine*/
+	public Complex acoshInto(Complex dst) {                                           //arcosh
+		if(im==0&&Math.abs(re)<=1) { dst.set(0,Math.acos(re)); return dst; }        //real input [-1,1]: return acos*i
+		
+		if(absq()>1E18D) { return logInto(dst).addeq(LOG2); }                       //huge input: return asymptotic approximation
+		
+		double x=re, y=im; boolean root=isRoot();                                   //store the input (in case dst is this)
+		sqInto(dst).subeq(1).sqrtInto(dst).muleqcsgn(root?1:-1);                    //else: return ln(z+csgn(z)√(z²-1))
+		return dst.addeq(x,y).logInto(dst);
+	}
+	/** Inverse sinh
+	 * @return inverse hyperbolic sine*/
+	public Complex asinh() { return asinhInto(new Complex()); } //arsinh
+	/** Inverse sinh, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the inverse hyperbolic sine*/
+	public Complex asinhInto(Complex dst) {                                         //arsinh
+		if(re==0&&Math.abs(im)<=1) { dst.set(0,Math.asin(im)); return dst; }      //imag input [-i,i]: return asin*i
+		
+		double x=re, y=im; int csgn=csgn();                                       //store the input (in case dst is this)
+		double ax=csgn*x, ay=csgn*y;                                              //and compute √(z²)
+		
+		if(absq()>1E18D) { dst.set(ax,ay); return dst.logInto(dst).addeq(LOG2).muleqcsgn(csgn); } //huge input: return asymptotic approximation
+		if(lazyabs()<=1E-4D) {                                                    //tiny input: return taylor's series
+			double rec=1.0D/6, sr=(x+y)*(x-y)*rec, si=2*x*y*rec;                 //z²/6
+			double tr=1-sr, ti=-si;                                               //1-z²/6
+			dst.set(x*tr-y*ti, x*ti+y*tr); return dst;                            //z(1-z²/6)
+		}
+		
+		sqInto(dst).addeq(1).sqrtInto(dst).addeq(ax,ay);                          //else: return csgn(z)ln(|z|+√(z²+1))
+		return dst.logInto(dst).muleqcsgn(csgn);
+	}
+	/** Inverse tanh
+	 * @return inverse hyperbolic tangent*/
+	public Complex atanh() { return atanhInto(new Complex()); } //artanh
+	/** Inverse tanh, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the inverse hyperbolic tangent*/
+	public Complex atanhInto(Complex dst) {                                                      //artanh
+		if(im==0 && Math.abs(re)==1) { dst.set(re==1 ? INF : -INF,0); return dst; }            //special case: atanh(±1)=±∞
+		if(isInf()) { dst.set(0,(im>0 || im==0 && re<=1) ? HALFPI : -HALFPI); return dst; }    //special case: z is infinite, return ±πi/2
+		
+		if(re==0)            { dst.set(0,Math.atan(im)); return dst; } //imag input: return atan*i
+		double x=re, y=im;                                             //store the input (in case dst is this)
+		if(lazyabs()<=1E-4D) {                                         //tiny input: return taylor's series
+			double rec=1.0D/3, tr=(x+y)*(x-y)*rec+1, ti=2*x*y*rec;      //1+z²/3
+			dst.set(x*tr-y*ti, x*ti+y*tr); return dst;                 //z(1+z²/3)
+		}
+		
+		dst.set(x+1,y); dst.divInto(1-x,-y,dst).logInto(dst).muleq(0.5D); //else      : atanh(z)=ln((1+z)/(1-z))/2
+		if(y==0&&x>1) { dst.im=-HALFPI; }                              //(special case) z is real & >1: negate im to keep function odd
+		return dst;                                                    //return answer
+	}
+	
+	/**Arc cosine
+	 * @return the principal value of the arc cosine*/
+	public Complex acos() { return acosInto(new Complex()); } //acos
+	/**Arc cosine, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the principal value of the arc cosine*/
+	public Complex acosInto(Complex dst) {                                        //acos
+		if(im==0 && Math.abs(re)<=1) { dst.set(Math.acos(re),0); return dst; }  //real input [-1,1]: return acos
+		return mulIInto(dst).asinhInto(dst).muleqI().addeq(HALFPI);              //else             : return π/2-asin
+	}
+	/**Arc sine
+	 * @return the principal value of the arc sine*/
+	public Complex asin() { return asinInto(new Complex()); } //asin
+	/**Arc tangent
+	 * @return the principal value of the arc tangent*/
+	public Complex atan() { return atanInto(new Complex()); } //atan
+	/**Arc sine, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the principal value of the arc sine*/
+	public Complex asinInto(Complex dst) { return mulIInto(dst).asinhInto(dst).diveqI(); } //asin
+	/**Arc tangent, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the principal value of the arc tangent*/
+	public Complex atanInto(Complex dst) { return mulIInto(dst).atanhInto(dst).diveqI(); } //atan
+	
+	
+	/**Arc secant
+	 * @return the arc    secant*/ public Complex asec() { return asecInto(new Complex()); } //asec
+	/**Arc cosecant
+	 * @return the arc  cosecant*/ public Complex acsc() { return acscInto(new Complex()); } //acsc
+	/**Arc cotangent
+	 * @return the arc cotangent*/ public Complex acot() { return acotInto(new Complex()); } //acot
+	
+	/**Inverse sech
+	 * @return the inverse hyperbolic secant*/    public Complex asech() { return asechInto(new Complex()); } //asech
+	/**Inverse csch
+	 * @return the inverse hyperbolic cosecant*/  public Complex acsch() { return acschInto(new Complex()); } //acsch
+	/**Inverse coth
+	 * @return the inverse hyperbolic cotangent*/ public Complex acoth() { return acothInto(new Complex()); } //acoth
+	
+	/**Arc secant, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the arc    secant*/ public Complex asecInto(Complex dst) { return invInto(dst).acosInto(dst); } //asec
+	/**Arc cosecant, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the arc  cosecant*/ public Complex acscInto(Complex dst) { return invInto(dst).asinInto(dst); } //acsc
+	/**Arc cotangent, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the arc cotangent*/ public Complex acotInto(Complex dst) { return invInto(dst).atanInto(dst); } //acot
+	
+	/**Inverse sech, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the inverse hyperbolic secant*/    public Complex asechInto(Complex dst) { return invInto(dst).acoshInto(dst); } //asech
+	/**Inverse csch, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the inverse hyperbolic cosecant*/  public Complex acschInto(Complex dst) { return invInto(dst).asinhInto(dst); } //acsch
+	/**Inverse coth, written into dst
+	 * @param dst the destination (may be this)
+	 * @return dst, holding the inverse hyperbolic cotangent*/ public Complex acothInto(Complex dst) { return invInto(dst).atanhInto(dst); } //acoth
+}
@@ -0,0 +1,353 @@
+package complexnumbers;
+
+/**
+ * Selectable algorithms for complex multiplication, division, and the absolute value.
+ *
+ * <br><br>There's more than one reasonable way to multiply, divide, or take the absolute value of a complex number in floating point, and
+ * they trade speed against accuracy (and against robustness near overflow & underflow).  Each instance of this class is one such set of
+ * algorithms:
+ * <br>• <code>CLASSIC</code> is what <code>Complex</code> has always done: the textbook product, division by multiplying by the
+ * reciprocal (which is rescaled by a power of 2 when the absolute square would overflow or underflow), and an absolute value which checks
+ * for axes & infinities, then rescales the same way.  Each part of a product or quotient is accurate to a few ulps of the result's
+ * absolute value, but a part that's much smaller than the other can be off by far more (there's nothing to stop cancellation).
+ * <br>• <code>SMITH</code> keeps the textbook product, but divides with Baudin &amp; Smith's robust version of Smith's algorithm, which
+ * never forms the absolute square (so it only rescales for divisors & dividends within a factor of 2 of overflow or 2^-969 of underflow,
+ * and gets most quotients right without any scaling), and takes the absolute value with a single scaling test and no special cases.
+ * Its quotients are as accurate as <code>CLASSIC</code>'s (with the same caveat about cancellation), and both it and the absolute value
+ * are faster.
+ * <br>• <code>FMA</code> uses <code>Math.fma</code> to recover the rounding error of one product in every ad-bc, which is Kahan's
+ * algorithm.  So each part of a product is within an ulp or so of its own exact value, even when it's the result of cancellation, and
+ * so is each part of a quotient, which is computed as conj(w)z/|w|² from operands scaled (exactly) to about 1.  The absolute value is
+ * the scaled one, with a fused multiply-add.  Products and quotients both cost about twice what <code>CLASSIC</code>'s do.
+ *
+ * <br><br>The algorithms can be selected globally, with <code>setDefault</code>, which changes what <code>Complex</code> and
+ * <code>ComplexValue</code> use for <code>mul</code>, <code>div</code> (and their Into &amp; eq variants) and <code>abs</code>, and
+ * therefore what every function built on them uses.  Or they can be selected at a call site, by calling an instance directly
+ * (<code>ComplexArithmetic.FMA.divInto(z,w,dst)</code>).  The default is <code>CLASSIC</code>, so nothing changes unless you ask for it.
+ * The bulk kernels (<code>ComplexKernels</code> &amp; <code>ComplexArray</code>) always use the classic arithmetic, so that their scalar
+ * & vectorized backends agree bit for bit, but the bulk methods here run any strategy over split arrays (<code>CLASSIC</code> just hands
+ * them to <code>ComplexKernels</code>).
+ *
+ * <br><br>The global default is a volatile field, so a change is seen by every thread's next operation.  While it's <code>CLASSIC</code>
+ * (which it's stored as null), <code>Complex</code> calls the classic algorithms statically, so the JIT can inline them, and the switch
+ * only costs a volatile read &amp; a branch.  A function built from several operations can still mix strategies if the default changes
+ * halfway through it on another thread, so the default is best set once at startup, and code that depends on a particular strategy should
+ * call that instance directly.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class ComplexArithmetic extends Mafs {
+
+	/** The textbook product, division by the (rescaled) reciprocal, and the rescaled absolute value.  This is the default. */
+	public static final ComplexArithmetic CLASSIC = new ComplexArithmetic("classic");
+	/** The textbook product, Baudin &amp; Smith's robust division, and the scaled absolute value. */
+	public static final ComplexArithmetic SMITH = new Smith("smith");
+	/** Kahan's fused product, the compensated quotient, and the fused scaled absolute value. */
+	public static final ComplexArithmetic FMA = new Fused("fma");
+
+	private static volatile ComplexArithmetic global = null; //the arithmetic Complex & ComplexValue currently use, or null for CLASSIC
+
+	private final String name; //the strategy's name
+
+	/** Only this class constructs its strategies. */
+	ComplexArithmetic(String name) { this.name=name; }
+
+	/**
+	 * The arithmetic <code>Complex</code> and <code>ComplexValue</code> currently use.
+	 * @return the current default
+	 */
+	public static ComplexArithmetic getDefault() { final ComplexArithmetic g=global; return g==null ? CLASSIC : g; }
+
+	/**
+	 * Selects the arithmetic <code>Complex</code> and <code>ComplexValue</code> use for multiplication, division, and the absolute value.
+	 * Every thread sees it from its next operation on (see the class description).
+	 * @param arith the new default
+	 * @return the previous default (so it can be restored)
+	 */
+	public static ComplexArithmetic setDefault(ComplexArithmetic arith) {
+		if(arith==null) { throw new IllegalArgumentException("The arithmetic cannot be null"); }
+		final ComplexArithmetic prev=getDefault(); global = arith==CLASSIC ? null : arith; return prev;
+	}
+
+	/**
+	 * Looks up a strategy by name ("classic", "smith", or "fma", ignoring case).
+	 * @param name the name
+	 * @return the strategy
+	 */
+	public static ComplexArithmetic forName(String name) {
+		for(ComplexArithmetic a : new ComplexArithmetic[] {CLASSIC, SMITH, FMA}) {
+			if(a.name.equalsIgnoreCase(name)) { return a; }
+		}
+		throw new IllegalArgumentException("Unknown arithmetic \""+name+"\"");
+	}
+
+	/** The strategy's name ("classic", "smith", or "fma")
+	 * @return the name */
+	@Override
+	public String toString() { return name; }
+
+////////////////////////////////////////////// SCALAR OPERATIONS /////////////////////////////////
+
+	//what Complex & ComplexValue call: the classic algorithms, directly, unless another default has been set
+
+	/** (a+bi)(c+di) into dst, with the default arithmetic */
+	static Complex defaultMulInto(double a, double b, double c, double d, Complex dst) {
+		final ComplexArithmetic g=global; return g==null ? classicMulInto(a,b,c,d,dst) : g.mulInto(a,b,c,d,dst);
+	}
+	/** (a+bi)/(c+di) into dst, with the default arithmetic */
+	static Complex defaultDivInto(double a, double b, double c, double d, Complex dst) {
+		final ComplexArithmetic g=global; return g==null ? classicDivInto(a,b,c,d,dst) : g.divInto(a,b,c,d,dst);
+	}
+	/** |x+yi|, with the default arithmetic */
+	static double defaultAbs(double x, double y) {
+		final ComplexArithmetic g=global; return g==null ? ComplexArray.abs(x,y) : g.abs(x,y);
+	}
+
+	/** (a+bi)(c+di) as a <code>ComplexValue</code>, with the default arithmetic (on primitives, unless another default has been set) */
+	static ComplexValue defaultMul(double a, double b, double c, double d) {
+		final ComplexArithmetic g=global; return g==null ? new ComplexValue(a*c-b*d, a*d+b*c) : ComplexValue.valueOf(g.mulInto(a,b,c,d,new Complex()));
+	}
+	/** (a+bi)/(c+di) as a <code>ComplexValue</code>, with the default arithmetic (on primitives, unless another default has been set) */
+	static ComplexValue defaultDiv(double a, double b, double c, double d) {
+		final ComplexArithmetic g=global;
+		if(g!=null) { return ComplexValue.valueOf(g.divInto(a,b,c,d,new Complex())); }
+		//the classic quotient, step for step the same as classicDivInto (and Complex.invInto), just without the Complex
+		if(Math.max(Math.abs(c),Math.abs(d))<Double.MIN_NORMAL) { c=Math.scalb(c,512); d=Math.scalb(d,512); a=Math.scalb(a,512); b=Math.scalb(b,512); }
+		int s=0; //the reciprocal's scale
+		if(c!=0 && d!=0 && !Double.isInfinite(c) && !Double.isInfinite(d)) {
+			final double l=Math.max(Math.abs(c),Math.abs(d));
+			if(l<1.4916681462400413E-154D)  { s= 1022; } //absolute square underflows
+			if(l>=9.480751908109177E+153D) { s=-1022; } //absolute square overflows
+			c=Math.scalb(c,s); d=Math.scalb(d,s);
+		}
+		double ir, ii; //the reciprocal
+		if(d==0)                                                { ir=1.0/c; ii=0;       }
+		else if(c==0)                                           { ir=0;     ii=-1.0/d;  }
+		else if(Double.isInfinite(c) || Double.isInfinite(d))   { ir=0;     ii=0;       }
+		else { final double inv=1d/(c*c+d*d); ir=c*inv; ii=-d*inv; }
+		ir=Math.scalb(ir,s); ii=Math.scalb(ii,s);
+		return new ComplexValue(a*ir-b*ii, a*ii+b*ir);
+	}
+
+	/** The classic product */
+	static Complex classicMulInto(double a, double b, double c, double d, Complex dst) { dst.set(a*c-b*d, a*d+b*c); return dst; }
+
+	/** The classic quotient */
+	static Complex classicDivInto(double a, double b, double c, double d, Complex dst) {
+		dst.set(c,d);                                  //load the divisor into dst
+		if(dst.lazyabs()<Double.MIN_NORMAL) { dst.scalbeq(512); a=Math.scalb(a,512); b=Math.scalb(b,512); } //divisor is subnormal: multiply dividend & divisor by 2^512
+		dst.invInto(dst);                              //invert the divisor
+		dst.set(a*dst.re-b*dst.im, a*dst.im+b*dst.re); //multiply the dividend by the inverse
+		return dst;
+	}
+
+	//these three are what each strategy overrides.  None of them allocate anything, and dst is written only after every input is read.
+
+	/**
+	 * Computes (a+bi)(c+di), writing the product into dst
+	 * @param a first factor's real part
+	 * @param b first factor's imaginary part
+	 * @param c second factor's real part
+	 * @param d second factor's imaginary part
+	 * @param dst the destination
+	 * @return dst, holding the product
+	 */
+	public Complex mulInto(double a, double b, double c, double d, Complex dst) { return classicMulInto(a,b,c,d,dst); }
+
+	/**
+	 * Computes (a+bi)/(c+di), writing the quotient into dst
+	 * @param a dividend's real part
+	 * @param b dividend's imaginary part
+	 * @param c divisor's real part
+	 * @param d divisor's imaginary part
+	 * @param dst the destination
+	 * @return dst, holding the quotient
+	 */
+	public Complex divInto(double a, double b, double c, double d, Complex dst) { return classicDivInto(a,b,c,d,dst); }
+
+	/**
+	 * The absolute value of x+yi, √(x²+y²), without overflowing or underflowing unless the result does
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return the absolute value
+	 */
+	public double abs(double x, double y) { return ComplexArray.abs(x,y); }
+
+	/**
+	 * Product
+	 * @param a multiplicand
+	 * @param b multiplier
+	 * @return a*b
+	 */
+	public Complex mul(Complex a, Complex b) { return mulInto(a.re,a.im,b.re,b.im,new Complex()); }
+	/**
+	 * Product, written into dst
+	 * @param a multiplicand
+	 * @param b multiplier
+	 * @param dst the destination (may be a or b)
+	 * @return dst, holding a*b
+	 */
+	public Complex mulInto(Complex a, Complex b, Complex dst) { return mulInto(a.re,a.im,b.re,b.im,dst); }
+	/**
+	 * Quotient
+	 * @param a dividend
+	 * @param b divisor
+	 * @return a/b
+	 */
+	public Complex div(Complex a, Complex b) { return divInto(a.re,a.im,b.re,b.im,new Complex()); }
+	/**
+	 * Quotient, written into dst
+	 * @param a dividend
+	 * @param b divisor
+	 * @param dst the destination (may be a or b)
+	 * @return dst, holding a/b
+	 */
+	public Complex divInto(Complex a, Complex b, Complex dst) { return divInto(a.re,a.im,b.re,b.im,dst); }
+	/**
+	 * Absolute value
+	 * @param a the input
+	 * @return |a|
+	 */
+	public double abs(Complex a) { return abs(a.re,a.im); }
+
+////////////////////////////////////////////// BULK OPERATIONS /////////////////////////////////
+
+	/**
+	 * d = a * b, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public void mul(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		if(this==CLASSIC) { ComplexKernels.mul(ar,ai,br,bi,dr,di,from,to); return; } //(the kernels give the same results, on SIMD lanes if they can)
+		final Complex t=new Complex();
+		for(int k=from;k<to;k++) { mulInto(ar[k],ai[k],br[k],bi[k],t); dr[k]=t.re; di[k]=t.im; }
+	}
+	/**
+	 * d = a / b, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public void div(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		if(this==CLASSIC) { ComplexKernels.div(ar,ai,br,bi,dr,di,from,to); return; }
+		final Complex t=new Complex();
+		for(int k=from;k<to;k++) { divInto(ar[k],ai[k],br[k],bi[k],t); dr[k]=t.re; di[k]=t.im; }
+	}
+	/**
+	 * dst = |a|, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dst the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public void abs(double[] ar, double[] ai, double[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { dst[k]=abs(ar[k],ai[k]); }
+	}
+
+////////////////////////////////////////////// STRATEGIES /////////////////////////////////
+
+	/**
+	 * The textbook product, Baudin &amp; Smith's division, and the scaled absolute value.  (M. Baudin, R. Smith, "A Robust Complex
+	 * Division in Scilab", 2012.)
+	 */
+	static class Smith extends ComplexArithmetic {
+
+		static final double BIG = 0.5*Double.MAX_VALUE;                   //operands this large get halved (so the quotient can't overflow before it's scaled)
+		static final double SMALL = 2*Double.MIN_NORMAL/Math.ulp(1d);      //operands this small get scaled up by 2^105 (so their products can't underflow)
+		static final double UP = 0x1p105, DOWN = 0x1p-105;
+
+		Smith(String name) { super(name); }
+
+		@Override
+		public Complex divInto(double a, double b, double c, double d, Complex dst) {
+			final double ab=Math.max(Math.abs(a),Math.abs(b)), cd=Math.max(Math.abs(c),Math.abs(d));
+			if(cd==0) { dst.set(a/cd,b/cd); return dst; }                 //division by 0: ∞ in the direction of the dividend (NaN for 0/0)
+			double s=1;                                                   //the scale we'll undo at the end
+			if(ab>=BIG)   { a*=0.5; b*=0.5; s*=2;    }
+			if(cd>=BIG)   { c*=0.5; d*=0.5; s*=0.5;  }
+			if(ab<=SMALL) { a*=UP;  b*=UP;  s*=DOWN; }
+			if(cd<=SMALL) { c*=UP;  d*=UP;  s*=UP;   }
+			if(Math.abs(d)<=Math.abs(c)) { quotient(a,b,c,d,dst); }       //divide by whichever part of the divisor is larger
+			else { quotient(b,a,d,c,dst); dst.im=-dst.im; }               //(a+bi)/(c+di) is the conjugate of (b+ai)/(d+ci)
+			dst.re*=s; dst.im*=s;
+			return dst;
+		}
+
+		/** Smith's quotient, for |d|≤|c|: with r=d/c and t=1/(c+dr), the quotient is ((a+br)t, (b-ar)t) */
+		void quotient(double a, double b, double c, double d, Complex dst) {
+			final double r=d/c, t=1/(c+d*r);
+			dst.set(part(a,b,c,d,r,t),part(b,-a,c,d,r,t));
+		}
+
+		/** (a+br)t, being careful when br underflows (Baudin &amp; Smith's "internal_compreal") */
+		static double part(double a, double b, double c, double d, double r, double t) {
+			if(r!=0) {
+				final double br=b*r;
+				return br!=0 ? (a+br)*t : a*t+(b*t)*r;
+			}
+			return (a+d*(b/c))*t;                                         //r underflowed to 0
+		}
+
+		@Override
+		public double abs(double x, double y) {
+			x=Math.abs(x); y=Math.abs(y);
+			final double m=Math.max(x,y);
+			if(m>=0x1p-500 && m<=0x1p500) { return Math.sqrt(x*x+y*y); } //neither square can overflow, and an underflowing square is too small to matter
+			if(m<0x1p-500) { x*=0x1p600; y*=0x1p600; return Math.sqrt(x*x+y*y)*0x1p-600; } //(0 comes here too)
+			if(m>0x1p500) { x*=0x1p-600; y*=0x1p-600; return Math.sqrt(x*x+y*y)*0x1p600; }  //(and so does ∞)
+			return x==INF || y==INF ? INF : m;                            //NaN, unless the other part is infinite
+		}
+	}
+
+	/** Kahan's product, the compensated quotient, and the scaled absolute value with a fused multiply-add. */
+	static final class Fused extends Smith {
+
+		Fused(String name) { super(name); }
+
+		@Override
+		public Complex mulInto(double a, double b, double c, double d, Complex dst) {
+			double w=b*d, re=Math.fma(a,c,-w)+Math.fma(-b,d,w);           //ac-bd = (ac-w) + (w-bd), where w-bd is bd's rounding error
+			w=b*c; double im=Math.fma(a,d,w)+Math.fma(b,c,-w);            //ad+bc = (ad+w) + (bc-w)
+			if(!(Math.abs(re)<INF)) { re=a*c-b*d; }                        //if w overflowed, the compensation is ∞-∞: use the plain product
+			if(!(Math.abs(im)<INF)) { im=a*d+b*c; }                        //(which is also right when an input is ∞ or NaN)
+			dst.set(re,im); return dst;
+		}
+
+		@Override
+		public Complex divInto(double a, double b, double c, double d, Complex dst) {
+			final double ab=Math.max(Math.abs(a),Math.abs(b)), cd=Math.max(Math.abs(c),Math.abs(d));
+			if(!(cd>0 && cd<INF && ab<INF)) { return super.divInto(a,b,c,d,dst); } //0, ∞ or NaN: Smith's division handles those
+			final int ea = ab==0 ? 0 : Math.getExponent(ab), ec=Math.getExponent(cd);
+			a=Math.scalb(a,-ea); b=Math.scalb(b,-ea); c=Math.scalb(c,-ec); d=Math.scalb(d,-ec); //scale both to about 1 (exactly), so nothing below can overflow
+			double w=b*d, re=Math.fma(a,c,w)+Math.fma(b,d,-w);            //ac+bd, compensated like the product
+			w=a*d; double im=Math.fma(b,c,-w)+Math.fma(-a,d,w);           //bc-ad
+			final double den=Math.fma(c,c,d*d);                           //c²+d²
+			dst.set(Math.scalb(re/den,ea-ec),Math.scalb(im/den,ea-ec));  //divide, and undo the scaling
+			return dst;
+		}
+
+		@Override
+		public double abs(double x, double y) {
+			x=Math.abs(x); y=Math.abs(y);
+			final double m=Math.max(x,y);
+			if(m>=0x1p-500 && m<=0x1p500) { return Math.sqrt(Math.fma(x,x,y*y)); }
+			if(m<0x1p-500) { x*=0x1p600; y*=0x1p600; return Math.sqrt(Math.fma(x,x,y*y))*0x1p-600; }
+			if(m>0x1p500) { x*=0x1p-600; y*=0x1p-600; return Math.sqrt(Math.fma(x,x,y*y))*0x1p600; }
+			return x==INF || y==INF ? INF : m;
+		}
+	}
+}
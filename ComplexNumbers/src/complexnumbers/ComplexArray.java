@@ -0,0 +1,492 @@
+package complexnumbers;
+
+import java.util.Arrays;
+
+/**
+ * An array of complex numbers, stored as two parallel arrays of primitive <code>double</code>s.
+ *
+ * <br><br>An array of <code>Complex</code> objects pays for an object header and a reference for every single element, and every
+ * element can live anywhere on the heap.  This class instead stores the real parts in one <code>double[]</code> and the imaginary parts
+ * in another, so a million complex numbers take up exactly 16 megabytes, laid out contiguously.  This is the layout you want for pixel
+ * grids, sample buffers, and anything else that holds a large number of complex values.
+ *
+ * <br><br>The bulk operations mirror the <code>Complex</code> mutators (<code>addeq</code>, <code>muleq</code>, <code>diveq</code>, etc.),
+ * and each one has an overload that only operates on the range [from,to).  None of them create a single <code>Complex</code> object.
+ * Division, inversion, and the absolute value use the same overflow/underflow handling as their counterparts in <code>Complex</code>, so
+ * they give identical results.  The element-by-element operations run on <code>ComplexKernels</code>, so they're vectorized whenever
+ * the Vector API is available.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class ComplexArray extends Mafs implements Cloneable {
+
+//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
+
+	/** The real parts. Since there are no illegal numbers, this attribute is public. */
+	public final double[] re;
+	/** The imaginary parts. Since there are no illegal numbers, this attribute is public. */
+	public final double[] im;
+
+/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
+
+	/**
+	 * Constructs an array of n zeros.
+	 * @param n the length
+	 */
+	public ComplexArray(int n) { re = new double[n]; im = new double[n]; }
+
+	/**
+	 * Constructs an array which wraps the given real and imaginary parts.  The arrays are not copied, so any changes to this object will
+	 * be reflected in them, and vice versa.
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 */
+	public ComplexArray(double[] re, double[] im) {
+		if(re.length!=im.length) { throw new IllegalArgumentException("Real and imaginary arrays must have the same length"); }
+		this.re = re; this.im = im;
+	}
+
+	/**
+	 * Constructs an array holding a copy of each complex number.
+	 * @param z the complex numbers
+	 */
+	public ComplexArray(Complex... z) {
+		this(z.length);                                         //allocate both arrays
+		for(int k=0;k<z.length;k++) { re[k]=z[k].re; im[k]=z[k].im; } //copy each component
+	}
+
+////////////////////////////////////////////// BASIC FUNCTIONS /////////////////////////////////
+
+	/** The number of elements.
+	 * @return the length */
+	public int length() { return re.length; }
+
+	/** Returns a deep copy.
+	 * @return a deep copy */
+	@Override
+	public ComplexArray clone() { return copy(); }
+	/** Returns a deep copy.
+	 * @return a deep copy */
+	public ComplexArray copy() { return new ComplexArray(re.clone(), im.clone()); }
+
+	/**
+	 * Gets the k-th element.  This creates a new <code>Complex</code>, so don't use it in a hot loop.
+	 * @param k the index
+	 * @return a copy of the k-th element
+	 */
+	public Complex get(int k) { return new Complex(re[k], im[k]); }
+
+	/**
+	 * Copies the k-th element into z.
+	 * @param k the index
+	 * @param z the destination
+	 * @return z
+	 */
+	public Complex get(int k, Complex z) { z.re=re[k]; z.im=im[k]; return z; }
+
+	/**
+	 * Sets the k-th element to x+yi.
+	 * @param k the index
+	 * @param x the real part
+	 * @param y the imaginary part
+	 */
+	public void set(int k, double x, double y) { re[k]=x; im[k]=y; }
+	/**
+	 * Sets the k-th element equal to z.
+	 * @param k the index
+	 * @param z the complex number that gets copied
+	 */
+	public void set(int k, Complex z) { re[k]=z.re; im[k]=z.im; }
+
+	/**
+	 * Converts to an array of <code>Complex</code> objects.
+	 * @return the array
+	 */
+	public Complex[] toArray() {
+		Complex[] arr = new Complex[re.length];
+		for(int k=0;k<arr.length;k++) { arr[k]=new Complex(re[k],im[k]); }
+		return arr;
+	}
+
+	/**
+	 * Sets every element in [from,to) to x+yi.
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return this
+	 */
+	public ComplexArray fill(int from, int to, double x, double y) {
+		Arrays.fill(re,from,to,x); Arrays.fill(im,from,to,y); return this;
+	}
+	/**
+	 * Sets every element to x+yi.
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return this
+	 */
+	public ComplexArray fill(double x, double y) { return fill(0,re.length,x,y); }
+
+///////////////////////////////////////////// BULK ARITHMETIC /////////////////////////////////////////////////
+
+	//(all of the following functions are mutators, and all of them return this)
+
+	/**
+	 * Plus-equals, element by element, over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param a the addends (indexed the same way as this)
+	 * @return the sum
+	 */
+	public ComplexArray addeq(int from, int to, ComplexArray a) {
+		ComplexKernels.add(re,im,a.re,a.im,re,im,from,to);
+		return this;
+	}
+	/**
+	 * Plus-equals, element by element.
+	 * @param a the addends
+	 * @return the sum
+	 */
+	public ComplexArray addeq(ComplexArray a) { return addeq(0,re.length,a); }
+	/**
+	 * Plus-equals x+yi over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param x addend's real part
+	 * @param y addend's imaginary part
+	 * @return the sum
+	 */
+	public ComplexArray addeq(int from, int to, double x, double y) {
+		for(int k=from;k<to;k++) { re[k]+=x; im[k]+=y; }
+		return this;
+	}
+	/**
+	 * Plus-equals x+yi.
+	 * @param x addend's real part
+	 * @param y addend's imaginary part
+	 * @return the sum
+	 */
+	public ComplexArray addeq(double x, double y) { return addeq(0,re.length,x,y); }
+
+	/**
+	 * Minus-equals, element by element, over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param a the subtrahends (indexed the same way as this)
+	 * @return the difference
+	 */
+	public ComplexArray subeq(int from, int to, ComplexArray a) {
+		final double[] ar=a.re, ai=a.im;
+		for(int k=from;k<to;k++) { re[k]-=ar[k]; im[k]-=ai[k]; }
+		return this;
+	}
+	/**
+	 * Minus-equals, element by element.
+	 * @param a the subtrahends
+	 * @return the difference
+	 */
+	public ComplexArray subeq(ComplexArray a) { return subeq(0,re.length,a); }
+
+	/**
+	 * Times-equals, element by element, over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param a the multipliers (indexed the same way as this)
+	 * @return the product
+	 */
+	public ComplexArray muleq(int from, int to, ComplexArray a) {
+		ComplexKernels.mul(re,im,a.re,a.im,re,im,from,to);
+		return this;
+	}
+	/**
+	 * Times-equals, element by element.
+	 * @param a the multipliers
+	 * @return the product
+	 */
+	public ComplexArray muleq(ComplexArray a) { return muleq(0,re.length,a); }
+	/**
+	 * Times-equals x+yi over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param x multiplier's real part
+	 * @param y multiplier's imaginary part
+	 * @return the product
+	 */
+	public ComplexArray muleq(int from, int to, double x, double y) {
+		for(int k=from;k<to;k++) {
+			double u=re[k], v=im[k];
+			re[k]=u*x-v*y; im[k]=u*y+v*x;
+		}
+		return this;
+	}
+	/**
+	 * Times-equals x+yi.
+	 * @param x multiplier's real part
+	 * @param y multiplier's imaginary part
+	 * @return the product
+	 */
+	public ComplexArray muleq(double x, double y) { return muleq(0,re.length,x,y); }
+	/**
+	 * Times-equals a real number over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param a real multiplier
+	 * @return the product
+	 */
+	public ComplexArray muleq(int from, int to, double a) {
+		for(int k=from;k<to;k++) { re[k]*=a; im[k]*=a; }
+		return this;
+	}
+	/**
+	 * Times-equals a real number.
+	 * @param a real multiplier
+	 * @return the product
+	 */
+	public ComplexArray muleq(double a) { return muleq(0,re.length,a); }
+
+	/**
+	 * Divide-equals, element by element, over the range [from,to).  Uses the same subnormal and overflow handling as
+	 * <code>Complex.diveq</code>.
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param a the divisors (indexed the same way as this)
+	 * @return the quotient
+	 */
+	public ComplexArray diveq(int from, int to, ComplexArray a) {
+		ComplexKernels.div(re,im,a.re,a.im,re,im,from,to);
+		return this;
+	}
+	/**
+	 * Divide-equals, element by element.
+	 * @param a the divisors
+	 * @return the quotient
+	 */
+	public ComplexArray diveq(ComplexArray a) { return diveq(0,re.length,a); }
+	/**
+	 * Divide-equals x+yi over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 * @return the quotient
+	 */
+	public ComplexArray diveq(int from, int to, double x, double y) {
+		for(int k=from;k<to;k++) { div(re,k,im,k,x,y); }
+		return this;
+	}
+	/**
+	 * Divide-equals x+yi.
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 * @return the quotient
+	 */
+	public ComplexArray diveq(double x, double y) { return diveq(0,re.length,x,y); }
+
+	/**
+	 * Inverse-equals (reciprocal) over the range [from,to).  Uses the same overflow/underflow handling as <code>Complex.inv</code>.
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @return the reciprocal
+	 */
+	public ComplexArray inveq(int from, int to) {
+		for(int k=from;k<to;k++) { inv(re,k,im,k,re[k],im[k]); }
+		return this;
+	}
+	/**
+	 * Inverse-equals (reciprocal).
+	 * @return the reciprocal
+	 */
+	public ComplexArray inveq() { return inveq(0,re.length); }
+
+	/**
+	 * Square-equals over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @return the square
+	 */
+	public ComplexArray sqeq(int from, int to) {
+		for(int k=from;k<to;k++) {
+			double x=re[k], y=im[k];
+			re[k]=(x+y)*(x-y); im[k]=2*x*y; //(x+yi)² = (x+y)(x-y) + 2xyi
+		}
+		return this;
+	}
+	/**
+	 * Square-equals.
+	 * @return the square
+	 */
+	public ComplexArray sqeq() { return sqeq(0,re.length); }
+
+	/**
+	 * Complex conjugate-equals over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @return the conjugate
+	 */
+	public ComplexArray conjeq(int from, int to) {
+		for(int k=from;k<to;k++) { im[k]=-im[k]; }
+		return this;
+	}
+	/**
+	 * Complex conjugate-equals.
+	 * @return the conjugate
+	 */
+	public ComplexArray conjeq() { return conjeq(0,re.length); }
+
+	/**
+	 * Multiply-equals by 2^scaleFactor over the range [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param scaleFactor the power of 2
+	 * @return the product with the binary exponent
+	 */
+	public ComplexArray scalbeq(int from, int to, int scaleFactor) {
+		for(int k=from;k<to;k++) { re[k]=Math.scalb(re[k],scaleFactor); im[k]=Math.scalb(im[k],scaleFactor); }
+		return this;
+	}
+	/**
+	 * Multiply-equals by 2^scaleFactor.
+	 * @param scaleFactor the power of 2
+	 * @return the product with the binary exponent
+	 */
+	public ComplexArray scalbeq(int scaleFactor) { return scalbeq(0,re.length,scaleFactor); }
+
+/////////////////////////////////////// COMPLEX PARTS ////////////////////////////////////////////////////
+
+	//(each of these writes to dst[k] for each index k in the range)
+
+	/**
+	 * Absolute square of each element in [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param dst where the results are written
+	 * @return dst
+	 */
+	public double[] absq(int from, int to, double[] dst) {
+		ComplexKernels.absq(re,im,dst,from,to);
+		return dst;
+	}
+	/**
+	 * Absolute square of each element.
+	 * @return the absolute squares
+	 */
+	public double[] absq() { return absq(0,re.length,new double[re.length]); }
+
+	/**
+	 * Absolute value of each element in [from,to).  Uses the same overflow/underflow handling as <code>Complex.abs</code>.
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param dst where the results are written
+	 * @return dst
+	 */
+	public double[] abs(int from, int to, double[] dst) {
+		for(int k=from;k<to;k++) { dst[k]=abs(re[k],im[k]); }
+		return dst;
+	}
+	/**
+	 * Absolute value of each element.
+	 * @return the absolute values
+	 */
+	public double[] abs() { return abs(0,re.length,new double[re.length]); }
+
+	/**
+	 * Argument of each element in [from,to).
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @param dst where the results are written
+	 * @return dst
+	 */
+	public double[] arg(int from, int to, double[] dst) {
+		for(int k=from;k<to;k++) { dst[k]=arg(re[k],im[k]); }
+		return dst;
+	}
+	/**
+	 * Argument of each element.
+	 * @return the arguments
+	 */
+	public double[] arg() { return arg(0,re.length,new double[re.length]); }
+
+/////////////////////////////////////// PRIMITIVE KERNELS ////////////////////////////////////////////////////
+
+	//these mirror the Complex functions of the same name, but take their inputs as primitives so that nothing has to be allocated
+
+	/**
+	 * The absolute value of x+yi, with the same overflow/underflow handling as <code>Complex.abs</code>.
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return |x+yi|
+	 */
+	static double abs(double x, double y) {
+		if(y==0) { return Math.abs(x); } //if it's real, return abs(Re(x))
+		if(x==0) { return Math.abs(y); } //if it's imaginary, return abs(Im(x))
+		if(Double.isInfinite(x) || Double.isInfinite(y)) { return INF; } //if infinite, return infinity
+
+		double l=Math.max(Math.abs(x),Math.abs(y));    //take lazy abs for a quick sense of scale
+		if(l<1.4916681462400413E-154D) { x=Math.scalb(x, 1022); y=Math.scalb(y, 1022); return Math.scalb(Math.sqrt(x*x+y*y),-1022); } //absolute square underflows: *2^1022, abs, /2^1022
+		if(l>=9.480751908109177E+153D) { x=Math.scalb(x,-1022); y=Math.scalb(y,-1022); return Math.scalb(Math.sqrt(x*x+y*y), 1022); } //absolute square  overflows: /2^1022, abs, *2^1022
+
+		return Math.sqrt(x*x+y*y); //general case: return the square root of the absolute square
+	}
+
+	/**
+	 * The argument of x+yi, identical to <code>Complex.arg</code>.
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return arg(x+yi)
+	 */
+	static double arg(double x, double y) {
+		if(y==0) { return x>=0 ? 0 : Math.PI;       } //real      number: return either 0 or π
+		if(x==0) { return y>=0 ? HALFPI : -HALFPI;  } //imaginary number: return ±π/2
+		return Math.atan2(y, x);                      //general case: find the angle with atan2
+	}
+
+	/**
+	 * Writes 1/(x+yi) into dr[kr]+di[ki]*i, with the same overflow/underflow handling as <code>Complex.inv</code>.  The destination is
+	 * given as an array and index for each component, so the same kernel works on split arrays (re,k,im,k) as well as interleaved ones
+	 * (buf,2k,buf,2k+1).
+	 * @param dr the array the real part is written to
+	 * @param kr the index the real part is written to
+	 * @param di the array the imaginary part is written to
+	 * @param ki the index the imaginary part is written to
+	 * @param x the real part
+	 * @param y the imaginary part
+	 */
+	static void inv(double[] dr, int kr, double[] di, int ki, double x, double y) {
+		if(y==0) { dr[kr]=1.0/x; di[ki]=0;      return; } //real      number: return  1/(real part)
+		if(x==0) { dr[kr]=0;     di[ki]=-1.0/y; return; } //imaginary number: return -i/(imag part)
+		if(Double.isInfinite(x) || Double.isInfinite(y)) { dr[kr]=0; di[ki]=0; return; } //infinite number: return 0
+
+		int scale=0;                                   //the power of 2 we have to scale by (both before and after)
+		double l=Math.max(Math.abs(x),Math.abs(y));    //take lazy abs for a quick sense of scale
+		if     (l<1.4916681462400413E-154D) { scale= 1022; } //absolute square underflows: *2^1022, invert, *2^1022 again
+		else if(l>=9.480751908109177E+153D) { scale=-1022; } //absolute square  overflows: *2^-1022, invert, *2^-1022 again
+
+		if(scale==0) { double inv=1d/(x*x+y*y); dr[kr]=x*inv; di[ki]=-y*inv; return; } //general case: return the conjugate over the absolute square
+
+		x=Math.scalb(x,scale); y=Math.scalb(y,scale);                   //scale the input
+		if     (y==0) { dr[kr]=Math.scalb(1.0/x,scale); di[ki]=0; }         //(if the smaller component got flushed to 0, it's now real
+		else if(x==0) { dr[kr]=0; di[ki]=Math.scalb(-1.0/y,scale); }        // or imaginary, just like it would be in Complex.inv)
+		else { double inv=1d/(x*x+y*y); dr[kr]=Math.scalb(x*inv,scale); di[ki]=Math.scalb(-y*inv,scale); } //invert, then scale the result
+	}
+
+	/**
+	 * Divides dr[kr]+di[ki]*i by x+yi in place, with the same subnormal and overflow handling as <code>Complex.div</code>.
+	 * @param dr the array holding the real part of the dividend (and quotient)
+	 * @param kr the index of the real part
+	 * @param di the array holding the imaginary part of the dividend (and quotient)
+	 * @param ki the index of the imaginary part
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 */
+	static void div(double[] dr, int kr, double[] di, int ki, double x, double y) {
+		double u=dr[kr], v=di[ki];                                //store the dividend
+		if(Math.max(Math.abs(x),Math.abs(y))<Double.MIN_NORMAL) { //divisor is subnormal: multiply dividend & divisor by 2^512
+			u=Math.scalb(u,512); v=Math.scalb(v,512); x=Math.scalb(x,512); y=Math.scalb(y,512);
+		}
+		inv(dr,kr,di,ki,x,y);                                     //store the reciprocal of the divisor
+		double ir=dr[kr], ii=di[ki];
+		dr[kr]=u*ir-v*ii; di[ki]=u*ii+v*ir;                       //multiply the dividend by the reciprocal
+	}
+}
@@ -0,0 +1,502 @@
+package complexnumbers;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * An immutable complex number in double-double precision.
+ *
+ * <br><br>Each part is stored as the unevaluated sum of two doubles, a leading part and a trailing part (the rounding error of the leading
+ * part), which gives about 106 bits of precision: roughly 32 digits instead of 16.  All of the arithmetic is built on error-free transformations
+ * (see <code>DDKernels</code>), so it stays on primitive doubles the whole time and only costs a small constant factor more than
+ * <code>Complex</code>, instead of the hundredfold cost of going through <code>BigDecimal</code>.  That's enough precision to zoom about
+ * 10<sup>16</sup> times deeper than doubles allow, or to polish the roots of a badly conditioned polynomial.
+ *
+ * <br><br>It's written like <code>ComplexValue</code>: the parts are final, and every function returns a new <code>ComplexDD</code>.  The
+ * leading parts are <code>re</code> & <code>im</code>, so they're also the nearest double approximation.  Real valued results (such as
+ * <code>abs</code> and <code>arg</code>) are returned as real <code>ComplexDD</code>s, so none of their precision is lost.
+ *
+ * <br><br>For bulk work, there are kernels over primitive arrays, in which each number takes up 4 consecutive doubles:
+ * {re, reLo, im, imLo}.  As with <code>ComplexKernels</code>, the range [from,to) is measured in complex numbers, not doubles, and the
+ * destination may be one of the operands.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public final class ComplexDD {
+
+//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
+
+	/** The leading part of the real part. */
+	public final double re;
+	/** The trailing part of the real part. */
+	public final double reLo;
+	/** The leading part of the imaginary part. */
+	public final double im;
+	/** The trailing part of the imaginary part. */
+	public final double imLo;
+
+	private static final ThreadLocal<DDKernels> KERNELS = ThreadLocal.withInitial(DDKernels::new); //one result register per thread
+
+//////////////////////////////////////////////// CONSTANTS /////////////////////////////////////////
+
+	/** 0+0i */ public static final ComplexDD ZERO = new ComplexDD(0,0);
+	/** 1+0i */ public static final ComplexDD ONE  = new ComplexDD(1,0);
+	/** 0+1i */ public static final ComplexDD I    = new ComplexDD(0,1);
+	/** π */    public static final ComplexDD PI   = new ComplexDD(DDKernels.PI_HI,DDKernels.PI_LO,0,0);
+	/** e */    public static final ComplexDD E    = new ComplexDD(DDKernels.E_HI,DDKernels.E_LO,0,0);
+
+/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
+
+	/**
+	 * Constructs x+yi
+	 * @param re the real part
+	 * @param im the imaginary part
+	 */
+	public ComplexDD(double re, double im) { this.re=re; this.reLo=0; this.im=im; this.imLo=0; }
+
+	/**
+	 * Constructs a real number
+	 * @param re the real part
+	 */
+	public ComplexDD(double re) { this(re,0); }
+
+	/**
+	 * Constructs (re+reLo) + (im+imLo)i.  The parts don't have to be normalized: each pair is renormalized, so the leading part is the sum
+	 * rounded to a double.
+	 * @param re the leading part of the real part
+	 * @param reLo the trailing part of the real part
+	 * @param im the leading part of the imaginary part
+	 * @param imLo the trailing part of the imaginary part
+	 */
+	public ComplexDD(double re, double reLo, double im, double imLo) {
+		double s=re+reLo, v=s-re;
+		this.reLo=Double.isFinite(s) ? (re-(s-v))+(reLo-v) : 0; this.re=s;
+		s=im+imLo; v=s-im;
+		this.imLo=Double.isFinite(s) ? (im-(s-v))+(imLo-v) : 0; this.im=s;
+	}
+
+	/**
+	 * x+yi
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static ComplexDD valueOf(double x, double y) { return new ComplexDD(x,y); }
+	/**
+	 * The value of a <code>Complex</code>, at the time this is called
+	 * @param z the complex number
+	 * @return z in double-double precision
+	 */
+	public static ComplexDD valueOf(Complex z) { return new ComplexDD(z.re,z.im); }
+	/**
+	 * The value of a <code>ComplexValue</code>
+	 * @param z the complex number
+	 * @return z in double-double precision
+	 */
+	public static ComplexDD valueOf(ComplexValue z) { return new ComplexDD(z.re,z.im); }
+	/**
+	 * x+yi, rounded to double-double precision
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static ComplexDD valueOf(BigDecimal x, BigDecimal y) {
+		final double xh=x.doubleValue(), yh=y.doubleValue();
+		final double xl=Double.isFinite(xh) ? x.subtract(new BigDecimal(xh)).doubleValue() : 0;
+		final double yl=Double.isFinite(yh) ? y.subtract(new BigDecimal(yh)).doubleValue() : 0;
+		return new ComplexDD(xh,xl,yh,yl);
+	}
+	/**
+	 * x+yi, where x & y are written out as decimal strings (such as "-0.7436438870371587522803" or "1.5e-20"), rounded to double-double precision
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static ComplexDD valueOf(String x, String y) { return valueOf(new BigDecimal(x),new BigDecimal(y)); }
+
+	/**
+	 * Rounds to a (mutable) <code>Complex</code>
+	 * @return a new <code>Complex</code>, holding the nearest doubles
+	 */
+	public Complex toComplex() { return new Complex(re,im); }
+	/**
+	 * Rounds into an existing <code>Complex</code>, allocating nothing
+	 * @param dst the destination
+	 * @return dst
+	 */
+	public Complex toComplex(Complex dst) { dst.set(re,im); return dst; }
+	/**
+	 * Rounds to a <code>ComplexValue</code>
+	 * @return the nearest <code>ComplexValue</code>
+	 */
+	public ComplexValue toValue() { return new ComplexValue(re,im); }
+
+	/** The exact real part, as a <code>BigDecimal</code>
+	 * @return re+reLo */
+	public BigDecimal reBig() { return new BigDecimal(re).add(new BigDecimal(reLo)); }
+	/** The exact imaginary part, as a <code>BigDecimal</code>
+	 * @return im+imLo */
+	public BigDecimal imBig() { return new BigDecimal(im).add(new BigDecimal(imLo)); }
+
+//////////////////////////////////////////////// ACCESSORS & CLASSIFICATION /////////////////////////////////////////
+
+	/** Gets the leading part of the real part.
+	 * @return real part, rounded to a double */
+	public double re() { return re; }
+	/** Gets the leading part of the imaginary part.
+	 * @return imaginary part, rounded to a double */
+	public double im() { return im; }
+	/** Gets the trailing part of the real part.
+	 * @return the rounding error of re() */
+	public double reLo() { return reLo; }
+	/** Gets the trailing part of the imaginary part.
+	 * @return the rounding error of im() */
+	public double imLo() { return imLo; }
+
+	/** Returns whether the input is infinite.
+	 * @return whether the number is infinite*/
+	public boolean isInf()  { return Double.isInfinite(re) || Double.isInfinite(im); }
+	/** Returns whether the input is NaN.
+	 * @return whether the number is NaN*/
+	public boolean isNaN()  { return re!=re || im!=im; }
+	/** Returns whether the input is real.
+	 * @return whether the number is real*/
+	public boolean isReal() { return im==0 && imLo==0; }
+
+//////////////////////////////////////////////// EQUALITY & STRINGS /////////////////////////////////////////
+
+	/** Returns true if the object is a <code>ComplexDD</code> with the same value.  Like <code>Complex</code>, all NaNs are equal.
+	 * @return true if they equal*/
+	@Override
+	public boolean equals(final Object o) {
+		if(o instanceof ComplexDD) {
+			ComplexDD z = (ComplexDD)o;
+			return re==z.re && reLo==z.reLo && im==z.im && imLo==z.imLo || isNaN() && z.isNaN();
+		}
+		return false;
+	}
+
+	/** Computes the hash code.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		if(isNaN()) { return -585754751; } //the same hashCode a NaN Complex has
+		int result = 1;
+		for(double d : new double[] {re,reLo,im,imLo}) { final long x=Double.doubleToLongBits(d); result = 31*result + (int)(x^(x>>>32)); }
+		return result;
+	}
+
+	/** Casts to a <code>String</code>, with all 32 digits.
+	 * @return this as a string */
+	@Override
+	public String toString() { return toString(32); }
+	/** Casts to a <code>String</code> with a specific number of significant digits per part (at most 34 or so are meaningful).
+	 * @param dig the number of digits
+	 * @return this as a string */
+	public String toString(int dig) {
+		if(isInf() || isNaN()) { return toComplex().toString(); }
+		final MathContext mc=new MathContext(dig);
+		final String x=reBig().round(mc).stripTrailingZeros().toString(), y=imBig().round(mc).stripTrailingZeros().toString();
+		if(im==0) { return x; }
+		final String i=y.equals("1") ? "i" : y.equals("-1") ? "-i" : y+"i";
+		if(re==0) { return i; }
+		return x+(im>0 ? "+" : "")+i;
+	}
+
+///////////////////////////////////////////// BASIC ARITHMETIC /////////////////////////////////////////////////
+
+	/** Sum
+	 * @param a addend
+	 * @return this+a */
+	public ComplexDD add(ComplexDD a) { final DDKernels k=KERNELS.get(); k.cadd(re,reLo,im,imLo,a.re,a.reLo,a.im,a.imLo); return result(k); }
+	/** Sum
+	 * @param a real addend
+	 * @return this+a */
+	public ComplexDD add(double a)    { final DDKernels k=KERNELS.get(); k.add(re,reLo,a,0); return new ComplexDD(k.hi,k.lo,im,imLo); }
+
+	/** Difference
+	 * @param a subtrahend
+	 * @return this-a */
+	public ComplexDD sub(ComplexDD a) { final DDKernels k=KERNELS.get(); k.cadd(re,reLo,im,imLo,-a.re,-a.reLo,-a.im,-a.imLo); return result(k); }
+	/** Difference
+	 * @param a real subtrahend
+	 * @return this-a */
+	public ComplexDD sub(double a)    { return add(-a); }
+
+	/** Product
+	 * @param a multiplier
+	 * @return this*a */
+	public ComplexDD mul(ComplexDD a) { final DDKernels k=KERNELS.get(); k.cmul(re,reLo,im,imLo,a.re,a.reLo,a.im,a.imLo); return result(k); }
+	/** Product
+	 * @param a real multiplier
+	 * @return this*a */
+	public ComplexDD mul(double a) {
+		final DDKernels k=KERNELS.get();
+		k.mul(im,imLo,a); final double h=k.hi, l=k.lo;
+		k.mul(re,reLo,a); return new ComplexDD(k.hi,k.lo,h,l);
+	}
+
+	/** Quotient
+	 * @param a divisor
+	 * @return this/a */
+	public ComplexDD div(ComplexDD a) { final DDKernels k=KERNELS.get(); k.cdiv(re,reLo,im,imLo,a.re,a.reLo,a.im,a.imLo); return result(k); }
+	/** Quotient
+	 * @param a real divisor
+	 * @return this/a */
+	public ComplexDD div(double a) {
+		final DDKernels k=KERNELS.get();
+		k.div(im,imLo,a,0); final double h=k.hi, l=k.lo;
+		k.div(re,reLo,a,0); return new ComplexDD(k.hi,k.lo,h,l);
+	}
+
+	/** Square
+	 * @return this² */
+	public ComplexDD sq()  { final DDKernels k=KERNELS.get(); k.csq(re,reLo,im,imLo); return result(k); }
+	/** Reciprocal
+	 * @return 1/this */
+	public ComplexDD inv() { final DDKernels k=KERNELS.get(); k.cdiv(1,0,0,0,re,reLo,im,imLo); return result(k); }
+
+/////////////////////////////////////// NEGATION AND OTHER SIMPLE OPERATIONS ////////////////////////////////
+
+	/** Negation
+	 * @return -this */
+	public ComplexDD neg () { return new ComplexDD(-re,-reLo,-im,-imLo); }
+	/** Complex conjugate
+	 * @return conj(this) */
+	public ComplexDD conj() { return new ComplexDD(re,reLo,-im,-imLo); }
+	/** Multiply by i
+	 * @return this*i */
+	public ComplexDD mulI() { return new ComplexDD(-im,-imLo,re,reLo); }
+	/** Divide by i
+	 * @return this/i */
+	public ComplexDD divI() { return new ComplexDD(im,imLo,-re,-reLo); }
+	/**
+	 * Multiplies by 2^scaleFactor (exactly, unless it overflows or underflows)
+	 * @param scaleFactor the power of 2
+	 * @return this*2^scaleFactor
+	 */
+	public ComplexDD scalb(int scaleFactor) {
+		return new ComplexDD(Math.scalb(re,scaleFactor),Math.scalb(reLo,scaleFactor),Math.scalb(im,scaleFactor),Math.scalb(imLo,scaleFactor));
+	}
+
+//////////////////////////////////////////////// COMPLEX PARTS /////////////////////////////////////////
+
+	/** Absolute square, re²+im², as a real number
+	 * @return absolute square */
+	public ComplexDD absq() { final DDKernels k=KERNELS.get(); k.absq(re,reLo,im,imLo); return new ComplexDD(k.hi,k.lo,0,0); }
+	/** Absolute value, as a real number (scaled so that it neither overflows nor underflows)
+	 * @return absolute value */
+	public ComplexDD abs()  { final DDKernels k=KERNELS.get(); k.abs(re,reLo,im,imLo); return new ComplexDD(k.hi,k.lo,0,0); }
+	/** Argument (angle), measured counterclockwise from the positive real axis, in (-π,π], as a real number
+	 * @return the argument */
+	public ComplexDD arg()  { final DDKernels k=KERNELS.get(); k.atan2(im,imLo,re,reLo); return new ComplexDD(k.hi,k.lo,0,0); }
+
+/////////////////////////////////////////////// POWERS, EXPONENTS & LOGARITHMS /////////////////////////////////////////////
+
+	/** Principal square root
+	 * @return √this */
+	public ComplexDD sqrt() { final DDKernels k=KERNELS.get(); k.csqrt(re,reLo,im,imLo); return result(k); }
+	/** Exponential
+	 * @return e^this */
+	public ComplexDD exp()  { final DDKernels k=KERNELS.get(); k.cexp(re,reLo,im,imLo); return result(k); }
+	/** Principal natural logarithm
+	 * @return ln(this) */
+	public ComplexDD log()  { final DDKernels k=KERNELS.get(); k.clog(re,reLo,im,imLo); return result(k); }
+	/** Principal natural logarithm (the same as <code>log</code>)
+	 * @return ln(this) */
+	public ComplexDD ln()   { return log(); }
+
+	/**
+	 * Integer power, by squaring
+	 * @param a the exponent
+	 * @return this^a
+	 */
+	public ComplexDD pow(int a) { final DDKernels k=KERNELS.get(); k.cpow(re,reLo,im,imLo,a); return result(k); }
+	/**
+	 * Complex power, e^(a·ln(this)), on the principal branch.  0 to any power is 0.
+	 * @param a the exponent
+	 * @return this^a
+	 */
+	public ComplexDD pow(ComplexDD a) {
+		if(re==0 && im==0) { return ZERO; }
+		final DDKernels k=KERNELS.get();
+		k.clog(re,reLo,im,imLo);
+		k.cmul(k.rh,k.rl,k.ih,k.il,a.re,a.reLo,a.im,a.imLo);
+		k.cexp(k.rh,k.rl,k.ih,k.il);
+		return result(k);
+	}
+
+////////////////////////////////////////////// TRIGONOMETRY //////////////////////////////////////////////
+
+	/** Sine
+	 * @return sin(this) */
+	public ComplexDD sin()  { final DDKernels k=KERNELS.get(); k.csin(re,reLo,im,imLo); return result(k); }
+	/** Cosine
+	 * @return cos(this) */
+	public ComplexDD cos()  { final DDKernels k=KERNELS.get(); k.ccos(re,reLo,im,imLo); return result(k); }
+	/** Tangent
+	 * @return tan(this) */
+	public ComplexDD tan()  { final DDKernels k=KERNELS.get(); k.ctan(re,reLo,im,imLo); return result(k); }
+	/** Hyperbolic sine
+	 * @return sinh(this) */
+	public ComplexDD sinh() { final DDKernels k=KERNELS.get(); k.csinh(re,reLo,im,imLo); return result(k); }
+	/** Hyperbolic cosine
+	 * @return cosh(this) */
+	public ComplexDD cosh() { final DDKernels k=KERNELS.get(); k.ccosh(re,reLo,im,imLo); return result(k); }
+	/** Hyperbolic tangent
+	 * @return tanh(this) */
+	public ComplexDD tanh() { final DDKernels k=KERNELS.get(); k.ctanh(re,reLo,im,imLo); return result(k); }
+
+	private static ComplexDD result(DDKernels k) { return new ComplexDD(k.rh,k.rl,k.ih,k.il); } //the complex result, as a new ComplexDD
+
+////////////////////////////////////////////// BULK KERNELS //////////////////////////////////////////////
+
+	/**
+	 * Converts split double arrays to double-double: d[4k..4k+3] = {re[k], 0, im[k], 0}.
+	 * @param re real parts
+	 * @param im imaginary parts (or null if they're all 0)
+	 * @param d the destination {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void fromDouble(double[] re, double[] im, double[] d, int from, int to) {
+		for(int k=from;k<to;k++) { d[4*k]=re[k]; d[4*k+1]=0; d[4*k+2]=im==null ? 0 : im[k]; d[4*k+3]=0; }
+	}
+	/**
+	 * Rounds double-double arrays to split double arrays.
+	 * @param a the operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param re real parts of the destination
+	 * @param im imaginary parts of the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void toDouble(double[] a, double[] re, double[] im, int from, int to) {
+		for(int k=from;k<to;k++) { re[k]=a[4*k]; im[k]=a[4*k+2]; }
+	}
+
+	/**
+	 * d = a + b, over double-double arrays.
+	 * @param a the first operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void add(double[] a, double[] b, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.cadd(a[n],a[n+1],a[n+2],a[n+3],b[n],b[n+1],b[n+2],b[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = a - b, over double-double arrays.
+	 * @param a the first operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void sub(double[] a, double[] b, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.cadd(a[n],a[n+1],a[n+2],a[n+3],-b[n],-b[n+1],-b[n+2],-b[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = a * b, over double-double arrays.
+	 * @param a the first operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void mul(double[] a, double[] b, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.cmul(a[n],a[n+1],a[n+2],a[n+3],b[n],b[n+1],b[n+2],b[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = a / b, over double-double arrays.
+	 * @param a the dividend {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param b the divisor
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void div(double[] a, double[] b, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.cdiv(a[n],a[n+1],a[n+2],a[n+3],b[n],b[n+1],b[n+2],b[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = a * b + c, over double-double arrays.
+	 * @param a the first factor {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param b the second factor
+	 * @param c the addend
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void fma(double[] a, double[] b, double[] c, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) {
+			k.cmul(a[n],a[n+1],a[n+2],a[n+3],b[n],b[n+1],b[n+2],b[n+3]);
+			k.cadd(k.rh,k.rl,k.ih,k.il,c[n],c[n+1],c[n+2],c[n+3]); store(k,d,n);
+		}
+	}
+	/**
+	 * d = a², over double-double arrays.
+	 * @param a the operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void sq(double[] a, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.csq(a[n],a[n+1],a[n+2],a[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = √a (principal branch), over double-double arrays.
+	 * @param a the operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void sqrt(double[] a, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.csqrt(a[n],a[n+1],a[n+2],a[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = e^a, over double-double arrays.
+	 * @param a the operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void exp(double[] a, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.cexp(a[n],a[n+1],a[n+2],a[n+3]); store(k,d,n); }
+	}
+	/**
+	 * d = ln(a) (principal branch), over double-double arrays.
+	 * @param a the operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void log(double[] a, double[] d, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=4*from;n<4*to;n+=4) { k.clog(a[n],a[n+1],a[n+2],a[n+3]); store(k,d,n); }
+	}
+	/**
+	 * dst = |a|², over a double-double array.  Note that dst is split into leading & trailing parts: dst[2k] and dst[2k+1] are the absolute
+	 * square of element k.
+	 * @param a the operand {re0, reLo0, im0, imLo0, re1, ...}
+	 * @param dst the absolute squares {hi0, lo0, hi1, lo1, ...}
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void absq(double[] a, double[] dst, int from, int to) {
+		final DDKernels k=new DDKernels();
+		for(int n=from;n<to;n++) { k.absq(a[4*n],a[4*n+1],a[4*n+2],a[4*n+3]); dst[2*n]=k.hi; dst[2*n+1]=k.lo; }
+	}
+
+	private static void store(DDKernels k, double[] d, int n) { d[n]=k.rh; d[n+1]=k.rl; d[n+2]=k.ih; d[n+3]=k.il; } //the complex result, into d[n..n+3]
+}
@@ -0,0 +1,237 @@
+package complexnumbers;
+
+/**
+ * An immutable complex number in single precision.
+ *
+ * <br><br>A <code>ComplexF</code> is the <code>float</code> version of <code>ComplexValue</code>: two final <code>float</code> parts,
+ * accessors, equality by value, and every function returns a new value.  It's meant for rendering & display pipelines, where 7 digits is
+ * plenty and halving the size of every number matters more than the last 9 digits.  For large collections, use
+ * <code>ComplexArrayF</code>, which stores the parts in <code>float[]</code>s and runs on <code>FloatKernels</code>.
+ *
+ * <br><br>The arithmetic (<code>add</code>, <code>mul</code>, <code>sq</code>, etc.) is done in <code>float</code>, with the same
+ * formulas as <code>Complex</code>.  Division and the absolute value are done in <code>float</code> when that's safe, and in
+ * <code>double</code> when the absolute square would overflow or underflow.  <code>exp</code>, <code>log</code>, <code>sqrt</code>
+ * and <code>arg</code> are computed in <code>double</code> and rounded.  Either way, the results are identical to those of the bulk
+ * versions in <code>FloatKernels</code> and <code>ComplexArrayF</code>.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public final class ComplexF {
+
+//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
+
+	/** The real part. */
+	public final float re;
+	/** The imaginary part. */
+	public final float im;
+
+//////////////////////////////////////////////// CONSTANTS /////////////////////////////////////////
+
+	/** 0+0i */  public static final ComplexF ZERO      = new ComplexF( 0, 0);
+	/** 1+0i */  public static final ComplexF ONE       = new ComplexF( 1, 0);
+	/** -1+0i */ public static final ComplexF MINUS_ONE = new ComplexF(-1, 0);
+	/** 0+1i */  public static final ComplexF I         = new ComplexF( 0, 1);
+	/** 0-1i */  public static final ComplexF MINUS_I   = new ComplexF( 0,-1);
+
+/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
+
+	/**
+	 * Constructs x+yi
+	 * @param re the real part
+	 * @param im the imaginary part
+	 */
+	public ComplexF(float re, float im) { this.re=re; this.im=im; }
+
+	/**
+	 * Constructs a real number
+	 * @param re the real part
+	 */
+	public ComplexF(float re) { this(re,0); }
+
+	/**
+	 * x+yi
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static ComplexF valueOf(float x, float y) { return new ComplexF(x,y); }
+	/**
+	 * x+yi, with each part rounded to the nearest <code>float</code>
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static ComplexF valueOf(double x, double y) { return new ComplexF((float)x,(float)y); }
+	/**
+	 * The value of a <code>Complex</code>, at the time this is called, rounded to single precision
+	 * @param z the complex number
+	 * @return z, rounded
+	 */
+	public static ComplexF valueOf(Complex z) { return new ComplexF((float)z.re,(float)z.im); }
+	/**
+	 * The value of a <code>ComplexValue</code>, rounded to single precision
+	 * @param z the complex number
+	 * @return z, rounded
+	 */
+	public static ComplexF valueOf(ComplexValue z) { return new ComplexF((float)z.re,(float)z.im); }
+
+	/**
+	 * Widens to a (mutable) <code>Complex</code>, exactly
+	 * @return a new <code>Complex</code> with the same value
+	 */
+	public Complex toComplex() { return new Complex(re,im); }
+	/**
+	 * Widens into an existing <code>Complex</code>, allocating nothing
+	 * @param dst the destination
+	 * @return dst
+	 */
+	public Complex toComplex(Complex dst) { dst.set(re,im); return dst; }
+	/**
+	 * Widens to a <code>ComplexValue</code>, exactly
+	 * @return a <code>ComplexValue</code> with the same value
+	 */
+	public ComplexValue toValue() { return new ComplexValue(re,im); }
+
+//////////////////////////////////////////////// ACCESSORS & CLASSIFICATION /////////////////////////////////////////
+
+	/** Gets the real part.
+	 * @return real part */
+	public float re() { return re; }
+	/** Gets the imaginary part.
+	 * @return imaginary part */
+	public float im() { return im; }
+
+	/** Returns whether the input is infinite.
+	 * @return whether the number is infinite*/
+	public boolean isInf()  { return Float.isInfinite(re) || Float.isInfinite(im); }
+	/** Returns whether the input is NaN.
+	 * @return whether the number is NaN*/
+	public boolean isNaN()  { return re!=re || im!=im; }
+	/** Returns whether the input is real.
+	 * @return whether the number is real*/
+	public boolean isReal() { return im==0; }
+	/** Returns whether the input is imaginary.
+	 * @return whether the number is imaginary*/
+	public boolean isImag() { return re==0; }
+
+//////////////////////////////////////////////// EQUALITY & STRINGS /////////////////////////////////////////
+
+	/** Returns true if the object is a <code>ComplexF</code> with the same value.  Like <code>Complex</code>, all NaNs are equal.
+	 * @return true if they equal*/
+	@Override
+	public boolean equals(final Object o) {
+		if(o instanceof ComplexF) {
+			ComplexF z = (ComplexF)o;
+			return re==z.re && im==z.im || isNaN() && z.isNaN();
+		}
+		return false;
+	}
+
+	/** Computes the hash code.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		if(isNaN()) { return -585754751; } //the same hashCode a NaN Complex has
+		return 31*Float.floatToIntBits(re==0 ? 0 : re) + Float.floatToIntBits(im==0 ? 0 : im); //(so that 0 and -0 hash the same, since they're equal)
+	}
+
+	/** Casts to a <code>String</code>, showing the shortest decimal that rounds to each part (so 0.1f is shown as 0.1, not 0.10000000149).
+	 * @return this as a string */
+	@Override
+	public String toString() { return new Complex(Double.parseDouble(Float.toString(re)),Double.parseDouble(Float.toString(im))).toString(); }
+	/** Casts to a <code>String</code> with a specific number of digits, exactly as <code>Complex</code> would.
+	 * @param dig the number of digits
+	 * @return this as a string */
+	public String toString(int dig) { return toComplex().toString(dig); }
+
+//////////////////////////////////////////////// COMPLEX PARTS /////////////////////////////////////////
+
+	/** Absolute square, re²+im².
+	 * @return absolute square */
+	public float absq() { return re*re+im*im; }
+	/** Absolute value, in <code>double</code> precision whenever the absolute square isn't safe in <code>float</code>.
+	 * @return absolute value */
+	public float abs() { return FloatKernels.abs(re,im); }
+	/** Argument (angle), measured counterclockwise from the positive real axis, in (-π,π].
+	 * @return the argument */
+	public float arg() { return FloatKernels.arg(re,im); }
+
+///////////////////////////////////////////// BASIC ARITHMETIC /////////////////////////////////////////////////
+
+	/** Sum
+	 * @param a addend
+	 * @return this+a */
+	public ComplexF add(ComplexF a) { return new ComplexF(re+a.re, im+a.im); }
+	/** Sum
+	 * @param a real addend
+	 * @return this+a */
+	public ComplexF add(float a)    { return new ComplexF(re+a, im); }
+	/** Difference
+	 * @param a subtrahend
+	 * @return this-a */
+	public ComplexF sub(ComplexF a) { return new ComplexF(re-a.re, im-a.im); }
+	/** Difference
+	 * @param a real subtrahend
+	 * @return this-a */
+	public ComplexF sub(float a)    { return new ComplexF(re-a, im); }
+	/** Product
+	 * @param a multiplier
+	 * @return this*a */
+	public ComplexF mul(ComplexF a) { return new ComplexF(re*a.re-im*a.im, re*a.im+im*a.re); }
+	/** Product
+	 * @param a real multiplier
+	 * @return this*a */
+	public ComplexF mul(float a)    { return new ComplexF(re*a, im*a); }
+	/** Quotient
+	 * @param a divisor
+	 * @return this/a */
+	public ComplexF div(ComplexF a) { final float[] t={re,im}; FloatKernels.div(t,0,t,1,a.re,a.im); return new ComplexF(t[0],t[1]); }
+	/** Quotient
+	 * @param a real divisor
+	 * @return this/a */
+	public ComplexF div(float a)    { return new ComplexF(re/a, im/a); }
+
+	/** Negation
+	 * @return -this */
+	public ComplexF neg () { return new ComplexF(-re,-im); }
+	/** Complex conjugate
+	 * @return conj(this) */
+	public ComplexF conj() { return new ComplexF( re,-im); }
+	/** Multiply by i
+	 * @return this*i */
+	public ComplexF mulI() { return new ComplexF(-im, re); }
+	/** Divide by i
+	 * @return this/i */
+	public ComplexF divI() { return new ComplexF( im,-re); }
+	/**
+	 * Multiplies by 2^scaleFactor
+	 * @param scaleFactor the power of 2
+	 * @return this*2^scaleFactor
+	 */
+	public ComplexF scalb(int scaleFactor) { return new ComplexF(Math.scalb(re,scaleFactor),Math.scalb(im,scaleFactor)); }
+
+	/** Square
+	 * @return this² */
+	public ComplexF sq () { return new ComplexF((re+im)*(re-im),2*re*im); }
+	/** Reciprocal
+	 * @return 1/this */
+	public ComplexF inv() { return ONE.div(this); }
+
+/////////////////////////////////////////////// POWERS, EXPONENTS & LOGARITHMS /////////////////////////////////////////////
+
+	/** Principal square root, computed in <code>double</code> and rounded
+	 * @return √this */
+	public ComplexF sqrt() { Complex t=toComplex(); return valueOf(t.sqrtInto(t)); }
+	/** Exponential, computed in <code>double</code> and rounded
+	 * @return e^this */
+	public ComplexF exp () { final float[] t=new float[2]; FloatKernels.exp(t,0,t,1,re,im); return new ComplexF(t[0],t[1]); }
+	/** Principal natural logarithm, computed in <code>double</code> and rounded
+	 * @return ln(this) */
+	public ComplexF log () { final float[] t=new float[2]; FloatKernels.log(t,0,t,1,re,im); return new ComplexF(t[0],t[1]); }
+	/** Principal natural logarithm (the same as <code>log</code>)
+	 * @return ln(this) */
+	public ComplexF ln  () { return log(); }
+}
@@ -0,0 +1,263 @@
+package complexnumbers;
+
+/**
+ * Bulk arithmetic kernels over primitive complex buffers, with an optional vectorized backend.
+ *
+ * <br><br>Every kernel comes in two layouts.  The <em>split</em> layout stores the real parts and imaginary parts in two separate
+ * arrays (the same layout as <code>ComplexArray</code>).  The <em>interleaved</em> layout stores both parts in a single array, as
+ * {re0, im0, re1, im1, ...}.  In both layouts, the range [from,to) is measured in complex numbers, not in doubles, and element k of
+ * every operand and of the destination share the same index.  The destination is allowed to be one of the operands.
+ *
+ * <br><br>If the <code>jdk.incubator.vector</code> module is available at runtime (Java 16+, launched with
+ * <code>--add-modules jdk.incubator.vector</code>) and the <code>VectorKernels</code> backend was compiled into the library, the
+ * kernels run on SIMD lanes using <code>DoubleVector</code>.  Otherwise, they fall back to the plain scalar loops in this class.  Both
+ * backends perform the exact same floating point operations in the exact same order, so they give bit-for-bit identical results
+ * (division included, since lanes that need the subnormal/overflow rescue from <code>Complex.div</code> are handed to the scalar code).
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class ComplexKernels extends Mafs {
+
+	private static final ComplexKernels SCALAR = new ComplexKernels(); //the scalar backend
+	private static final ComplexKernels VECTOR = loadVector();         //the vectorized backend (or null if it isn't available)
+	private static ComplexKernels backend = VECTOR!=null ? VECTOR : SCALAR; //whichever backend we're currently using
+
+	/** Only the backends construct this class. */
+	ComplexKernels() { }
+
+	private static ComplexKernels loadVector() { //attempts to load the vectorized backend
+		try {
+			return (ComplexKernels)Class.forName("complexnumbers.VectorKernels").getDeclaredConstructor().newInstance();
+		}
+		catch(ReflectiveOperationException | LinkageError e) { return null; } //the class or the incubator module is missing: no vectorized backend
+	}
+
+	/**
+	 * Whether the kernels are currently running on the vectorized backend.
+	 * @return true if vectorized, false if scalar
+	 */
+	public static boolean isVectorized() { return backend!=SCALAR; }
+
+	/**
+	 * Selects the vectorized backend (if it's available) or the scalar backend.
+	 * @param on true to vectorize, false to force the scalar fallback
+	 * @return whether the kernels are now vectorized
+	 */
+	public static boolean setVectorized(boolean on) {
+		backend = (on && VECTOR!=null) ? VECTOR : SCALAR;
+		return isVectorized();
+	}
+
+////////////////////////////////////////////// SPLIT LAYOUT /////////////////////////////////
+
+	/**
+	 * d = a + b, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void add(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) { backend.addSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a * b, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void mul(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) { backend.mulSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a * conj(b), over split arrays.  This is the product you need for correlations and inner products.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void conjMul(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) { backend.conjMulSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a / b, over split arrays.  Gives the same results as <code>Complex.div</code>, subnormal and overflowing divisors included.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void div(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) { backend.divSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a * b + c, over split arrays, where every real multiply-add is fused (<code>Math.fma</code>).
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param cr real parts of c
+	 * @param ci imaginary parts of c
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void fma(double[] ar, double[] ai, double[] br, double[] bi, double[] cr, double[] ci, double[] dr, double[] di, int from, int to) { backend.fmaSplit(ar,ai,br,bi,cr,ci,dr,di,from,to); }
+	/**
+	 * dst = |a|², over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dst the absolute squares
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void absq(double[] ar, double[] ai, double[] dst, int from, int to) { backend.absqSplit(ar,ai,dst,from,to); }
+
+////////////////////////////////////////////// INTERLEAVED LAYOUT /////////////////////////////////
+
+	/**
+	 * d = a + b, over interleaved arrays.
+	 * @param a the first operand {re0, im0, re1, im1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void add(double[] a, double[] b, double[] d, int from, int to) { backend.addInter(a,b,d,from,to); }
+	/**
+	 * d = a * b, over interleaved arrays.
+	 * @param a the first operand {re0, im0, re1, im1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void mul(double[] a, double[] b, double[] d, int from, int to) { backend.mulInter(a,b,d,from,to); }
+	/**
+	 * d = a * conj(b), over interleaved arrays.
+	 * @param a the first operand {re0, im0, re1, im1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void conjMul(double[] a, double[] b, double[] d, int from, int to) { backend.conjMulInter(a,b,d,from,to); }
+	/**
+	 * d = a / b, over interleaved arrays.  Gives the same results as <code>Complex.div</code>, subnormal and overflowing divisors included.
+	 * @param a the dividend {re0, im0, re1, im1, ...}
+	 * @param b the divisor
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void div(double[] a, double[] b, double[] d, int from, int to) { backend.divInter(a,b,d,from,to); }
+	/**
+	 * d = a * b + c, over interleaved arrays, where every real multiply-add is fused (<code>Math.fma</code>).
+	 * @param a the first factor {re0, im0, re1, im1, ...}
+	 * @param b the second factor
+	 * @param c the addend
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void fma(double[] a, double[] b, double[] c, double[] d, int from, int to) { backend.fmaInter(a,b,c,d,from,to); }
+	/**
+	 * dst = |a|², over an interleaved array.  Note that dst is <em>not</em> interleaved: dst[k] is the absolute square of element k.
+	 * @param a the operand {re0, im0, re1, im1, ...}
+	 * @param dst the absolute squares
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void absq(double[] a, double[] dst, int from, int to) { backend.absqInter(a,dst,from,to); }
+
+////////////////////////////////////////////// SCALAR BACKEND /////////////////////////////////
+
+	//each of these is overridden by the vectorized backend, which hands its leftover elements back to these
+
+	void addSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		for(int k=from;k<to;k++) { dr[k]=ar[k]+br[k]; di[k]=ai[k]+bi[k]; }
+	}
+
+	void mulSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			double xr=ar[k], xi=ai[k], yr=br[k], yi=bi[k];      //load both operands (in case d is one of them)
+			dr[k]=xr*yr-xi*yi; di[k]=xr*yi+xi*yr;               //(x+yi)(u+vi) = (xu-yv)+(xv+yu)i
+		}
+	}
+
+	void conjMulSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			double xr=ar[k], xi=ai[k], yr=br[k], yi=bi[k];
+			dr[k]=xr*yr+xi*yi; di[k]=xi*yr-xr*yi;               //(x+yi)(u-vi) = (xu+yv)+(yu-xv)i
+		}
+	}
+
+	void divSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] dr, double[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			double x=br[k], y=bi[k];                            //load the divisor first (in case d is b)
+			dr[k]=ar[k]; di[k]=ai[k];                           //copy the dividend into the destination
+			ComplexArray.div(dr,k,di,k,x,y);                    //then divide it in place
+		}
+	}
+
+	void fmaSplit(double[] ar, double[] ai, double[] br, double[] bi, double[] cr, double[] ci, double[] dr, double[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			double xr=ar[k], xi=ai[k], yr=br[k], yi=bi[k];
+			dr[k]=Math.fma(xr,yr,Math.fma(-xi,yi,cr[k]));        //xu-yv+Re(c)
+			di[k]=Math.fma(xi,yr,Math.fma( xr,yi,ci[k]));        //yu+xv+Im(c)
+		}
+	}
+
+	void absqSplit(double[] ar, double[] ai, double[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { dst[k]=ar[k]*ar[k]+ai[k]*ai[k]; }
+	}
+
+	void addInter(double[] a, double[] b, double[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k++) { d[k]=a[k]+b[k]; }
+	}
+
+	void mulInter(double[] a, double[] b, double[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			double xr=a[k], xi=a[k+1], yr=b[k], yi=b[k+1];
+			d[k]=xr*yr-xi*yi; d[k+1]=xr*yi+xi*yr;
+		}
+	}
+
+	void conjMulInter(double[] a, double[] b, double[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			double xr=a[k], xi=a[k+1], yr=b[k], yi=b[k+1];
+			d[k]=xr*yr+xi*yi; d[k+1]=xi*yr-xr*yi;
+		}
+	}
+
+	void divInter(double[] a, double[] b, double[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			double x=b[k], y=b[k+1];
+			d[k]=a[k]; d[k+1]=a[k+1];
+			ComplexArray.div(d,k,d,k+1,x,y);
+		}
+	}
+
+	void fmaInter(double[] a, double[] b, double[] c, double[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			double xr=a[k], xi=a[k+1], yr=b[k], yi=b[k+1];
+			d[k  ]=Math.fma(xr,yr,Math.fma(-xi,yi,c[k  ]));
+			d[k+1]=Math.fma(xi,yr,Math.fma( xr,yi,c[k+1]));
+		}
+	}
+
+	void absqInter(double[] a, double[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { double x=a[k<<1], y=a[k<<1|1]; dst[k]=x*x+y*y; }
+	}
+}
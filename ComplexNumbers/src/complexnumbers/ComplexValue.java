@@ -0,0 +1,521 @@
+package complexnumbers;
+
+/**
+ * An immutable complex number.
+ *
+ * <br><br>A <code>ComplexValue</code> holds the same thing a <code>Complex</code> does, a real part and an imaginary part, but both are
+ * <code>final</code>, and the class itself is <code>final</code>.  Every function returns a new value instead of mutating anything.  This
+ * matters to the JIT: an object that's never mutated and never escapes the method it was made in can be broken up into its two
+ * <code>double</code>s (scalar replacement), and so a chain like <code>z.sq().add(c)</code> ends up allocating nothing at all.  A mutable
+ * <code>Complex</code> that goes through <code>set</code> or <code>addeq</code> makes this analysis give up much more often.
+ *
+ * <br><br>It's written like a record: two final components, accessors, and equality by value.  It deliberately doesn't extend
+ * <code>Mafs</code> (or anything else), so that it's ready to become a value class once Java supports them.  Shared instances of common
+ * constants are provided, such as <code>ComplexValue.ZERO</code> and <code>ComplexValue.I</code>, and conversion to and from
+ * <code>Complex</code> is cheap.
+ *
+ * <br><br>The arithmetic is done directly on the components, with the same formulas as <code>Complex</code>.  The transcendental
+ * functions (<code>exp</code>, <code>sin</code>, <code>acosh</code>, etc.) run through the "Into" versions of the <code>Complex</code>
+ * functions, using a single temporary which never leaves the method, so the results are always identical to those of <code>Complex</code>.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public final class ComplexValue {
+
+//////////////////////////////////////////////// ATTRIBUTES /////////////////////////////////////////
+
+	/** The real part. */
+	public final double re;
+	/** The imaginary part. */
+	public final double im;
+
+//////////////////////////////////////////////// CONSTANTS /////////////////////////////////////////
+
+	/** 0+0i */  public static final ComplexValue ZERO      = new ComplexValue( 0, 0);
+	/** 1+0i */  public static final ComplexValue ONE       = new ComplexValue( 1, 0);
+	/** -1+0i */ public static final ComplexValue MINUS_ONE = new ComplexValue(-1, 0);
+	/** 2+0i */  public static final ComplexValue TWO       = new ComplexValue( 2, 0);
+	/** 0+1i */  public static final ComplexValue I         = new ComplexValue( 0, 1);
+	/** 0-1i */  public static final ComplexValue MINUS_I   = new ComplexValue( 0,-1);
+
+/////////////////////////////////////////////// CONSTRUCTORS ////////////////////////////////////
+
+	/**
+	 * Constructs x+yi
+	 * @param re the real part
+	 * @param im the imaginary part
+	 */
+	public ComplexValue(double re, double im) { this.re=re; this.im=im; }
+
+	/**
+	 * Constructs a real number
+	 * @param re the real part
+	 */
+	public ComplexValue(double re) { this(re,0); }
+
+	/**
+	 * x+yi
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return x+yi
+	 */
+	public static ComplexValue valueOf(double x, double y) { return new ComplexValue(x,y); }
+	/**
+	 * The real number x
+	 * @param x the real part
+	 * @return x+0i
+	 */
+	public static ComplexValue valueOf(double x) { return new ComplexValue(x,0); }
+	/**
+	 * The value of a <code>Complex</code>, at the time this is called
+	 * @param z the complex number
+	 * @return an immutable copy of z
+	 */
+	public static ComplexValue valueOf(Complex z) { return new ComplexValue(z.re,z.im); }
+	/**
+	 * Constructs a complex number in polar notation.
+	 * @param r the absolute value
+	 * @param ang the argument
+	 * @return the complex number
+	 */
+	public static ComplexValue polar(double r, double ang) { return new ComplexValue(r*Mafs.cos(ang),r*Mafs.sin(ang)); }
+
+	/**
+	 * Converts to a (mutable) <code>Complex</code>
+	 * @return a new <code>Complex</code> with the same value
+	 */
+	public Complex toComplex() { return new Complex(re,im); }
+	/**
+	 * Copies this value into an existing <code>Complex</code>, allocating nothing
+	 * @param dst the destination
+	 * @return dst
+	 */
+	public Complex toComplex(Complex dst) { dst.set(re,im); return dst; }
+
+//////////////////////////////////////////////// ACCESSORS & CLASSIFICATION /////////////////////////////////////////
+
+	/** Gets the real part.
+	 * @return real part */
+	public double re() { return re; }
+	/** Gets the imaginary part.
+	 * @return imaginary part */
+	public double im() { return im; }
+
+	/** Returns whether the input is infinite.
+	 * @return whether the number is infinite*/
+	public boolean isInf()     { return Double.isInfinite(re) || Double.isInfinite(im); }
+	/** Returns whether the input is NaN.
+	 * @return whether the number is NaN*/
+	public boolean isNaN()     { return re!=re || im!=im; }
+	/** Returns whether the input is real.
+	 * @return whether the number is real*/
+	public boolean isReal()    { return im==0; }
+	/** Returns whether the input is imaginary.
+	 * @return whether the number is imaginary*/
+	public boolean isImag()    { return re==0; }
+	/** Returns whether the input is a real integer.
+	 * @return whether the number is a real integer*/
+	public boolean isInt()     { return im==0 && re%1==0; }
+	/** Returns whether the input is a whole number.
+	 * @return whether the number is a whole number (a non-negative integer)*/
+	public boolean isWhole()   { return im==0 && re%1==0 && re>=0; }
+	/** Returns whether the input is a natural number.
+	 * @return whether the number is a natural number (a positive integer)*/
+	public boolean isNatural() { return im==0 && re%1==0 && re> 0; }
+
+	/**
+	 * Whether the input is the principal square root of its square.
+	 * @return true if and only if z==√(z²)
+	 */
+	public boolean isRoot() { return re>0 || re==0 && im>=0; }
+	/**
+	 * Complex signum, z/√(z²).
+	 * @return 1 if this is the principal square root of its square, -1 otherwise
+	 */
+	public int csgn() { return isRoot()?1:-1; }
+
+//////////////////////////////////////////////// EQUALITY & STRINGS /////////////////////////////////////////
+
+	/**
+	 * Tests for equality with x+yi
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return true if they're equal (or both NaN)
+	 */
+	public boolean equals(double x, double y) { return (re==x && im==y) || (isNaN() && (x!=x||y!=y)); }
+	/**
+	 * Tests for equality with a real number
+	 * @param x the real number
+	 * @return true if they're equal (or both NaN)
+	 */
+	public boolean equals(double x) { return (re==x && im==0) || (isNaN() && x!=x); }
+
+	/** Returns true if the object is a <code>ComplexValue</code> with the same value.  Like <code>Complex</code>, all NaNs are equal.
+	 * @return true if they equal*/
+	@Override
+	public boolean equals(final Object o) {
+		if(o instanceof ComplexValue) {
+			ComplexValue z = (ComplexValue)o;
+			return re==z.re && im==z.im || isNaN() && z.isNaN(); //return true iff both components match, or they're both NaN
+		}
+		return false;
+	}
+
+	/** Computes the hash code.  This is the same hash code a <code>Complex</code> with the same value would have.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		if(isNaN()) { return -585754751; } //if NaN, return the same hashCode we'd get from NaN+0i
+
+		long x=Double.doubleToLongBits(re), y=Double.doubleToLongBits(im); //get the bits from the real & imaginary parts
+		int result = 1;
+		result = 31*result + (int)(x>>32); //compute the hashcode from 4 ints. 2 from splitting up the re, 2 from splitting up the im.
+		result = 31*result + (int)x;
+		result = 31*result + (int)(y>>32);
+		result = 31*result + (int)y;
+		return result;
+	}
+
+	/** Casts to a <code>String</code>, exactly as <code>Complex</code> would.
+	 * @return this as a string */
+	@Override
+	public String toString() { return toComplex().toString(); }
+	/** Casts to a <code>String</code> with a specific number of digits, exactly as <code>Complex</code> would.
+	 * @param dig the number of digits
+	 * @return this as a string */
+	public String toString(int dig) { return toComplex().toString(dig); }
+	/** Casts to a <code>String</code> in polar notation.
+	 * @return this as a string, in polar notation */
+	public String polarString() { return toComplex().polarString(); }
+
+//////////////////////////////////////////////// COMPLEX PARTS /////////////////////////////////////////
+
+	/** Absolute square, re²+im².
+	 * @return absolute square */
+	public double absq() { return re*re+im*im; }
+	/** Absolute value, computed exactly as <code>Complex.abs</code> would (see <code>ComplexArithmetic</code>).
+	 * @return absolute value */
+	public double abs() { return ComplexArithmetic.defaultAbs(re,im); }
+	/** Argument (angle), measured counterclockwise from the positive real axis.
+	 * @return the argument */
+	public double arg() { return ComplexArray.arg(re,im); }
+	/** Lazy absolute value, max(|re|, |im|).
+	 * @return the lazy absolute value */
+	public double lazyabs() { return Math.max(Math.abs(re),Math.abs(im)); }
+	/** The maximum of the ulps of the real and imaginary part
+	 * @return max(ulp(re),ulp(im)) */
+	public double ulpMax() { return Math.max(Math.ulp(re),Math.ulp(im)); }
+	/** The minimum of the ulps of the real and imaginary part
+	 * @return min(ulp(re),ulp(im)) */
+	public double ulpMin() { return Math.min(Math.ulp(re),Math.ulp(im)); }
+
+	/** Floor of the real part.
+	 * @return the floor of the real part*/
+	public double floor() { return Math.floor(re); }
+	/** Ceiling of the real part.
+	 * @return the ceiling of the real part*/
+	public double ceil () { return Math.ceil(re);  }
+	/** Round the real part to the nearest integer.
+	 * @return the real part rounded to the nearest integer*/
+	public double round() { return Math.round(re); }
+
+///////////////////////////////////////////// BASIC ARITHMETIC /////////////////////////////////////////////////
+
+	/** Sum
+	 * @param a addend
+	 * @return this+a */
+	public ComplexValue add(ComplexValue a)     { return new ComplexValue(re+a.re, im+a.im); }
+	/** Sum
+	 * @param x addend's real part
+	 * @param y addend's imaginary part
+	 * @return this+x+yi */
+	public ComplexValue add(double x, double y) { return new ComplexValue(re+x, im+y); }
+	/** Sum
+	 * @param a real addend
+	 * @return this+a */
+	public ComplexValue add(double a)           { return new ComplexValue(re+a, im); }
+	/** Sum
+	 * @param a imaginary addend
+	 * @return this+ai */
+	public ComplexValue addI(double a)          { return new ComplexValue(re, im+a); }
+
+	/** Difference
+	 * @param a subtrahend
+	 * @return this-a */
+	public ComplexValue sub(ComplexValue a)     { return new ComplexValue(re-a.re, im-a.im); }
+	/** Difference
+	 * @param x subtrahend's real part
+	 * @param y subtrahend's imaginary part
+	 * @return this-(x+yi) */
+	public ComplexValue sub(double x, double y) { return new ComplexValue(re-x, im-y); }
+	/** Difference
+	 * @param a real subtrahend
+	 * @return this-a */
+	public ComplexValue sub(double a)           { return new ComplexValue(re-a, im); }
+	/** Difference
+	 * @param a imaginary subtrahend
+	 * @return this-ai */
+	public ComplexValue subI(double a)          { return new ComplexValue(re, im-a); }
+
+	/** Product
+	 * @param a multiplier
+	 * @return this*a */
+	public ComplexValue mul(ComplexValue a)     { return mul(a.re,a.im); }
+	/** Product
+	 * @param x multiplier's real part
+	 * @param y multiplier's imaginary part
+	 * @return this*(x+yi) */
+	public ComplexValue mul(double x, double y) { return ComplexArithmetic.defaultMul(re,im,x,y); }
+	/** Product
+	 * @param a real multiplier
+	 * @return this*a */
+	public ComplexValue mul(double a)           { return new ComplexValue(re*a, im*a); }
+	/** Product
+	 * @param a imaginary multiplier
+	 * @return this*ai */
+	public ComplexValue mulI(double a)          { return new ComplexValue(-im*a, re*a); }
+
+	/**
+	 * Quotient
+	 * @param a divisor
+	 * @return this/a
+	 */
+	public ComplexValue div(ComplexValue a) { return div(a.re,a.im); }
+	/**
+	 * Quotient
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 * @return this/(x+yi)
+	 */
+	public ComplexValue div(double x, double y) { return ComplexArithmetic.defaultDiv(re,im,x,y); }
+	/**
+	 * Quotient
+	 * @param a real divisor
+	 * @return this/a
+	 */
+	public ComplexValue div(double a) {
+		if(Math.abs(a)<Double.MIN_NORMAL) { return new ComplexValue(re/a, im/a); } //for subnormal a, we divide each component by a
+		double rec=1.0D/a; return new ComplexValue(re*rec, im*rec);                //else, multiply each component by 1/a
+	}
+	/**
+	 * Quotient
+	 * @param a imaginary divisor
+	 * @return this/(ai)
+	 */
+	public ComplexValue divI(double a) {
+		if(Math.abs(a)<Double.MIN_NORMAL) { return new ComplexValue(im/a, -re/a); } //for subnormal a, we divide each component by a
+		double rec=1.0D/a; return new ComplexValue(im*rec, -re*rec);                //else, multiply each component by 1/a
+	}
+
+/////////////////////////////////////// NEGATION AND OTHER SIMPLE OPERATIONS ////////////////////////////////
+
+	/** Negation
+	 * @return -this */
+	public ComplexValue neg () { return new ComplexValue(-re,-im); }
+	/** Complex conjugate
+	 * @return conj(this) */
+	public ComplexValue conj() { return new ComplexValue( re,-im); }
+	/** Multiply by i
+	 * @return this*i */
+	public ComplexValue mulI() { return new ComplexValue(-im, re); }
+	/** Divide by i
+	 * @return this/i */
+	public ComplexValue divI() { return new ComplexValue( im,-re); }
+
+	/**
+	 * Multiplies by 2^scaleFactor
+	 * @param scaleFactor the power of 2
+	 * @return the product with the binary exponent
+	 */
+	public ComplexValue scalb(int scaleFactor) { return new ComplexValue(Math.scalb(re,scaleFactor),Math.scalb(im,scaleFactor)); }
+	/**
+	 * Rotates ang radians counterclockwise in the complex plane.
+	 * @param ang the angle we rotate by
+	 * @return the rotated value
+	 */
+	public ComplexValue rotate(double ang) { double cos=Mafs.cos(ang), sin=Mafs.sin(ang); return new ComplexValue(re*cos-im*sin,re*sin+im*cos); }
+	/**
+	 * Multiplies by the csgn of z
+	 * @param z the number we multiply by the sign of
+	 * @return the product
+	 */
+	public ComplexValue mulcsgn(ComplexValue z) { return z.isRoot() ? this : neg(); }
+	/**
+	 * "Secondary absolute value", √(z²)
+	 * @return √(z²)
+	 */
+	public ComplexValue abs2() { return isRoot() ? this : neg(); }
+	/**
+	 * Sign (or signum).  The input divided by its absolute value (or 0, if the input is 0).
+	 * @return the sign
+	 */
+	public ComplexValue sgn() { Complex t=toComplex(); return valueOf(t.sgnInto(t)); }
+
+///////////////////////////////////////// RECIPROCAL, SQUARE ROOT, AND OTHER IMPORTANT FUNCTIONS ////////////////////
+
+	/** Reciprocal
+	 * @return 1/this */
+	public ComplexValue inv () { Complex t=toComplex(); return valueOf(t.invInto (t)); }
+	/** Square
+	 * @return this² */
+	public ComplexValue sq  () { return new ComplexValue((re+im)*(re-im),2*re*im); }
+	/** Cube
+	 * @return this³ */
+	public ComplexValue cub () { double sr=(re+im)*(re-im), si=2*re*im; return new ComplexValue(re*sr-im*si, re*si+im*sr); }
+	/** Principal square root
+	 * @return √this */
+	public ComplexValue sqrt() { Complex t=toComplex(); return valueOf(t.sqrtInto(t)); }
+	/** Principal cube root (see <code>Complex.cbrt</code>)
+	 * @return ∛this */
+	public ComplexValue cbrt() { Complex t=toComplex(); return valueOf(t.cbrtInto(t)); }
+	/** Natural exponential
+	 * @return e^this */
+	public ComplexValue exp () { Complex t=toComplex(); return valueOf(t.expInto (t)); }
+	/** Natural logarithm
+	 * @return log(this) */
+	public ComplexValue log () { Complex t=toComplex(); return valueOf(t.logInto (t)); }
+	/** Natural logarithm
+	 * @return ln(this) */
+	public ComplexValue ln  () { return log(); }
+	/** Common (base 10) logarithm
+	 * @return log10(this) */
+	public ComplexValue log10() { Complex t=toComplex(); return valueOf(t.logInto(t).muleq(0.434294481903251828D)); }
+
+	/**
+	 * This number raised to the power of an integer
+	 * @param a exponent
+	 * @return power
+	 */
+	public ComplexValue pow(int a)    { Complex t=toComplex(); return valueOf(t.powInto(a,t)); }
+	/**
+	 * This number raised to the power of a real number
+	 * @param a exponent
+	 * @return power
+	 */
+	public ComplexValue pow(double a) { Complex t=toComplex(); return valueOf(t.powInto(a,t)); }
+	/**
+	 * This number raised to the power of a complex number
+	 * @param a exponent
+	 * @return power
+	 */
+	public ComplexValue pow(ComplexValue a) { Complex t=toComplex(); return valueOf(t.powInto(a.toComplex(),t)); }
+
+	/**
+	 * Modulo (see <code>Complex.mod</code>)
+	 * @param a divisor
+	 * @return this minus the largest integer multiple of a that fits in this
+	 */
+	public ComplexValue mod(ComplexValue a) { Complex t=toComplex(); return valueOf(t.modInto(a.toComplex(),t)); }
+	/**
+	 * Secondary modulo (see <code>Complex.mod_v2</code>)
+	 * @param a divisor
+	 * @return this minus whichever integer multiple of a brings it closest to 0
+	 */
+	public ComplexValue mod_v2(ComplexValue a) { Complex t=toComplex(); return valueOf(t.mod_v2Into(a.toComplex(),t)); }
+
+//////////////////// TRIGONOMETRY //////////////////////////////////////
+
+	/** Cosine
+	 * @return cos */
+	public ComplexValue cos () { Complex t=toComplex(); return valueOf(t.cosInto (t)); }
+	/** Sine
+	 * @return sin */
+	public ComplexValue sin () { Complex t=toComplex(); return valueOf(t.sinInto (t)); }
+	/** Tangent
+	 * @return tan */
+	public ComplexValue tan () { Complex t=toComplex(); return valueOf(t.tanInto (t)); }
+	/** Hyperbolic cosine
+	 * @return cosh */
+	public ComplexValue cosh() { Complex t=toComplex(); return valueOf(t.coshInto(t)); }
+	/** Hyperbolic sine
+	 * @return sinh */
+	public ComplexValue sinh() { Complex t=toComplex(); return valueOf(t.sinhInto(t)); }
+	/** Hyperbolic tangent
+	 * @return tanh */
+	public ComplexValue tanh() { Complex t=toComplex(); return valueOf(t.tanhInto(t)); }
+	/** Secant
+	 * @return sec */
+	public ComplexValue sec () { Complex t=toComplex(); return valueOf(t.secInto (t)); }
+	/** Cosecant
+	 * @return csc */
+	public ComplexValue csc () { Complex t=toComplex(); return valueOf(t.cscInto (t)); }
+	/** Cotangent
+	 * @return cot */
+	public ComplexValue cot () { Complex t=toComplex(); return valueOf(t.cotInto (t)); }
+	/** Hyperbolic secant
+	 * @return sech */
+	public ComplexValue sech() { Complex t=toComplex(); return valueOf(t.sechInto(t)); }
+	/** Hyperbolic cosecant
+	 * @return csch */
+	public ComplexValue csch() { Complex t=toComplex(); return valueOf(t.cschInto(t)); }
+	/** Hyperbolic cotangent
+	 * @return coth */
+	public ComplexValue coth() { Complex t=toComplex(); return valueOf(t.cothInto(t)); }
+
+	/** Gudermannian function (see <code>Cpx.gd</code>)
+	 * @return gd */
+	public ComplexValue gd   () { Complex t=toComplex(); return valueOf(Cpx.gdInto   (t,t)); }
+	/** Inverse Gudermannian function (see <code>Cpx.invGd</code>)
+	 * @return invGd */
+	public ComplexValue invGd() { Complex t=toComplex(); return valueOf(Cpx.invGdInto(t,t)); }
+
+//////////////////////////////////////////////////////////////////////////INVERSE TRIGONOMETRY////////////////////////////////////////////////////////////////////////////////////
+
+	/** Inverse hyperbolic cosine
+	 * @return acosh */
+	public ComplexValue acosh() { Complex t=toComplex(); return valueOf(t.acoshInto(t)); }
+	/** Inverse hyperbolic sine
+	 * @return asinh */
+	public ComplexValue asinh() { Complex t=toComplex(); return valueOf(t.asinhInto(t)); }
+	/** Inverse hyperbolic tangent
+	 * @return atanh */
+	public ComplexValue atanh() { Complex t=toComplex(); return valueOf(t.atanhInto(t)); }
+	/** Arc cosine
+	 * @return acos */
+	public ComplexValue acos () { Complex t=toComplex(); return valueOf(t.acosInto (t)); }
+	/** Arc sine
+	 * @return asin */
+	public ComplexValue asin () { Complex t=toComplex(); return valueOf(t.asinInto (t)); }
+	/** Arc tangent
+	 * @return atan */
+	public ComplexValue atan () { Complex t=toComplex(); return valueOf(t.atanInto (t)); }
+	/** Arc secant
+	 * @return asec */
+	public ComplexValue asec () { Complex t=toComplex(); return valueOf(t.asecInto (t)); }
+	/** Arc cosecant
+	 * @return acsc */
+	public ComplexValue acsc () { Complex t=toComplex(); return valueOf(t.acscInto (t)); }
+	/** Arc cotangent
+	 * @return acot */
+	public ComplexValue acot () { Complex t=toComplex(); return valueOf(t.acotInto (t)); }
+	/** Inverse hyperbolic secant
+	 * @return asech */
+	public ComplexValue asech() { Complex t=toComplex(); return valueOf(t.asechInto(t)); }
+	/** Inverse hyperbolic cosecant
+	 * @return acsch */
+	public ComplexValue acsch() { Complex t=toComplex(); return valueOf(t.acschInto(t)); }
+	/** Inverse hyperbolic cotangent
+	 * @return acoth */
+	public ComplexValue acoth() { Complex t=toComplex(); return valueOf(t.acothInto(t)); }
+
+//////////////////////////////////////////////// ADDING LOGARITHMS /////////////////////////////////////////
+
+	/** Logarithm offset: (the sum of the logs of the inputs, minus the log of their product)/(2πi) (see <code>Cpx.logOffset</code>)
+	 * @param z each complex input
+	 * @return the logarithm offset */
+	public static int logOffset(ComplexValue... z) { return Cpx.logOffset(toComplex(z)); }
+	/** The sum of the logarithms of the inputs, with only one logarithm (see <code>Cpx.logSum</code>)
+	 * @param z each complex input
+	 * @return the sum of their logarithms */
+	public static ComplexValue logSum(ComplexValue... z) { return valueOf(Cpx.logSum(toComplex(z))); }
+
+	/** The inputs, as <code>Complex</code> numbers */
+	private static Complex[] toComplex(ComplexValue[] z) {
+		final Complex[] c=new Complex[z.length];
+		for(int n=0;n<z.length;n++) { c[n]=z[n].toComplex(); }
+		return c;
+	}
+}
@@ -0,0 +1,396 @@
+package complexnumbers;
+
+/**
+ * Convolution, correlation, and polynomial multiplication over primitive complex buffers.
+ *
+ * <br><br>The (linear) convolution of a<sub>0</sub>...a<sub>n-1</sub> and b<sub>0</sub>...b<sub>m-1</sub> is the sequence
+ * c<sub>k</sub> = Σ a<sub>j</sub>b<sub>k-j</sub>, of length n+m-1.  Done directly, this costs n·m multiplies.  Done with the
+ * <code>FFT</code> (transform both, multiply, transform back), it costs O((n+m)log(n+m)).  The direct method wins when either sequence
+ * is short, and when one sequence is much longer than the other, it's cheaper still to cut the long one into blocks and convolve each
+ * block with the short one by overlap-save.  Every method here picks whichever of the three is cheapest, using a cost model tuned on the
+ * <code>FFT</code> in this library.
+ *
+ * <br><br>For signals too long (or too open-ended) to convolve all at once, the <code>OverlapAdd</code> and <code>OverlapSave</code>
+ * classes filter a stream, one chunk at a time, with a fixed kernel whose spectrum is only computed once.  Chunks can be any size, and
+ * each one is filtered as soon as it arrives (there is no added latency).
+ *
+ * <br><br>Wherever imaginary parts are asked for, null means they're all 0.  The output buffers must not overlap the inputs.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class Convolution extends Mafs {
+
+	static final int DIRECT_MIN = 32;        //if either sequence is at most this long, always convolve directly
+	static final double FFT_COST = 4.5;      //one transform of length L costs about FFT_COST·L·log2(L)/3 direct multiplies
+	static final int MAX_BLOCK = 1<<22;      //the largest transform the streaming filters will use
+
+	Convolution() { } //this class only has static members
+
+	//////////////////// CONVOLUTION ////////////////////
+
+	/**
+	 * Convolves two complex sequences
+	 * @param a the first sequence
+	 * @param b the second sequence
+	 * @return their convolution, of length a.length()+b.length()-1 (or 0 if either is empty)
+	 */
+	public static ComplexArray convolve(ComplexArray a, ComplexArray b) {
+		int n=a.length(), m=b.length();
+		ComplexArray c=new ComplexArray(n==0||m==0 ? 0 : n+m-1);
+		convolve(a.re,a.im,n,b.re,b.im,m,c.re,c.im);
+		return c;
+	}
+
+	/**
+	 * Convolves the first n elements of a with the first m elements of b, writing the n+m-1 results to c
+	 * @param aRe the real parts of a
+	 * @param aIm the imaginary parts of a (or null if they're all 0)
+	 * @param n the length of a
+	 * @param bRe the real parts of b
+	 * @param bIm the imaginary parts of b (or null if they're all 0)
+	 * @param m the length of b
+	 * @param cRe the destination for the real parts, of length at least n+m-1
+	 * @param cIm the destination for the imaginary parts, of length at least n+m-1
+	 */
+	public static void convolve(double[] aRe, double[] aIm, int n, double[] bRe, double[] bIm, int m, double[] cRe, double[] cIm) {
+		if(n<0 || m<0 || aRe.length<n || bRe.length<m || aIm!=null && aIm.length<n || bIm!=null && bIm.length<m) {
+			throw new IllegalArgumentException("Sequence lengths don't fit the buffers");
+		}
+		if(n==0 || m==0) { return; } //empty convolution
+		if(cRe.length<n+m-1 || cIm.length<n+m-1) { throw new IllegalArgumentException("Output buffers must hold "+(n+m-1)+" elements"); }
+
+		dispatch(aRe,aIm,n,bRe,bIm,m,cRe,cIm);
+	}
+
+	//////////////////// CORRELATION ////////////////////
+
+	/**
+	 * Cross-correlates two complex sequences
+	 * @param a the first sequence
+	 * @param b the second sequence
+	 * @return their correlation at every lag, from -(b.length()-1) to a.length()-1 (see {@link #correlate(double[],double[],int,double[],double[],int,double[],double[])})
+	 */
+	public static ComplexArray correlate(ComplexArray a, ComplexArray b) {
+		int n=a.length(), m=b.length();
+		ComplexArray c=new ComplexArray(n==0||m==0 ? 0 : n+m-1);
+		correlate(a.re,a.im,n,b.re,b.im,m,c.re,c.im);
+		return c;
+	}
+
+	/**
+	 * Cross-correlates the first n elements of a with the first m elements of b.  The correlation at lag k is
+	 * Σ a<sub>j+k</sub>conj(b<sub>j</sub>), for every lag k from -(m-1) to n-1, and is written to index k+m-1.
+	 * @param aRe the real parts of a
+	 * @param aIm the imaginary parts of a (or null if they're all 0)
+	 * @param n the length of a
+	 * @param bRe the real parts of b
+	 * @param bIm the imaginary parts of b (or null if they're all 0)
+	 * @param m the length of b
+	 * @param cRe the destination for the real parts, of length at least n+m-1
+	 * @param cIm the destination for the imaginary parts, of length at least n+m-1
+	 */
+	public static void correlate(double[] aRe, double[] aIm, int n, double[] bRe, double[] bIm, int m, double[] cRe, double[] cIm) {
+		if(n<0 || m<0 || aRe.length<n || bRe.length<m || aIm!=null && aIm.length<n || bIm!=null && bIm.length<m) {
+			throw new IllegalArgumentException("Sequence lengths don't fit the buffers");
+		}
+		if(n==0 || m==0) { return; }
+		if(cRe.length<n+m-1 || cIm.length<n+m-1) { throw new IllegalArgumentException("Output buffers must hold "+(n+m-1)+" elements"); }
+
+		double[] rRe=new double[m], rIm=bIm==null ? null : new double[m]; //correlating with b is convolving with conj(b) reversed
+		for(int k=0;k<m;k++) { rRe[k]=bRe[m-1-k]; if(bIm!=null) { rIm[k]=-bIm[m-1-k]; } }
+		dispatch(aRe,aIm,n,rRe,rIm,m,cRe,cIm);
+	}
+
+	//////////////////// POLYNOMIALS ////////////////////
+
+	/**
+	 * Multiplies two polynomials.  The coefficients can be in either order, so long as both use the same one (the product comes out in
+	 * that order too).
+	 * @param p the coefficients of the first polynomial
+	 * @param q the coefficients of the second polynomial
+	 * @return the coefficients of their product
+	 */
+	public static Complex[] multiply(Complex[] p, Complex[] q) {
+		return convolve(new ComplexArray(p),new ComplexArray(q)).toArray();
+	}
+
+	/**
+	 * Multiplies two polynomials
+	 * @param p the coefficients of the first polynomial
+	 * @param q the coefficients of the second polynomial
+	 * @return the coefficients of their product, in the same order
+	 */
+	public static ComplexArray multiply(ComplexArray p, ComplexArray q) { return convolve(p,q); }
+
+	/**
+	 * Multiplies any number of polynomials.  They're multiplied in pairs, smallest first, so the cost stays close to that of the final
+	 * product rather than growing with the number of factors.
+	 * @param p the coefficients of each polynomial (all in the same order)
+	 * @return the coefficients of their product (the constant 1 if there are no factors)
+	 */
+	public static ComplexArray multiply(ComplexArray... p) {
+		if(p.length==0) { ComplexArray one=new ComplexArray(1); one.re[0]=1; return one; }
+		java.util.PriorityQueue<ComplexArray> queue=new java.util.PriorityQueue<>(p.length,(x,y)->Integer.compare(x.length(),y.length()));
+		for(ComplexArray f : p) { queue.add(f); }
+		while(queue.size()>1) { queue.add(convolve(queue.poll(),queue.poll())); }
+		return queue.poll();
+	}
+
+	//////////////////// STREAMING ////////////////////
+
+	/**
+	 * Filters a stream with a fixed kernel by the overlap-add method.  Each chunk of input is convolved with the kernel (via the
+	 * <code>FFT</code>), and the last kernel-length-minus-1 results, which spill past the end of the chunk, are held back and added
+	 * to the start of the next chunk's results.
+	 *
+	 * <br><br>Every call to <code>process</code> writes exactly as many outputs as it was given inputs, y<sub>t</sub> =
+	 * Σ h<sub>k</sub>x<sub>t-k</sub>, as if the whole stream had been convolved at once.  <code>flush</code> writes whatever is still held
+	 * back once the stream ends.
+	 */
+	public static class OverlapAdd extends Streaming {
+
+		private final double[] tailRe, tailIm; //the results that spilled past the last chunk
+
+		/**
+		 * Constructs a filter with the given kernel, picking the block size that minimizes the cost per sample
+		 * @param kernel the kernel (the filter's impulse response)
+		 */
+		public OverlapAdd(ComplexArray kernel) { this(kernel.re,kernel.im,kernel.length(),0); }
+
+		/**
+		 * Constructs a filter with the given kernel
+		 * @param hRe the real parts of the kernel
+		 * @param hIm the imaginary parts of the kernel (or null if they're all 0)
+		 * @param m the length of the kernel
+		 * @param size the transform size (0 to pick the size that minimizes the cost per sample).  It must be a power of 2 at least 2m-1.
+		 */
+		public OverlapAdd(double[] hRe, double[] hIm, int m, int size) {
+			super(hRe,hIm,m,size);
+			tailRe=new double[m-1]; tailIm=new double[m-1];
+		}
+
+		@Override
+		void block(double[] inRe, double[] inIm, int from, int s, double[] outRe, double[] outIm, int to) {
+			final int m1=m-1;
+			for(int k=0;k<s;k++) { wRe[k]=inRe[from+k]; wIm[k]=inIm==null ? 0 : inIm[from+k]; }
+			java.util.Arrays.fill(wRe,s,size,0); java.util.Arrays.fill(wIm,s,size,0);
+			filter();
+
+			for(int k=0;k<m1;k++) { wRe[k]+=tailRe[k]; wIm[k]+=tailIm[k]; } //add in what spilled over from before
+			System.arraycopy(wRe,0,outRe,to,s); System.arraycopy(wIm,0,outIm,to,s);
+			System.arraycopy(wRe,s,tailRe,0,m1); System.arraycopy(wIm,s,tailIm,0,m1); //then hold back what spills over now
+		}
+
+		@Override
+		public void reset() { java.util.Arrays.fill(tailRe,0); java.util.Arrays.fill(tailIm,0); }
+	}
+
+	/**
+	 * Filters a stream with a fixed kernel by the overlap-save method.  The last kernel-length-minus-1 inputs are kept, and each chunk of
+	 * input is appended to them and circularly convolved with the kernel (via the <code>FFT</code>).  The results that wrap around are
+	 * thrown away, and the rest are exactly the filtered chunk.  This avoids overlap-add's extra pass to add the spilled results back in.
+	 *
+	 * <br><br>Every call to <code>process</code> writes exactly as many outputs as it was given inputs, y<sub>t</sub> =
+	 * Σ h<sub>k</sub>x<sub>t-k</sub>, as if the whole stream had been convolved at once.  <code>flush</code> writes the rest of the
+	 * convolution once the stream ends.
+	 */
+	public static class OverlapSave extends Streaming {
+
+		private final double[] histRe, histIm; //the last m-1 inputs
+
+		/**
+		 * Constructs a filter with the given kernel, picking the block size that minimizes the cost per sample
+		 * @param kernel the kernel (the filter's impulse response)
+		 */
+		public OverlapSave(ComplexArray kernel) { this(kernel.re,kernel.im,kernel.length(),0); }
+
+		/**
+		 * Constructs a filter with the given kernel
+		 * @param hRe the real parts of the kernel
+		 * @param hIm the imaginary parts of the kernel (or null if they're all 0)
+		 * @param m the length of the kernel
+		 * @param size the transform size (0 to pick the size that minimizes the cost per sample).  It must be a power of 2 at least 2m-1.
+		 */
+		public OverlapSave(double[] hRe, double[] hIm, int m, int size) {
+			super(hRe,hIm,m,size);
+			histRe=new double[m-1]; histIm=new double[m-1];
+		}
+
+		@Override
+		void block(double[] inRe, double[] inIm, int from, int s, double[] outRe, double[] outIm, int to) {
+			final int m1=m-1;
+			System.arraycopy(histRe,0,wRe,0,m1); System.arraycopy(histIm,0,wIm,0,m1);
+			for(int k=0;k<s;k++) { wRe[m1+k]=inRe[from+k]; wIm[m1+k]=inIm==null ? 0 : inIm[from+k]; }
+			java.util.Arrays.fill(wRe,m1+s,size,0); java.util.Arrays.fill(wIm,m1+s,size,0);
+			System.arraycopy(wRe,s,histRe,0,m1); System.arraycopy(wIm,s,histIm,0,m1); //the last m-1 inputs, for next time
+			filter();
+
+			System.arraycopy(wRe,m1,outRe,to,s); System.arraycopy(wIm,m1,outIm,to,s); //the first m-1 results wrapped around
+		}
+
+		@Override
+		public void reset() { java.util.Arrays.fill(histRe,0); java.util.Arrays.fill(histIm,0); }
+	}
+
+	/** The parts of a streaming filter that don't depend on the method */
+	public static abstract class Streaming {
+
+		final int m, size, step; //the kernel length, the transform size, and the most new inputs per transform
+		final double[] hRe, hIm; //the kernel's spectrum (scaled by 1/size, so the inverse transform needn't be)
+		final double[] wRe, wIm; //the work buffer
+
+		Streaming(double[] kRe, double[] kIm, int m, int size) {
+			if(m<1 || kRe.length<m || kIm!=null && kIm.length<m) { throw new IllegalArgumentException("Kernel length "+m+" doesn't fit the buffers"); }
+			if(size==0) { size=blockSize(m); }
+			else if(size<2*m-1 || Integer.bitCount(size)!=1) { throw new IllegalArgumentException("Transform size must be a power of 2 at least "+(2*m-1)); }
+			this.m=m; this.size=size; step=size-m+1;
+
+			hRe=new double[size]; hIm=new double[size];
+			System.arraycopy(kRe,0,hRe,0,m); if(kIm!=null) { System.arraycopy(kIm,0,hIm,0,m); }
+			FFT.transform(hRe,hIm,size,false);
+			final double s=1.0/size;
+			for(int k=0;k<size;k++) { hRe[k]*=s; hIm[k]*=s; }
+			wRe=new double[size]; wIm=new double[size];
+		}
+
+		/** @return the kernel length */
+		public int kernelLength() { return m; }
+		/** @return the transform size */
+		public int transformSize() { return size; }
+
+		/**
+		 * Filters the next n inputs
+		 * @param inRe the real parts of the inputs
+		 * @param inIm the imaginary parts of the inputs (or null if they're all 0)
+		 * @param n the number of inputs
+		 * @param outRe the destination for the real parts of the n outputs
+		 * @param outIm the destination for the imaginary parts of the n outputs
+		 */
+		public void process(double[] inRe, double[] inIm, int n, double[] outRe, double[] outIm) {
+			if(n<0 || inRe.length<n || inIm!=null && inIm.length<n || outRe.length<n || outIm.length<n) {
+				throw new IllegalArgumentException("Chunk length "+n+" doesn't fit the buffers");
+			}
+			for(int k=0;k<n;k+=step) { block(inRe,inIm,k,Math.min(step,n-k),outRe,outIm,k); }
+		}
+
+		/**
+		 * Filters the next chunk of inputs
+		 * @param in the inputs
+		 * @return the outputs, the same length as the inputs
+		 */
+		public ComplexArray process(ComplexArray in) {
+			ComplexArray out=new ComplexArray(in.length());
+			process(in.re,in.im,in.length(),out.re,out.im); return out;
+		}
+
+		/**
+		 * Ends the stream, writing the last m-1 outputs (the ones that depend on inputs past the end) and resetting the filter
+		 * @param outRe the destination for the real parts, of length at least m-1
+		 * @param outIm the destination for the imaginary parts, of length at least m-1
+		 */
+		public void flush(double[] outRe, double[] outIm) {
+			if(outRe.length<m-1 || outIm.length<m-1) { throw new IllegalArgumentException("Output buffers must hold "+(m-1)+" elements"); }
+			flush(outRe,outIm,0);
+		}
+		/** Ends the stream, writing the last m-1 outputs starting at index to */
+		void flush(double[] outRe, double[] outIm, int to) {
+			if(m>1) { block(new double[m-1],null,0,m-1,outRe,outIm,to); } //same as filtering m-1 zeros (which always fit in one block)
+			reset();
+		}
+
+		/**
+		 * Ends the stream, returning the last m-1 outputs and resetting the filter
+		 * @return the last m-1 outputs
+		 */
+		public ComplexArray flush() {
+			ComplexArray out=new ComplexArray(m-1);
+			flush(out.re,out.im); return out;
+		}
+
+		/** Resets the filter to the start of a new stream (as if every input so far had been 0) */
+		public abstract void reset();
+
+		/** Filters inputs [from,from+s) into outputs [to,to+s), where s is at most step */
+		abstract void block(double[] inRe, double[] inIm, int from, int s, double[] outRe, double[] outIm, int to);
+
+		/** Circularly convolves the work buffer with the kernel, in place */
+		void filter() {
+			FFT.transform(wRe,wIm,size,false);
+			for(int k=0;k<size;k++) {
+				double r=wRe[k]*hRe[k]-wIm[k]*hIm[k], i=wRe[k]*hIm[k]+wIm[k]*hRe[k];
+				wRe[k]=r; wIm[k]=-i; //conjugated, so the forward transform can stand in for the inverse
+			}
+			FFT.transform(wRe,wIm,size,false);
+			for(int k=0;k<size;k++) { wIm[k]=-wIm[k]; }
+		}
+	}
+
+	//////////////////// KERNELS ////////////////////
+
+	/** Convolves a with b by whichever method is expected to be fastest */
+	static void dispatch(double[] aRe, double[] aIm, int n, double[] bRe, double[] bIm, int m, double[] cRe, double[] cIm) {
+		if(n<m) { dispatch(bRe,bIm,m,aRe,aIm,n,cRe,cIm); return; } //make a the longer one (convolution commutes)
+		if(m<=DIRECT_MIN) { direct(aRe,aIm,n,bRe,bIm,m,cRe,cIm); return; }
+
+		final int size=Integer.highestOneBit(n+m-2)<<1, block=blockSize(m); //the transform sizes for the whole FFT & overlap-save
+		final double direct=(double)n*m,                                              //the cost of each method, in direct multiplies
+		             whole=FFT_COST*size*Integer.numberOfTrailingZeros(size),
+		             blocked=FFT_COST/3*block*Integer.numberOfTrailingZeros(block)*(1+2*Math.ceil((n+m-1.0)/(block-m+1)));
+		if(direct<=whole && direct<=blocked) { direct(aRe,aIm,n,bRe,bIm,m,cRe,cIm); }
+		else if(whole<=blocked)               { viaFFT(aRe,aIm,n,bRe,bIm,m,cRe,cIm); }
+		else { //filter a through b, then flush out the rest
+			OverlapSave filter=new OverlapSave(bRe,bIm,m,block);
+			filter.process(aRe,aIm,n,cRe,cIm);
+			filter.flush(cRe,cIm,n);
+		}
+	}
+
+	/** @return the power-of-2 transform size that minimizes the streaming cost per sample, size·log2(size)/(size-m+1) */
+	static int blockSize(int m) {
+		final int min=Integer.highestOneBit(Math.max(2*m-2,1))<<1; //the smallest size that fits a kernel & a chunk of the same length
+		int best=min; double bestCost=INF;
+		for(int size=min;size<=Math.max(min,MAX_BLOCK);size<<=1) {
+			double cost=(double)size*Integer.numberOfTrailingZeros(size)/(size-m+1);
+			if(cost<bestCost) { bestCost=cost; best=size; }
+		}
+		return best;
+	}
+
+	/** Convolves directly, one output at a time */
+	static void direct(double[] aRe, double[] aIm, int n, double[] bRe, double[] bIm, int m, double[] cRe, double[] cIm) {
+		for(int k=0;k<n+m-1;k++) {
+			final int lo=Math.max(0,k-m+1), hi=Math.min(n-1,k); //a's indices that contribute to c_k
+			double sr=0, si=0;
+			if(aIm==null && bIm==null) { for(int j=lo;j<=hi;j++) { sr+=aRe[j]*bRe[k-j]; } }
+			else if(aIm==null) { for(int j=lo;j<=hi;j++) { sr+=aRe[j]*bRe[k-j]; si+=aRe[j]*bIm[k-j]; } }
+			else if(bIm==null) { for(int j=lo;j<=hi;j++) { sr+=aRe[j]*bRe[k-j]; si+=aIm[j]*bRe[k-j]; } }
+			else {
+				for(int j=lo;j<=hi;j++) {
+					final double xr=aRe[j], xi=aIm[j], yr=bRe[k-j], yi=bIm[k-j];
+					sr+=xr*yr-xi*yi; si+=xr*yi+xi*yr;
+				}
+			}
+			cRe[k]=sr; cIm[k]=si;
+		}
+	}
+
+	/** Convolves via one FFT the length of the whole result */
+	static void viaFFT(double[] aRe, double[] aIm, int n, double[] bRe, double[] bIm, int m, double[] cRe, double[] cIm) {
+		final int len=n+m-1, size=Integer.highestOneBit(len-1)<<1;
+		double[] xr=new double[size], xi=new double[size], yr=new double[size], yi=new double[size];
+		System.arraycopy(aRe,0,xr,0,n); if(aIm!=null) { System.arraycopy(aIm,0,xi,0,n); }
+		System.arraycopy(bRe,0,yr,0,m); if(bIm!=null) { System.arraycopy(bIm,0,yi,0,m); }
+
+		FFT.transform(xr,xi,size,false);
+		FFT.transform(yr,yi,size,false);
+		for(int k=0;k<size;k++) {
+			double r=xr[k]*yr[k]-xi[k]*yi[k], i=xr[k]*yi[k]+xi[k]*yr[k];
+			xr[k]=r; xi[k]=i;
+		}
+		FFT.transform(xr,xi,size,true);
+
+		System.arraycopy(xr,0,cRe,0,len); System.arraycopy(xi,0,cIm,0,len);
+	}
+}
@@ -491,18 +491,31 @@ public class Cpx extends Mafs {
 	 * @param z complex input
 	 * @return Gudermannian function
 	 */
-	public static Complex gd(Complex z) { //Gudermannian function
+	public static Complex gd(Complex z) { return gdInto(z,new Complex()); } //Gudermannian function
+	
+	/**
+	 * The Gudermannian function, written into dst.  Allocates nothing.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding the Gudermannian function
+	 */
+	public static Complex gdInto(Complex z, Complex dst) { //Gudermannian function
+		double x=z.re, y=z.im; //store the input (in case dst is z)
+		
 		//first, the special cases. If the input is too close to one of the poles, we have to use an approximation
-		Complex z2 = z.mod_v2(iTimes(2*Math.PI)); //take a modulo with 2πi
-		if(z2.subI(HALFPI).lazyabs()<1E-4) { return ln(z2.mulI().addeq(HALFPI)).diveqI().addeqI(LOG2); } //approximation with logarithm
-		if(z2.addI(HALFPI).lazyabs()<1E-4) { return ln(z2.divI().addeq(HALFPI)).muleqI().subeqI(LOG2); } //approximation with logarithm
+		z.mod_v2Into(TWO_PI_I,dst); //take a modulo with 2πi
+		if(Math.max(Math.abs(dst.re),Math.abs(dst.im-HALFPI))<1E-4) { return dst.mulIInto(dst).addeq(HALFPI).logInto(dst).diveqI().addeqI(LOG2); } //approximation with logarithm
+		if(Math.max(Math.abs(dst.re),Math.abs(dst.im+HALFPI))<1E-4) { return dst.divIInto(dst).addeq(HALFPI).logInto(dst).muleqI().subeqI(LOG2); } //approximation with logarithm
 		
-		double[] sinhcosh = fsinhcosh(z.re);     //compute the cosh & sinh of the real part
-		double cos = cos(z.im), sin = sin(z.im); //compute the cos & sin of the imaginary part
-		return new Complex(Math.atan2(sinhcosh[0],cos), 0.5*Math.log((sinhcosh[1]+sin)/(sinhcosh[1]-sin)));
+		Complex.fsinhcoshInto(x,dst);      //compute the sinh & cosh of the real part
+		double sinh = dst.re, cosh = dst.im;
+		double cos = cos(y), sin = sin(y); //compute the cos & sin of the imaginary part
+		dst.set(Math.atan2(sinh,cos), 0.5*Math.log((cosh+sin)/(cosh-sin))); return dst;
 	    //gd(x+yi) = atan2(sinh(x),cos(y)) + iln((cosh(x)+sin(y))/(cosh(x)-sin(y)))/2
 	}
 	
+	private static final Complex TWO_PI_I = new Complex(0,2*Math.PI); //2πi, used by gd for its modulo (never mutated)
+	
 //////////////////////////////////////////////////////////////////////////INVERSE TRIGONOMETRY////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -591,6 +604,340 @@ public class Cpx extends Mafs {
 	public static Complex invGd(Complex z) { //inverse Gudermannian function
 		return gd(z.mulI()).diveqI();        //as it turns out, the inverse is just the gd, but with z*i and divided by i
 	}                                        //gd : invGd :: sin : sinh
+	/**
+	 * Inverse Gudermannian function, written into dst.  Allocates nothing.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding the inverse Gudermannian function
+	 */
+	public static Complex invGdInto(Complex z, Complex dst) { return gdInto(z.mulIInto(dst),dst).diveqI(); } //inverse Gudermannian function
+	
+//////////////// WRITING INTO A DESTINATION ////////////////
+	
+	//each of these is the same as the function of the same name without "Into", except the result is written into dst instead of a new
+	//instance.  dst may be any of the inputs, and nothing is allocated, which makes them handy inside of tight loops (i.e. fractal renderers)
+	
+	/**
+	 * Constructs a complex number in polar notation, writing it into dst.
+	 * @param r the absolute value
+	 * @param ang the argument
+	 * @param dst the destination
+	 * @return dst
+	 */
+	public static Complex polarInto(double r, double ang, Complex dst) { dst.set(r*cos(ang),r*sin(ang)); return dst; }
+	
+	/**
+	 * Complex conjugate into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding the conjugate
+	 */
+	public static Complex conjInto(Complex z, Complex dst) { return z.conjInto(dst); }
+	/**
+	 * Negation into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding -z
+	 */
+	public static Complex negInto (Complex z, Complex dst) { return z.negInto (dst); }
+	
+	/**
+	 * Sum into dst
+	 * @param a complex addend
+	 * @param b complex addend
+	 * @param dst the destination
+	 * @return dst, holding the sum
+	 */
+	public static Complex addInto(Complex a, Complex b, Complex dst) { return a.addInto(b,dst); }
+	/**
+	 * Difference into dst
+	 * @param a complex minuend
+	 * @param b complex subtrahend
+	 * @param dst the destination
+	 * @return dst, holding the difference
+	 */
+	public static Complex subInto(Complex a, Complex b, Complex dst) { return a.subInto(b,dst); }
+	/**
+	 * Product into dst
+	 * @param a complex multiplicand
+	 * @param b complex multiplier
+	 * @param dst the destination
+	 * @return dst, holding the product
+	 */
+	public static Complex mulInto(Complex a, Complex b, Complex dst) { return a.mulInto(b,dst); }
+	/**
+	 * Quotient into dst
+	 * @param a complex dividend
+	 * @param b complex divisor
+	 * @param dst the destination
+	 * @return dst, holding the quotient
+	 */
+	public static Complex divInto(Complex a, Complex b, Complex dst) { return a.divInto(b,dst); }
+	
+	/**
+	 * Reciprocal into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding 1/z
+	 */
+	public static Complex invInto (Complex z, Complex dst) { return z.invInto (dst); } //1/z
+	/**
+	 * Square into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding z²
+	 */
+	public static Complex sqInto  (Complex z, Complex dst) { return z.sqInto  (dst); } //z²
+	/**
+	 * Cube into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding z³
+	 */
+	public static Complex cubInto (Complex z, Complex dst) { return z.cubInto (dst); } //z cubed
+	/**
+	 * Square root into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding √z
+	 */
+	public static Complex sqrtInto(Complex z, Complex dst) { return z.sqrtInto(dst); } //√(z)
+	/**
+	 * Cube root into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding ∛z
+	 */
+	public static Complex cbrtInto(Complex z, Complex dst) { return z.cbrtInto(dst); } //cbrt(z)
+	/**
+	 * Exponential into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding e^z
+	 */
+	public static Complex expInto (Complex z, Complex dst) { return z.expInto (dst); } //e^z
+	/**
+	 * Natural logarithm into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding log(z)
+	 */
+	public static Complex logInto (Complex z, Complex dst) { return z.logInto (dst); } //log(z)
+	/**
+	 * Natural logarithm into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding ln(z)
+	 */
+	public static Complex lnInto  (Complex z, Complex dst) { return z.logInto (dst); } //ln(z)
+	/**
+	 * Common (base 10) logarithm into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding the common logarithm
+	 */
+	public static Complex log10Into(Complex z, Complex dst) { return z.logInto(dst).muleq(0.434294481903251828D); } //base 10 log
+	
+	/**
+	 * Complex raised to the power of an integer, into dst
+	 * @param a complex base
+	 * @param b integer exponent
+	 * @param dst the destination
+	 * @return dst, holding the result
+	 */
+	public static Complex powInto(Complex a, int     b, Complex dst) { return a.powInto(b,dst); }
+	/**
+	 * Complex raised to the power of a real number, into dst
+	 * @param a complex base
+	 * @param b real exponent
+	 * @param dst the destination
+	 * @return dst, holding the result
+	 */
+	public static Complex powInto(Complex a, double  b, Complex dst) { return a.powInto(b,dst); }
+	/**
+	 * Complex raised to the power of a complex, into dst
+	 * @param a complex base
+	 * @param b complex exponent
+	 * @param dst the destination
+	 * @return dst, holding the result
+	 */
+	public static Complex powInto(Complex a, Complex b, Complex dst) { return a.powInto(b,dst); }
+	
+	/**
+	 * Cosine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding cos
+	 */
+	public static Complex cosInto(Complex z, Complex dst) { return z.cosInto(dst); } //cos
+	/**
+	 * Sine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding sin
+	 */
+	public static Complex sinInto(Complex z, Complex dst) { return z.sinInto(dst); } //sin
+	/**
+	 * Tangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding tan
+	 */
+	public static Complex tanInto(Complex z, Complex dst) { return z.tanInto(dst); } //tan
+	
+	/**
+	 * Hyperbolic cosine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding cosh
+	 */
+	public static Complex coshInto(Complex z, Complex dst) { return z.coshInto(dst); } //cosh
+	/**
+	 * Hyperbolic sine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding sinh
+	 */
+	public static Complex sinhInto(Complex z, Complex dst) { return z.sinhInto(dst); } //sinh
+	/**
+	 * Hyperbolic tangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding tanh
+	 */
+	public static Complex tanhInto(Complex z, Complex dst) { return z.tanhInto(dst); } //tanh
+	
+	/**
+	 * Secant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding sec
+	 */
+	public static Complex secInto(Complex z, Complex dst) { return z.secInto(dst); } //sec
+	/**
+	 * Cosecant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding csc
+	 */
+	public static Complex cscInto(Complex z, Complex dst) { return z.cscInto(dst); } //csc
+	/**
+	 * Cotangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding cot
+	 */
+	public static Complex cotInto(Complex z, Complex dst) { return z.cotInto(dst); } //cot
+	
+	/**
+	 * Hyperbolic secant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding sech
+	 */
+	public static Complex sechInto(Complex z, Complex dst) { return z.sechInto(dst); } //sech
+	/**
+	 * Hyperbolic cosecant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding csch
+	 */
+	public static Complex cschInto(Complex z, Complex dst) { return z.cschInto(dst); } //csch
+	/**
+	 * Hyperbolic cotangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding coth
+	 */
+	public static Complex cothInto(Complex z, Complex dst) { return z.cothInto(dst); } //coth
+	
+	/**
+	 * Inverse hyperbolic cosine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding acosh
+	 */
+	public static Complex acoshInto(Complex z, Complex dst) { return z.acoshInto(dst); } //arcosh
+	/**
+	 * Inverse hyperbolic sine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding asinh
+	 */
+	public static Complex asinhInto(Complex z, Complex dst) { return z.asinhInto(dst); } //arsinh
+	/**
+	 * Inverse hyperbolic tangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding atanh
+	 */
+	public static Complex atanhInto(Complex z, Complex dst) { return z.atanhInto(dst); } //artanh
+	
+	/**
+	 * Arc cosine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding acos
+	 */
+	public static Complex acosInto(Complex z, Complex dst) { return z.acosInto(dst); } //acos
+	/**
+	 * Arc sine into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding asin
+	 */
+	public static Complex asinInto(Complex z, Complex dst) { return z.asinInto(dst); } //asin
+	/**
+	 * Arc tangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding atan
+	 */
+	public static Complex atanInto(Complex z, Complex dst) { return z.atanInto(dst); } //atan
+	
+	/**
+	 * Arc secant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding asec
+	 */
+	public static Complex asecInto(Complex z, Complex dst) { return z.asecInto(dst); } //asec
+	/**
+	 * Arc cosecant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding acsc
+	 */
+	public static Complex acscInto(Complex z, Complex dst) { return z.acscInto(dst); } //acsc
+	/**
+	 * Arc cotangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding acot
+	 */
+	public static Complex acotInto(Complex z, Complex dst) { return z.acotInto(dst); } //acot
+	
+	/**
+	 * Inverse hyperbolic secant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding asech
+	 */
+	public static Complex asechInto(Complex z, Complex dst) { return z.asechInto(dst); } //asech
+	/**
+	 * Inverse hyperbolic cosecant into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding acsch
+	 */
+	public static Complex acschInto(Complex z, Complex dst) { return z.acschInto(dst); } //acsch
+	/**
+	 * Inverse hyperbolic cotangent into dst
+	 * @param z complex input
+	 * @param dst the destination
+	 * @return dst, holding acoth
+	 */
+	public static Complex acothInto(Complex z, Complex dst) { return z.acothInto(dst); } //acoth
 	
 ///////////////////////////// ADDING LOGARITHMS //////////////////////////////////
 	
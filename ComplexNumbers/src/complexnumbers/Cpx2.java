@@ -1,5 +1,11 @@
 package complexnumbers;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * An additional class for more complicated, special functions.
  * 
@@ -11,8 +17,10 @@ package complexnumbers;
  * Also, the Elliptic integral of the third kind is extremely in the beta stages, as while I know how to compute it, I haven't the foggiest
  * idea how to remove any of its branch cuts.
  * 
- * <br><br> I also have plans to implement the Bessel functions, the incomplete gamma function, the Hurwitz zeta function, and the Lambert W
- * function (also known as the product logarithm).  However, none of said functions have been built.
+ * <br><br> It also has every branch of the Lambert W function (also known as the product logarithm), the Bessel functions J, Y, I and K
+ * of any integer order, and the Riemann & Hurwitz zeta functions (along with the Riemann-Siegel Z and theta functions).
+ * 
+ * <br><br> I also have plans to implement the incomplete gamma function.  However, said function has not been built.
  * 
  * <br><br> This class also acts as an extra piece of sample code, showing off the capabilities of the complex number library and why you might want
  * to use certain seemingly useless functions and constants.
@@ -25,7 +33,7 @@ public class Cpx2 extends Cpx {
 	//the Bernoulli numbers are useful in several numerical computations
 	/**
 	 * The Bernoulli numbers are useful in several numerical computations.
-	 * <br> Notes: B[1]=+1/2, this only holds indices 0-20.
+	 * <br> Notes: B[1]=+1/2, this only holds indices 0-20.  For any other index (or for every digit), use <code>bernoulli(n)</code>.
 	 */
 	public static double[] Bernoulli={1D, 0.5D, 0.1666666666666667D, 0, -0.0333333333333333D, 0, 0.0238095238095238D, 0, -0.0333333333333333D, 0, 0.0757575757575758D, 0, -0.2531135531135531D, 0, 1.1666666666666667D, 0D,
 			                          -7.092156862745098039D, 0D, 54.97117794486215539D, 0D, -529.1242424242424242D};
@@ -43,63 +51,7 @@ public class Cpx2 extends Cpx {
 	 * @param z complex input
 	 * @return Γ(z)
 	 */
-	public static Complex gamma(Complex z) { //this returns the gamma function of complex input a using the Lanczos approximation
-		
-		///////// INPUTS IN THE LEFT BRANCH ////////
-		
-		if(z.re<0.5) { // input is less than 1/2
-			if(z.isInt()) { return new Complex((z.re%2==0) ? INF:-INF); }     //integer inputs: return ±∞
-			return div(Math.PI, z.mul(Math.PI).sin().muleq(gamma(sub(1,z)))); //otherwise: return πcsc(πz)/Γ(1-z)
-		}
-		
-		//////// OVERFLOWING INPUTS /////////
-		if(z.re>171.6243769563027) { return new Complex(INF); } //if the input is too large, return an overflow (∞)
-		
-		//////// LARGE INPUTS THAT DON'T OVERFLOW /////////
-		if(z.re>142) { //once the input exceeds ~142, the Lanczos approximation will yield an overflow, even though the output isn't an overflow
-			Complex b = new Complex((z.re-(int)z.re)+141, z.im); //to solve this, we compute the gamma function of a smaller number
-			Complex res = gamma(b);
-			
-			while(b.re<z.re) { //then, we use repeated multiplication to find the gamma function of our actual input
-				res.muleq(b);  //multiply by b
-				b.re++;        //increment b
-			}                  //repeat
-			
-			return res;        //return result
-		}
-		
-		//////// INTEGER INPUTS ////////
-		if(z.isInt() && z.re<22) {                      //if the input is an integer (and it's small enough):
-			return new Complex(factorial((int)z.re-1)); //cast to an integer & compute the traditional factorial
-		}
-		
-		//////// GENERAL CASE /////////
-		return lanczos(z); //In the general case, use the Lanczos approximation to calculate the gamma function
-	}
-	
-	/**
-	 * The Lanczos approximation.  This is a highly efficient approximation for Γ(z) for all inputs with a positive real part and which don't
-	 * overflow.  The approximation combines the asymptotic relation Γ(z) ~ z^(z-1/2)*e^-z*√(2π) with a harmonic sum of reciprocals to give an
-	 * estimate which works for the IEEE standard double floating points.  The coefficients of the harmonic sum are delicate, as you need to
-	 * compute a different set of coefficients depending on how many sig figs you need.  These particular coefficients were calculated
-	 * specifically for 64-bit floats.
-	 * 
-	 * @param z complex input
-	 * @return  the lanczos approximation of Γ(z)
-	 */
-	private static Complex lanczos(Complex z) {
-		double[] coef={676.5203681218851D,  -1259.1392167224028D,  771.32342877765313D,   -176.61502916214059D,
-                       12.507343278686905D, -0.13857109526572012D, 9.9843695780195716e-6D, 1.5056327351493116e-7D}; //generate the coefficients
-		
-		Complex sum=new Complex(0.99999999999980993D); //this approximation requires doing a summation (init to about 1)
-		for(int n=0;n<coef.length;n++) {               //loop through the list of coefficients
-			sum.addeq(div(coef[n],z.add(n)));          //each term in the summation is the coefficient divided by (the input plus the index)
-		}
-		Complex t=z.add(6.5);                                                        //set value t to store the input minus 6.5
-		sum.muleq(pow(t,z.sub(0.5)).muleq(exp(t.neg())).muleq(2.5066282746310005D)); //multiply the sum by √(2π)t^(z-0.5)e^(-t)
-		
-		return sum; //return the result
-	}
+	public static Complex gamma(Complex z) { return gammaInto(z,new Complex()); }
 	
 	/**
 	 * z!. The factorial function, extended to complex number inputs.  The input does not need to be an integer, or even a real number for
@@ -116,50 +68,7 @@ public class Cpx2 extends Cpx {
 	 * @param z complex input
 	 * @return lnΓ(z)
 	 */
-	public static Complex loggamma(Complex z) { //this takes the log gamma function of complex number z
-		
-		////////////// INPUTS IN THE LEFT BRANCH //////////////
-		
-		if(z.re<0.5) { // input is less than 1/2
-			if(z.isInt()) { return new Complex(-INF); }            //integer input: return -∞
-			return logGammaReflector(z).subeq(loggamma(sub(1,z))); //otherwise: return ln(πcsc(πz))-lnΓ(1-z) (w/ a slight parity adjustment)
-		}
-		
-		////////////// INTEGER INPUTS //////////////////////
-	    if(z.isInt() && z.re<22) {                                //if the input is an integer (and it's small enough)
-	    	return new Complex(Math.log(factorial((int)z.re-1))); //cast to an integer, compute the traditional factorial, return the log
-	    }
-	    
-	    //////////////// GENERAL CASE ///////////////////
-	    
-	    int shift = getGammaShift(-1,z.re);
-	    //int shift = 6;
-	    Complex eval = stirlingApprox(z.add(shift)); //evaluate the Stirling approximation on z+6
-	    
-	    Complex[] arr = new Complex[shift];
-	    for(int k=0;k<shift;k++) { arr[k]=z.add(k); }
-	    eval.subeq(logSum(arr)); //subtract the preceding logarithms
-	    
-	    return eval; //return the result
-	}
-	
-	/**
-	 * Computes the Stirling approximation of lnΓ(z).  Only works for sufficiently large values on the right half of the complex plane.
-	 * @param z complex input
-	 * @return result
-	 */
-	private static Complex stirlingApprox(Complex z) { //computes the Stirling approximation of lnΓ(z)
-		Complex sum=ln(z).muleq(z.sub(0.5)).subeq(z).addeq(0.5*(LOG2+LOGPI)); //initialize something to store our sum to (z-1/2)ln(z)-z+ln(2π)/2
-	    Complex expo=inv(z);                                                  //this'll store the (-2n+1)th power of z
-	    Complex iter=sq(expo);                                                //this is what expo will multiply by each time
-	    
-	    for(int n=2;n<=14;n+=2) {                         //loop through B_2 to B_14 (ignore the 0s)
-	    	sum.addeq(mul(expo, Bernoulli[n]/(n*(n-1)))); //add B_(2n)/(n*(2n-1)*z^(2n-1))
-	    	if(n!=14) { expo.muleq(iter); }               //multiply expo by iter each time (except the last time)
-	    }
-	    
-	    return sum; //return result
-	}
+	public static Complex loggamma(Complex z) { return loggammaInto(z,new Complex()); }
 	
 	/**
 	 * Equivalent to lnΓ(z)+lnΓ(1-z).  Which is equal to ln(πcsc(πz)) plus some multiple of 2πi.  It's continuous everywhere, except on
@@ -189,39 +98,7 @@ public class Cpx2 extends Cpx {
 	 * @param z complex input
 	 * @return ψ(z)
 	 */
-	public static Complex digamma(Complex z) {
-		///////////// INPUTS IN THE LEFT BRANCH /////////////
-		if(z.re<0.5) { //input is less than 1/2
-			return digamma(sub(1,z)).subeq( div(Math.PI, tan(z.mul(Math.PI))) ); //calculate reflection formula, ψ(z) = ψ(1-z)-πcot(πz)
-		}
-		if(z.equals(1)) { return new Complex(-Mafs.GAMMA); } //to make things consistent
-	    
-		int shift = getGammaShift(0,z.re);
-	    Complex eval = digammaApprox(z.add(shift)); //evaluate the digamma approximation at z+shift
-	    
-	    for(int n=0;n<shift;n++) { eval.subeq(z.add(n).inv()); } //subtract the inverses of the numbers between z and z+shift
-	    
-	    return eval; //return the result
-	}
-	
-	/**
-	 * Approximates the digamma function using the derivative of the Stirling approximation.  Only works for sufficiently large values on the
-	 * right half of the complex plane.
-	 * @param z complex input
-	 * @return approximation
-	 */
-	private static Complex digammaApprox(Complex z) { //an approximation for the digamma function over the right branch of the complex plane
-		Complex sum=ln(z).subeq(z.mul(2).inv()); //initialize something to store our sum to ln(z)-1/(2z)
-	    Complex expo=sq(inv(z));                 //this'll store the (-2n)th power of z
-	    Complex iter=expo.copy();                //this is what expo will multiply by each time
-		
-		for(int n=2;n<=14;n+=2) {                 //loop through B_2 to B_14 (ignore the 0s)
-			sum.subeq(mul(expo, Bernoulli[n]/n)); //subtract B_n/(n*z^n)
-			if(n!=14) { expo.muleq(iter); }       //multiply expo by iter each time (except the last time)
-	    }
-		
-		return sum; //return the result
-	}
+	public static Complex digamma(Complex z) { return digammaInto(z,new Complex()); }
 	
 	/**
 	 * Computes the polygamma function, denoted ψ_m(z) or ψ(m,z).  It's equal to the m-th derivative of the digamma function, or the indefinite
@@ -232,166 +109,326 @@ public class Cpx2 extends Cpx {
 	 * @param z the complex input
 	 * @return ψ(m,z)
 	 */
-	public static Complex polygamma(int m, Complex z) { //this takes the m-th polygamma function of complex number z
-		//////////// SPECIAL CASES /////////////////
-		//if(m==-2) { return KFunction(z,false).addeq(mul(sub(Math.log(2*Math.PI)+1,z),z,0.5)); } //not yet implemented, requires polylogarithms
-		if(m==-1) { return loggamma(z);             } //ψ(-1,z) = lnΓ(z)
-		if(m==0)  { return digamma (z);             } //ψ(0,z)  = ψ(z)
-		if(m<-1)  { return new Complex(Double.NaN); } //negative values of m are too complicated to implement
-		
-		//////////// INPUTS IN THE LEFT BRANCH /////////////
-		
-		if(z.re<0.5) { //input is less than 1/2
-			Complex reflector = polygammaReflector(m,z); //compute the reflector
-			Complex eval      = polygamma(m, sub(1,z));         //evaluate ψ(m,1-z)
-			if((m&1)==0) { return add(reflector, eval); } //if m is even, ψ(m,z) = reflector + ψ(m,1-z)
-			else         { return sub(reflector, eval); } //if m is  odd, ψ(m,z) = reflector - ψ(m,1-z)
-		}
-	    
-		//////////// GENERAL CASE ///////////////////
-		int shift = getGammaShift(m,z.re);
-	    Complex eval = polygammaApprox(m, z.add(shift)); //evaluate ±ψ(m,z+shift)
-	    
-	    double fact = factorial(m); //compute m!
-	    
-	    for(int n=0;n<shift;n++) { //loop through the (shift) preceding numbers
-	    	eval.subeq(div(fact,z.add(n).pow(m+1))); //subtract m!/(z+n)^(m+1)
-	    }
-	    
-	    if((m&1)==1) { eval.negeq(); } //if m is odd, negate
-	    
-	    return eval; //return the result
-	}
-	
-	/**
-	 * Approximates the polygamma function using the (m+1)th derivative of the Stirling approximation.  Only works for sufficiently large
-	 * values on the right half of the complex plane.  It should also be noted that, when m is odd, this returns the negative of the correct
-	 * answer. The formula evaluates to Σ[k=0,∞] B_k*(k+m-1)!/(k!*z^(k+m)), assuming B_1=-1/2.  Unfortunately, something tells me doing an
-	 * infinite number of times might take kinda long, so I'll settle for 15 iterations (6 of which are ignored as they evaluate to 0). 
-	 * @param m integer >= 1
-	 * @param z complex input
-	 * @return approximation
-	 */
-	private static Complex polygammaApprox(int m, Complex z) { //compute Σ[k=0,14] B_k*(k+m-1)!/(k!*z^(k+m)), assuming B_1=-1/2
-		Complex sum;             //this is our sum
-		Complex inv =inv(z);     //compute 1/z one time (for a slight speed up)
-		Complex expo=inv.pow(m); //this is the (-k-m)th power of z
-		Complex iter=sq(inv);    //this is what expo will multiply by each time
-		
-		double fact = factorial(m-1); //(factor) this'll be (k+m-1)!/k! in the loop (init to (m-1)!)
-		
-		sum=mul(expo,add(1,inv.mul(0.5*m)),-fact); //set the sum to the sum of the first and second terms: (m-1)!/z^m, m!/z^(m+1)/2
-		//we do this step outside the loop because otherwise B_1 would be skipped
-		
-		int max = getMaxBernoulli(m); //compute the maximum bernoulli number to use
-		
-		for(int k=2;k<=max;k+=2) {    //loop through B_2 to B_14 (ignore the 0s)
-			expo.muleq(iter);       //multiply expo by iter each time
-			fact*=(k+m-1)*(k+m-2);  //update (k+m-1)!/k! each time
-			fact/=k*(k-1);
-			sum.subeq(mul(expo, Bernoulli[k]*fact)); //subtract B_k/(z^(k+m)) * (k+m-1)!/k!
-		}
-		
-		return sum; //return result
-	}
+	public static Complex polygamma(int m, Complex z) { return polygammaInto(m,z,new Complex()); }
 	
-	private static int getMaxBernoulli(int m) { //gets the best bernoulli number to stop at depending on m
+	static int getMaxBernoulli(int m) { //gets the best bernoulli number to stop at depending on m
 		if(m<=1) return 14;                     //these numbers were computed by analyzing which stopping point is usually more efficient
 		if(m<=3) return 16;
-		return 18;
+		return order(m).maxBernoulli;           //higher orders work it out from the error bound (see PolygammaOrder)
 	}
 	
-	private static int getGammaShift(int m, double x) { //computes how much to shift by based on m and the real part
+	static int getGammaShift(int m, double x) { //computes how much to shift by based on m and the real part
 		//if(m==-1) { return (int)Math.max(0,Math.ceil(-1.3416346*x+10.098411+1)); }
 		if(m==-1) { return (int)Math.max(0,Math.ceil(-1.344445  *x+10.503084+1)); }
 		if(m== 0) { return (int)Math.max(0,Math.ceil(-1.1013515 *x+ 9.898758)); }
 		if(m== 1) { return (int)Math.max(0,Math.ceil(-0.8828083 *x+10.081272)); }
 		if(m== 2) { return (int)Math.max(0,Math.ceil(-0.8055056 *x+ 9.359367)); }
 		if(m== 3) { return (int)Math.max(0,Math.ceil(-0.73040926*x+ 9.713969)); }
-		//double slope = -1d/(0.1329726*m+0.9149952);
-		double slope = -1d/(0.1387092*m+0.9103506); //approximate the best slope
-		double xinter = 1.3583619*m+7.4961775;      //approximate the best x-intercept
-		return (int)Math.max(0,Math.ceil(slope*(x-xinter))); //return result
+		return (int)Math.max(0,Math.ceil(order(m).minRe-x)); //higher orders: shift until the series is accurate (see PolygammaOrder)
 	}
 	
 	/**
-	 * The reflector for the polygamma function ψ(m,z). It basically returns the m-th derivative of -πcot(πz), for m>0. It constructs said
-	 * derivative as (-π)^(m+1)*csc²(πz)*(some polynomial of cot(πz)). It first finds the coefficients of the polynomial, which are found recursively
-	 * via the coefficients of the polynomial for m-1. It should be noted that the larger m is, the longer this takes, and the more coefficients
-	 * the polynomial will have. After it finds these coefficients, it uses Horner's method to compute the polynomial, then multiplies by what we
-	 * said it'd multiply by. This function is not public because...I just didn't think it'd be that useful... But, if you find it useful (i.e. you
-	 * need the derivatives of tan or cot), here's the code, feel free to copy it (just remove the private and static).
-	 * 
+	 * The coefficients of the polynomial in the polygamma reflector, for a given m, which is (-π)^(m+1)csc²(πz)P(cot(πz)) (see <code>GammaKernels.polygammaReflector</code>).  They're memoized,
+	 * so the returned array is shared, and must not be modified.  Past m=MAX_REFLECTOR, some of them overflow.
 	 * @param m integer >= 1
-	 * @param z complex input
-	 * @return the reflector
+	 * @return the coefficients, leading coefficient first
 	 */
-	
-	private static Complex polygammaReflector(int m, Complex z) {
-		//first, compute the coefficients:
-		long[] c1 = {1}; //these will store the coefficients (c1 is the previous row, c2 is the current row)
-		long[] c2;
+	static double[] reflectorCoefficients(int m) {
+		double[][] rows = REFLECTORS.get();
+		if(m<rows.length) { return rows[m]; } //already there: this is the usual case
 		
-		for(int n=2;n<=m;n++) { //loop through all rows in the table of coefficients
-			c2 = new long[(n+1)>>1]; //init c2
-			for(int k=0;k<(n+1)>>1;k++) {
-				c2[k] = (k==0?0:c1[k-1]) + (k==c1.length?0:c1[k]);
-				c2[k] *= (n&1)==0 ? ((n>>1)-k) : (n-(k<<1)); //here, it should multiply by (n-2k).
+		double[][] bigger = Arrays.copyOf(rows,Math.max(m+1,2*rows.length)); //each row is built from the one before it, so we build them in a loop
+		for(int n=Math.max(rows.length,1);n<bigger.length;n++) {
+			if(n==1) { bigger[n] = new double[] {1}; continue; }
+			double[] c1 = bigger[n-1], c = new double[(n+1)>>1];
+			for(int k=0;k<c.length;k++) {
+				c[k] = (k==0?0:c1[k-1]) + (k==c1.length?0:c1[k]);
+				c[k] *= (n&1)==0 ? ((n>>1)-k) : (n-(k<<1)); //here, it should multiply by (n-2k).
 				//however, that means the whole row goes up 1 power of 2 every time n is even, so we divide by 2 on those rows, then multiply back
-				//when we've casted it all to a floating point (so as to avoid overflows).
+				//when we evaluate the polynomial (so as to avoid overflows).
 			}
-			c1 = c2; //set previous row to current row
+			bigger[n] = c;
 		}
+		REFLECTORS.accumulateAndGet(bigger, (a,b) -> a.length>=b.length ? a : b); //keep whichever table is longer
+		return bigger[m];
+	}
+	
+	//////////////////////////// ARBITRARY PRECISION ////////////////////////////
+	
+	/**
+	 * The gamma function in arbitrary precision (see <code>BigComplex.gamma</code>).  Throws an <code>ArithmeticException</code> at the poles.
+	 * @param z the complex input
+	 * @param mc the precision
+	 * @return Γ(z)
+	 */
+	public static BigComplex gamma(BigComplex z, MathContext mc) { return z.gamma(mc); }
+	
+	/**
+	 * The principal log gamma function in arbitrary precision (see <code>BigComplex.loggamma</code>).
+	 * @param z the complex input
+	 * @param mc the precision
+	 * @return lnΓ(z)
+	 */
+	public static BigComplex loggamma(BigComplex z, MathContext mc) { return z.loggamma(mc); }
+	
+	/**
+	 * The digamma function in arbitrary precision (see <code>BigComplex.digamma</code>).
+	 * @param z the complex input
+	 * @param mc the precision
+	 * @return ψ(z)
+	 */
+	public static BigComplex digamma(BigComplex z, MathContext mc) { return z.digamma(mc); }
+	
+	/**
+	 * The m-th polygamma function in arbitrary precision (see <code>BigComplex.polygamma</code>).  As with the <code>double</code> version,
+	 * ψ(-1,z) = lnΓ(z).
+	 * @param m an integer >= -1
+	 * @param z the complex input
+	 * @param mc the precision
+	 * @return ψ(m,z)
+	 */
+	public static BigComplex polygamma(int m, BigComplex z, MathContext mc) { return z.polygamma(m,mc); }
+	
+	//////////////////////////// COEFFICIENT TABLES ////////////////////////////
+	
+	//The tables below are built the first time they're needed, then shared by every thread.  Each one lives in an AtomicReference: reading
+	//it is a single volatile read, and extending it builds a bigger copy and swaps it in, so nobody ever waits on a lock.  (If two threads
+	//extend a table at the same time, they just build the same thing twice.)
+	
+	static final int MAX_BERNOULLI = 300; //past this, the Bernoulli numbers overflow a double anyway
+	static final int MAX_REFLECTOR = 170; //past this, the reflector's coefficients overflow, so the left half plane is done by shifting
+	private static final AtomicReference<double[]> BERNOULLI = new AtomicReference<>(new double[0]);
+	private static final AtomicReference<PolygammaOrder[]> ORDERS = new AtomicReference<>(new PolygammaOrder[0]);
+	private static final AtomicReference<double[][]> REFLECTORS = new AtomicReference<>(new double[0][]);
+	
+	/**
+	 * The n-th Bernoulli number, correctly rounded (it's computed exactly, then rounded once).  Uses the same convention as the
+	 * <code>Bernoulli</code> array, B_1=+1/2.
+	 * @param n the index (non-negative)
+	 * @return B_n (which overflows to ±∞ past n=258)
+	 */
+	public static double bernoulli(int n) {
+		if(n<0) { return Double.NaN; }
+		if(n>MAX_BERNOULLI) { return (n&1)==1 ? 0 : (n&3)==0 ? -INF : INF; } //odd ones (past 1) are 0, even ones alternate in sign
+		return bernoulliTable(n)[n];
+	}
+	
+	/**
+	 * Returns a table of the Bernoulli numbers, holding at least indices 0 through n (up to MAX_BERNOULLI).  The table is shared, so
+	 * it must not be modified.
+	 * @param n the largest index we need
+	 * @return the table
+	 */
+	static double[] bernoulliTable(int n) {
+		double[] table = BERNOULLI.get();
+		if(n<table.length) { return table; } //already there: this is the usual case
 		
-		Complex cot = cot(mul(z,Math.PI)); //compute the cotangent
-		Complex cot2 = cot.sq();           //square it
+		int size = Math.min(Math.max(2*table.length,Math.max(n+1,32)),MAX_BERNOULLI+1); //grow the table by (at least) double, up to the cap
+		double[] bigger = computeBernoulli(size);
+		BERNOULLI.accumulateAndGet(bigger, (a,b) -> a.length>=b.length ? a : b); //keep whichever table is longer
+		return bigger;
+	}
+	
+	/**
+	 * Computes B_0 through B_(size-1) exactly, then rounds each one to a double.  The even ones come from the tangent numbers T_k, which
+	 * are integers: B_2k = (-1)^(k-1)*2k*T_k/(4^k(4^k-1)).  The tangent numbers are built with the Brent-Harvey recurrence, which only
+	 * needs integer additions and multiplications by small numbers.
+	 */
+	private static double[] computeBernoulli(int size) {
+		double[] b = new double[size];
+		b[0]=1; if(size>1) { b[1]=0.5; }
+		int half = (size-1)/2; //the number of even indices > 0 we need
 		
-		Complex reflector = new Complex(c1[0]);
-		for(int k=1;k<c1.length;k++) {
-			reflector.muleq(cot2).addeq(c1[k]);
+		BigInteger[] tan = new BigInteger[half+1]; //tan[k] will be T_k
+		if(half>=1) { tan[1]=BigInteger.ONE; }
+		for(int k=2;k<=half;k++) { tan[k]=tan[k-1].multiply(BigInteger.valueOf(k-1)); }
+		for(int k=2;k<=half;k++) {
+			for(int j=k;j<=half;j++) {
+				tan[j]=tan[j-1].multiply(BigInteger.valueOf(j-k)).add(tan[j].multiply(BigInteger.valueOf(j-k+2)));
+			}
 		}
-		if((m&1)==0) { reflector.muleq(cot); }
-		reflector.scalbeq(m>>1); //scale up by 2^(the amount of times we divided by 2)
 		
-		return reflector.muleq(cot2.addeq(1)).muleq(Mafs.pow(-Math.PI,m+1));
+		for(int k=1;k<=half;k++) {
+			BigInteger four = BigInteger.ONE.shiftLeft(2*k); //4^k
+			BigDecimal num = new BigDecimal(tan[k].multiply(BigInteger.valueOf(2*k)));
+			BigDecimal den = new BigDecimal(four.multiply(four.subtract(BigInteger.ONE)));
+			double mag = num.divide(den,MathContext.DECIMAL128).doubleValue(); //34 digits, then rounded to a double
+			b[2*k] = (k&1)==1 ? mag : -mag;
+		}
+		return b;
 	}
 	
-	////////////////////////////////////////////////// ERROR FUNCTIONS ////////////////////////////////////////////////
+	/** Returns the memoized series parameters for polygamma of order m, working them out if need be */
+	static PolygammaOrder order(int m) {
+		PolygammaOrder[] orders = ORDERS.get();
+		if(m<orders.length && orders[m]!=null) { return orders[m]; } //already there: this is the usual case
+		
+		PolygammaOrder next = new PolygammaOrder(m);
+		ORDERS.updateAndGet(a -> {
+			if(m<a.length && a[m]!=null) { return a; } //somebody beat us to it
+			PolygammaOrder[] b = Arrays.copyOf(a,Math.max(a.length,m+1));
+			b[m]=next; return b;
+		});
+		return next;
+	}
 	
-	private static Complex erfi_Taylor(Complex z) { //takes a Taylor's series approximation of √(π)erfi(z)/2
-		Complex term = z.copy(); //the term z^(2n+1)/n!
-		Complex iter = z.sq();   //what the term multiplies by each time
-		Complex sum = zero();    //the sum (initialized to 0)
-		for(int n=0;n<45;n++) {  //loop through the first 45 terms
-			sum.addeq(term.div(n<<1|1)); //add each term z^(2n+1)/(n!(2n+1))
-			term.muleq(iter.div(n+1));   //compute the next value for z^(2n+1)/n! by *= z²/(n+1)
+	/**
+	 * How to evaluate the asymptotic series of the polygamma function of order m.  For m>3, the number of terms and the smallest real part the series can handle come from the size of the first
+	 * term we leave out, |B_k|(k+m-1)!/(k!(m-1)!x^k) relative to the first term.  Of all the choices that get to full double precision, we
+	 * pick the cheapest, counting each shift as one reciprocal and one (m+1)-th power, and each series term as a multiply and an add.
+	 */
+	static final class PolygammaOrder {
+		final int maxBernoulli;   //the last Bernoulli number to use in the series
+		final double minRe;       //the smallest real part the series can be used on
+		
+		PolygammaOrder(int m) {
+			double[] b = bernoulliTable(MAX_BERNOULLI);
+			double shiftCost = 4+2*(32-Integer.numberOfLeadingZeros(m+1)); //a reciprocal, then an (m+1)-th power by squaring
+			int bestK = 18; double bestX = INF, bestCost = INF;
+			double binom = 1;                                    //(k+m-1)!/(k!(m-1)!), for each k we look at
+			for(int k=1;k<=MAX_BERNOULLI-40;k++) {
+				binom *= (double)(k+m-1)/k;
+				if((k&1)==1 || k<20) { continue; }               //only even k, and at least as many terms as before
+				double x = Math.pow(Math.abs(b[k])*binom*0x1p54,1.0/k); //the smallest x where the k-th term is under half an ulp of the first
+				double cost = x*shiftCost + 2*(k>>1);              //2 for each term we keep
+				if(cost<bestCost) { bestCost=cost; bestX=x; bestK=k-2; } //the k-th term is the first one we leave out
+			}
+			maxBernoulli = bestK; minRe = bestX;
 		}
-		return sum; //return the sum
 	}
 	
-	private static Complex erfc_Fraction(Complex z) { //computes an adjusted continued fraction expansion of erfc(z)
-		Complex frac = z.copy();         //initialize the continued fraction
-		for(int n=45;n>0;n--) {          //loop backwards through numbers 1-45
-			frac = div(n,frac).addeq(z); //compute z + n/(fraction so far)
-		}
-		return frac.inv(); //return the reciprocal of what we came up with
-	}                      //should return 1/(z+1/(z+2/(z+3/(z+4/(...(z+44/(z+45/z))...)))))
-	
-	private static void divByExpSq(Complex inp1, Complex inp2) { //divides input 1 by e to the square of input 2
-		if(Math.abs(inp2.re) == Math.abs(inp2.im) && Math.abs(inp2.re) >= 1E100) { //large multiple of √(±i)
-			double d1 = 8.98846567431158E307, d2 = 1.1125369292536007E-308; //store 2^1023 and 2^-1023
-			
-			double modulo = (inp2.re*d2*inp2.re) % (Math.PI*d2);        //modulo with π, but scaled down to prevent overflow
-			double angle = modulo * d1 * (inp2.re == inp2.im ? -2 : 2); //scale it back up, then multiply by ±2
-			inp1.rotateEq(angle);                                       //finally, rotate the first input by this amount 
-		}
-		else { //otherwise:
-			Complex pow = inp2.sq().neg(); //compute the negative square of input2
-			if(pow.re>709) { inp1.muleq(exp(pow.sub(10*LOG2))).muleq(1024); } //special case: exponent overflows, do this thing
-			else           { inp1.muleq(exp(pow));                          } //otherwise, just multiply by the exponential
-		}
+	//////////////////////////// PRIMITIVE KERNELS ////////////////////////////
+	
+	//The functions above are easy to read, but every step creates a new object.  The functions below compute the same things on
+	//primitive doubles (see GammaKernels), either writing into a destination or running over whole arrays, and create no objects at all.
+	
+	private static final ThreadLocal<GammaKernels> KERNELS = ThreadLocal.withInitial(GammaKernels::new); //one result register per thread
+	
+	/**
+	 * The Gamma function, Γ(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding Γ(z)
+	 */
+	public static Complex gammaInto(Complex z, Complex dst) { GammaKernels k=KERNELS.get(); k.gamma(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The log gamma function, lnΓ(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding lnΓ(z)
+	 */
+	public static Complex loggammaInto(Complex z, Complex dst) { GammaKernels k=KERNELS.get(); k.loggamma(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The digamma function, ψ(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding ψ(z)
+	 */
+	public static Complex digammaInto(Complex z, Complex dst) { GammaKernels k=KERNELS.get(); k.digamma(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The polygamma function, ψ(m,z), written into dst.  Creates no objects (except for the reflector's coefficients, when Re(z)<1/2).
+	 * @param m an integer >= -1
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding ψ(m,z)
+	 */
+	public static Complex polygammaInto(int m, Complex z, Complex dst) { GammaKernels k=KERNELS.get(); k.polygamma(m,z.re,z.im); dst.set(k.re,k.im); return dst; }
+	
+	/**
+	 * The Gamma function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void gamma(double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		GammaKernels k=new GammaKernels();
+		for(int n=from;n<to;n++) { k.gamma(re[n],im==null?0:im[n]); dr[n]=k.re; di[n]=k.im; }
+	}
+	/**
+	 * The log gamma function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void loggamma(double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		GammaKernels k=new GammaKernels();
+		for(int n=from;n<to;n++) { k.loggamma(re[n],im==null?0:im[n]); dr[n]=k.re; di[n]=k.im; }
+	}
+	/**
+	 * The digamma function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void digamma(double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		GammaKernels k=new GammaKernels();
+		for(int n=from;n<to;n++) { k.digamma(re[n],im==null?0:im[n]); dr[n]=k.re; di[n]=k.im; }
+	}
+	/**
+	 * The polygamma function ψ(m,z) of every element z in [from,to) of a split array.  The destination may be the input.
+	 * @param m an integer >= -1
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void polygamma(int m, double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		GammaKernels k=new GammaKernels();
+		for(int n=from;n<to;n++) { k.polygamma(m,re[n],im==null?0:im[n]); dr[n]=k.re; di[n]=k.im; }
 	}
 	
+	/**
+	 * The Gamma function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding Γ of each element
+	 */
+	public static ComplexArray gamma(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); gamma(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The log gamma function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding lnΓ of each element
+	 */
+	public static ComplexArray loggamma(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); loggamma(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The digamma function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding ψ of each element
+	 */
+	public static ComplexArray digamma(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); digamma(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The polygamma function of every element of a ComplexArray
+	 * @param m an integer >= -1
+	 * @param z the input
+	 * @return a new array holding ψ(m,·) of each element
+	 */
+	public static ComplexArray polygamma(int m, ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); polygamma(m,z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	
+	////////////////////////////////////////////////// ERROR FUNCTIONS ////////////////////////////////////////////////
+	
+	//Every function in this section is derived from the Faddeeva function, w(z) = e^(-z²)erfc(-iz), which is computed on primitive doubles
+	//(see FaddeevaKernels), with a different method in each part of the complex plane.  The functions themselves only create their result.
+	
+	private static final ThreadLocal<FaddeevaKernels> ERF_KERNELS = ThreadLocal.withInitial(FaddeevaKernels::new); //one result register per thread
+	
+	/**
+	 * The Faddeeva function, w(z) = e^(-z²)erfc(-iz).  It's the scaled complementary error function, rotated a quarter turn, and it's what
+	 * every other error function here is computed from.  Its real part on the line Im(z)=y is the Voigt profile (see <code>voigt</code>).
+	 * 
+	 * @param z the complex input
+	 * @return the Faddeeva function
+	 */
+	public static Complex faddeeva(Complex z) { return faddeevaInto(z,new Complex()); }
 	
 	/**The error function. Most commonly used in statistics, it is the solution to the famous non-elementary integral, integral e^-x² dx, also known
 	 * as the area under the bell curve. It also has many other applications, from differential equations to plotting an object as it rotationally
@@ -401,19 +438,7 @@ public class Cpx2 extends Cpx {
 	 * @param z the complex input
 	 * @return the error function
 	 */
-	
-	public static Complex erf(Complex z) { //returns the error function
-		if(z.re*z.re*0.340455D + z.im*z.im*0.0405612D < 1) { //if the input is within a range close to 0:
-			return erfi_Taylor(z.mulI()).divI(ROOTPI2);      //Taylor's series for erfi, then multiply appropriately
-		}
-		Complex out = erfc_Fraction(z.mul(ROOT2)); //otherwise, continued fraction, then make adjustments
-		divByExpSq(out,z);                         //divide by e^z²
-		
-		out.diveq(-ROOTPI2*ROOT2); //make more adjustments
-		out.addeq(sgn(z.re));      //add -1, 0, or 1
-		
-		return out; //return the result
-	}
+	public static Complex erf(Complex z) { return erfInto(z,new Complex()); }
 	
 	/**
 	 * The complementary error function. Instead of measuring the area from x=0, it measures the area from x=+∞. This function is especially important
@@ -424,18 +449,7 @@ public class Cpx2 extends Cpx {
 	 * @param z the complex input
 	 * @return the complementary error function
 	 */
-	public static Complex erfc(Complex z) { //complementary error function.
-		if(z.re*z.re*0.340455D + z.im*z.im*0.0405612D < 1) {   //if the input is within a range close to 0:
-			return sub(1,erfi_Taylor(z.mulI()).divI(ROOTPI2)); //Taylor's series for erfi, then multiply appropriately & sub from 1
-		}
-		Complex out = erfc_Fraction(z.mul(ROOT2)); //otherwise, continued fraction, then make adjustments
-		divByExpSq(out,z);                         //divide by e^z²
-		
-		out.diveq(ROOTPI2*ROOT2); //make more adjustments
-		out.addeq(1-sgn(z.re));   //add 2, 1, or 0
-		
-		return out; //return the result
-	}
+	public static Complex erfc(Complex z) { return erfcInto(z,new Complex()); }
 	
 	/**
 	 * The scaled complementary error function. It's the same as the complementary error function, but multiplied by e^x², preventing it from
@@ -443,17 +457,7 @@ public class Cpx2 extends Cpx {
 	 * @param z the complex input
 	 * @return the scaled complementary error function
 	 */
-	public static Complex erfcx(Complex z) { //scaled complementary error function
-		if(z.re*z.re*0.340455D + z.im*z.im*0.0405612D < 1) {   //if the input is within a range close to 0:
-			return sub(1,erfi_Taylor(z.mulI()).divI(ROOTPI2)).muleq(exp(z.sq())); //Taylor's series
-		}
-		Complex out = erfc_Fraction(z.mul(ROOT2)); //otherwise, continued fraction, then make adjustments
-		out.diveq(ROOTPI2*ROOT2);                  //make more adjustments
-		if(z.re<=0) { out.addeq(exp(z.sq()).muleq(z.re==0?1:2)); } //make another adjustment
-		
-		return out; //return the result
-	}
-	
+	public static Complex erfcx(Complex z) { return erfcxInto(z,new Complex()); }
 	
 	/**
 	 * The imaginary error function. It's equivalent to erf(xi)/i. Instead of being used to integrate e^-x² (which shrinks fast), it integrates
@@ -462,10 +466,201 @@ public class Cpx2 extends Cpx {
 	 * @param z the complex input
 	 * @return the imaginary error function
 	 */
-	public static Complex erfi(Complex z) { //returns the imaginary error function
-		return erf(z.mulI()).diveqI();      //this is easy.  Just multiply by i, erf, divide by i
+	public static Complex erfi(Complex z) { return erfiInto(z,new Complex()); }
+	
+	/**
+	 * Dawson's integral, D(z) = e^(-z²)·integral e^t² dt from 0 to z, which is √(π)e^(-z²)erfi(z)/2.  Unlike erfi, it doesn't blow up along the
+	 * real axis: it peaks near x=0.92, then decays like 1/(2x).
+	 * 
+	 * @param z the complex input
+	 * @return Dawson's integral
+	 */
+	public static Complex dawson(Complex z) { return dawsonInto(z,new Complex()); }
+	
+	/**
+	 * The Voigt profile: the convolution of a normal distribution (standard deviation σ) with a Cauchy distribution (half width at half maximum
+	 * γ), which is the line shape of most spectral lines.  It's Re(w((x+iγ)/(σ√2)))/(σ√(2π)).
+	 * @param x where to evaluate it (measured from the center)
+	 * @param sigma the standard deviation of the Gaussian part (positive)
+	 * @param gamma the half width of the Lorentzian part (non-negative)
+	 * @return the Voigt profile at x
+	 */
+	public static double voigt(double x, double sigma, double gamma) { return ERF_KERNELS.get().voigt(x,sigma,gamma); }
+	
+	/**
+	 * The Faddeeva function, w(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding w(z)
+	 */
+	public static Complex faddeevaInto(Complex z, Complex dst) { FaddeevaKernels k=ERF_KERNELS.get(); k.w(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The error function, erf(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding erf(z)
+	 */
+	public static Complex erfInto(Complex z, Complex dst) { FaddeevaKernels k=ERF_KERNELS.get(); k.erf(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The complementary error function, erfc(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding erfc(z)
+	 */
+	public static Complex erfcInto(Complex z, Complex dst) { FaddeevaKernels k=ERF_KERNELS.get(); k.erfc(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The scaled complementary error function, erfcx(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding erfcx(z)
+	 */
+	public static Complex erfcxInto(Complex z, Complex dst) { FaddeevaKernels k=ERF_KERNELS.get(); k.erfcx(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The imaginary error function, erfi(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding erfi(z)
+	 */
+	public static Complex erfiInto(Complex z, Complex dst) { FaddeevaKernels k=ERF_KERNELS.get(); k.erfi(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * Dawson's integral, D(z), written into dst.  Creates no objects.
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding D(z)
+	 */
+	public static Complex dawsonInto(Complex z, Complex dst) { FaddeevaKernels k=ERF_KERNELS.get(); k.dawson(z.re,z.im); dst.set(k.re,k.im); return dst; }
+	
+	private static final int FADDEEVA=0, ERF=1, ERFC=2, ERFCX=3, ERFI=4, DAWSON=5; //which function the bulk loop evaluates
+	
+	/** Evaluates one of the functions above on every element in [from,to) of a split array */
+	private static void erfFamily(int func, double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		FaddeevaKernels k=new FaddeevaKernels();
+		for(int n=from;n<to;n++) {
+			final double x=re[n], y=im==null?0:im[n];
+			switch(func) {
+				case FADDEEVA: k.w     (x,y); break;
+				case ERF:      k.erf   (x,y); break;
+				case ERFC:     k.erfc  (x,y); break;
+				case ERFCX:    k.erfcx (x,y); break;
+				case ERFI:     k.erfi  (x,y); break;
+				default:       k.dawson(x,y); break;
+			}
+			dr[n]=k.re; di[n]=k.im;
+		}
+	}
+	
+	/**
+	 * The Faddeeva function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void faddeeva(double[] re, double[] im, double[] dr, double[] di, int from, int to) { erfFamily(FADDEEVA,re,im,dr,di,from,to); }
+	/**
+	 * The error function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void erf(double[] re, double[] im, double[] dr, double[] di, int from, int to) { erfFamily(ERF,re,im,dr,di,from,to); }
+	/**
+	 * The complementary error function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void erfc(double[] re, double[] im, double[] dr, double[] di, int from, int to) { erfFamily(ERFC,re,im,dr,di,from,to); }
+	/**
+	 * The scaled complementary error function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void erfcx(double[] re, double[] im, double[] dr, double[] di, int from, int to) { erfFamily(ERFCX,re,im,dr,di,from,to); }
+	/**
+	 * The imaginary error function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void erfi(double[] re, double[] im, double[] dr, double[] di, int from, int to) { erfFamily(ERFI,re,im,dr,di,from,to); }
+	/**
+	 * Dawson's integral of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void dawson(double[] re, double[] im, double[] dr, double[] di, int from, int to) { erfFamily(DAWSON,re,im,dr,di,from,to); }
+	
+	/**
+	 * The Voigt profile at every point in [from,to) of an array, all with the same widths.  The destination may be the input.
+	 * @param x where to evaluate it (measured from the center)
+	 * @param sigma the standard deviation of the Gaussian part (positive)
+	 * @param gamma the half width of the Lorentzian part (non-negative)
+	 * @param dst the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void voigt(double[] x, double sigma, double gamma, double[] dst, int from, int to) {
+		FaddeevaKernels k=new FaddeevaKernels();
+		for(int n=from;n<to;n++) { dst[n]=k.voigt(x[n],sigma,gamma); }
 	}
 	
+	/**
+	 * The Faddeeva function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding w of each element
+	 */
+	public static ComplexArray faddeeva(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); faddeeva(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The error function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding erf of each element
+	 */
+	public static ComplexArray erf(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); erf(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The complementary error function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding erfc of each element
+	 */
+	public static ComplexArray erfc(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); erfc(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The scaled complementary error function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding erfcx of each element
+	 */
+	public static ComplexArray erfcx(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); erfcx(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The imaginary error function of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding erfi of each element
+	 */
+	public static ComplexArray erfi(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); erfi(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * Dawson's integral of every element of a ComplexArray
+	 * @param z the input
+	 * @return a new array holding D of each element
+	 */
+	public static ComplexArray dawson(ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); dawson(z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	
 	/**
 	 * The cumulative distribution function, measures the area under the bell curve. Unlike the error function, which integrates 2/√(π)*e^-x² from 0,
 	 * this integrates 1/√(2π)*e^(-x²/2) from -∞. It's taking the area under the standard Gaussian distribution, with mean 0 and standard deviation
@@ -651,13 +846,463 @@ public class Cpx2 extends Cpx {
   */
 	
 	
+	////////////////////////////////////////////////// LAMBERT W FUNCTION ////////////////////////////////////////////////
+	
+	//Every branch of W is computed on primitive doubles (see LambertKernels): it starts from a series, Padé, or asymptotic approximation,
+	//depending on where z is, then takes a couple of Halley steps.  The functions themselves only create their result.
+	
+	private static final ThreadLocal<LambertKernels> LAMBERT_KERNELS = ThreadLocal.withInitial(LambertKernels::new); //one result register per thread
+	
+	/**
+	 * The Lambert W function, also known as the product logarithm.  It's the inverse of we^w: W(z) is whichever w solves we^w=z.  It shows up
+	 * in delay differential equations, in counting trees, in the current through a diode, and anywhere else that x shows up both inside and
+	 * outside of an exponent.  This is the principal branch, which is real for every real input ≥ -1/e, and is cut along the real axis left of -1/e.
+	 * 
+	 * @param z the complex input
+	 * @return the principal branch of the Lambert W function
+	 */
+	public static Complex lambertW(Complex z) { return lambertWInto(0,z,new Complex()); }
+	
+	/**
+	 * The k-th branch of the Lambert W function.  Since we^w isn't one-to-one, we^w=z has infinitely many solutions, one on each branch.  The
+	 * branches are numbered the standard way: W<sub>0</sub> is the principal branch, W<sub>-1</sub> is the other branch that's real (for real
+	 * inputs between -1/e and 0), and the imaginary part of W<sub>k</sub> is roughly 2πk for large k.  Every branch other than 0 is cut along
+	 * the entire negative real axis, and the points on a cut belong to the branch above them.
+	 * 
+	 * @param k the branch
+	 * @param z the complex input
+	 * @return the k-th branch of the Lambert W function
+	 */
+	public static Complex lambertW(int k, Complex z) { return lambertWInto(k,z,new Complex()); }
+	
+	/**
+	 * The k-th branch of the Lambert W function, W<sub>k</sub>(z), written into dst.  Creates no objects.
+	 * @param k the branch
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding W<sub>k</sub>(z)
+	 */
+	public static Complex lambertWInto(int k, Complex z, Complex dst) { LambertKernels l=LAMBERT_KERNELS.get(); l.lambertW(k,z.re,z.im); dst.set(l.re,l.im); return dst; }
+	
+	/**
+	 * The k-th branch of the Lambert W function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param k the branch
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void lambertW(int k, double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		LambertKernels l=new LambertKernels();
+		for(int n=from;n<to;n++) { l.lambertW(k,re[n],im==null ? 0 : im[n]); dr[n]=l.re; di[n]=l.im; }
+	}
+	
+	/**
+	 * The k-th branch of the Lambert W function of every element of a ComplexArray
+	 * @param k the branch
+	 * @param z the input
+	 * @return a new array holding W<sub>k</sub> of each element
+	 */
+	public static ComplexArray lambertW(int k, ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); lambertW(k,z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	
+	
+	////////////////////////////////////////////////// BESSEL FUNCTIONS ////////////////////////////////////////////////
+	
+	//These are computed on primitive doubles (see BesselKernels), for integer orders.  Every evaluation computes every order from 0 up to n at
+	//once (that's how the recurrences work), so if you need more than one order, the Orders functions give you all of them for the price of one.
+	
+	private static final ThreadLocal<BesselKernels> BESSEL_KERNELS = ThreadLocal.withInitial(BesselKernels::new); //one result register per thread
+	
+	/**
+	 * The Bessel function of the first kind, J<sub>n</sub>(z).  It's the solution to Bessel's equation, z²f''+zf'+(z²-n²)f=0, that stays finite
+	 * at 0.  It shows up whenever waves spread out in circles or cylinders: vibrating drumheads, waveguides, diffraction through a round hole, FM
+	 * synthesis, etc.  For real inputs it oscillates like a cosine that slowly dies down.  It takes complex inputs, and any integer order.
+	 * 
+	 * @param n the order
+	 * @param z the complex input
+	 * @return the Bessel function of the first kind
+	 */
+	public static Complex besselJ(int n, Complex z) { return besselJInto(n,z,new Complex()); }
+	
+	/**
+	 * The Bessel function of the second kind, Y<sub>n</sub>(z) (also known as the Neumann function).  It's the other solution to Bessel's equation,
+	 * the one that's infinite at 0.  For real inputs it oscillates like a sine that slowly dies down.  It's cut along the negative real axis, and
+	 * points on the cut belong to the side above it.
+	 * 
+	 * @param n the order
+	 * @param z the complex input
+	 * @return the Bessel function of the second kind
+	 */
+	public static Complex besselY(int n, Complex z) { return besselYInto(n,z,new Complex()); }
+	
+	/**
+	 * The modified Bessel function of the first kind, I<sub>n</sub>(z).  It's J<sub>n</sub> rotated a quarter turn (I<sub>n</sub>(z) =
+	 * i<sup>-n</sup>J<sub>n</sub>(iz)), which solves Bessel's equation with the sign of z² flipped.  For real inputs it grows like e<sup>|x|</sup>,
+	 * and it shows up in heat flow through cylinders, the von Mises distribution, and Kaiser windows.
+	 * 
+	 * @param n the order
+	 * @param z the complex input
+	 * @return the modified Bessel function of the first kind
+	 */
+	public static Complex besselI(int n, Complex z) { return besselIInto(n,z,new Complex()); }
+	
+	/**
+	 * The modified Bessel function of the second kind, K<sub>n</sub>(z).  It's the solution to the modified Bessel equation that decays like
+	 * e<sup>-z</sup> as z goes to +∞ (and is infinite at 0).  It shows up in diffusion, in the field around a charged wire in a conductor, and in the
+	 * Matérn covariance.  It's cut along the negative real axis, and points on the cut belong to the side above it.
+	 * 
+	 * @param n the order
+	 * @param z the complex input
+	 * @return the modified Bessel function of the second kind
+	 */
+	public static Complex besselK(int n, Complex z) { return besselKInto(n,z,new Complex()); }
+	
+	/**
+	 * The Bessel function of the first kind, J<sub>n</sub>(z), written into dst.  Creates no objects.
+	 * @param n the order
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding J<sub>n</sub>(z)
+	 */
+	public static Complex besselJInto(int n, Complex z, Complex dst) { BesselKernels k=BESSEL_KERNELS.get(); k.order(BesselKernels.J,n,z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The Bessel function of the second kind, Y<sub>n</sub>(z), written into dst.  Creates no objects.
+	 * @param n the order
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding Y<sub>n</sub>(z)
+	 */
+	public static Complex besselYInto(int n, Complex z, Complex dst) { BesselKernels k=BESSEL_KERNELS.get(); k.order(BesselKernels.Y,n,z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The modified Bessel function of the first kind, I<sub>n</sub>(z), written into dst.  Creates no objects.
+	 * @param n the order
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding I<sub>n</sub>(z)
+	 */
+	public static Complex besselIInto(int n, Complex z, Complex dst) { BesselKernels k=BESSEL_KERNELS.get(); k.order(BesselKernels.I,n,z.re,z.im); dst.set(k.re,k.im); return dst; }
+	/**
+	 * The modified Bessel function of the second kind, K<sub>n</sub>(z), written into dst.  Creates no objects.
+	 * @param n the order
+	 * @param z complex input
+	 * @param dst the destination (may be z)
+	 * @return dst, holding K<sub>n</sub>(z)
+	 */
+	public static Complex besselKInto(int n, Complex z, Complex dst) { BesselKernels k=BESSEL_KERNELS.get(); k.order(BesselKernels.K,n,z.re,z.im); dst.set(k.re,k.im); return dst; }
+	
+	/**
+	 * Every order of the Bessel function of the first kind from 0 through maxOrder, all at once.  This costs about as much as computing order maxOrder alone.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param z complex input
+	 * @return a new array holding J<sub>0</sub>(z) through J<sub>maxOrder</sub>(z)
+	 */
+	public static ComplexArray besselJOrders(int maxOrder, Complex z) {
+		BesselKernels k=BESSEL_KERNELS.get(); k.orders(BesselKernels.J,maxOrder,z.re,z.im);
+		return new ComplexArray(Arrays.copyOf(k.ore,maxOrder+1),Arrays.copyOf(k.oim,maxOrder+1));
+	}
+	/**
+	 * Every order of the Bessel function of the second kind from 0 through maxOrder, all at once.  This costs about as much as computing order maxOrder alone.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param z complex input
+	 * @return a new array holding Y<sub>0</sub>(z) through Y<sub>maxOrder</sub>(z)
+	 */
+	public static ComplexArray besselYOrders(int maxOrder, Complex z) {
+		BesselKernels k=BESSEL_KERNELS.get(); k.orders(BesselKernels.Y,maxOrder,z.re,z.im);
+		return new ComplexArray(Arrays.copyOf(k.ore,maxOrder+1),Arrays.copyOf(k.oim,maxOrder+1));
+	}
+	/**
+	 * Every order of the modified Bessel function of the first kind from 0 through maxOrder, all at once.  This costs about as much as computing order maxOrder alone.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param z complex input
+	 * @return a new array holding I<sub>0</sub>(z) through I<sub>maxOrder</sub>(z)
+	 */
+	public static ComplexArray besselIOrders(int maxOrder, Complex z) {
+		BesselKernels k=BESSEL_KERNELS.get(); k.orders(BesselKernels.I,maxOrder,z.re,z.im);
+		return new ComplexArray(Arrays.copyOf(k.ore,maxOrder+1),Arrays.copyOf(k.oim,maxOrder+1));
+	}
+	/**
+	 * Every order of the modified Bessel function of the second kind from 0 through maxOrder, all at once.  This costs about as much as computing order maxOrder alone.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param z complex input
+	 * @return a new array holding K<sub>0</sub>(z) through K<sub>maxOrder</sub>(z)
+	 */
+	public static ComplexArray besselKOrders(int maxOrder, Complex z) {
+		BesselKernels k=BESSEL_KERNELS.get(); k.orders(BesselKernels.K,maxOrder,z.re,z.im);
+		return new ComplexArray(Arrays.copyOf(k.ore,maxOrder+1),Arrays.copyOf(k.oim,maxOrder+1));
+	}
+	
+	/**
+	 * The Bessel function of the first kind of order n, of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param n the order
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselJ(int n, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselFamily(BesselKernels.J,n,re,im,dr,di,from,to); }
+	/**
+	 * The Bessel function of the second kind of order n, of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param n the order
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselY(int n, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselFamily(BesselKernels.Y,n,re,im,dr,di,from,to); }
+	/**
+	 * The modified Bessel function of the first kind of order n, of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param n the order
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselI(int n, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselFamily(BesselKernels.I,n,re,im,dr,di,from,to); }
+	/**
+	 * The modified Bessel function of the second kind of order n, of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param n the order
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselK(int n, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselFamily(BesselKernels.K,n,re,im,dr,di,from,to); }
+	
+	/**
+	 * Every order of the Bessel function of the first kind from 0 through maxOrder, of every element in [from,to) of a split array.  The orders of element p go in
+	 * indices p*(maxOrder+1) through p*(maxOrder+1)+maxOrder of the destination, so it needs to hold at least to*(maxOrder+1) numbers.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselJOrders(int maxOrder, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselOrders(BesselKernels.J,maxOrder,re,im,dr,di,from,to); }
+	/**
+	 * Every order of the Bessel function of the second kind from 0 through maxOrder, of every element in [from,to) of a split array.  The orders of element p go in
+	 * indices p*(maxOrder+1) through p*(maxOrder+1)+maxOrder of the destination, so it needs to hold at least to*(maxOrder+1) numbers.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselYOrders(int maxOrder, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselOrders(BesselKernels.Y,maxOrder,re,im,dr,di,from,to); }
+	/**
+	 * Every order of the modified Bessel function of the first kind from 0 through maxOrder, of every element in [from,to) of a split array.  The orders of element p go in
+	 * indices p*(maxOrder+1) through p*(maxOrder+1)+maxOrder of the destination, so it needs to hold at least to*(maxOrder+1) numbers.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselIOrders(int maxOrder, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselOrders(BesselKernels.I,maxOrder,re,im,dr,di,from,to); }
+	/**
+	 * Every order of the modified Bessel function of the second kind from 0 through maxOrder, of every element in [from,to) of a split array.  The orders of element p go in
+	 * indices p*(maxOrder+1) through p*(maxOrder+1)+maxOrder of the destination, so it needs to hold at least to*(maxOrder+1) numbers.
+	 * @param maxOrder the highest order (non-negative)
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void besselKOrders(int maxOrder, double[] re, double[] im, double[] dr, double[] di, int from, int to) { besselOrders(BesselKernels.K,maxOrder,re,im,dr,di,from,to); }
+	
+	/**
+	 * The Bessel function of the first kind of order n, of every element of a ComplexArray
+	 * @param n the order
+	 * @param z the input
+	 * @return a new array holding J<sub>n</sub> of each element
+	 */
+	public static ComplexArray besselJ(int n, ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); besselJ(n,z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The Bessel function of the second kind of order n, of every element of a ComplexArray
+	 * @param n the order
+	 * @param z the input
+	 * @return a new array holding Y<sub>n</sub> of each element
+	 */
+	public static ComplexArray besselY(int n, ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); besselY(n,z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The modified Bessel function of the first kind of order n, of every element of a ComplexArray
+	 * @param n the order
+	 * @param z the input
+	 * @return a new array holding I<sub>n</sub> of each element
+	 */
+	public static ComplexArray besselI(int n, ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); besselI(n,z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	/**
+	 * The modified Bessel function of the second kind of order n, of every element of a ComplexArray
+	 * @param n the order
+	 * @param z the input
+	 * @return a new array holding K<sub>n</sub> of each element
+	 */
+	public static ComplexArray besselK(int n, ComplexArray z) { ComplexArray d=new ComplexArray(z.length()); besselK(n,z.re,z.im,d.re,d.im,0,z.length()); return d; }
+	
+	private static void besselFamily(int func, int n, double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		BesselKernels k=new BesselKernels();
+		for(int p=from;p<to;p++) { k.order(func,n,re[p],im==null ? 0 : im[p]); dr[p]=k.re; di[p]=k.im; }
+	}
+	
+	private static void besselOrders(int func, int maxOrder, double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		BesselKernels k=new BesselKernels();
+		for(int p=from;p<to;p++) {
+			k.orders(func,maxOrder,re[p],im==null ? 0 : im[p]);
+			System.arraycopy(k.ore,0,dr,p*(maxOrder+1),maxOrder+1); System.arraycopy(k.oim,0,di,p*(maxOrder+1),maxOrder+1);
+		}
+	}
+	
+	
+	////////////////////////////////////////////////// ZETA FUNCTIONS ////////////////////////////////////////////////
+	
+	//These are computed on primitive doubles (see ZetaKernels): Euler-Maclaurin summation (with the Bernoulli table) for the Hurwitz and Riemann
+	//zeta functions, and Riemann-Siegel high on the critical line.  The Line functions evaluate whole grids along a vertical line, turning each
+	//term of the sum forward from one point to the next instead of recomputing it, so they're many times faster per point than one at a time.
+	
+	private static final ThreadLocal<ZetaKernels> ZETA_KERNELS = ThreadLocal.withInitial(ZetaKernels::new); //one result register per thread
+	
+	/**
+	 * The Riemann zeta function, ζ(s) = 1 + 1/2<sup>s</sup> + 1/3<sup>s</sup> + 1/4<sup>s</sup> + ..., continued to the whole complex plane (except for
+	 * its pole at s=1).  It's the generating function for the primes, and its zeros on the line Re(s)=1/2 control how they're spread out.  It's 0
+	 * at the negative even integers, and ζ(2)=π²/6.
+	 * 
+	 * <br><br>Away from the critical line, this takes time proportional to |s|, so for large imaginary parts, the Line functions are much faster.
+	 * 
+	 * @param s the complex input
+	 * @return the Riemann zeta function
+	 */
+	public static Complex zeta(Complex s) { return zetaInto(s,new Complex()); }
+	
+	/**
+	 * The Hurwitz zeta function, ζ(s,a) = 1/a<sup>s</sup> + 1/(a+1)<sup>s</sup> + 1/(a+2)<sup>s</sup> + ..., continued to every s ≠ 1.  ζ(s,1) is the Riemann
+	 * zeta function, and ζ(s,a) also gives the polygamma functions, the Dirichlet L-functions, and the Bernoulli polynomials (at the negative integers).
+	 * Each term uses the principal branch of the power.  It's accurate to the last few digits when Re(s) ≥ 0.  Left of that, the direct sum's
+	 * terms grow and cancel each other out, so for real a, it uses the functional equation instead when a is an integer, and Hurwitz's formula
+	 * when Re(s) ≤ -5 (either one keeps it to within about 10⁻¹⁴ or so).  For complex a, or -5 &lt; Re(s) &lt; 0 with a not an integer, it still
+	 * sums directly, and the relative error grows to about 10⁻¹⁶·14<sup>1-Re(s)</sup>/|ζ(s,a)| (around 10⁻¹⁰ at ζ(-3.5,1/4), say).
+	 * 
+	 * @param s the complex exponent
+	 * @param a the complex offset (not 0 or a negative integer)
+	 * @return the Hurwitz zeta function
+	 */
+	public static Complex hurwitzZeta(Complex s, Complex a) { return hurwitzZetaInto(s,a,new Complex()); }
+	
+	/**
+	 * The Riemann zeta function, ζ(s), written into dst.  Creates no objects.
+	 * @param s complex input
+	 * @param dst the destination (may be s)
+	 * @return dst, holding ζ(s)
+	 */
+	public static Complex zetaInto(Complex s, Complex dst) { ZetaKernels k=ZETA_KERNELS.get(); k.zeta(s.re,s.im); dst.set(k.re,k.im); return dst; }
+	
+	/**
+	 * The Hurwitz zeta function, ζ(s,a), written into dst.  Creates no objects.
+	 * @param s complex exponent
+	 * @param a complex offset
+	 * @param dst the destination (may be s or a)
+	 * @return dst, holding ζ(s,a)
+	 */
+	public static Complex hurwitzZetaInto(Complex s, Complex a, Complex dst) { ZetaKernels k=ZETA_KERNELS.get(); k.hurwitz(s.re,s.im,a.re,a.im); dst.set(k.re,k.im); return dst; }
+	
+	/**
+	 * The Riemann-Siegel theta function, θ(t) = arg(Γ(1/4+it/2)) - t·ln(π)/2, which is continuous (and odd).  It's the phase of ζ on the critical line:
+	 * ζ(1/2+it) = Z(t)e<sup>-iθ(t)</sup>.
+	 * @param t the real input
+	 * @return θ(t)
+	 */
+	public static double riemannSiegelTheta(double t) { return ZETA_KERNELS.get().theta(t); }
+	
+	/**
+	 * The Riemann-Siegel Z function, Z(t) = e<sup>iθ(t)</sup>ζ(1/2+it).  It's real (and even) for real t, and |Z(t)| = |ζ(1/2+it)|, so the zeros on the
+	 * critical line are exactly where it changes sign.  Past t=5000, it's computed with the Riemann-Siegel formula, which only takes √(t/2π) terms.
+	 * @param t the real input
+	 * @return Z(t)
+	 */
+	public static double riemannSiegelZ(double t) { return ZETA_KERNELS.get().riemannSiegelZ(t); }
+	
+	/**
+	 * The Riemann zeta function of every element in [from,to) of a split array.  The destination may be the input.
+	 * @param re real parts of the input
+	 * @param im imaginary parts of the input (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void zeta(double[] re, double[] im, double[] dr, double[] di, int from, int to) {
+		ZetaKernels k=new ZetaKernels();
+		for(int n=from;n<to;n++) { k.zeta(re[n],im==null ? 0 : im[n]); dr[n]=k.re; di[n]=k.im; }
+	}
+	
+	/**
+	 * The Riemann zeta function of every element of a ComplexArray
+	 * @param s the input
+	 * @return a new array holding ζ of each element
+	 */
+	public static ComplexArray zeta(ComplexArray s) { ComplexArray d=new ComplexArray(s.length()); zeta(s.re,s.im,d.re,d.im,0,s.length()); return d; }
+	
+	/**
+	 * The Riemann zeta function along a vertical line: ζ(σ+it) at every t = t0+jΔt, for each index j in [from,to), written into (dr[j],di[j]).
+	 * <br><br>Each term of the sum only turns by a fixed angle from one point to the next, so after the first point, each term costs one complex
+	 * multiplication instead of an exp, a cos and a sin.  Once there are more than a handful of points, this is far faster than calling
+	 * <code>zeta</code> on each of them (10 to 20 times faster for a few thousand points high up on the critical line).
+	 * @param sigma the real part, σ
+	 * @param t0 the imaginary part at index 0
+	 * @param dt the spacing, Δt (may be negative)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void zetaLine(double sigma, double t0, double dt, double[] dr, double[] di, int from, int to) {
+		new ZetaKernels().zetaLine(sigma,t0,dt,dr,di,from,to);
+	}
+	
+	/**
+	 * The Riemann zeta function along a vertical line, at n evenly spaced points: ζ(σ+i(t0+jΔt)), for j from 0 to n-1.
+	 * @param sigma the real part, σ
+	 * @param t0 the first imaginary part
+	 * @param dt the spacing, Δt
+	 * @param n the number of points
+	 * @return a new array holding ζ at each point
+	 */
+	public static ComplexArray zetaLine(double sigma, double t0, double dt, int n) { ComplexArray d=new ComplexArray(n); zetaLine(sigma,t0,dt,d.re,d.im,0,n); return d; }
+	
+	/**
+	 * The Riemann-Siegel Z function at every t = t0+jΔt, for each index j in [from,to), written into dst[j].  Like <code>zetaLine</code>, this turns each
+	 * term forward from one point to the next instead of recomputing it, which is ideal for hunting zeros (sign changes) along the critical line.
+	 * @param t0 the input at index 0
+	 * @param dt the spacing, Δt (may be negative)
+	 * @param dst the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void riemannSiegelZ(double t0, double dt, double[] dst, int from, int to) {
+		new ZetaKernels().riemannSiegelZ(t0,dt,dst,from,to);
+	}
+	
+	
 	/* THINGS TO DO:
 	 * add fsincos
 	 * 
 	 * add inverse error functions
-	 * add Dawson functions
-	 * add Faddeeva functions
-	 * make polygamma functions more accurate
 	 * 
 	 * make the Fresnel functions work for large inputs with a tiny imaginary part
 	 * 
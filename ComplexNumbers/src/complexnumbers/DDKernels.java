@@ -0,0 +1,432 @@
+package complexnumbers;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Double-double arithmetic: each real number is held as an unevaluated sum hi+lo of two doubles, with |lo| ≤ ulp(hi)/2, for about 106
+ * bits (32 digits) of precision.  Everything is built on two error-free transformations: TwoSum, which finds the exact rounding error of
+ * a+b with a few additions, and TwoProd, which finds the exact rounding error of a·b with one <code>Math.fma</code>.
+ *
+ * <br><br>The elementary functions reduce their argument, then sum a short Taylor series in double-double: exp reduces by ln(2) and then by
+ * 2⁹ (squaring back up afterwards), sin & cos reduce by π/2 with a three-part π/2 (or, past 2³⁰, in big decimal arithmetic with as many
+ * digits of π as it takes).  log takes one Newton step on exp from the double
+ * precision log (which doubles the number of correct digits), except near 1, where it sums the series of 2atanh((a-1)/(a+1)) instead.
+ * atan2 takes one Newton step on sin & cos from the double precision atan2.
+ *
+ * <br><br>As with <code>GammaKernels</code>, results are left in fields: real results in <code>hi</code> & <code>lo</code>, complex results in
+ * <code>rh</code>, <code>rl</code>, <code>ih</code> & <code>il</code>, so each thread needs its own instance.  The complex functions use the real
+ * ones, so they copy what they need into locals first.  Finite inputs are assumed; infinities & NaNs come out as infinities & NaNs, but not
+ * always with the same signs as <code>Complex</code>.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class DDKernels extends Mafs {
+
+	static final double PI_HI = 3.141592653589793, PI_LO = 1.2246467991473532e-16;                      //π
+	static final double PIO2_HI = 1.5707963267948966, PIO2_MID = 6.123233995736766e-17, PIO2_LO = -1.4973849048591698e-33; //π/2, in three parts
+	static final double LN2_HI = 0.6931471805599453, LN2_MID = 2.3190468138462996e-17, LN2_LO = 5.707708438416212e-34; //ln(2), in three parts
+	static final double E_HI = 2.718281828459045, E_LO = 1.4456468917292502e-16;                        //e
+	static final int TAYLOR = 28;                                                                       //how many terms of the Taylor series we keep
+	static final double[] INV_FACT_HI = new double[TAYLOR], INV_FACT_LO = new double[TAYLOR];           //1/n!, as double-doubles
+	static {
+		final DDKernels k=new DDKernels();
+		INV_FACT_HI[0]=1;
+		for(int n=1;n<TAYLOR;n++) { k.div(INV_FACT_HI[n-1],INV_FACT_LO[n-1],n,0); INV_FACT_HI[n]=k.hi; INV_FACT_LO[n]=k.lo; }
+	}
+	static final double EPS = 1e-33; //once a term is this small (relative to the sum), the rest of the series is below rounding
+	static final double REDUCE_EXACT = 0x1p30; //past this, k·π/2 needs more of π than the three parts hold, so sincos reduces exactly
+
+	/** The last real result */
+	double hi, lo;
+	/** The last complex result */
+	double rh, rl, ih, il;
+	/** The last results of <code>sincos</code> (or <code>sinhcosh</code>) */
+	double sh, sl, ch, cl;
+
+	//////////////////// ERROR-FREE TRANSFORMATIONS ////////////////////
+
+	/** hi+lo = a+b exactly (Knuth's TwoSum) */
+	void twoSum(double a, double b) { final double s=a+b, v=s-a; hi=s; lo=(a-(s-v))+(b-v); }
+	/** hi+lo = a+b exactly, as long as |a| ≥ |b| (Dekker's FastTwoSum) */
+	void quickTwoSum(double a, double b) { final double s=a+b; hi=s; lo=b-(s-a); }
+	/** hi+lo = a·b exactly (as long as it doesn't underflow; if it overflows, lo=0) */
+	void twoProd(double a, double b) { final double p=a*b; hi=p; lo=Double.isFinite(p) ? Math.fma(a,b,-p) : 0; }
+
+	//////////////////// REAL ARITHMETIC ////////////////////
+
+	/** (ah+al) + (bh+bl) */
+	void add(double ah, double al, double bh, double bl) {
+		double s=ah+bh;
+		if(!Double.isFinite(s)) { hi=s; lo=0; return; } //(the error terms would be ∞-∞)
+		final double v=s-ah; double e=(ah-(s-v))+(bh-v); //TwoSum of the leading parts
+		final double t=al+bl, w=t-al, f=(al-(t-w))+(bl-w); //and of the trailing parts
+		e+=t; double h=s+e;
+		if(!Double.isFinite(h)) { hi=h; lo=0; return; }
+		e-=h-s; s=h;
+		e+=f; h=s+e;
+		if(!Double.isFinite(h)) { hi=h; lo=0; return; }
+		hi=h; lo=e-(h-s);
+	}
+
+	/** (ah+al) · (bh+bl) */
+	void mul(double ah, double al, double bh, double bl) {
+		final double p=ah*bh;
+		if(!Double.isFinite(p)) { hi=p; lo=0; return; }
+		final double e=Math.fma(ah,bh,-p)+(ah*bl+al*bh);
+		final double h=p+e; hi=h; lo=e-(h-p);
+	}
+
+	/** (ah+al) · b */
+	void mul(double ah, double al, double b) {
+		final double p=ah*b;
+		if(!Double.isFinite(p)) { hi=p; lo=0; return; }
+		final double e=Math.fma(ah,b,-p)+al*b;
+		final double h=p+e; hi=h; lo=e-(h-p);
+	}
+
+	/** (ah+al)² */
+	void sq(double ah, double al) {
+		final double p=ah*ah;
+		if(!Double.isFinite(p)) { hi=p; lo=0; return; }
+		final double e=Math.fma(ah,ah,-p)+2*ah*al;
+		final double h=p+e; hi=h; lo=e-(h-p);
+	}
+
+	/** (ah+al) / (bh+bl), by long division: three quotient digits, each a double */
+	void div(double ah, double al, double bh, double bl) {
+		final double q1=ah/bh;
+		if(!Double.isFinite(q1) || bh==0) { hi=q1; lo=0; return; }
+		mul(bh,bl,q1); add(ah,al,-hi,-lo);      //r = a - q1·b
+		final double rh=hi, rl=lo, q2=rh/bh;
+		mul(bh,bl,q2); add(rh,rl,-hi,-lo);      //r -= q2·b
+		final double q3=hi/bh;
+		quickTwoSum(q1,q2); add(hi,lo,q3,0);
+	}
+
+	/** √(ah+al), from the double precision reciprocal square root with one correction (Karp's trick) */
+	void sqrt(double ah, double al) {
+		if(!(ah>0) || ah==INF) { hi=Math.sqrt(ah); lo=0; return; } //0, negative, infinite or NaN
+		final double x=1/Math.sqrt(ah), ax=ah*x;                      //≈ √a
+		twoProd(ax,ax); add(ah,al,-hi,-lo);                           //a - (√a)²
+		quickTwoSum(ax,hi*(0.5*x));
+	}
+
+	/** e<sup>ah+al</sup> */
+	void exp(double ah, double al) {
+		if(ah>709.79) { hi=ah!=ah ? ah : INF; lo=0; return; }
+		if(ah<-745.2) { hi=lo=0; return; }
+		final double m=Math.rint(ah/LN2_HI);
+		twoProd(m,LN2_HI);  add(ah,al,-hi,-lo);   //r = a - m·ln(2), each product computed exactly (like the reduction in sincos)
+		final double r1=hi, r1l=lo;
+		twoProd(m,LN2_MID); add(r1,r1l,-hi,-lo);
+		add(hi,lo,-m*LN2_LO,0);
+		final double rh=hi*0x1p-9, rl=lo*0x1p-9;   //divided by 2⁹, so the series converges in a handful of terms
+		double sh=rh, sl=rl, ph=rh, pl=rl;         //e^r - 1, and r^n
+		for(int n=2;n<TAYLOR;n++) {
+			mul(ph,pl,rh,rl); ph=hi; pl=lo;
+			mul(ph,pl,INV_FACT_HI[n],INV_FACT_LO[n]); //r^n/n!
+			final double th=hi;
+			add(sh,sl,hi,lo); sh=hi; sl=lo;
+			if(Math.abs(th)<=EPS*Math.abs(sh)) { break; }
+		}
+		for(int n=0;n<9;n++) { //e^(2r)-1 = (e^r-1)(e^r-1+2)
+			add(sh,sl,2,0); mul(sh,sl,hi,lo); sh=hi; sl=lo;
+		}
+		add(sh,sl,1,0);
+		final int e=(int)m;
+		hi=Math.scalb(hi,e); lo=Math.scalb(lo,e);
+	}
+
+	/** ln(ah+al) */
+	void log(double ah, double al) {
+		if(!(ah>0) || ah==INF) { hi=Math.log(ah); lo=0; return; } //0, negative, infinite or NaN
+		add(ah,al,-1,0);                                          //a-1, which is exact near 1
+		if(Math.abs(hi)<0.0625) { log1p(hi,lo); return; }
+		final int e=Math.getExponent(ah);                 //ln(a) = e·ln(2) + ln(a/2^e), both parts scaled exactly: otherwise, e^-x's low
+		ah=Math.scalb(ah,-e); al=Math.scalb(al,-e);       //part would underflow (or a·e^-x's would) when a is huge or tiny
+		final double x=Math.log(ah);                      //x + a·e^-x - 1
+		exp(-x,0); mul(ah,al,hi,lo); add(hi,lo,-1,0);
+		add(x,0,hi,lo);
+		if(e!=0) { final double lh=hi, ll=lo; mul(LN2_HI,LN2_MID,e); add(hi,lo,lh,ll); }
+	}
+
+	/** ln(1+uh+ul), for |u| < 1/16, without rounding 1+u first */
+	void log1p(double uh, double ul) { //2atanh(u/(u+2)) = 2(t + t³/3 + t⁵/5 + ...)
+		add(uh,ul,2,0); div(uh,ul,hi,lo); final double t_h=hi, t_l=lo;
+		sq(t_h,t_l); final double qh=hi, ql=lo;
+		double sh=t_h, sl=t_l, ph=t_h, pl=t_l;
+		for(int n=3;n<2*TAYLOR;n+=2) {
+			mul(ph,pl,qh,ql); ph=hi; pl=lo;
+			div(ph,pl,n,0);
+			final double th=hi, tl=lo;
+			add(sh,sl,th,tl); sh=hi; sl=lo;
+			if(Math.abs(th)<=EPS*Math.abs(sh)) { break; }
+		}
+		hi=2*sh; lo=2*sl;
+	}
+
+	/** Sets (sh,sl) to sin(ah+al) and (ch,cl) to cos(ah+al) */
+	void sincos(double ah, double al) {
+		if(!Double.isFinite(ah)) { sh=ch=Double.NaN; sl=cl=0; return; }
+		final int q;
+		if(Math.abs(ah)<REDUCE_EXACT) {
+			final double k=Math.rint(ah/PIO2_HI);
+			twoProd(k,PIO2_HI);  add(ah,al,-hi,-lo);   //r = a - kπ/2, each product computed exactly, so nothing's lost to cancellation
+			final double r1=hi, r1l=lo;
+			twoProd(k,PIO2_MID); add(r1,r1l,-hi,-lo);
+			add(hi,lo,-k*PIO2_LO,0);
+			q=(int)((long)k&3);
+		}
+		else { q=reduce(ah,al); }
+		final double rh=hi, rl=lo;
+		double s1=rh, s2=rl, c1=1, c2=0, ph=rh, pl=rl; //the series of sin & cos, and r^n
+		for(int n=2;n<TAYLOR;n+=2) {
+			final double sign=(n&2)==0 ? 1 : -1;
+			mul(ph,pl,rh,rl); ph=hi; pl=lo;
+			mul(ph,pl,INV_FACT_HI[n],INV_FACT_LO[n]);   add(c1,c2,sign*hi,sign*lo); c1=hi; c2=lo; //± r^n/n!
+			mul(ph,pl,rh,rl); ph=hi; pl=lo;
+			mul(ph,pl,INV_FACT_HI[n+1],INV_FACT_LO[n+1]); final double th=hi;
+			add(s1,s2,sign*hi,sign*lo); s1=hi; s2=lo;                                     //± r^(n+1)/(n+1)!
+			if(Math.abs(th)<=EPS) { break; }
+		}
+		switch(q) { //rotate into the right quadrant
+			case 0:  sh= s1; sl= s2; ch= c1; cl= c2; break;
+			case 1:  sh= c1; sl= c2; ch=-s1; cl=-s2; break;
+			case 2:  sh=-s1; sl=-s2; ch=-c1; cl=-c2; break;
+			default: sh=-c1; sl=-c2; ch= s1; cl= s2; break;
+		}
+	}
+
+	/**
+	 * hi+lo = a - kπ/2, for the integer k nearest to a/(π/2), and returns k mod 4.  It's done in big decimal arithmetic, with enough digits
+	 * of π that k·π/2 is still right to about 10⁻⁶⁰ (the remainder can be as small as about 2⁻⁶⁰, since that's how close a double can get
+	 * to a multiple of π/2, and it still needs all 106 bits).
+	 */
+	int reduce(double ah, double al) {
+		final BigDecimal a=new BigDecimal(ah).add(new BigDecimal(al));
+		final int p=(int)(Math.getExponent(ah)*0.30103)+70;                        //the digits in k, plus 70
+		final BigDecimal pio2=BigKernels.pi(p).multiply(BigDecimal.valueOf(5,1));  //(halving is exact)
+		final BigDecimal k=a.divide(pio2,new MathContext(p)).setScale(0,RoundingMode.HALF_EVEN);
+		final BigDecimal r=a.subtract(k.multiply(pio2));
+		hi=r.doubleValue(); lo=r.subtract(new BigDecimal(hi)).doubleValue();
+		return k.toBigInteger().intValue()&3; //(the low bits of the two's complement, so this works for negative k too)
+	}
+
+	/** Sets (sh,sl) to sinh(ah+al) and (ch,cl) to cosh(ah+al) */
+	void sinhcosh(double ah, double al) {
+		if(Math.abs(ah)<0.5) { //small enough that sinh would cancel: sum both series
+			double s1=ah, s2=al, c1=1, c2=0, ph=ah, pl=al;
+			for(int n=2;n<TAYLOR;n+=2) {
+				mul(ph,pl,ah,al); ph=hi; pl=lo;
+				mul(ph,pl,INV_FACT_HI[n],INV_FACT_LO[n]);     add(c1,c2,hi,lo); c1=hi; c2=lo;
+				mul(ph,pl,ah,al); ph=hi; pl=lo;
+				mul(ph,pl,INV_FACT_HI[n+1],INV_FACT_LO[n+1]); final double th=hi;
+				add(s1,s2,hi,lo); s1=hi; s2=lo;
+				if(Math.abs(th)<=EPS*Math.abs(s1)) { break; }
+			}
+			sh=s1; sl=s2; ch=c1; cl=c2; return;
+		}
+		exp(Math.abs(ah),Math.abs(ah)==ah ? al : -al); final double eh=hi, el=lo; //e^|a|
+		if(eh==INF) { sh=Math.copySign(INF,ah); ch=INF; sl=cl=0; return; }
+		div(1,0,eh,el); final double ih=hi, il=lo;                                //e^-|a|
+		add(eh,el,-ih,-il); sh=0.5*hi; sl=0.5*lo;
+		if(ah<0) { sh=-sh; sl=-sl; }
+		add(eh,el,ih,il); ch=0.5*hi; cl=0.5*lo;
+	}
+
+	/** atan2(yh+yl, xh+xl), from the double precision atan2 with one Newton step */
+	void atan2(double yh, double yl, double xh, double xl) {
+		if(yh==0 && xh>=0 || Double.isInfinite(xh) || Double.isInfinite(yh) || xh!=xh || yh!=yh) { hi=Math.atan2(yh,xh); lo=0; return; }
+		if(yh==0) { hi=Math.copySign(PI_HI,yh); lo=Math.copySign(PI_LO,yh); return; } //on the negative real axis
+		if(xh==0) { hi=Math.copySign(PIO2_HI,yh); lo=Math.copySign(PIO2_MID,yh); return; }
+		final int e=-Math.max(Math.getExponent(xh),Math.getExponent(yh)); //scale to about 1, so the trailing parts of the products can't underflow
+		xh=Math.scalb(xh,e); xl=Math.scalb(xl,e); yh=Math.scalb(yh,e); yl=Math.scalb(yl,e);
+		final double z=Math.atan2(yh,xh);
+		sincos(z,0); final double s1=sh, s2=sl, c1=ch, c2=cl;
+		//tan(θ-z) = (y·cos(z) - x·sin(z)) / (x·cos(z) + y·sin(z)), and θ-z is so small that it equals its tangent
+		mul(yh,yl,c1,c2); final double ah=hi, al=lo;
+		mul(xh,xl,s1,s2); add(ah,al,-hi,-lo); final double nh=hi, nl=lo;
+		mul(xh,xl,c1,c2); final double bh=hi, bl=lo;
+		mul(yh,yl,s1,s2); add(bh,bl,hi,lo);
+		div(nh,nl,hi,lo);
+		add(z,0,hi,lo);
+	}
+
+	//////////////////// COMPLEX ARITHMETIC ////////////////////
+
+	/** a + b */
+	void cadd(double arh, double arl, double aih, double ail, double brh, double brl, double bih, double bil) {
+		add(aih,ail,bih,bil); final double h=hi, l=lo;
+		add(arh,arl,brh,brl); rh=hi; rl=lo; ih=h; il=l;
+	}
+
+	/** a · b */
+	void cmul(double arh, double arl, double aih, double ail, double brh, double brl, double bih, double bil) {
+		mul(arh,arl,brh,brl); final double p1=hi, p2=lo;
+		mul(aih,ail,bih,bil); add(p1,p2,-hi,-lo); final double r1=hi, r2=lo;
+		mul(arh,arl,bih,bil); final double q1=hi, q2=lo;
+		mul(aih,ail,brh,brl); add(q1,q2,hi,lo);
+		rh=r1; rl=r2; ih=hi; il=lo;
+	}
+
+	/** a² */
+	void csq(double xh, double xl, double yh, double yl) {
+		add(xh,xl,yh,yl); final double p1=hi, p2=lo;
+		add(xh,xl,-yh,-yl); mul(p1,p2,hi,lo); final double r1=hi, r2=lo; //(x+y)(x-y)
+		mul(xh,xl,yh,yl);
+		rh=r1; rl=r2; ih=2*hi; il=2*lo;
+	}
+
+	/** a / b, with b scaled by a power of 2 first so that |b|² can't overflow or underflow */
+	void cdiv(double arh, double arl, double aih, double ail, double brh, double brl, double bih, double bil) {
+		final double big=Math.max(Math.abs(brh),Math.abs(bih));
+		if(big==0 || !Double.isFinite(big)) { //dividing by 0 or ∞: do it in double precision
+			final Complex q=new Complex(arh,aih).div(new Complex(brh,bih)); rh=q.re; ih=q.im; rl=il=0; return;
+		}
+		final int e=Math.getExponent(big);
+		brh=Math.scalb(brh,-e); brl=Math.scalb(brl,-e); bih=Math.scalb(bih,-e); bil=Math.scalb(bil,-e);
+		sq(brh,brl); final double d1=hi, d2=lo;
+		sq(bih,bil); add(d1,d2,hi,lo); final double dh=hi, dl=lo;      //|b|²
+		cmul(arh,arl,aih,ail,brh,brl,-bih,-bil);                       //a·conj(b)
+		final double xh=rh, xl=rl, yh=ih, yl=il;
+		div(yh,yl,dh,dl); final double qh=hi, ql=lo;
+		div(xh,xl,dh,dl);
+		rh=Math.scalb(hi,-e); rl=Math.scalb(lo,-e); ih=Math.scalb(qh,-e); il=Math.scalb(ql,-e);
+	}
+
+	/** |x+yi|², with no scaling */
+	void absq(double xh, double xl, double yh, double yl) {
+		sq(xh,xl); final double a=hi, b=lo;
+		sq(yh,yl); add(a,b,hi,lo);
+	}
+
+	/** |x+yi|, scaled by a power of 2 so the squares can't overflow or underflow */
+	void abs(double xh, double xl, double yh, double yl) {
+		final double big=Math.max(Math.abs(xh),Math.abs(yh));
+		if(big==0 || !Double.isFinite(big)) { hi=Math.hypot(xh,yh); lo=0; return; }
+		final int e=Math.getExponent(big);
+		absq(Math.scalb(xh,-e),Math.scalb(xl,-e),Math.scalb(yh,-e),Math.scalb(yl,-e));
+		sqrt(hi,lo); hi=Math.scalb(hi,e); lo=Math.scalb(lo,e);
+	}
+
+	/** The principal square root, √(x+yi) */
+	void csqrt(double xh, double xl, double yh, double yl) {
+		final double big=Math.max(Math.abs(xh),Math.abs(yh));
+		final int e=big>0 && big<INF ? Math.getExponent(big)&~1 : 0; //an even power of 2, so |z|+|x| can't overflow (or its low part underflow),
+		if(e==0) { sqrtScaled(xh,xl,yh,yl); return; }                //and the square root halves it exactly
+		sqrtScaled(Math.scalb(xh,-e),Math.scalb(xl,-e),Math.scalb(yh,-e),Math.scalb(yl,-e));
+		rh=Math.scalb(rh,e/2); rl=Math.scalb(rl,e/2); ih=Math.scalb(ih,e/2); il=Math.scalb(il,e/2);
+	}
+
+	/** √(x+yi), with |z| near 1 */
+	private void sqrtScaled(double xh, double xl, double yh, double yl) {
+		if(yh==0 && yl==0) {
+			if(xh>=0) { sqrt(xh,xl); rh=hi; rl=lo; ih=yh; il=0; return; }
+			sqrt(-xh,-xl); rh=0; rl=0; ih=Math.copySign(hi,yh); il=Math.copySign(1,yh)*lo; return;
+		}
+		abs(xh,xl,yh,yl);
+		if(xh>=0) { //t = √((|z|+x)/2), √z = t + iy/(2t)
+			add(hi,lo,xh,xl); sqrt(0.5*hi,0.5*lo); final double th=hi, tl=lo;
+			div(yh,yl,2*th,2*tl);
+			rh=th; rl=tl; ih=hi; il=lo;
+		}
+		else {      //t = √((|z|-x)/2), √z = |y|/(2t) + i·sgn(y)t
+			add(hi,lo,-xh,-xl); sqrt(0.5*hi,0.5*lo); final double th=hi, tl=lo;
+			div(Math.abs(yh),yh<0 ? -yl : yl,2*th,2*tl);
+			rh=hi; rl=lo;
+			if(yh<0) { ih=-th; il=-tl; } else { ih=th; il=tl; }
+		}
+	}
+
+	/** e<sup>x+yi</sup> */
+	void cexp(double xh, double xl, double yh, double yl) {
+		exp(xh,xl); final double eh=hi, el=lo;
+		if(yh==0 && yl==0) { rh=eh; rl=el; ih=yh; il=0; return; }
+		sincos(yh,yl);
+		mul(eh,el,sh,sl); final double h=hi, l=lo;
+		mul(eh,el,ch,cl); rh=hi; rl=lo; ih=h; il=l;
+	}
+
+	/** The principal logarithm, ln(x+yi) = ln|z| + i·arg(z) */
+	void clog(double xh, double xl, double yh, double yl) {
+		atan2(yh,yl,xh,xl); final double ah=hi, al=lo;
+		final double big=Math.max(Math.abs(xh),Math.abs(yh));
+		if(big==0 || !Double.isFinite(big)) { rh=Math.log(big); rl=0; ih=ah; il=al; return; }
+		final int e=big>0x1p500 || big<0x1p-500 ? Math.getExponent(big) : 0; //rescale if |z|² could overflow or underflow
+		absq(Math.scalb(xh,-e),Math.scalb(xl,-e),Math.scalb(yh,-e),Math.scalb(yl,-e));
+		if(e==0 && Math.abs(hi-1)<0.0625) { //near the unit circle, |z|²-1 = (x-1)(x+1)+y² keeps its relative precision
+			add(xh,xl,1,0); final double ph=hi, pl=lo;
+			add(xh,xl,-1,0); mul(hi,lo,ph,pl); final double qh=hi, ql=lo;
+			sq(yh,yl); add(qh,ql,hi,lo);
+			log1p(hi,lo);
+		}
+		else { log(hi,lo); }
+		final double lh=0.5*hi, ll=0.5*lo;                                  //ln|z| = ln(|z|²)/2
+		if(e!=0) { mul(LN2_HI,LN2_MID,e); add(lh,ll,hi,lo); } else { hi=lh; lo=ll; }
+		rh=hi; rl=lo; ih=ah; il=al;
+	}
+
+	/** sin(x+yi) = sin(x)cosh(y) + i·cos(x)sinh(y) */
+	void csin(double xh, double xl, double yh, double yl) {
+		sinhcosh(yh,yl); final double a1=sh, a2=sl, b1=ch, b2=cl;
+		sincos(xh,xl);
+		mul(sh,sl,b1,b2); final double r1=hi, r2=lo;
+		mul(ch,cl,a1,a2); rh=r1; rl=r2; ih=hi; il=lo;
+	}
+
+	/** cos(x+yi) = cos(x)cosh(y) - i·sin(x)sinh(y) */
+	void ccos(double xh, double xl, double yh, double yl) {
+		sinhcosh(yh,yl); final double a1=sh, a2=sl, b1=ch, b2=cl;
+		sincos(xh,xl);
+		mul(ch,cl,b1,b2); final double r1=hi, r2=lo;
+		mul(sh,sl,a1,a2); rh=r1; rl=r2; ih=-hi; il=-lo;
+	}
+
+	/** tan(x+yi) = (sin(2x) + i·sinh(2y)) / (cos(2x) + cosh(2y)) */
+	void ctan(double xh, double xl, double yh, double yl) {
+		if(Math.abs(yh)>355) { rh=Math.copySign(0,Math.sin(2*xh)); ih=Math.signum(yh); rl=il=0; return; } //cosh(2y) overflows: tan → ±i
+		sinhcosh(2*yh,2*yl); final double a1=sh, a2=sl, b1=ch, b2=cl;
+		sincos(2*xh,2*xl);
+		add(ch,cl,b1,b2); final double dh=hi, dl=lo;
+		div(a1,a2,dh,dl); final double qh=hi, ql=lo;
+		div(sh,sl,dh,dl); rh=hi; rl=lo; ih=qh; il=ql;
+	}
+
+	/** sinh(x+yi) = sinh(x)cos(y) + i·cosh(x)sin(y) */
+	void csinh(double xh, double xl, double yh, double yl) {
+		sincos(yh,yl); final double a1=sh, a2=sl, b1=ch, b2=cl;
+		sinhcosh(xh,xl);
+		mul(sh,sl,b1,b2); final double r1=hi, r2=lo;
+		mul(ch,cl,a1,a2); rh=r1; rl=r2; ih=hi; il=lo;
+	}
+
+	/** cosh(x+yi) = cosh(x)cos(y) + i·sinh(x)sin(y) */
+	void ccosh(double xh, double xl, double yh, double yl) {
+		sincos(yh,yl); final double a1=sh, a2=sl, b1=ch, b2=cl;
+		sinhcosh(xh,xl);
+		mul(ch,cl,b1,b2); final double r1=hi, r2=lo;
+		mul(sh,sl,a1,a2); rh=r1; rl=r2; ih=hi; il=lo;
+	}
+
+	/** tanh(x+yi) = -i·tan(i(x+yi)) */
+	void ctanh(double xh, double xl, double yh, double yl) {
+		ctan(-yh,-yl,xh,xl);
+		final double h=rh, l=rl; rh=ih; rl=il; ih=-h; il=-l;
+	}
+
+	/** (x+yi)<sup>n</sup>, by squaring */
+	void cpow(double xh, double xl, double yh, double yl, int n) {
+		if(n<0) { cdiv(1,0,0,0,xh,xl,yh,yl); xh=rh; xl=rl; yh=ih; yl=il; n=-n; }
+		double pr=1, prl=0, pi=0, pil=0;
+		while(n!=0) {
+			if((n&1)==1) { cmul(pr,prl,pi,pil,xh,xl,yh,yl); pr=rh; prl=rl; pi=ih; pil=il; }
+			n>>>=1;
+			if(n!=0) { csq(xh,xl,yh,yl); xh=rh; xl=rl; yh=ih; yl=il; }
+		}
+		rh=pr; rl=prl; ih=pi; il=pil;
+	}
+}
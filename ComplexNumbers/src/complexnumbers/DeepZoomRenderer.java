@@ -0,0 +1,309 @@
+package complexnumbers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * An escape-time renderer for deep zooms into the Mandelbrot set and the Multibrot sets, using perturbation theory.
+ *
+ * <br><br>Past a zoom of about 10<sup>-13</sup>, the pixels of an <code>EscapeTimeRenderer</code> are closer together than double
+ * precision can tell apart, and the image dissolves into blocks.  Iterating every pixel in arbitrary precision would fix that, but it would
+ * be orders of magnitude slower.  Instead, this class computes a single reference orbit Z<sub>n</sub> in arbitrary precision (at the center
+ * of the view), and iterates every pixel as a small double precision offset from it:
+ * <br>z<sub>n</sub> = Z<sub>n</sub> + δ<sub>n</sub>, δ<sub>n+1</sub> = (Z<sub>n</sub>+δ<sub>n</sub>)<sup>d</sup> - Z<sub>n</sub><sup>d</sup> + δc
+ * <br>where the difference of powers is expanded so that it's computed without ever subtracting two nearly equal numbers.  This way, a deep
+ * zoom costs the same per pixel as a shallow one, plus the cost of the one reference orbit.
+ *
+ * <br><br>Perturbation breaks down (a "glitch") whenever a pixel's orbit passes closer to 0 than its offset from the reference, since the
+ * offset then no longer describes the orbit precisely.  This is detected every iteration, and fixed by rebasing: the pixel's full value
+ * becomes its new offset, and it continues from the start of the reference orbit (which starts at 0, the critical point).  The same thing
+ * happens when a pixel outlives the reference orbit, so the reference doesn't even have to be inside the set.
+ *
+ * <br><br>The view can be given with <code>BigDecimal</code>s (or strings) to any precision.  If the distance between pixels is too small
+ * to be stored as a double, the offsets are stored scaled up by a power of 2, and only scaled back down (with <code>Math.scalb</code>)
+ * once they've grown large enough.  Only the built-in map z<sup>d</sup>+c is supported, with integer exponents from 2 to 64.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class DeepZoomRenderer extends EscapeTimeRenderer {
+
+	//////////////////// ATTRIBUTES ////////////////////
+
+	BigDecimal bigRe=new BigDecimal("-0.5"), bigIm=BigDecimal.ZERO; //the center of the view, in arbitrary precision
+	BigDecimal bigStep;                  //the distance between two adjacent pixels, in arbitrary precision
+
+	int scale=0;                         //the offsets are stored multiplied by 2^scale (0 unless the pixels are extremely close together)
+	double scaledStep;                   //step * 2^scale
+
+	double[] refRe, refIm;               //the reference orbit, Z_0=0, Z_1=C, ..., Z_refLength-1
+	int refLength=0;                     //the number of terms in the reference orbit (0 means it has to be recomputed)
+
+	boolean approximate=true;            //whether we skip iterations with bilinear approximations
+	double[][] blaAr, blaAi, blaBr, blaBi, blaR2; //the bilinear approximation table: [level][block] -> A, B, & the square validity radius
+
+	//////////////////// CONSTRUCTORS & SETTINGS ////////////////////
+
+	/**
+	 * Constructs a renderer for an image of the given size.  The default viewport shows the whole Mandelbrot set.
+	 * @param width the width in pixels
+	 * @param height the height in pixels
+	 */
+	public DeepZoomRenderer(int width, int height) {
+		super(width,height);
+		setViewport(bigRe,bigIm,new BigDecimal(step*width));
+	}
+
+	/**
+	 * Sets the viewport, to arbitrary precision
+	 * @param centerRe the real part of the point at the center of the image
+	 * @param centerIm the imaginary part of the point at the center of the image
+	 * @param viewWidth the width of the viewport, measured on the complex plane (the height follows from the aspect ratio)
+	 * @return this
+	 */
+	public DeepZoomRenderer setViewport(BigDecimal centerRe, BigDecimal centerIm, BigDecimal viewWidth) {
+		if(viewWidth.signum()<=0) { throw new IllegalArgumentException("View width must be positive"); }
+		bigRe=centerRe; bigIm=centerIm;
+		bigStep=viewWidth.divide(BigDecimal.valueOf(width),new MathContext(20));
+
+		int exp = (int)Math.floor((bigStep.precision()-bigStep.scale()-1)*3.321928094887362); //roughly log2(step)
+		scale = exp<-900 ? -exp : 0;                      //only scale if the step is near the bottom of the double range
+		scaledStep = bigStep.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(scale))).doubleValue();
+
+		this.centerRe=centerRe.doubleValue(); this.centerIm=centerIm.doubleValue(); step=bigStep.doubleValue(); //approximations, for pixelRe & pixelIm
+		refLength=0; return this;
+	}
+	/**
+	 * Sets the viewport, to arbitrary precision
+	 * @param centerRe the real part of the center, as a decimal string
+	 * @param centerIm the imaginary part of the center, as a decimal string
+	 * @param viewWidth the width of the viewport, as a decimal string
+	 * @return this
+	 */
+	public DeepZoomRenderer setViewport(String centerRe, String centerIm, String viewWidth) {
+		return setViewport(new BigDecimal(centerRe),new BigDecimal(centerIm),new BigDecimal(viewWidth));
+	}
+	@Override
+	public DeepZoomRenderer setViewport(double centerRe, double centerIm, double viewWidth) {
+		return setViewport(new BigDecimal(centerRe),new BigDecimal(centerIm),new BigDecimal(viewWidth));
+	}
+	@Override
+	public DeepZoomRenderer setViewport(Complex center, double viewWidth) { return setViewport(center.re,center.im,viewWidth); }
+
+	@Override
+	public DeepZoomRenderer setMaxIterations(int maxIter) { super.setMaxIterations(maxIter); refLength=0; return this; }
+	@Override
+	public DeepZoomRenderer setBailout(double radius) { super.setBailout(radius); refLength=0; return this; }
+
+	/**
+	 * Uses the built-in map z<sup>d</sup>+c
+	 * @param d the exponent, which must be an integer from 2 to 64
+	 * @return this
+	 */
+	@Override
+	public DeepZoomRenderer setExponent(double d) {
+		if(!(d>=2 && d<=64 && d%1==0)) { throw new IllegalArgumentException("Deep zooms need an integer exponent from 2 to 64, not "+d); }
+		super.setExponent(d); refLength=0; return this;
+	}
+	/**
+	 * Not supported: perturbation needs to know the map in closed form
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public DeepZoomRenderer setMap(IterationMap map, double degree, boolean conjugateSymmetric) {
+		throw new UnsupportedOperationException("Deep zooms only support the built-in map z^d+c");
+	}
+
+	/**
+	 * Allows or forbids skipping iterations with bilinear approximations.  It's allowed by default.  The approximations are only ever
+	 * used where the terms they drop are below rounding, so the image is almost always the same.  It isn't guaranteed to match exactly,
+	 * though: a pixel right on the edge of the set, where that last bit decides whether it escapes, can end up with a different count.
+	 * @param on whether to skip iterations
+	 * @return this
+	 */
+	public DeepZoomRenderer setApproximation(boolean on) { approximate=on; return this; }
+
+	/** @return the real part of the center of the view, in full precision */      public BigDecimal centerRe() { return bigRe; }
+	/** @return the imaginary part of the center of the view, in full precision */ public BigDecimal centerIm() { return bigIm; }
+
+	//////////////////// REFERENCE ORBIT ////////////////////
+
+	/**
+	 * Computes the reference orbit at the center of the view, if it hasn't been computed already.  It's computed with about 20 more
+	 * significant digits than it takes to tell adjacent pixels apart, and stored rounded to doubles.  It ends either on the iteration
+	 * where it escapes, or after the maximum number of iterations.
+	 */
+	void computeReference() {
+		if(refLength>0) { return; }
+		BigDecimal size=bigRe.abs().max(bigIm.abs()).add(BigDecimal.ONE);
+		int digits = Math.max(size.precision()-size.scale(),1)            //digits before the point
+		           + Math.max(bigStep.scale()-bigStep.precision()+1,0)+20; //digits after it
+		MathContext mc=new MathContext(digits);
+		final int d=(int)exponent;
+		final double bail2=bailout*bailout;
+
+		refRe=new double[maxIter+2]; refIm=new double[maxIter+2];
+		BigDecimal zr=BigDecimal.ZERO, zi=BigDecimal.ZERO;
+		int n=0;
+		while(true) {
+			double r=zr.doubleValue(), i=zi.doubleValue();
+			refRe[n]=r; refIm[n]=i; n++;
+			if(n==maxIter+2 || r*r+i*i>bail2) { break; } //escaped, or long enough
+
+			BigDecimal ar=BigDecimal.ONE, ai=BigDecimal.ZERO, br=zr, bi=zi; //z^d, by exponentiation by squaring
+			for(int k=d;k!=0;k>>=1) {
+				if((k&1)==1) { BigDecimal t=ar.multiply(br,mc).subtract(ai.multiply(bi,mc),mc); ai=ar.multiply(bi,mc).add(ai.multiply(br,mc),mc); ar=t; }
+				if(k>1)      { BigDecimal t=br.multiply(br,mc).subtract(bi.multiply(bi,mc),mc); bi=br.multiply(bi,mc).multiply(BigDecimal.valueOf(2)); br=t; }
+			}
+			zr=ar.add(bigRe,mc); zi=ai.add(bigIm,mc);
+		}
+		refLength=n;
+		computeApproximations();
+	}
+
+	/**
+	 * Builds the bilinear approximation table for the reference orbit.  For offsets small enough, 2^l iterations starting from Z_m
+	 * are approximately linear in δ and δc: δ_(m+2^l) ≈ Aδ_m + Bδc.  Level 0 holds single iterations, where A=dZ<sup>d-1</sup>, B=1, and
+	 * the approximation is valid as long as every dropped term, C(d,k)Z<sup>d-k</sup>δ<sup>k</sup>, is smaller than the rounding error
+	 * of the linear term, <code>ulpMax</code>(A)|δ|.  Each level above merges pairs of blocks from the level below, shrinking the validity radius so the
+	 * first block's output stays within the second block's radius (for every δc in the view).
+	 */
+	void computeApproximations() {
+		final int steps=refLength-2, d=(int)exponent; //the number of iterations we can approximate, starting from Z_1 (Z_0=0 is never linear)
+		if(steps<1) { blaAr=null; return; }
+		int levels=32-Integer.numberOfLeadingZeros(steps);
+		blaAr=new double[levels][]; blaAi=new double[levels][]; blaBr=new double[levels][]; blaBi=new double[levels][]; blaR2=new double[levels][];
+
+		final Complex A=new Complex();
+		double[] ar=new double[steps], ai=new double[steps], br=new double[steps], bi=new double[steps], r2=new double[steps];
+		for(int j=0;j<steps;j++) { //level 0: one iteration each
+			double zr=refRe[j+1], zi=refIm[j+1], pr=1, pi=0;
+			for(int k=1;k<d;k++) { double t=pr*zr-pi*zi; pi=pr*zi+pi*zr; pr=t; } //Z^(d-1)
+			A.set(d*pr,d*pi);
+			double r=INF, az=Math.hypot(zr,zi), ulp=A.ulpMax(), binom=1;
+			for(int k=2;k<=d;k++) {                                         //every dropped term C(d,k)Z^(d-k)δ^k must be below ulpMax(A)|δ|
+				binom=binom*(d-k+1)/k;
+				r=Math.min(r,Math.pow(ulp/(binom*Math.pow(az,d-k)),1.0/(k-1)));
+			}
+			ar[j]=A.re; ai[j]=A.im; br[j]=1; bi[j]=0; r2[j]=r*r;
+		}
+		blaAr[0]=ar; blaAi[0]=ai; blaBr[0]=br; blaBi[0]=bi; blaR2[0]=r2;
+
+		final double dcMax=bigStep.doubleValue()*0.5*Math.hypot(width,height); //the largest |δc| in the view
+		for(int l=1;l<levels;l++) { //every level above: merge pairs
+			double[] Ar=blaAr[l-1], Ai=blaAi[l-1], Br=blaBr[l-1], Bi=blaBi[l-1], R2=blaR2[l-1];
+			int size=steps>>l;
+			ar=new double[size]; ai=new double[size]; br=new double[size]; bi=new double[size]; r2=new double[size];
+			for(int j=0;j<size;j++) {
+				int x=2*j, y=2*j+1;                                    //x happens first, then y
+				ar[j]=Ar[y]*Ar[x]-Ai[y]*Ai[x]; ai[j]=Ar[y]*Ai[x]+Ai[y]*Ar[x];            //A = Ay*Ax
+				br[j]=Ar[y]*Br[x]-Ai[y]*Bi[x]+Br[y]; bi[j]=Ar[y]*Bi[x]+Ai[y]*Br[x]+Bi[y]; //B = Ay*Bx+By
+				double rx=Math.sqrt(R2[x]), ry=(Math.sqrt(R2[y])-Math.hypot(Br[x],Bi[x])*dcMax)/Math.hypot(Ar[x],Ai[x]);
+				double r = ry>0 ? Math.min(rx,ry) : 0;                 //r = min(rx, (ry-|Bx|max|δc|)/|Ax|)
+				r2[j]=r*r;
+			}
+			blaAr[l]=ar; blaAi[l]=ai; blaBr[l]=br; blaBi[l]=bi; blaR2[l]=r2;
+		}
+	}
+
+	/** @return the number of terms in the reference orbit, including Z_0=0 (computing it first if need be) */
+	public int referenceLength() { computeReference(); return refLength; }
+
+	//////////////////// RENDERING ////////////////////
+
+	@Override
+	public void render(int[] counts, float[] smooth) {
+		computeReference();
+		super.render(counts,smooth);
+	}
+
+	@Override
+	int mirrorAxis() {
+		if(!symmetry) { return -1; }
+		double m = (height-1)+2*bigIm.divide(bigStep,MathContext.DECIMAL64).doubleValue(); //twice the row index of the real axis
+		long M = Math.round(m);
+		if(Math.abs(m-M)>1E-6 || M<1 || M>2L*(height-1)-1) { return -1; }
+		return (int)M;
+	}
+
+	@Override
+	void renderTile(int x0, int y0, int x1, int y1, int[] counts, float[] smooth, int mirror) {
+		final double bail2=bailout*bailout;
+		final double[] zOut=new double[2];
+
+		for(int y=y0;y<y1;y++) {
+			if(isMirrored(y,mirror)) { continue; }
+			int ym = (mirror>=0 && mirror-y>y && mirror-y<height) ? mirror-y : -1;
+			double dci=-(y-0.5*(height-1))*scaledStep; //the scaled offset from the center
+
+			for(int x=x0;x<x1;x++) {
+				double dcr=(x-0.5*(width-1))*scaledStep;
+				int n=escapePerturbed(dcr,dci,bail2,zOut);
+				store(x,y,n,zOut,counts,smooth);
+				if(ym>=0) { store(x,ym,n,zOut,counts,smooth); }
+			}
+		}
+	}
+
+	/**
+	 * Iterates a single pixel as an offset from the reference orbit, returning the escape count and writing the final iterate into zOut.
+	 * The count matches <code>escapeBuiltIn</code>, which starts from z=c rather than z=0.
+	 * @param dcr the real part of the pixel's offset from the reference point, times 2^scale
+	 * @param dci the imaginary part of the pixel's offset from the reference point, times 2^scale
+	 */
+	final int escapePerturbed(double dcr, double dci, double bail2, double[] zOut) {
+		final double[] Zr=refRe, Zi=refIm;
+		final int last=refLength-1, d=(int)exponent;
+		int s=scale;                         //the current scale factor (which drops to 0 once the offset is large enough)
+		double dr=dcr, di=dci;               //δ_1 = δc (times 2^s)
+		int m=1, n=0;                        //the index into the reference orbit, and the number of iterations
+		double zr=0, zi=0;
+
+		while(true) {
+			double ur=dr, ui=di;                                    //the unscaled offset
+			if(s!=0) {
+				ur=Math.scalb(dr,-s); ui=Math.scalb(di,-s);
+				if(Math.abs(ur)+Math.abs(ui)>0x1p-900 || m==last) {  //large enough (or about to rebase): stop scaling
+					dr=ur; di=ui; dcr=Math.scalb(dcr,-s); dci=Math.scalb(dci,-s); s=0;
+				}
+			}
+			zr=Zr[m]+ur; zi=Zi[m]+ui;                               //the full value of this iterate
+			double z2=zr*zr+zi*zi;
+			if(z2>bail2 || n>=maxIter) { break; }                   //escaped, or out of iterations
+
+			if(s==0 && (m==last || z2<ur*ur+ui*ui)) {                //a glitch (or the end of the reference orbit): rebase
+				dr=ur=zr; di=ui=zi; m=0;
+			}
+
+			if(m>=1 && approximate && blaAr!=null) { //try to skip ahead with the largest block that starts here & is accurate enough
+				int j=m-1, levels=blaAr.length;
+				double u2=ur*ur+ui*ui;
+				boolean skipped=false;
+				for(int l=Math.min(j==0 ? levels-1 : Integer.numberOfTrailingZeros(j),levels-1);l>=0;l--) {
+					int len=1<<l, b=j>>l;
+					if(b>=blaR2[l].length || n+len>maxIter || !(u2<blaR2[l][b])) { continue; } //past the end, too many iterations, or not valid
+					double Ar=blaAr[l][b], Ai=blaAi[l][b], Br=blaBr[l][b], Bi=blaBi[l][b];
+					double t=Ar*dr-Ai*di+Br*dcr-Bi*dci; di=Ar*di+Ai*dr+Br*dci+Bi*dcr; dr=t; //δ = Aδ + Bδc
+					m+=len; n+=len; skipped=true; break;
+				}
+				if(skipped) { continue; }
+			}
+
+			//δ <- ((Z+δ)^d-Z^d) + δc = δ*(dZ^(d-1) + δ*(C(d,2)Z^(d-2) + ... + δ*(dZ + δ))) + δc, with Horner's method
+			double Zmr=Zr[m], Zmi=Zi[m];
+			double ar=1, ai=0, pr=1, pi=0; //the accumulator, and the power of Z
+			double binom=1;
+			for(int k=d-1;k>=1;k--) {
+				double t=pr*Zmr-pi*Zmi; pi=pr*Zmi+pi*Zmr; pr=t;      //Z^(d-k)
+				binom=binom*(k+1)/(d-k);                            //C(d,k), built up from C(d,d)=1
+				t=ar*ur-ai*ui+binom*pr; ai=ar*ui+ai*ur+binom*pi; ar=t; //acc = acc*δ + C(d,k)Z^(d-k)
+			}
+			double t=ar*dr-ai*di+dcr; di=ar*di+ai*dr+dci; dr=t;      //multiply by the (scaled) δ, add the (scaled) δc
+			m++; n++;
+		}
+		zOut[0]=zr; zOut[1]=zi;
+		return zr*zr+zi*zi<=bail2 ? maxIter : n;
+	}
+}
@@ -0,0 +1,293 @@
+package complexnumbers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A multithreaded escape-time fractal renderer.
+ *
+ * <br><br>Every pixel of the viewport is mapped to a point c on the complex plane, and the map z → f(z,c) is iterated starting from
+ * z = c until |z| exceeds the bailout radius or the maximum number of iterations is reached.  By default, f is the Multibrot map
+ * z<sup>d</sup>+c (d=2 gives the Mandelbrot set), but any other map can be supplied through the <code>IterationMap</code> interface.
+ *
+ * <br><br>The viewport is split into square tiles, which are rendered in parallel on a <code>ForkJoinPool</code> (the common pool,
+ * unless you supply another one).  The built-in map is iterated entirely on primitive locals, so rendering allocates nothing per pixel
+ * and per iteration.  When the map is symmetric under complex conjugation (which the built-in map always is, since d is real), the
+ * rows below the real axis are copied from the rows above it instead of being computed twice.
+ *
+ * <br><br>Results are written into caller-supplied buffers in row-major order (index = x + y*width, with row 0 at the top), so an
+ * <code>int[]</code> of iteration counts or a <code>float[]</code> of smooth (continuous) iteration counts can be turned into colors
+ * with whatever palette you like.  Points that never escape are given the maximum iteration count.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class EscapeTimeRenderer extends Mafs {
+
+	/**
+	 * A user-supplied iteration map.  Each call must replace z with f(z,c), by mutating z.  The "Into" and "eq" functions of
+	 * <code>Complex</code> make it easy to do this without allocating anything, e.g. <code>(z,c) -&gt; z.sqInto(z).sinInto(z).addeq(c)</code>.
+	 * The same map is called from several threads at once, so it must not keep any state of its own.
+	 */
+	public interface IterationMap {
+		/**
+		 * Performs one iteration, z = f(z,c)
+		 * @param z the current iterate, which gets overwritten with the next one
+		 * @param c the point on the complex plane (do not modify)
+		 */
+		void iterate(Complex z, Complex c);
+	}
+
+	//////////////////// ATTRIBUTES ////////////////////
+
+	final int width, height;          //the dimensions of the output, in pixels
+
+	double centerRe=-0.5, centerIm=0; //the point at the center of the viewport
+	double step=3.0/800;              //the distance between two adjacent pixels on the complex plane
+
+	int maxIter=256;                  //the maximum number of iterations
+	double bailout=2;                 //the bailout radius
+	double exponent=2;                //the exponent d of the built-in map z^d+c
+	IterationMap map=null;            //the user-supplied map (null means we use the built-in map)
+	double degree=2;                  //the degree of the map (used by the smooth iteration count)
+	boolean mapSymmetric=true;        //whether the map commutes with complex conjugation
+	boolean symmetry=true;            //whether we're allowed to exploit conjugate symmetry
+
+	int tileSize=64;                  //the width & height of each tile
+	ForkJoinPool pool=null;           //the pool we render on (null means the common pool)
+
+	//////////////////// CONSTRUCTORS & SETTINGS ////////////////////
+
+	/**
+	 * Constructs a renderer for an image of the given size.  The default viewport shows the whole Mandelbrot set.
+	 * @param width the width in pixels
+	 * @param height the height in pixels
+	 */
+	public EscapeTimeRenderer(int width, int height) {
+		if(width<=0 || height<=0) { throw new IllegalArgumentException("Image dimensions must be positive"); }
+		this.width=width; this.height=height;
+		step=3.0/Math.min(width,height); //fit [-2,1] horizontally & [-1.5,1.5] vertically
+	}
+
+	/**
+	 * Sets the viewport
+	 * @param centerRe the real part of the point at the center of the image
+	 * @param centerIm the imaginary part of the point at the center of the image
+	 * @param viewWidth the width of the viewport, measured on the complex plane (the height follows from the aspect ratio)
+	 * @return this
+	 */
+	public EscapeTimeRenderer setViewport(double centerRe, double centerIm, double viewWidth) {
+		this.centerRe=centerRe; this.centerIm=centerIm; step=viewWidth/width; return this;
+	}
+	/**
+	 * Sets the viewport
+	 * @param center the point at the center of the image
+	 * @param viewWidth the width of the viewport, measured on the complex plane
+	 * @return this
+	 */
+	public EscapeTimeRenderer setViewport(Complex center, double viewWidth) { return setViewport(center.re,center.im,viewWidth); }
+
+	/**
+	 * Sets the maximum number of iterations
+	 * @param maxIter the maximum number of iterations
+	 * @return this
+	 */
+	public EscapeTimeRenderer setMaxIterations(int maxIter) { this.maxIter=maxIter; return this; }
+	/**
+	 * Sets the bailout radius.  Once |z| exceeds this, the point is considered to have escaped.  Larger radii give smoother smooth
+	 * iteration counts.
+	 * @param radius the bailout radius
+	 * @return this
+	 */
+	public EscapeTimeRenderer setBailout(double radius) { bailout=radius; return this; }
+
+	/**
+	 * Uses the built-in map z<sup>d</sup>+c.  Integer exponents are computed by repeated squaring on primitives, while any other
+	 * exponent falls back to <code>Complex.powInto</code>.
+	 * @param d the exponent
+	 * @return this
+	 */
+	public EscapeTimeRenderer setExponent(double d) { exponent=d; degree=Math.abs(d); map=null; mapSymmetric=true; return this; }
+	/**
+	 * Uses a custom iteration map
+	 * @param map the map z → f(z,c)
+	 * @param degree the degree of the map at infinity, used for the smooth iteration count (2 for most quadratic maps)
+	 * @param conjugateSymmetric true if f(conj(z),conj(c)) = conj(f(z,c)), in which case the image is mirrored across the real axis
+	 * @return this
+	 */
+	public EscapeTimeRenderer setMap(IterationMap map, double degree, boolean conjugateSymmetric) {
+		this.map=map; this.degree=degree; mapSymmetric=conjugateSymmetric; return this;
+	}
+	/**
+	 * Allows or forbids mirroring across the real axis.  It's allowed by default, and only ever used when the map is symmetric.
+	 * @param on whether to use conjugate symmetry
+	 * @return this
+	 */
+	public EscapeTimeRenderer setSymmetry(boolean on) { symmetry=on; return this; }
+	/**
+	 * Sets the size of the square tiles the image is split into
+	 * @param size the tile width and height, in pixels
+	 * @return this
+	 */
+	public EscapeTimeRenderer setTileSize(int size) { tileSize=Math.max(1,size); return this; }
+	/**
+	 * Sets the pool we render on
+	 * @param pool the fork join pool (null for the common pool)
+	 * @return this
+	 */
+	public EscapeTimeRenderer setPool(ForkJoinPool pool) { this.pool=pool; return this; }
+
+	/** @return the width in pixels */  public int width () { return width;  }
+	/** @return the height in pixels */ public int height() { return height; }
+	/** @return the maximum number of iterations */ public int maxIterations() { return maxIter; }
+
+	/**
+	 * The real part of the point at the center of pixel column x
+	 * @param x the pixel column
+	 * @return the real part
+	 */
+	public double pixelRe(int x) { return centerRe+(x-0.5*(width -1))*step; }
+	/**
+	 * The imaginary part of the point at the center of pixel row y (row 0 is at the top)
+	 * @param y the pixel row
+	 * @return the imaginary part
+	 */
+	public double pixelIm(int y) { return centerIm-(y-0.5*(height-1))*step; }
+
+	//////////////////// RENDERING ////////////////////
+
+	/**
+	 * Renders the iteration counts.  Points that escape on the nth iteration get n (0 if they start outside the bailout radius),
+	 * points that never escape get the maximum iteration count.
+	 * @param counts the destination, of length at least width*height (or null to allocate one)
+	 * @return the destination
+	 */
+	public int[] render(int[] counts) {
+		if(counts==null) { counts=new int[width*height]; }
+		render(counts,null); return counts;
+	}
+
+	/**
+	 * Renders the smooth (continuous) iteration counts, n+1-log<sub>d</sub>(ln|z|/ln(bailout)).  These vary continuously across the
+	 * boundaries between iteration bands, so they can be colored without banding.  Points that never escape get the maximum iteration count.
+	 * @param smooth the destination, of length at least width*height (or null to allocate one)
+	 * @return the destination
+	 */
+	public float[] renderSmooth(float[] smooth) {
+		if(smooth==null) { smooth=new float[width*height]; }
+		render(null,smooth); return smooth;
+	}
+
+	/**
+	 * Renders the iteration counts and the smooth iteration counts at the same time.  Either destination may be null.
+	 * @param counts the destination for the iteration counts
+	 * @param smooth the destination for the smooth iteration counts
+	 */
+	public void render(int[] counts, float[] smooth) {
+		if(counts!=null && counts.length<width*height || smooth!=null && smooth.length<width*height) {
+			throw new IllegalArgumentException("Destination is smaller than "+width+"x"+height);
+		}
+		int mirror = mirrorAxis();                                        //the row sum of mirrored pairs (or -1 for no mirroring)
+		Tiles.forEach(pool,width,height,tileSize,(x0,y0,x1,y1) -> renderTile(x0,y0,x1,y1,counts,smooth,mirror)); //render all the tiles in parallel
+	}
+
+	/**
+	 * If conjugate symmetry can be used, returns M such that pixel rows y and M-y mirror each other across the real axis.
+	 * Otherwise, returns -1.  (The mirrored rows have to line up with the pixel grid to within a millionth of a pixel.)
+	 */
+	int mirrorAxis() {
+		if(!symmetry || !mapSymmetric) { return -1; }
+		double m = (height-1)+2*centerIm/step; //twice the (fractional) row index of the real axis
+		long M = Math.round(m);
+		if(Math.abs(m-M)>1E-6 || M<1 || M>2L*(height-1)-1) { return -1; } //not on the pixel grid, or no rows get mirrored
+		return (int)M;
+	}
+
+	/** Whether row y is computed by copying it from row mirror-y */
+	static boolean isMirrored(int y, int mirror) { return mirror>=0 && 2*y>mirror && y<=mirror; }
+
+	/**
+	 * Renders the tile [x0,x1)×[y0,y1), skipping the rows that get mirrored and writing their mirror images instead.
+	 * Subclasses can override this to iterate in a different way.
+	 */
+	void renderTile(int x0, int y0, int x1, int y1, int[] counts, float[] smooth, int mirror) {
+		final double bail2=bailout*bailout;
+		final double[] zOut=new double[2]; //the final iterate, for the smooth iteration count
+		final Complex z=new Complex(), c=new Complex(); //scratch space for the user map or non-integer powers
+
+		for(int y=y0;y<y1;y++) {
+			if(isMirrored(y,mirror)) { continue; } //this row will be written by its mirror image
+			int ym = (mirror>=0 && mirror-y>y && mirror-y<height) ? mirror-y : -1; //the mirrored row (if there is one)
+			double ci=pixelIm(y);
+
+			for(int x=x0;x<x1;x++) {
+				double cr=pixelRe(x);
+				int n = map==null ? escapeBuiltIn(cr,ci,bail2,zOut,z) : escapeMap(cr,ci,bail2,zOut,z,c);
+				store(x,y,n,zOut,counts,smooth);
+				if(ym>=0) { store(x,ym,n,zOut,counts,smooth); }
+			}
+		}
+	}
+
+	/** Stores the iteration count (& smooth iteration count) of pixel (x,y) */
+	final void store(int x, int y, int n, double[] zOut, int[] counts, float[] smooth) {
+		int k=x+y*width;
+		if(counts!=null) { counts[k]=n; }
+		if(smooth!=null) { smooth[k]=(float)smooth(n,zOut[0]*zOut[0]+zOut[1]*zOut[1]); }
+	}
+
+	/**
+	 * The smooth iteration count, given the number of iterations and the absolute square of the final iterate
+	 * @param n the number of iterations it took to escape
+	 * @param r2 |z|² for the final iterate
+	 * @return the smooth iteration count
+	 */
+	final double smooth(int n, double r2) {
+		if(n>=maxIter || !(r2>bailout*bailout) || degree<=1) { return n; } //didn't escape, or the smoothing formula is meaningless: just return n
+		double s = n+1-Math.log(0.5*Math.log(r2)/Math.log(bailout))/Math.log(degree);
+		return s==s ? s : n; //an infinite iterate would give NaN
+	}
+
+	/** Iterates the built-in map from z=c, returning the escape count and writing the final iterate into zOut */
+	final int escapeBuiltIn(double cr, double ci, double bail2, double[] zOut, Complex scratch) {
+		double zr=cr, zi=ci;
+		int n=0;
+		final double d=exponent;
+
+		if(d==2) { //Mandelbrot set: (x+yi)²+c = (x²-y²+cr) + (2xy+ci)i
+			double xx=zr*zr, yy=zi*zi;
+			while(n<maxIter && xx+yy<=bail2) {
+				zi=2*zr*zi+ci; zr=xx-yy+cr; //iterate
+				xx=zr*zr; yy=zi*zi; n++;    //compute the squares (which we need for the bailout test anyway)
+			}
+		}
+		else if(d>=0 && d<=64 && d%1==0) { //other non-negative integer exponents: exponentiation by squaring, on primitives
+			final int e=(int)d;
+			while(n<maxIter && zr*zr+zi*zi<=bail2) {
+				double ar=1, ai=0, br=zr, bi=zi; //ans, iterator
+				for(int k=e;k!=0;k>>=1) {
+					if((k&1)==1) { double t=ar*br-ai*bi; ai=ar*bi+ai*br; ar=t; }
+					if(k>1)      { double t=br*br-bi*bi; bi=2*br*bi;       br=t; }
+				}
+				zr=ar+cr; zi=ai+ci; n++;
+			}
+		}
+		else { //anything else: use Complex.powInto on a scratch object
+			while(n<maxIter && zr*zr+zi*zi<=bail2) {
+				scratch.set(zr,zi); scratch.powInto(d,scratch);
+				zr=scratch.re+cr; zi=scratch.im+ci; n++;
+			}
+		}
+		zOut[0]=zr; zOut[1]=zi;
+		return zr*zr+zi*zi<=bail2 ? maxIter : n; //never escaped: maximum iteration count
+	}
+
+	/** Iterates the user-supplied map from z=c, returning the escape count and writing the final iterate into zOut */
+	final int escapeMap(double cr, double ci, double bail2, double[] zOut, Complex z, Complex c) {
+		z.set(cr,ci); c.set(cr,ci);
+		int n=0;
+		while(n<maxIter && z.absq()<=bail2) { map.iterate(z,c); n++; }
+		zOut[0]=z.re; zOut[1]=z.im;
+		return z.absq()<=bail2 ? maxIter : n;
+	}
+}
@@ -0,0 +1,481 @@
+package complexnumbers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fast Fourier transforms over primitive complex buffers.
+ *
+ * <br><br>The forward transform of x<sub>0</sub>...x<sub>n-1</sub> is X<sub>f</sub> = Σ x<sub>t</sub>e<sup>-2πift/n</sup>, and the
+ * inverse transform is (1/n)Σ X<sub>f</sub>e<sup>+2πift/n</sup>, so that one undoes the other.  Every transform works in place on a
+ * pair of <code>double[]</code>s (the real & imaginary parts, the same layout as <code>ComplexArray</code>), and costs O(n log n) for
+ * every length n:
+ * <ul>
+ * <li>Powers of 2 use an in-place radix-2 transform.  The first several stages are done one cache-sized block at a time, the rest are done
+ * two at a time (so each pass through memory does two stages' work), and large transforms split their blocks & butterflies across a
+ * <code>ForkJoinPool</code>.</li>
+ * <li>Lengths whose prime factors are all small use a mixed-radix Stockham transform, with dedicated butterflies for radices 2, 3, 4 & 5.</li>
+ * <li>Any other length (one with a large prime factor) uses Bluestein's algorithm, which rewrites the transform as a convolution and does it
+ * with power-of-2 transforms.</li>
+ * </ul>
+ * Everything that only depends on the length (the twiddle factors, the factorization, Bluestein's chirp and its transform) is computed
+ * once, held in a bounded cache shared by every thread, and reused by every transform of that length.
+ *
+ * <br><br>Real signals have their own transforms, which only compute & store the non-redundant half of the spectrum, at about half the
+ * cost of a complex transform.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class FFT extends Mafs {
+
+	static final int PARALLEL_THRESHOLD = 1<<15; //transforms at least this long are split across threads
+	static final int BLOCK = 1<<11;              //the radix-2 stages are done a block at a time, up to this size
+	static final int MAX_RADIX = 31;             //the largest prime factor we'll handle directly (anything larger goes to Bluestein)
+	static final int CACHE_SIZE = 32;            //the number of plans we keep around
+
+	FFT() { } //this class only has static members
+
+	//////////////////// TRANSFORMS ////////////////////
+
+	/**
+	 * Computes the forward transform, in place
+	 * @param re the real parts
+	 * @param im the imaginary parts (the same length as re)
+	 */
+	public static void transform(double[] re, double[] im) { transform(re,im,re.length,false); }
+	/**
+	 * Computes the inverse transform, in place (including the 1/n factor)
+	 * @param re the real parts
+	 * @param im the imaginary parts (the same length as re)
+	 */
+	public static void inverse(double[] re, double[] im) { transform(re,im,re.length,true); }
+	/**
+	 * Computes the forward transform, in place
+	 * @param a the complex buffer
+	 * @return a
+	 */
+	public static ComplexArray transform(ComplexArray a) { transform(a.re,a.im,a.length(),false); return a; }
+	/**
+	 * Computes the inverse transform, in place (including the 1/n factor)
+	 * @param a the complex buffer
+	 * @return a
+	 */
+	public static ComplexArray inverse(ComplexArray a) { transform(a.re,a.im,a.length(),true); return a; }
+
+	/**
+	 * Transforms the first n elements of re & im, in place
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 * @param n the transform length
+	 * @param inverse true for the inverse transform, false for the forward transform
+	 */
+	public static void transform(double[] re, double[] im, int n, boolean inverse) {
+		if(n<0 || re.length<n || im.length<n) { throw new IllegalArgumentException("Transform length "+n+" doesn't fit the buffers"); }
+		if(n<=1) { return; } //nothing to do
+
+		Plan plan=plan(n);
+		if(inverse) { for(int k=0;k<n;k++) { im[k]=-im[k]; } } //the inverse transform is conj(FFT(conj(x)))/n
+		plan.forward(re,im);
+		if(inverse) { double s=1.0/n; for(int k=0;k<n;k++) { re[k]*=s; im[k]*=-s; } }
+	}
+
+	//////////////////// REAL TRANSFORMS ////////////////////
+
+	/**
+	 * Computes the forward transform of a real signal.  Since the transform of a real signal is conjugate symmetric
+	 * (X<sub>n-f</sub> = conj(X<sub>f</sub>)), only the first half of the spectrum, X<sub>0</sub>...X<sub>n/2</sub>, is written.  For
+	 * even n, the signal is packed into a complex signal half as long (even samples as the real parts, odd samples as the imaginary parts),
+	 * transformed, and untangled, which takes about half the time and memory of a complex transform of length n.
+	 * @param x the real signal (not modified)
+	 * @param re the destination for the real parts of the spectrum, of length at least n/2+1
+	 * @param im the destination for the imaginary parts of the spectrum, of length at least n/2+1
+	 */
+	public static void realTransform(double[] x, double[] re, double[] im) { realTransform(x,x.length,re,im); }
+	/**
+	 * Computes the forward transform of a real signal
+	 * @param x the real signal
+	 * @return its spectrum, X<sub>0</sub>...X<sub>n/2</sub>
+	 */
+	public static ComplexArray realTransform(double[] x) {
+		ComplexArray a=new ComplexArray(x.length/2+1);
+		realTransform(x,x.length,a.re,a.im); return a;
+	}
+
+	/**
+	 * Computes the forward transform of the first n elements of a real signal, writing X<sub>0</sub>...X<sub>n/2</sub>
+	 * @param x the real signal (not modified)
+	 * @param n the transform length
+	 * @param re the destination for the real parts of the spectrum, of length at least n/2+1
+	 * @param im the destination for the imaginary parts of the spectrum, of length at least n/2+1
+	 */
+	public static void realTransform(double[] x, int n, double[] re, double[] im) {
+		final int h=n/2;
+		if(n<1 || x.length<n || re.length<=h || im.length<=h) { throw new IllegalArgumentException("Buffers are too small for a real transform of length "+n); }
+		if(n==1) { re[0]=x[0]; im[0]=0; return; }
+
+		if((n&1)==1) { //odd: no packing trick, just do the complex transform
+			double[] ar=java.util.Arrays.copyOf(x,n), ai=new double[n];
+			transform(ar,ai,n,false);
+			System.arraycopy(ar,0,re,0,h+1); System.arraycopy(ai,0,im,0,h+1);
+			return;
+		}
+
+		for(int k=0;k<h;k++) { re[k]=x[2*k]; im[k]=x[2*k+1]; } //pack: z_k = x_2k + i x_2k+1
+		transform(re,im,h,false);                                //Z = FFT(z), of length n/2
+		untangle(plan(h).realTwiddles(),re,im,h,false);          //X_f = E_f + ω^f O_f
+	}
+
+	/**
+	 * Computes the inverse of <code>realTransform</code>: the real signal whose spectrum starts with X<sub>0</sub>...X<sub>n/2</sub>.  The
+	 * imaginary parts of X<sub>0</sub> (and of X<sub>n/2</sub>, for even n) are ignored, since they're 0 for any real signal.  For even n,
+	 * the spectrum buffers are used as scratch space, and are overwritten.
+	 * @param re the real parts of the spectrum, of length at least n/2+1
+	 * @param im the imaginary parts of the spectrum, of length at least n/2+1
+	 * @param x the destination for the real signal
+	 * @param n the signal length
+	 */
+	public static void realInverse(double[] re, double[] im, double[] x, int n) {
+		final int h=n/2;
+		if(n<1 || x.length<n || re.length<=h || im.length<=h) { throw new IllegalArgumentException("Buffers are too small for a real transform of length "+n); }
+		if(n==1) { x[0]=re[0]; return; }
+
+		if((n&1)==1) { //odd: rebuild the whole spectrum, and do the complex transform
+			double[] ar=new double[n], ai=new double[n];
+			ar[0]=re[0];
+			for(int f=1;f<=h;f++) { ar[f]=ar[n-f]=re[f]; ai[f]=im[f]; ai[n-f]=-im[f]; }
+			transform(ar,ai,n,true);
+			System.arraycopy(ar,0,x,0,n);
+			return;
+		}
+
+		untangle(plan(h).realTwiddles(),re,im,h,true); //Z_f = E_f + i O_f
+		transform(re,im,h,true);                       //z = IFFT(Z)
+		for(int k=0;k<h;k++) { x[2*k]=re[k]; x[2*k+1]=im[k]; } //unpack
+	}
+	/**
+	 * Computes the inverse of <code>realTransform</code>, without modifying the spectrum
+	 * @param spectrum X<sub>0</sub>...X<sub>n/2</sub>
+	 * @param n the signal length (n/2+1 must be the length of the spectrum)
+	 * @return the real signal
+	 */
+	public static double[] realInverse(ComplexArray spectrum, int n) {
+		double[] x=new double[n];
+		realInverse(spectrum.re.clone(),spectrum.im.clone(),x,n); return x;
+	}
+
+	/**
+	 * Converts between the transform Z of the packed signal (length h) and the first half of the real spectrum X (length h+1), in place.
+	 * Forward, X_f = E_f + ω^f O_f, where E_f = (Z_f + conj(Z_(h-f)))/2 and O_f = (Z_f - conj(Z_(h-f)))/(2i) are the transforms of the even
+	 * and odd samples.  Backward, E_f = (X_f + conj(X_(h-f)))/2, O_f = (X_f - conj(X_(h-f)))ω^-f/2, and Z_f = E_f + i O_f.  f and h-f are
+	 * processed together, so nothing gets overwritten before it's used.
+	 */
+	static void untangle(double[][] w, double[] re, double[] im, int h, boolean inverse) {
+		final double[] wr=w[0], wi=w[1]; //ω^f = e^(-2πif/2h), for f in [0,h]
+		if(!inverse) { double r=re[0], i=im[0]; re[0]=r+i; im[0]=0; re[h]=r-i; im[h]=0; } //f=0 & f=h only depend on Z_0
+		else         { double a=re[0], b=re[h]; re[0]=0.5*(a+b); im[0]=0.5*(a-b); }       //and vice versa
+		for(int f=1;2*f<=h;f++) {
+			int g=h-f;
+			double ar=re[f], ai=im[f], br=re[g], bi=-im[g];                 //A = Z_f (or X_f), B = conj(Z_g) (or conj(X_g))
+			double er=0.5*(ar+br), ei=0.5*(ai+bi), dr=0.5*(ar-br), di=0.5*(ai-bi); //E, and (A-B)/2
+			if(!inverse) {
+				double or=di, oi=-dr;                                          //O_f = (A-B)/(2i)
+				double tr=wr[f]*or-wi[f]*oi, ti=wr[f]*oi+wi[f]*or;            //ω^f O_f
+				re[f]=er+tr; im[f]=ei+ti;                                      //X_f = E_f + ω^f O_f
+				re[g]=er-tr; im[g]=ti-ei;                                      //X_g = conj(E_f) - conj(ω^f O_f)
+			}
+			else {
+				double or=dr*wr[f]+di*wi[f], oi=di*wr[f]-dr*wi[f];            //O_f = (A-B)ω^-f/2
+				re[f]=er-oi; im[f]=ei+or;                                      //Z_f = E_f + i O_f
+				re[g]=er+oi; im[g]=or-ei;                                      //Z_g = conj(E_f) + i conj(O_f)
+			}
+		}
+	}
+
+	//////////////////// PLANS ////////////////////
+
+	private static final Map<Integer,Plan> CACHE = Collections.synchronizedMap(new LinkedHashMap<Integer,Plan>(16,0.75f,true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer,Plan> eldest) { return size()>CACHE_SIZE; } //least recently used goes first
+	});
+
+	/** Returns the (cached) plan for transforms of length n */
+	static Plan plan(int n) {
+		Plan p=CACHE.get(n);
+		if(p==null) { //not cached: build it outside the lock (two threads might both build it, but that's harmless)
+			p=new Plan(n);
+			CACHE.put(n,p);
+		}
+		return p;
+	}
+
+	/**
+	 * Writes e<sup>-2πij/n</sup> into (wr[j],wi[j]) for every j in [0,count).  These are computed the same way as the tables in
+	 * <code>RootsOfUnity</code>, so they come out exactly symmetric.
+	 */
+	static void unitRoots(int n, int count, double[] wr, double[] wi) { RootsOfUnity.compute(n,0,count,wr,wi,true); }
+
+	/** Everything we need to know to transform a particular length */
+	static final class Plan {
+		static final int POW2=0, MIXED=1, BLUESTEIN=2;
+		final int n, kind;
+		final double[] wr, wi;      //the twiddle factors, e^(-2πij/n) (for j<n/2 if n is a power of 2, j<n otherwise)
+		final int[] factors;        //the radices, for mixed radix
+		final int m;                //Bluestein: the power of 2 we convolve with
+		final double[] cr, ci;      //Bluestein: the chirp, e^(-πij²/n)
+		final double[] fr, fi;      //Bluestein: the transformed filter, FFT(conj(chirp)), scaled by 1/m
+		private volatile double[][] real; //the twiddle factors for real transforms of length 2n, e^(-2πif/2n) for f in [0,n] (built when first needed)
+
+		Plan(int n) {
+			this.n=n;
+			int[] fac=factor(n);
+			if((n&(n-1))==0) { //power of 2
+				kind=POW2; factors=null; m=0; cr=ci=fr=fi=null;
+				wr=new double[n/2]; wi=new double[n/2]; unitRoots(n,n/2,wr,wi);
+			}
+			else if(fac!=null) { //all small prime factors
+				kind=MIXED; factors=fac; m=0; cr=ci=fr=fi=null;
+				wr=new double[n]; wi=new double[n]; unitRoots(n,n,wr,wi);
+			}
+			else { //large prime factor
+				kind=BLUESTEIN; factors=null; wr=wi=null;
+				m=Integer.highestOneBit(2*n-1)<<1;      //at least 2n-1, so the circular convolution doesn't wrap around
+				double[] r2=new double[2*n], i2=new double[2*n];
+				unitRoots(2*n,2*n,r2,i2);               //e^(-πij/n)
+				cr=new double[n]; ci=new double[n];
+				for(int j=0;j<n;j++) { int k=(int)((long)j*j%(2*n)); cr[j]=r2[k]; ci[j]=i2[k]; } //e^(-πij²/n)
+
+				fr=new double[m]; fi=new double[m];
+				double s=1.0/m;                          //fold the inverse transform's 1/m in here
+				fr[0]=cr[0]*s; fi[0]=-ci[0]*s;
+				for(int j=1;j<n;j++) { fr[j]=fr[m-j]=cr[j]*s; fi[j]=fi[m-j]=-ci[j]*s; }
+				plan(m).forward(fr,fi);
+			}
+		}
+
+		/** Returns the twiddle factors for real transforms of length 2n, building them if they haven't been built yet */
+		double[][] realTwiddles() {
+			double[][] w=real;
+			if(w==null) { w=new double[2][n+1]; unitRoots(2*n,n+1,w[0],w[1]); real=w; } //(a race just builds the same table twice)
+			return w;
+		}
+
+		/** The forward transform of re & im, in place */
+		void forward(double[] re, double[] im) {
+			switch(kind) {
+				case POW2:  radix2(re,im); break;
+				case MIXED: stockham(re,im); break;
+				default:    bluestein(re,im); break;
+			}
+		}
+
+		//////////////// POWERS OF 2 ////////////////
+
+		void radix2(double[] re, double[] im) {
+			final int logn=Integer.numberOfTrailingZeros(n), block=Math.min(n,BLOCK);
+			final boolean par = n>=PARALLEL_THRESHOLD;
+
+			if(par) { Parallel.forRange(null,0,n,1<<14,(from,to) -> bitReverse(re,im,logn,from,to)); } //put the input in bit reversed order
+			else    { bitReverse(re,im,logn,0,n); }
+
+			if(par) { Parallel.forRange(null,0,n/block,4,(from,to) -> { for(int b=from;b<to;b++) { smallStages(re,im,b*block,block); } }); }
+			else    { for(int b=0;b<n;b+=block) { smallStages(re,im,b,block); } } //every stage up to the block size, a block at a time
+
+			int len=2*block;                      //then every stage after that, over the whole array
+			if(Integer.numberOfTrailingZeros(n/block)%2==1) { //an odd number of stages left: do one by itself
+				final int half=len>>1, stride=n/len;
+				if(par) { Parallel.forRange(null,0,n>>1,1<<13,(from,to) -> butterflies(re,im,half,stride,from,to)); }
+				else    { butterflies(re,im,half,stride,0,n>>1); }
+				len<<=1;
+			}
+			for(;len<=n;len<<=2) {                //and the rest two at a time, so we only sweep the array once for every two stages
+				final int h=len>>1;
+				if(par) { Parallel.forRange(null,0,n>>2,1<<12,(from,to) -> butterflies2(re,im,h,from,to)); }
+				else    { butterflies2(re,im,h,0,n>>2); }
+			}
+		}
+
+		/** Swaps every element in [from,to) with its bit reversed index (if that's larger, so each pair is only swapped once) */
+		static void bitReverse(double[] re, double[] im, int logn, int from, int to) {
+			final int shift=32-logn;
+			for(int i=from;i<to;i++) {
+				int j=Integer.reverse(i)>>>shift;
+				if(i<j) { double t=re[i]; re[i]=re[j]; re[j]=t; t=im[i]; im[i]=im[j]; im[j]=t; }
+			}
+		}
+
+		/** Performs every stage of length up to size on the block [off,off+size) */
+		void smallStages(double[] re, double[] im, int off, int size) {
+			for(int k=off;k<off+size;k+=2) { //length 2: no twiddles
+				double ur=re[k], ui=im[k], vr=re[k+1], vi=im[k+1];
+				re[k]=ur+vr; im[k]=ui+vi; re[k+1]=ur-vr; im[k+1]=ui-vi;
+			}
+			for(int len=4;len<=size;len<<=1) {
+				final int half=len>>1, stride=n/len;
+				for(int b=off;b<off+size;b+=len) {
+					for(int j=0;j<half;j++) {
+						double w0=wr[j*stride], w1=wi[j*stride];
+						int a=b+j, c=a+half;
+						double vr=re[c]*w0-im[c]*w1, vi=re[c]*w1+im[c]*w0;
+						double ur=re[a], ui=im[a];
+						re[a]=ur+vr; im[a]=ui+vi; re[c]=ur-vr; im[c]=ui-vi;
+					}
+				}
+			}
+		}
+
+		/** Performs butterflies [from,to) of the stage where pairs are half apart */
+		void butterflies(double[] re, double[] im, int half, int stride, int from, int to) {
+			int j=from%half, b=(from/half)*(half<<1);
+			for(int t=from;t<to;t++) {
+				double w0=wr[j*stride], w1=wi[j*stride];
+				int a=b+j, c=a+half;
+				double vr=re[c]*w0-im[c]*w1, vi=re[c]*w1+im[c]*w0;
+				double ur=re[a], ui=im[a];
+				re[a]=ur+vr; im[a]=ui+vi; re[c]=ur-vr; im[c]=ui-vi;
+				if(++j==half) { j=0; b+=half<<1; }
+			}
+		}
+
+		/**
+		 * Performs butterflies [from,to) of two consecutive stages at once: the stage where pairs are h apart, then the stage where pairs
+		 * are 2h apart.  This does the exact same arithmetic as doing the stages one at a time, with half as many trips through memory.
+		 */
+		void butterflies2(double[] re, double[] im, int h, int from, int to) {
+			final int s1=n/(2*h), s2=n/(4*h);
+			int j=from%h, b=(from/h)*(h<<2);
+			for(int t=from;t<to;t++) {
+				double w1r=wr[j*s1], w1i=wi[j*s1], w2r=wr[j*s2], w2i=wi[j*s2]; //ω_(2h)^j, ω_(4h)^j
+				int a0=b+j, a1=a0+h, a2=a1+h, a3=a2+h;
+				double x1r=re[a1]*w1r-im[a1]*w1i, x1i=re[a1]*w1i+im[a1]*w1r; //first stage
+				double x3r=re[a3]*w1r-im[a3]*w1i, x3i=re[a3]*w1i+im[a3]*w1r;
+				double y0r=re[a0]+x1r, y0i=im[a0]+x1i, y1r=re[a0]-x1r, y1i=im[a0]-x1i;
+				double y2r=re[a2]+x3r, y2i=im[a2]+x3i, y3r=re[a2]-x3r, y3i=im[a2]-x3i;
+				double v2r=y2r*w2r-y2i*w2i, v2i=y2r*w2i+y2i*w2r;             //second stage
+				double v3r=y3r*w2i+y3i*w2r, v3i=y3i*w2i-y3r*w2r;             //y3 * ω_(4h)^(j+h) = y3 * ω_(4h)^j * -i
+				re[a0]=y0r+v2r; im[a0]=y0i+v2i; re[a2]=y0r-v2r; im[a2]=y0i-v2i;
+				re[a1]=y1r+v3r; im[a1]=y1i+v3i; re[a3]=y1r-v3r; im[a3]=y1i-v3i;
+				if(++j==h) { j=0; b+=h<<2; }
+			}
+		}
+
+		//////////////// MIXED RADIX ////////////////
+
+		/**
+		 * The Stockham transform.  After the stages for radices p<sub>1</sub>...p<sub>s</sub>, with L=p<sub>1</sub>...p<sub>s</sub> and
+		 * r=n/L, element f*r+k holds the length L transform of x[k], x[k+r], x[k+2r]..., evaluated at f.  Each stage combines p of those
+		 * transforms into one that's p times as long, ping-ponging between the input and a scratch buffer.
+		 */
+		void stockham(double[] re, double[] im) {
+			double[] sr=re, si=im, dr=new double[n], di=new double[n];
+			int L=1;
+			for(int p: factors) {
+				final int r=n/(L*p), l=L;
+				final double[] ar=sr, ai=si, br=dr, bi=di;
+				if(n>=PARALLEL_THRESHOLD) { Parallel.forRange(null,0,n/p,1<<12,(from,to) -> stage(ar,ai,br,bi,p,l,r,from,to)); }
+				else                      { stage(ar,ai,br,bi,p,l,r,0,n/p); }
+				double[] t=sr; sr=dr; dr=t; t=si; si=di; di=t; //swap source & destination
+				L*=p;
+			}
+			if(sr!=re) { System.arraycopy(sr,0,re,0,n); System.arraycopy(si,0,im,0,n); } //the answer's in the scratch buffer: copy it back
+		}
+
+		/** Performs butterflies [from,to) of one Stockham stage, where butterfly u=f0*r+k reads p inputs r apart and writes p outputs L*r apart */
+		void stage(double[] sr, double[] si, double[] dr, double[] di, int p, int L, int r, int from, int to) {
+			final double[] ar=new double[p], ai=new double[p], tr=new double[p], ti=new double[p]; //inputs & twiddles
+			final int pr=p*r, lr=L*r, wstride=n/p;
+			int f0=-1;
+			for(int u=from;u<to;u++) {
+				int f=u/r, k=u-f*r;
+				if(f!=f0) { f0=f; for(int q=1;q<p;q++) { int j=f*q*r; tr[q]=wr[j]; ti[q]=wi[j]; } } //ω_(Lp)^(f q) = ω_n^(f q r)
+
+				int in=f*pr+k;
+				ar[0]=sr[in]; ai[0]=si[in];
+				for(int q=1;q<p;q++) { //twiddle the inputs
+					double xr=sr[in+q*r], xi=si[in+q*r];
+					if(f==0) { ar[q]=xr; ai[q]=xi; }
+					else     { ar[q]=xr*tr[q]-xi*ti[q]; ai[q]=xr*ti[q]+xi*tr[q]; }
+				}
+
+				int out=f*r+k; //output g goes to out+g*L*r
+				switch(p) {
+					case 2: {
+						dr[out]=ar[0]+ar[1]; di[out]=ai[0]+ai[1]; dr[out+lr]=ar[0]-ar[1]; di[out+lr]=ai[0]-ai[1];
+					} break;
+					case 3: {
+						final double c=-0.5, s=-0.8660254037844386; //cos & -sin of 2π/3
+						double sumr=ar[1]+ar[2], sumi=ai[1]+ai[2], mr=ar[0]+c*sumr, mi=ai[0]+c*sumi;
+						double nr=-s*(ai[1]-ai[2]), ni=s*(ar[1]-ar[2]); //i*s*(a1-a2)
+						dr[out]=ar[0]+sumr; di[out]=ai[0]+sumi;
+						dr[out+lr]=mr+nr;   di[out+lr]=mi+ni;
+						dr[out+2*lr]=mr-nr; di[out+2*lr]=mi-ni;
+					} break;
+					case 4: {
+						double t0r=ar[0]+ar[2], t0i=ai[0]+ai[2], t1r=ar[0]-ar[2], t1i=ai[0]-ai[2];
+						double t2r=ar[1]+ar[3], t2i=ai[1]+ai[3], t3r=ar[1]-ar[3], t3i=ai[1]-ai[3];
+						dr[out]=t0r+t2r;      di[out]=t0i+t2i;
+						dr[out+lr]=t1r+t3i;   di[out+lr]=t1i-t3r;   //t1 - i t3
+						dr[out+2*lr]=t0r-t2r; di[out+2*lr]=t0i-t2i;
+						dr[out+3*lr]=t1r-t3i; di[out+3*lr]=t1i+t3r; //t1 + i t3
+					} break;
+					case 5: {
+						final double c1=0.30901699437494745, c2=-0.8090169943749475, s1=-0.9510565162951535, s2=-0.5877852522924731; //cos & -sin of 2π/5 & 4π/5
+						double t1r=ar[1]+ar[4], t1i=ai[1]+ai[4], t2r=ar[2]+ar[3], t2i=ai[2]+ai[3];
+						double d1r=ar[1]-ar[4], d1i=ai[1]-ai[4], d2r=ar[2]-ar[3], d2i=ai[2]-ai[3];
+						double m1r=ar[0]+c1*t1r+c2*t2r, m1i=ai[0]+c1*t1i+c2*t2i, m2r=ar[0]+c2*t1r+c1*t2r, m2i=ai[0]+c2*t1i+c1*t2i;
+						double n1r=-(s1*d1i+s2*d2i), n1i=s1*d1r+s2*d2r, n2r=-(s2*d1i-s1*d2i), n2i=s2*d1r-s1*d2r; //i*(s1 d1 + s2 d2), i*(s2 d1 - s1 d2)
+						dr[out]=ar[0]+t1r+t2r; di[out]=ai[0]+t1i+t2i;
+						dr[out+lr]=m1r+n1r;   di[out+lr]=m1i+n1i;
+						dr[out+2*lr]=m2r+n2r; di[out+2*lr]=m2i+n2i;
+						dr[out+3*lr]=m2r-n2r; di[out+3*lr]=m2i-n2i;
+						dr[out+4*lr]=m1r-n1r; di[out+4*lr]=m1i-n1i;
+					} break;
+					default: { //any other prime: a direct DFT of length p
+						for(int g=0;g<p;g++) {
+							double yr=ar[0], yi=ai[0];
+							for(int q=1, j=g;q<p;q++, j+=g) {
+								if(j>=p) { j-=p; }
+								double w0=wr[j*wstride], w1=wi[j*wstride];
+								yr+=ar[q]*w0-ai[q]*w1; yi+=ar[q]*w1+ai[q]*w0;
+							}
+							dr[out+g*lr]=yr; di[out+g*lr]=yi;
+						}
+					}
+				}
+			}
+		}
+
+		/** Splits n into radices (4s first, then 2, 3, 5, and other primes), or returns null if it has a prime factor larger than MAX_RADIX */
+		static int[] factor(int n) {
+			int[] f=new int[32]; int c=0;
+			while(n%4==0) { f[c++]=4; n/=4; }
+			for(int p=2;p<=MAX_RADIX && n>1;p++) {
+				while(n%p==0) { f[c++]=p; n/=p; }
+			}
+			return n==1 ? java.util.Arrays.copyOf(f,c) : null;
+		}
+
+		//////////////// BLUESTEIN ////////////////
+
+		/** X_f = w_f Σ (x_t w_t) conj(w_(f-t)), where w_j = e^(-πij²/n): a convolution, which we compute with power-of-2 transforms */
+		void bluestein(double[] re, double[] im) {
+			double[] ar=new double[m], ai=new double[m];
+			for(int j=0;j<n;j++) { //x_t w_t, zero padded
+				ar[j]=re[j]*cr[j]-im[j]*ci[j]; ai[j]=re[j]*ci[j]+im[j]*cr[j];
+			}
+			Plan sub=plan(m);
+			sub.forward(ar,ai);
+			for(int j=0;j<m;j++) { //multiply by the transformed filter, and conjugate (so the next forward transform is an inverse)
+				double t=ar[j]*fr[j]-ai[j]*fi[j]; ai[j]=-(ar[j]*fi[j]+ai[j]*fr[j]); ar[j]=t;
+			}
+			sub.forward(ar,ai);
+			for(int j=0;j<n;j++) { //conjugate back, then multiply by w_f
+				double xr=ar[j], xi=-ai[j];
+				re[j]=xr*cr[j]-xi*ci[j]; im[j]=xr*ci[j]+xi*cr[j];
+			}
+		}
+	}
+}
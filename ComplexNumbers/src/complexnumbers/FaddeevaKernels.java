@@ -0,0 +1,335 @@
+package complexnumbers;
+
+/**
+ * The Faddeeva function, w(z) = e<sup>-z²</sup>erfc(-iz), and the error functions built from it (erf, erfc, erfcx, erfi & Dawson's
+ * integral), evaluated on primitive (re, im) pairs without creating any objects.
+ *
+ * <br><br>w(z) is evaluated in the upper half plane (the lower half comes from w(z) = 2e<sup>-z²</sup>-w(-z)), and by a different method
+ * in each region:
+ * <br>- far from the origin, the Laplace continued fraction, with just as many levels as that distance calls for
+ * <br>- near the origin, Weideman's rational approximation: a degree 40 polynomial in (L+iz)/(L-iz), which needs no exp, sin or cos
+ * <br>- very near the origin (|z|&lt;1/4), w's Taylor series, which gets w(0)=1 exactly (Weideman's approximation is a few ulps off there)
+ * <br>- in the band 2≤|x|&lt;8, 0≤y&lt;1 above the real axis, where Re(w) can be many orders of magnitude smaller than Im(w), the
+ * Zaghloul-Ali sums, which get Re(w) to full precision (this is what matters for the Voigt profile).
+ *
+ * <br><br>The other functions are derived from w with whichever symmetry avoids cancellation, with Taylor series around the places where
+ * every symmetry cancels.  As with <code>GammaKernels</code>, the result of each evaluation is left in the <code>re</code> &
+ * <code>im</code> fields, so each thread needs its own instance.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class FaddeevaKernels extends Mafs {
+
+	static final double ISQRTPI = 0.5641895835477563; //1/√π
+	static final double TWO_ISQRTPI = 1.1283791670955126; //2/√π
+
+	/** Weideman's approximation: w(z) ≈ 2p(Z)/(L-iz)² + 1/(√π(L-iz)), Z = (L+iz)/(L-iz), where p is a degree N-1 polynomial */
+	static final int WEIDEMAN_N = 40;
+	static final double WEIDEMAN_L = Math.sqrt(WEIDEMAN_N/ROOT2); //the best L for this N
+	static final double[] WEIDEMAN = new double[WEIDEMAN_N];      //the coefficients of p, constant term first
+
+	/** w's Taylor series, w(z) = Σ(iz)ⁿ/Γ(n/2+1): its coefficients, enough of them for |z|&lt;1/4 */
+	static final double[] TAYLOR = new double[20];
+
+	/** The Zaghloul-Ali sums: the step size a, 2a/π, and e^(-a²n²) for n=1,2,3... */
+	static final double ZA_A  = 0.518321480337894; //π/√(-ln(ε/2))
+	static final double ZA_A2 = ZA_A*ZA_A;
+	static final double ZA_C  = 2*ZA_A/Math.PI;
+	static final double ZA_EPS = 1.1102230246251565E-16; //the relative size of the last term we bother with
+	static final double[] ZA_EXP = new double[12];       //past n=12, e^(-a²n²) < ε/2
+
+	static {
+		//p's coefficients are the Fourier coefficients of (L²+t²)e^(-t²), with t=L·tan(θ/2), sampled at 4N equally spaced angles
+		final int m=2*WEIDEMAN_N;
+		final double[] f=new double[2*m];
+		for(int k=1-m;k<m;k++) { final double t=WEIDEMAN_L*Math.tan(0.5*Math.PI*k/m); f[k+m]=Math.exp(-t*t)*(WEIDEMAN_L*WEIDEMAN_L+t*t); }
+		for(int n=1;n<=WEIDEMAN_N;n++) {
+			double sum=0;
+			for(int k=1-m;k<m;k++) { sum+=f[k+m]*Math.cos(Math.PI*k*n/m); } //f is even, so only the cosines survive
+			WEIDEMAN[n-1]=sum/(4*WEIDEMAN_N);
+		}
+		for(int n=1;n<=ZA_EXP.length;n++) { ZA_EXP[n-1]=Math.exp(-ZA_A2*n*n); }
+		TAYLOR[0]=1; TAYLOR[1]=TWO_ISQRTPI;
+		for(int n=2;n<TAYLOR.length;n++) { TAYLOR[n]=TAYLOR[n-2]*2/n; } //Γ(n/2+1) = (n/2)Γ(n/2)
+	}
+
+	/** The result of the last evaluation */
+	double re, im;
+
+	//////////////////// THE FADDEEVA FUNCTION ////////////////////
+
+	/** w(x+yi) = e^(-z²)erfc(-iz) */
+	void w(double x, double y) {
+		if(y<0) { //lower half: w(z) = 2e^(-z²) - w(-z)
+			wUpper(-x,-y); final double wr=re, wi=im;
+			expSq(x,y);
+			re=2*re-wr; im=2*im-wi;
+			return;
+		}
+		wUpper(x,y);
+	}
+
+	/** w(x+yi) for y≥0 */
+	void wUpper(double x, double y) {
+		final double ax=Math.abs(x);
+		if(x!=x || y!=y) { re=im=Double.NaN; return; }
+
+		if(y>7 || ax>=8)                 { continuedFraction(ax,y); }
+		else if(ax*ax+y*y<0.0625)        { taylor(ax,y);            }
+		else if(ax<2 || y>=1)            { weideman(ax,y);          }
+		else                             { zaghloulAli(ax,y);       }
+
+		if(x<0) { im=-im; } //w(-conj(z)) = conj(w(z))
+	}
+
+	/** Weideman's rational approximation (for x≥0, y≥0, not too far from the origin) */
+	void weideman(double x, double y) {
+		final double dr=WEIDEMAN_L+y, d=1/(dr*dr+x*x);
+		final double rr=dr*d, ri=x*d;                 //r = 1/(L-iz)
+		final double nr=WEIDEMAN_L-y;
+		final double zr=nr*rr-x*ri, zi=nr*ri+x*rr;    //Z = (L+iz)/(L-iz), which lies on (or in) the unit circle
+
+		double pr=WEIDEMAN[WEIDEMAN_N-1], pi=0;
+		for(int n=WEIDEMAN_N-2;n>=0;n--) { final double t=pr*zr-pi*zi+WEIDEMAN[n]; pi=pr*zi+pi*zr; pr=t; } //Horner's method
+
+		final double tr=2*(pr*rr-pi*ri)+ISQRTPI, ti=2*(pr*ri+pi*rr); //w = (2p(Z)/(L-iz) + 1/√π)/(L-iz)
+		re=tr*rr-ti*ri; im=tr*ri+ti*rr;
+	}
+
+	/** w's Taylor series (for |z|&lt;1/4) */
+	void taylor(double x, double y) {
+		final double ur=-y, ui=x; //iz
+		double pr=TAYLOR[TAYLOR.length-1], pi=0;
+		for(int n=TAYLOR.length-2;n>=0;n--) { final double t=pr*ur-pi*ui+TAYLOR[n]; pi=pr*ui+pi*ur; pr=t; } //Horner's method
+		re=pr; im=pi;
+	}
+
+	/** The Laplace continued fraction, w(z) = (i/√π)/(z-(1/2)/(z-1/(z-(3/2)/(z-...)))), for x≥0 and y≥0 far enough from the origin */
+	void continuedFraction(double x, double y) {
+		if(x+y>4000) { //one or two levels are enough
+			if(x+y>1e7) { //w(z) = (i/√π)/z, careful not to overflow
+				if(x>y)        { final double r=y/x, d=ISQRTPI/(x+r*y); re=d*r; im=d; }
+				else if(y==INF) { re=im=0; }
+				else           { final double r=x/y, d=ISQRTPI/(r*x+y); re=d; im=d*r; }
+			}
+			else { //w(z) = (i/√π)z/(z²-1/2)
+				final double dr=x*x-y*y-0.5, di=2*x*y, d=ISQRTPI/(dr*dr+di*di);
+				re=d*(x*di-y*dr); im=d*(x*dr+y*di);
+			}
+		}
+		else {
+			final int levels=(int)(3.9+11.398/(0.08254*x+0.1421*y+0.2023)); //the number of levels we need shrinks as |z| grows
+			double wr=x, wi=y;
+			for(double k=0.5*(levels-1);k>0.4;k-=0.5) { final double d=k/(wr*wr+wi*wi); wr=x-wr*d; wi=y+wi*d; } //w = z - k/w, from the bottom up
+			final double d=ISQRTPI/(wr*wr+wi*wi);
+			re=d*wi; im=d*wr; //(i/√π)/w
+		}
+		if(y<1 && x<27) { //the fraction misses e^(-z²), which is invisible next to Im(w), but not always next to Re(w)
+			final double e=Math.exp((y-x)*(y+x)), ang=2*x*y;
+			re+=e*Math.cos(ang); im-=e*Math.sin(ang);
+		}
+	}
+
+	/**
+	 * The Zaghloul-Ali sums (ACM algorithm 916), for 2≤x<8 and 0≤y<1.  These write w as erfcx(y)e^(-x²) plus a few sums over
+	 * e^(-(an±x)²)/(a²n²+y²), which only take about 15-25 terms, and which keep Re(w) accurate no matter how close to the real axis we are.
+	 */
+	void zaghloulAli(double x, double y) {
+		weideman(0,y); final double erfcx=re; //erfcx(y) = w(iy), which is real
+
+		final double expx2=Math.exp(-x*x), expm2ax=Math.exp(-2*ZA_A*x), y2=y*y;
+		double s1=0, s2=0, s4=0, prodm=1;
+		for(int n=1;n<=ZA_EXP.length;n++) { //the sums over e^(-a²n²-x²) and e^(-(an+x)²), which are small, and shrink fast
+			final double coef=ZA_EXP[n-1]*expx2/(ZA_A2*n*n+y2);
+			prodm*=expm2ax;
+			s1+=coef; s2+=coef*prodm; s4+=coef*prodm*(ZA_A*n);
+		}
+
+		//the sums over e^(-(an-x)²), which are the big ones.  Building e^(2axn) one factor at a time would compound the rounding errors in
+		//its biggest terms, so we start from the biggest term, n0≈x/a, and work our way outwards in both directions.
+		final int n0=Math.max(1,(int)Math.rint(x/ZA_A));
+		final double d0=ZA_A*n0-x, q=ZA_EXP[0]*ZA_EXP[0];    //q = e^(-2a²)
+		final double t0=Math.exp(-d0*d0)/(ZA_A2*n0*n0+y2);
+		double s3=t0, s5=t0*(ZA_A*n0);
+		double up=Math.exp(-d0*d0), rUp=Math.exp(-2*ZA_A*d0)*ZA_EXP[0]; //e^(-(an-x)²), and what it gets multiplied by to step n up by 1
+		double dn=up,               rDn=ZA_EXP[0]/rUp*ZA_EXP[0];       //the same thing, stepping n down by 1
+		for(int k=1;;k++) {
+			up*=rUp; rUp*=q;
+			final double tu=up/(ZA_A2*(n0+k)*(n0+k)+y2);
+			s3+=tu; s5+=tu*(ZA_A*(n0+k));
+			double td=0;
+			if(n0-k>=1) {
+				dn*=rDn; rDn*=q;
+				td=dn/(ZA_A2*(n0-k)*(n0-k)+y2);
+				s3+=td; s5+=td*(ZA_A*(n0-k));
+			}
+			if((tu+td)*(ZA_A*(n0+k))<ZA_EPS*s5) { break; }
+		}
+
+		final double xy=x*y, sxy=Math.sin(xy), s2xy=Math.sin(2*xy), c2xy=Math.cos(2*xy);
+		final double c1=expx2*erfcx-ZA_C*y*s1, c2=ZA_C*x*expx2;
+		re=c1*c2xy+c2*sxy*sinc(xy,sxy)+0.5*ZA_C*y*(s2+s3);
+		im=c2*sinc(2*xy,s2xy)-c1*s2xy+0.5*ZA_C*(s5-s4);
+	}
+
+	//////////////////// THE ERROR FUNCTIONS ////////////////////
+
+	/** erfcx(x+yi) = e^(z²)erfc(z) = w(iz) */
+	void erfcx(double x, double y) { w(-y,x); }
+
+	/** erfc(x+yi) */
+	void erfc(double x, double y) {
+		if(x!=x || y!=y) { re=im=Double.NaN; return; }
+		if(y==0) { //real input
+			if(x*x>750) { re=x>=0?0:2; im=0; return; } //e^(-x²) underflows
+			wUpper(0,Math.abs(x)); final double e=Math.exp(-x*x)*re; //e^(-x²)erfcx(|x|)
+			re=x>=0 ? e : 2-e; im=0;
+			return;
+		}
+		if(x==0) { //erfc(iy) = 1 - i·erfi(y) = 1 - i·e^(y²)Im(w(y))
+			if(y*y>720) { re=1; im=y>0?-INF:INF; return; }
+			wUpper(y,0); re=1; im=-Math.exp(y*y)*im;
+			return;
+		}
+		final double mr=(y-x)*(y+x), mi=-2*x*y; //-z²
+		if(mr<-750) { re=x>=0?0:2; im=0; return; } //e^(-z²) underflows
+		if(Double.isInfinite(mi)) { re=x>=0?0:2; im=0; if(!negligible(x,y,mr)) { re=im=Double.NaN; } return; } //(see negligible)
+
+		if(x>=0) { w(-y,x); } //erfc(z) = e^(-z²)w(iz) on the right,
+		else     { w(y,-x); } //2 - e^(-z²)w(-iz) on the left
+		final double wr=re, wi=im, e=Math.exp(mr), er=e*Math.cos(mi), ei=e*Math.sin(mi);
+		re=er*wr-ei*wi; im=er*wi+ei*wr;
+		if(x<0) { re=2-re; im=-im; }
+	}
+
+	/** erf(x+yi) */
+	void erf(double x, double y) {
+		if(x!=x || y!=y) { re=im=Double.NaN; return; }
+		if(x*x+y*y<0.25) { erfTaylor(x,y); return; } //small |z|: 1-erfc(z) would cancel
+		if(y==0) { //real input
+			if(x*x>750) { re=x>=0?1:-1; im=0; return; }
+			wUpper(0,Math.abs(x)); final double e=Math.exp(-x*x)*re;
+			re=x>=0 ? 1-e : e-1; im=0;
+			return;
+		}
+		if(x==0) { //erf(iy) = i·erfi(y) = i·e^(y²)Im(w(y))
+			if(y*y>720) { re=0; im=y>0?INF:-INF; return; }
+			wUpper(y,0); re=0; im=Math.exp(y*y)*im;
+			return;
+		}
+		final double mr=(y-x)*(y+x), mi=-2*x*y;
+		if(mr<-750) { re=x>=0?1:-1; im=0; return; }
+		if(Double.isInfinite(mi)) { re=x>=0?1:-1; im=0; if(!negligible(x,y,mr)) { re=im=Double.NaN; } return; }
+		if(Math.abs(x)<5e-3 && Math.abs(mi)<5e-3) { erfNearImaginary(x,y); return; } //near the imaginary axis: Re(erf) would cancel
+
+		if(x>=0) { w(-y,x); } //erf(z) = 1 - e^(-z²)w(iz) on the right,
+		else     { w(y,-x); } //e^(-z²)w(-iz) - 1 on the left
+		final double wr=re, wi=im, e=Math.exp(mr), er=e*Math.cos(mi), ei=e*Math.sin(mi);
+		re=er*wr-ei*wi; im=er*wi+ei*wr;
+		if(x>=0) { re=1-re; im=-im; }
+		else     { re-=1; }
+	}
+
+	/**
+	 * Whether e<sup>-z²</sup>w(±iz) is too small to change erf(z) or erfc(z), for |xy|&gt;10<sup>307</sup>, where 2xy overflows and the phase
+	 * of e<sup>-z²</sup> is lost.  There |w(±iz)| ≈ 1/(√π|z|), so the term is about e<sup>Re(-z²)</sup>/(√π|z|).  If it isn't negligible, the
+	 * answer's direction can't be known, and the callers return NaN.
+	 */
+	static boolean negligible(double x, double y, double mr) {
+		return mr<Math.log(Math.abs(x)+Math.abs(y))-40; //(e^-40 < ε/4)
+	}
+
+	/** erf(z) = (2/√π)Σ(-z²)^n z/(n!(2n+1)), for |z|<1/2 */
+	void erfTaylor(double x, double y) {
+		final double mr=(y-x)*(y+x), mi=-2*x*y;  //-z²
+		double tr=x, ti=y, sr=x, si=y;           //the term (-z²)^n z/n!, and the sum
+		for(int n=1;n<=12;n++) {                 //|z²|^12/12! < ε/2
+			final double t=(tr*mr-ti*mi)/n; ti=(tr*mi+ti*mr)/n; tr=t;
+			sr+=tr/(2*n+1); si+=ti/(2*n+1);
+		}
+		re=TWO_ISQRTPI*sr; im=TWO_ISQRTPI*si;
+	}
+
+	/**
+	 * erf(x+yi) for tiny x and xy, as a Taylor series in x:
+	 * erf(iy) + (2/√π)e^(y²)[x(1 - x²(1+2y²)/3 + x⁴(3+12y²+4y⁴)/30) - ix²y(1 - x²(3+2y²)/6)]
+	 */
+	void erfNearImaginary(double x, double y) {
+		final double x2=x*x, y2=y*y, e=Math.exp(y2);
+		wUpper(y,0); final double wi=im; //erf(iy) = i·e^(y²)Im(w(y))
+		re=e*x*(TWO_ISQRTPI-x2*(0.37612638903183752464+0.75225277806367504925*y2)
+		        +x2*x2*(0.11283791670955125739+y2*(0.45135166683820502956+0.15045055561273500986*y2)));
+		im=e*(wi-x2*y*(TWO_ISQRTPI-x2*(0.56418958354775628695+0.37612638903183752464*y2)));
+	}
+
+	/** erfi(x+yi) = -i·erf(iz) */
+	void erfi(double x, double y) { erf(-y,x); final double t=re; re=im; im=-t; }
+
+	/** Dawson's integral, D(x+yi) = (√π/2)e^(-z²)erfi(z) */
+	void dawson(double x, double y) {
+		if(x!=x || y!=y) { re=im=Double.NaN; return; }
+		if(y==0) { wUpper(x,0); re=ROOTPI2*im; im=0; return; } //D(x) = (√π/2)Im(w(x))
+		if(x==0) { //D(iy) = i(√π/2)e^(y²)erf(y)
+			erf(y,0); im=y*y>709 ? (y>0?INF:-INF) : ROOTPI2*Math.exp(y*y)*re; re=0;
+			return;
+		}
+		final double mr=(y-x)*(y+x), mi=-2*x*y; //-z²
+		if(x*x+y*y<0.25) { //small |z|: D(z) = Σ(-2z²)^n z/(1·3·5···(2n+1))
+			double tr=x, ti=y; re=x; im=y;
+			for(int n=1;n<=14;n++) { final double t=2*(tr*mr-ti*mi)/(2*n+1); ti=2*(tr*mi+ti*mr)/(2*n+1); tr=t; re+=tr; im+=ti; }
+			return;
+		}
+		if(Math.abs(y)<5e-3 && Math.abs(mi)<5e-3) { dawsonNearReal(x,y); return; } //near the real axis: e^(-z²)-w(z) would cancel
+
+		//D(z) = i(√π/2)(e^(-z²)-w(z)) above the real axis, i(√π/2)(w(-z)-e^(-z²)) below it
+		if(y>=0) { w(x,y); } else { w(-x,-y); }
+		final double wr=re, wi=im, e=Math.exp(mr), er=e*Math.cos(mi), ei=e*Math.sin(mi);
+		final double dr=y>=0 ? er-wr : wr-er, di=y>=0 ? ei-wi : wi-ei;
+		re=-ROOTPI2*di; im=ROOTPI2*dr;
+	}
+
+	/**
+	 * D(x+yi) for tiny y and xy, as a Taylor series in y around D=D(x).  For |x|>40, where 2xD cancels with 1, D is replaced with the
+	 * first few levels of its continued fraction, D(x) = 1/2/(x-1/2/(x-1/(x-3/2/(...)))), and the whole thing is simplified.
+	 */
+	void dawsonNearReal(double x, double y) {
+		final double x2=x*x, y2=y*y;
+		if(x2>1600) { //|x|>40
+			if(x2>25e14) { //|x|>5e7: one or two levels are enough (and anything more would overflow)
+				final double xy2=(x*y)*(x*y);
+				re=(0.5+y2*(0.5+0.25*y2-xy2/6))/x;
+				im=y*(-1+y2*(-2.0/3+xy2*(2.0/15)-y2*(4.0/15)))/(2*x2-1);
+				return;
+			}
+			final double d=1/(-15+x2*(90+x2*(-60+8*x2)));
+			re=d*x*(33+x2*(-28+4*x2)+y2*(18-4*x2+4*y2));
+			im=d*y*(-15+x2*(24-4*x2)+y2*(4*x2-10-4*y2));
+			return;
+		}
+		wUpper(x,0); final double D=ROOTPI2*im;
+		re=D+y2*(D+x-2*D*x2)+y2*y2*(D*(0.5-x2*(2-x2*(2.0/3)))+x*(5.0/6-x2/3));
+		im=y*(1-2*D*x+y2*(2.0/3)*(1-x2-D*x*(3-2*x2))+y2*y2*(4.0/15-x2*(0.6-x2*(2.0/15))-D*x*(1-x2*(4.0/3-x2*(4.0/15)))));
+	}
+
+	/**
+	 * The Voigt profile: the convolution of a Gaussian (standard deviation σ) and a Lorentzian (half width γ), evaluated at x.  It's
+	 * Re(w((x+iγ)/(σ√2)))/(σ√(2π)).
+	 */
+	double voigt(double x, double sigma, double gamma) {
+		final double s=1/(sigma*ROOT2);
+		wUpper(x*s,gamma*s);
+		return re*s*ISQRTPI;
+	}
+
+	/** sin(x)/x, given x & sin(x) */
+	private static double sinc(double x, double sinx) { return Math.abs(x)<1e-4 ? 1-x*x/6 : sinx/x; }
+
+	/** e^(-z²), without overflowing early */
+	void expSq(double x, double y) {
+		final double mag=Math.exp((y-x)*(y+x)), ang=-2*x*y;
+		re=mag*Math.cos(ang); im=mag*Math.sin(ang);
+		if(mag==0) { re=im=0; } //(0 times a NaN angle is still 0)
+	}
+}
@@ -0,0 +1,449 @@
+package complexnumbers;
+
+/**
+ * Bulk single precision kernels over primitive <code>float</code> buffers, with an optional vectorized backend.  This is the
+ * <code>float</code> counterpart of <code>ComplexKernels</code>.
+ *
+ * <br><br>Rendering and colouring passes rarely need more than 7 digits, and they tend to be limited by memory bandwidth rather than by
+ * arithmetic.  Storing each part as a <code>float</code> halves the memory traffic, and since twice as many <code>float</code>s fit in
+ * a SIMD register, the vectorized backend processes twice as many complex numbers per instruction.
+ *
+ * <br><br>The layouts are the same as in <code>ComplexKernels</code>: <em>split</em> (separate real & imaginary arrays, like
+ * <code>ComplexArrayF</code>) or <em>interleaved</em> ({re0, im0, re1, im1, ...}), with the range [from,to) measured in complex numbers,
+ * and the destination allowed to be one of the operands.
+ *
+ * <br><br>If the <code>jdk.incubator.vector</code> module is available at runtime and the <code>VectorFloatKernels</code> backend was
+ * compiled into the library, the arithmetic kernels run on <code>FloatVector</code> lanes; otherwise, they fall back to the scalar loops
+ * here.  Both backends perform the same operations in the same order, so they agree bit for bit.  Division & the absolute value are done
+ * in <code>float</code> whenever |divisor|² can't overflow or underflow, and in <code>double</code> (then rounded) when it can, so
+ * neither one ever loses precision to a subnormal.  The exponential, logarithm & argument are always scalar: they're computed in
+ * <code>double</code> and rounded, so they're nearly always correctly rounded.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class FloatKernels extends Mafs {
+
+	static final float LO = 1.0842022E-19f, HI = 9.223372E18f; //2^-63 and 2^63: the range where the absolute square of a float is safe
+
+	private static final FloatKernels SCALAR = new FloatKernels(); //the scalar backend
+	private static final FloatKernels VECTOR = loadVector();       //the vectorized backend (or null if it isn't available)
+	private static FloatKernels backend = VECTOR!=null ? VECTOR : SCALAR; //whichever backend we're currently using
+
+	/** Only the backends construct this class. */
+	FloatKernels() { }
+
+	private static FloatKernels loadVector() { //attempts to load the vectorized backend
+		try {
+			return (FloatKernels)Class.forName("complexnumbers.VectorFloatKernels").getDeclaredConstructor().newInstance();
+		}
+		catch(ReflectiveOperationException | LinkageError e) { return null; } //the class or the incubator module is missing: no vectorized backend
+	}
+
+	/**
+	 * Whether the kernels are currently running on the vectorized backend.
+	 * @return true if vectorized, false if scalar
+	 */
+	public static boolean isVectorized() { return backend!=SCALAR; }
+
+	/**
+	 * Selects the vectorized backend (if it's available) or the scalar backend.
+	 * @param on true to vectorize, false to force the scalar fallback
+	 * @return whether the kernels are now vectorized
+	 */
+	public static boolean setVectorized(boolean on) {
+		backend = (on && VECTOR!=null) ? VECTOR : SCALAR;
+		return isVectorized();
+	}
+
+////////////////////////////////////////////// SPLIT LAYOUT /////////////////////////////////
+
+	/**
+	 * d = a + b, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void add(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) { backend.addSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a * b, over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void mul(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) { backend.mulSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a * conj(b), over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void conjMul(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) { backend.conjMulSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a / b, over split arrays.  Gives the same results as <code>ComplexF.div</code>.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void div(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) { backend.divSplit(ar,ai,br,bi,dr,di,from,to); }
+	/**
+	 * d = a * b + c, over split arrays, where every real multiply-add is fused (<code>Math.fma</code>).
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param br real parts of b
+	 * @param bi imaginary parts of b
+	 * @param cr real parts of c
+	 * @param ci imaginary parts of c
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void fma(float[] ar, float[] ai, float[] br, float[] bi, float[] cr, float[] ci, float[] dr, float[] di, int from, int to) { backend.fmaSplit(ar,ai,br,bi,cr,ci,dr,di,from,to); }
+	/**
+	 * dst = |a|², over split arrays.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dst the absolute squares
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void absq(float[] ar, float[] ai, float[] dst, int from, int to) { backend.absqSplit(ar,ai,dst,from,to); }
+	/**
+	 * dst = |a|, over split arrays.  Gives the same results as <code>ComplexF.abs</code>.
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dst the absolute values
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void abs(float[] ar, float[] ai, float[] dst, int from, int to) { backend.absSplit(ar,ai,dst,from,to); }
+
+	/**
+	 * dst = arg(a), over split arrays (always scalar).
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dst the arguments
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void arg(float[] ar, float[] ai, float[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { dst[k]=arg(ar[k],ai[k]); }
+	}
+	/**
+	 * d = e^a, over split arrays (always scalar).
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void exp(float[] ar, float[] ai, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) { exp(dr,k,di,k,ar[k],ai[k]); }
+	}
+	/**
+	 * d = ln(a) (principal branch), over split arrays (always scalar).
+	 * @param ar real parts of a
+	 * @param ai imaginary parts of a
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void log(float[] ar, float[] ai, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) { log(dr,k,di,k,ar[k],ai[k]); }
+	}
+
+////////////////////////////////////////////// INTERLEAVED LAYOUT /////////////////////////////////
+
+	/**
+	 * d = a + b, over interleaved arrays.
+	 * @param a the first operand {re0, im0, re1, im1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void add(float[] a, float[] b, float[] d, int from, int to) { backend.addInter(a,b,d,from,to); }
+	/**
+	 * d = a * b, over interleaved arrays.
+	 * @param a the first operand {re0, im0, re1, im1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void mul(float[] a, float[] b, float[] d, int from, int to) { backend.mulInter(a,b,d,from,to); }
+	/**
+	 * d = a * conj(b), over interleaved arrays.
+	 * @param a the first operand {re0, im0, re1, im1, ...}
+	 * @param b the second operand
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void conjMul(float[] a, float[] b, float[] d, int from, int to) { backend.conjMulInter(a,b,d,from,to); }
+	/**
+	 * d = a / b, over interleaved arrays.  Gives the same results as <code>ComplexF.div</code>.
+	 * @param a the dividend {re0, im0, re1, im1, ...}
+	 * @param b the divisor
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void div(float[] a, float[] b, float[] d, int from, int to) { backend.divInter(a,b,d,from,to); }
+	/**
+	 * d = a * b + c, over interleaved arrays, where every real multiply-add is fused (<code>Math.fma</code>).
+	 * @param a the first factor {re0, im0, re1, im1, ...}
+	 * @param b the second factor
+	 * @param c the addend
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void fma(float[] a, float[] b, float[] c, float[] d, int from, int to) { backend.fmaInter(a,b,c,d,from,to); }
+	/**
+	 * dst = |a|², over an interleaved array.  Note that dst is <em>not</em> interleaved: dst[k] is the absolute square of element k.
+	 * @param a the operand {re0, im0, re1, im1, ...}
+	 * @param dst the absolute squares
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void absq(float[] a, float[] dst, int from, int to) { backend.absqInter(a,dst,from,to); }
+
+////////////////////////////////////////////// CONVERSIONS /////////////////////////////////
+
+	/**
+	 * Rounds split double arrays to split float arrays.
+	 * @param re real parts
+	 * @param im imaginary parts (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void toFloat(double[] re, double[] im, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) { dr[k]=(float)re[k]; di[k]=im==null ? 0 : (float)im[k]; }
+	}
+	/**
+	 * Widens split float arrays to split double arrays (exactly).
+	 * @param re real parts
+	 * @param im imaginary parts (or null if they're all 0)
+	 * @param dr real parts of the destination
+	 * @param di imaginary parts of the destination
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 */
+	public static void toDouble(float[] re, float[] im, double[] dr, double[] di, int from, int to) {
+		for(int k=from;k<to;k++) { dr[k]=re[k]; di[k]=im==null ? 0 : im[k]; }
+	}
+	/**
+	 * Rounds an interleaved double array to an interleaved float array.
+	 * @param a the operand {re0, im0, re1, im1, ...}
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void toFloat(double[] a, float[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k++) { d[k]=(float)a[k]; }
+	}
+	/**
+	 * Widens an interleaved float array to an interleaved double array (exactly).
+	 * @param a the operand {re0, im0, re1, im1, ...}
+	 * @param d the destination
+	 * @param from the first complex index (inclusive)
+	 * @param to the last complex index (exclusive)
+	 */
+	public static void toDouble(float[] a, double[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k++) { d[k]=a[k]; }
+	}
+
+////////////////////////////////////////////// SCALAR BACKEND /////////////////////////////////
+
+	//each of these is overridden by the vectorized backend, which hands its leftover elements back to these
+
+	void addSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) { dr[k]=ar[k]+br[k]; di[k]=ai[k]+bi[k]; }
+	}
+
+	void mulSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			float xr=ar[k], xi=ai[k], yr=br[k], yi=bi[k];       //load both operands (in case d is one of them)
+			dr[k]=xr*yr-xi*yi; di[k]=xr*yi+xi*yr;               //(x+yi)(u+vi) = (xu-yv)+(xv+yu)i
+		}
+	}
+
+	void conjMulSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			float xr=ar[k], xi=ai[k], yr=br[k], yi=bi[k];
+			dr[k]=xr*yr+xi*yi; di[k]=xi*yr-xr*yi;               //(x+yi)(u-vi) = (xu+yv)+(yu-xv)i
+		}
+	}
+
+	void divSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			float x=br[k], y=bi[k];                             //load the divisor first (in case d is b)
+			dr[k]=ar[k]; di[k]=ai[k];                           //copy the dividend into the destination
+			div(dr,k,di,k,x,y);                                 //then divide it in place
+		}
+	}
+
+	void fmaSplit(float[] ar, float[] ai, float[] br, float[] bi, float[] cr, float[] ci, float[] dr, float[] di, int from, int to) {
+		for(int k=from;k<to;k++) {
+			float xr=ar[k], xi=ai[k], yr=br[k], yi=bi[k];
+			dr[k]=Math.fma(xr,yr,Math.fma(-xi,yi,cr[k]));        //xu-yv+Re(c)
+			di[k]=Math.fma(xi,yr,Math.fma( xr,yi,ci[k]));        //yu+xv+Im(c)
+		}
+	}
+
+	void absqSplit(float[] ar, float[] ai, float[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { dst[k]=ar[k]*ar[k]+ai[k]*ai[k]; }
+	}
+
+	void absSplit(float[] ar, float[] ai, float[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { dst[k]=abs(ar[k],ai[k]); }
+	}
+
+	void addInter(float[] a, float[] b, float[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k++) { d[k]=a[k]+b[k]; }
+	}
+
+	void mulInter(float[] a, float[] b, float[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			float xr=a[k], xi=a[k+1], yr=b[k], yi=b[k+1];
+			d[k]=xr*yr-xi*yi; d[k+1]=xr*yi+xi*yr;
+		}
+	}
+
+	void conjMulInter(float[] a, float[] b, float[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			float xr=a[k], xi=a[k+1], yr=b[k], yi=b[k+1];
+			d[k]=xr*yr+xi*yi; d[k+1]=xi*yr-xr*yi;
+		}
+	}
+
+	void divInter(float[] a, float[] b, float[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			float x=b[k], y=b[k+1];
+			d[k]=a[k]; d[k+1]=a[k+1];
+			div(d,k,d,k+1,x,y);
+		}
+	}
+
+	void fmaInter(float[] a, float[] b, float[] c, float[] d, int from, int to) {
+		for(int k=from<<1;k<to<<1;k+=2) {
+			float xr=a[k], xi=a[k+1], yr=b[k], yi=b[k+1];
+			d[k  ]=Math.fma(xr,yr,Math.fma(-xi,yi,c[k  ]));
+			d[k+1]=Math.fma(xi,yr,Math.fma( xr,yi,c[k+1]));
+		}
+	}
+
+	void absqInter(float[] a, float[] dst, int from, int to) {
+		for(int k=from;k<to;k++) { float x=a[k<<1], y=a[k<<1|1]; dst[k]=x*x+y*y; }
+	}
+
+////////////////////////////////////////////// PRIMITIVE KERNELS /////////////////////////////////
+
+	//these are shared by ComplexF, ComplexArrayF, and both backends, so every path gives the same answer
+
+	/**
+	 * The absolute value of x+yi.  If the absolute square is safe in <code>float</code>, this is the (correctly rounded) square root of
+	 * it; otherwise, it's computed in <code>double</code>, where the square of a <code>float</code> can never overflow or underflow.
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return |x+yi|
+	 */
+	static float abs(float x, float y) {
+		final float l=Math.max(Math.abs(x),Math.abs(y));                  //lazy abs for a quick sense of scale
+		if(l>=LO && l<HI) { return (float)Math.sqrt(x*x+y*y); }           //general case: the float absolute square is safe
+		if(Float.isInfinite(x) || Float.isInfinite(y)) { return Float.POSITIVE_INFINITY; }
+		return (float)Math.sqrt((double)x*x+(double)y*y);                 //otherwise, take it in double precision
+	}
+
+	/**
+	 * The argument of x+yi, computed in <code>double</code> and rounded.
+	 * @param x the real part
+	 * @param y the imaginary part
+	 * @return arg(x+yi)
+	 */
+	static float arg(float x, float y) { return (float)ComplexArray.arg(x,y); }
+
+	/**
+	 * Divides dr[kr]+di[ki]*i by x+yi in place.  If the absolute square of the divisor is safe in <code>float</code> (and neither of its
+	 * components is 0), this multiplies by conj(x+yi)/|x+yi|², in <code>float</code>, exactly like the vectorized backend.  Otherwise, it
+	 * divides in <code>double</code> and rounds, so subnormal & huge divisors lose nothing.
+	 * @param dr the array holding the real part of the dividend (and quotient)
+	 * @param kr the index of the real part
+	 * @param di the array holding the imaginary part of the dividend (and quotient)
+	 * @param ki the index of the imaginary part
+	 * @param x divisor's real part
+	 * @param y divisor's imaginary part
+	 */
+	static void div(float[] dr, int kr, float[] di, int ki, float x, float y) {
+		final float u=dr[kr], v=di[ki];                                    //store the dividend
+		final float l=Math.max(Math.abs(x),Math.abs(y));
+		if(l>=LO && l<HI && x!=0 && y!=0) {                                //general case: the float absolute square is safe
+			final float inv=1f/(x*x+y*y), ir=x*inv, ii=-y*inv;             //1/(x+yi) = conj(x+yi)/|x+yi|²
+			dr[kr]=u*ir-v*ii; di[ki]=u*ii+v*ir; return;
+		}
+		if(y==0) { dr[kr]=(float)((double)u/x); di[ki]=(float)((double)v/x); return; } //real divisor
+		if(x==0) { dr[kr]=(float)((double)v/y); di[ki]=(float)(-(double)u/y); return; } //imaginary divisor
+		if(Float.isInfinite(x) || Float.isInfinite(y)) { dr[kr]=u*0f; di[ki]=v*0f; return; } //infinite divisor: 0 (or NaN, if the dividend is infinite)
+		final double p=x, q=y, d=p*p+q*q;                                  //double precision: this can't overflow or underflow
+		dr[kr]=(float)((u*p+v*q)/d); di[ki]=(float)((v*p-u*q)/d);
+	}
+
+	/**
+	 * Writes e^(x+yi) into dr[kr]+di[ki]*i, computed in <code>double</code> and rounded.
+	 * @param dr the array the real part is written to
+	 * @param kr the index the real part is written to
+	 * @param di the array the imaginary part is written to
+	 * @param ki the index the imaginary part is written to
+	 * @param x the real part
+	 * @param y the imaginary part
+	 */
+	static void exp(float[] dr, int kr, float[] di, int ki, float x, float y) {
+		final double m=Math.exp(x);
+		if(y==0) { dr[kr]=(float)m; di[ki]=y; return; } //real input: real output (even if it overflows)
+		dr[kr]=(float)(m*Math.cos(y)); di[ki]=(float)(m*Math.sin(y));
+	}
+
+	/**
+	 * Writes the principal ln(x+yi) into dr[kr]+di[ki]*i, computed in <code>double</code> and rounded.
+	 * @param dr the array the real part is written to
+	 * @param kr the index the real part is written to
+	 * @param di the array the imaginary part is written to
+	 * @param ki the index the imaginary part is written to
+	 * @param x the real part
+	 * @param y the imaginary part
+	 */
+	static void log(float[] dr, int kr, float[] di, int ki, float x, float y) {
+		final double a=ComplexArray.arg(x,y);
+		if(Float.isInfinite(x) || Float.isInfinite(y)) { dr[kr]=Float.POSITIVE_INFINITY; di[ki]=(float)a; return; }
+		final double p=x, q=y, d=p*p+q*q;                                  //the square of a float can't overflow or underflow a double
+		dr[kr]=(float)(d>0.5 && d<2 ? 0.5*Math.log1p((p-1)*(p+1)+q*q) : 0.5*Math.log(d)); //near the unit circle, ln(1+(x²+y²-1)) keeps its precision
+		di[ki]=(float)a;
+	}
+}
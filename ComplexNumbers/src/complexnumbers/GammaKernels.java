@@ -0,0 +1,405 @@
+package complexnumbers;
+
+/**
+ * The gamma family (Γ, lnΓ, ψ and the polygamma functions) evaluated on primitive (re, im) pairs, without creating any objects.
+ *
+ * <br><br>Every gamma function in <code>Cpx2</code> (the allocating, Into and bulk versions alike) runs on these, so they all give the
+ * same answers.  They use Lanczos for Γ, Stirling for lnΓ, and the derivatives of Stirling for ψ and the polygammas, with shifts &amp;
+ * reflection formulas, but every intermediate value is kept in local doubles, every coefficient table is built once, and the result of
+ * each evaluation is left in the <code>re</code> &amp; <code>im</code> fields.  Since the result lives in the instance, each thread needs
+ * its own instance (they're cheap to make).
+ *
+ * <br><br>A few steps are done more carefully than the textbook versions: sin(πz) and cot(πz) reduce the real part exactly (so they're
+ * exactly 0 or ∞ at the integers), the sum of logarithms lnΓ needs is done with one running product (counting how many times it winds
+ * around the origin), and real inputs to the Lanczos approximation use <code>Math.pow</code>, which is more accurate than going through
+ * exp & log.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class GammaKernels extends Mafs {
+
+	/** The coefficients of the Lanczos approximation, computed for 64-bit floats */
+	static final double[] LANCZOS = {676.5203681218851D,  -1259.1392167224028D,  771.32342877765313D,   -176.61502916214059D,
+	                                 12.507343278686905D, -0.13857109526572012D, 9.9843695780195716e-6D, 1.5056327351493116e-7D};
+	static final double LANCZOS_0 = 0.99999999999980993D; //the constant term of the Lanczos sum
+	static final double ROOT2PI = 2.5066282746310005D;     //√(2π)
+	static final double[] FACTORIAL = new double[22];      //0! through 21!
+	static {
+		FACTORIAL[0]=1;
+		for(int n=1;n<FACTORIAL.length;n++) { FACTORIAL[n]=FACTORIAL[n-1]*n; }
+	}
+
+	/** ln(n!), exactly from the table while it lasts, then from Stirling's series (which is accurate to an ulp past there) */
+	static double logFactorial(int n) {
+		if(n<FACTORIAL.length) { return Math.log(FACTORIAL[n]); }
+		final double x=n+1, r=1/x, r2=r*r; //lnΓ(x) = (x-1/2)ln(x) - x + ln(2π)/2 + 1/12x - 1/360x³ + 1/1260x⁵ - 1/1680x⁷
+		return (x-0.5)*Math.log(x)-x+0.5*(LOG2+LOGPI)+r*(1.0/12-r2*(1.0/360-r2*(1.0/1260-r2/1680)));
+	}
+
+	/** The result of the last evaluation */
+	double re, im;
+
+	//////////////////// GAMMA ////////////////////
+
+	/** Γ(x+yi) */
+	void gamma(double x, double y) {
+		if(x<0.5) { //left half: Γ(z) = π/(sin(πz)Γ(1-z))
+			if(y==0 && x%1==0) { re=(x%2==0) ? INF : -INF; im=0; return; } //poles
+			gamma(1-x,-y); final double gr=re, gi=im;
+			sinpi(x,y);    final double sr=re, si=im;
+			if(!(Math.abs(gr)+Math.abs(gi)<INF && Math.abs(sr)+Math.abs(si)<INF)) { loggamma(x,y); exp(re,im); return; } //a factor overflows (∞·0 would be NaN): go through lnΓ instead
+			inv(sr*gr-si*gi,sr*gi+si*gr); re*=Math.PI; im*=Math.PI;
+			return;
+		}
+		if(x>171.6243769563027) { re=INF; im=0; return; } //overflow
+
+		if(x>142) { //Lanczos would overflow before Γ does: find Γ of something smaller, then multiply up
+			double bx=(x-(int)x)+141;
+			gamma(bx,y); double pr=re, pi=im;
+			while(bx<x) { double t=pr*bx-pi*y; pi=pr*y+pi*bx; pr=t; bx++; }
+			re=pr; im=pi; return;
+		}
+
+		if(y==0 && x%1==0 && x<22) { re=FACTORIAL[(int)x-1]; im=0; return; } //integers: exact factorial
+
+		lanczos(x,y);
+	}
+
+	/** The Lanczos approximation of Γ(x+yi), for x ≥ 1/2 */
+	void lanczos(double x, double y) {
+		double sr=LANCZOS_0, si=0;
+		for(int n=0;n<LANCZOS.length;n++) { //Σ c_n/(z+n)
+			final double a=x+n, s=LANCZOS[n]/(a*a+y*y);
+			sr+=s*a; si-=s*y;
+		}
+
+		final double tr=x+6.5;
+		if(y==0) { //real input: use pow for accuracy
+			double f=Math.pow(tr,x-0.5)*Math.exp(-tr)*ROOT2PI;
+			re=sr*f; im=0; return;
+		}
+		log(tr,y); final double lr=re, li=im;     //ln(t)
+		final double wr=x-0.5;                      //multiply by z-1/2 and subtract t: we want t^(z-1/2)e^(-t)
+		exp(wr*lr-y*li-tr, wr*li+y*lr-y);
+		final double er=re*ROOT2PI, ei=im*ROOT2PI;
+		re=sr*er-si*ei; im=sr*ei+si*er;
+	}
+
+	//////////////////// LOG GAMMA ////////////////////
+
+	/** lnΓ(x+yi) (the continuous branch used by <code>Cpx2.loggamma</code>) */
+	void loggamma(double x, double y) {
+		if(x<0.5) { //left half: lnΓ(z) = ln(πcsc(πz)) - lnΓ(1-z), adjusted for continuity
+			if(y==0 && x%1==0) { re=-INF; im=0; return; }
+			reflector(x,y); final double fr=re, fi=im;
+			loggamma(1-x,-y);
+			re=fr-re; im=fi-im; return;
+		}
+		if(y==0 && x%1==0 && x<22) { re=Math.log(FACTORIAL[(int)x-1]); im=0; return; }
+
+		final int shift=Cpx2.getGammaShift(-1,x);
+		logProduct(x,y,shift); final double pr=re, pi=im; //Σ ln(z+k), for k in [0,shift)
+		stirling(x+shift,y);
+		re-=pr; im-=pi;
+	}
+
+	/** The Stirling approximation of lnΓ(x+yi), for large enough x */
+	void stirling(double x, double y) {
+		log(x,y);
+		final double ar=x-0.5;
+		double sr=re*ar-im*y-x+0.5*(LOG2+LOGPI), si=re*y+im*ar-y; //(z-1/2)ln(z) - z + ln(2π)/2
+
+		inv(x,y); double er=re, ei=im;             //z^(1-2n)
+		final double qr=er*er-ei*ei, qi=2*er*ei;   //z^-2
+		final double[] B=Cpx2.bernoulliTable(14);
+		for(int n=2;n<=14;n+=2) {
+			final double b=B[n]/(n*(n-1));
+			sr+=er*b; si+=ei*b;
+			final double t=er*qr-ei*qi; ei=er*qi+ei*qr; er=t;
+		}
+		re=sr; im=si;
+	}
+
+	/** ln(πcsc(πz)) on the branch that's continuous with lnΓ (the same as <code>Cpx2.logGammaReflector</code>) */
+	void reflector(double x, double y) {
+		sinpi(x,y); double sr=re, si=im;
+		if(!Double.isInfinite(sr) && !Double.isInfinite(si)) {
+			if(!(sr>0 || sr==0 && si>=0)) { sr=-sr; si=-si; } //√(sin²)
+			log(sr,si);
+			double fr=LOGPI-re, fi=-im;
+			fi+=HALFPI*((y>0 || y==0 && x<=0) ? 1 : -1)*(Math.floor(x)+Math.ceil(x)-1);
+			if(x==(int)x) { fi+=HALFPI; }
+			re=fr; im=fi;
+		}
+		else { //sin overflows: πi·sgn(y)(z-1/2) + ln(2π)
+			final double s=Math.PI*csgn(y);
+			re=-s*y+LOG2+LOGPI; im=s*(x-0.5);
+		}
+	}
+
+	/**
+	 * Σ ln(z+k) for k in [0,count), as the log of one running product.  Each factor is in the same half plane, so every time the product
+	 * crosses the negative real axis, the principal log has wound around once more.  The product is rescaled by powers of 2 to stay finite.
+	 */
+	void logProduct(double x, double y, int count) {
+		double pr=1, pi=0; int scale=0, winds=0;
+		for(int k=0;k<count;k++) {
+			final double a=x+k;
+			final boolean before=pi>0 || pi==0 && pr<0;
+			final double t=pr*a-pi*y; pi=pr*y+pi*a; pr=t;
+			final boolean after=pi>0 || pi==0 && pr<0;
+			if(y>0 && before && !after) { winds++; } //crossed counterclockwise
+			if(y<0 && !before && after) { winds--; } //crossed clockwise
+
+			final int e=Math.getExponent(Math.max(Math.abs(pr),Math.abs(pi)));
+			if(e>512 || e<-512) { pr=Math.scalb(pr,-e); pi=Math.scalb(pi,-e); scale+=e; }
+		}
+		log(pr,pi);
+		re+=scale*LOG2; im+=2*Math.PI*winds;
+	}
+
+	//////////////////// POLYGAMMA ////////////////////
+
+	/** ψ(x+yi) */
+	void digamma(double x, double y) {
+		if(x<0.5) { //left half: ψ(z) = ψ(1-z) - πcot(πz)
+			digamma(1-x,-y); final double dr=re, di=im;
+			cotpi(x,y);
+			re=dr-Math.PI*re; im=di-Math.PI*im; return;
+		}
+		if(x==1 && y==0) { re=-GAMMA; im=0; return; }
+
+		final int shift=Cpx2.getGammaShift(0,x);
+		double nr=0, ni=0, dr=1, di=0;               //Σ 1/(z+n), as one fraction N/D (so there's only one division)
+		for(int n=0;n<shift;n++) {
+			final double a=x+n;
+			final double tr=nr*a-ni*y+dr, ti=nr*y+ni*a+di; nr=tr; ni=ti; //N/D + 1/a = (Na+D)/(Da)
+			final double ur=dr*a-di*y, ui=dr*y+di*a;       dr=ur; di=ui;
+			final int e=Math.getExponent(Math.max(Math.abs(dr),Math.abs(di)));
+			if(e>512) { nr=Math.scalb(nr,-e); ni=Math.scalb(ni,-e); dr=Math.scalb(dr,-e); di=Math.scalb(di,-e); } //keep D finite
+		}
+		inv(dr,di); final double sr=nr*re-ni*im, si=nr*im+ni*re;
+
+		final double ax=x+shift;
+		log(ax,y); double lr=re, li=im;
+		inv(ax,y); final double vr=re, vi=im;
+		lr-=0.5*vr; li-=0.5*vi;                          //ln(z) - 1/(2z)
+		final double qr=vr*vr-vi*vi, qi=2*vr*vi;         //z^-2
+		double er=qr, ei=qi;
+		final double[] B=Cpx2.bernoulliTable(14);
+		for(int n=2;n<=14;n+=2) {                        //- Σ B_n/(n·z^n)
+			final double b=B[n]/n;
+			lr-=er*b; li-=ei*b;
+			final double t=er*qr-ei*qi; ei=er*qi+ei*qr; er=t;
+		}
+		re=lr-sr; im=li-si;
+	}
+
+	/** ψ(m,x+yi), for m ≥ -1 */
+	void polygamma(int m, double x, double y) {
+		if(m==-1) { loggamma(x,y); return; }
+		if(m==0)  { digamma(x,y);  return; }
+		if(m<-1)  { re=Double.NaN; im=0; return; }
+		if(y==0 && x<=0 && x%1==0) { re=INF; im=0; return; } //poles
+
+		if(x<0.5 && y==0 && m<=Cpx2.MAX_REFLECTOR) { //left half of the real axis: reflect
+			polygammaReflector(m,x,y); final double fr=re, fi=im;
+			polygamma(m,1-x,-y);
+			if((m&1)==0) { re=fr+re; im=fi+im; }
+			else         { re=fr-re; im=fi-im; }
+			return;
+		}
+		//off the axis, P(cot) cancels catastrophically (its terms are huge, and cot²+1 is tiny), so we find the reflector another way.  Far from
+		//the axis (2π|y| ≥ m), it's a quickly converging q-series (see reflectorSeries).  Closer in, we use the fact that it only depends on
+		//z mod 1: with z0 = z+⌈-x⌉, where 0≤Re(z0)<1, the reflector is ψ(m,z0) - (-1)^m ψ(m,1-z0), and both of those just need a few shifts.
+		//(For 0≤x<1/2, we skip all that and shift z itself.)
+		if(x<0) {
+			final double sign=(m&1)==0 ? 1 : -1;
+			polygamma(m,1-x,-y); final double fr=sign*re, fi=sign*im; //(-1)^m ψ(m,1-z)
+			if(2*Math.PI*Math.abs(y)>=m) { reflectorSeries(m,x,y); }
+			else {
+				final double x0=x+Math.ceil(-x);
+				polygamma(m,1-x0,-y); final double ar=sign*re, ai=sign*im;
+				polygamma(m,x0,y); re-=ar; im-=ai;                 //ψ(m,z0) - (-1)^m ψ(m,1-z0)
+			}
+			re+=fr; im+=fi;
+			return;
+		}
+
+		final int shift=Cpx2.getGammaShift(m,x);
+		double tr=0, ti=0; //Σ m!/(z+n)^(m+1)
+		if(shift>0) {
+			final double fact=factorial(m);
+			inv(x,y); powi(re,im,m+1); final double a=Math.abs(re)+Math.abs(im);
+			if(fact<INF && a>0x1p-900 && a<0x1p900) { //the first term is the biggest, and it doesn't overflow, so just add them up
+				for(int n=0;n<shift;n++) { inv(x+n,y); powi(re,im,m+1); tr+=re; ti+=im; }
+				tr*=fact; ti*=fact;
+			}
+			else { //otherwise, factor m!/z^(m+1) out, and add up (z/(z+n))^(m+1)
+				double sr=0, si=0;
+				for(int n=0;n<shift;n++) { inv(x+n,y); final double qr=x*re-y*im, qi=x*im+y*re; powi(qr,qi,m+1); sr+=re; si+=im; }
+				scaledPow(fact,logFactorial(m),x,y,m+1,sr,si); tr=re; ti=im;
+			}
+		}
+
+		if(Math.abs(tr)+Math.abs(ti)<INF) { polygammaApprox(m,x+shift,y); re-=tr; im-=ti; }
+		else                               { re=-tr; im=-ti; } //the first term overflowed, so the rest can't bring it back (and ∞-∞ would be NaN)
+		if((m&1)==1) { re=-re; im=-im; }
+	}
+
+	/** ±ψ(m,z) for large enough x: Σ B_k(k+m-1)!/(k!z^(k+m)) (negated when m is odd) */
+	void polygammaApprox(int m, double x, double y) {
+		inv(x,y); final double vr=re, vi=im;
+		final double qr=vr*vr-vi*vi, qi=2*vr*vi;         //z^-2
+		double er=1, ei=0;                               //(k+m-1)!/(k!(m-1)!)·z^-k: (m-1)!/z^m is factored out, since it's what overflows
+
+		double sr=1+0.5*m*vr, si=0.5*m*vi;               //the first two terms: 1 + m/(2z)
+		final int max=Cpx2.getMaxBernoulli(m);
+		final double[] B=Cpx2.bernoulliTable(max);
+		for(int k=2;k<=max;k+=2) {
+			final double c=(k+m-1.0)*(k+m-2)/(k*(k-1.0));
+			final double t=(er*qr-ei*qi)*c; ei=(er*qi+ei*qr)*c; er=t;
+			sr+=er*B[k]; si+=ei*B[k];
+		}
+
+		scaledPow(factorial(m-1),logFactorial(m-1),x,y,m,sr,si); //times (m-1)!/z^m
+		re=-re; im=-im;
+	}
+
+	/**
+	 * f·s/zⁿ, where f = e<sup>lf</sup>: f times s times the n-th power of 1/z, unless f or zⁿ overflows or underflows when the result
+	 * doesn't (that happens for the high order polygammas), in which case it goes through logarithms instead
+	 */
+	void scaledPow(double f, double lf, double x, double y, int n, double sr, double si) {
+		inv(x,y); powi(re,im,n);
+		final double a=Math.abs(re)+Math.abs(im);
+		if(f<INF && a>0x1p-900 && a<0x1p900) { final double t=(re*sr-im*si)*f; im=(re*si+im*sr)*f; re=t; return; }
+		log(x,y); final double lr=re, li=im;
+		log(sr,si); exp(lf-n*lr+re,-n*li+im);
+	}
+
+	/**
+	 * The m-th derivative of -πcot(πz), for 2π|y| ≥ m: above the real axis, cot(πz) = -i(1+2Σqⁿ), where q = e<sup>2πiz</sup>, so it's
+	 * (2πi)<sup>m+1</sup>Σnᵐqⁿ (and it's conjugate symmetric).  That far out, each term is smaller than the one before, so nothing cancels,
+	 * even though the sum is exponentially small.  Each term's size is found with logarithms, since (2π)<sup>m+1</sup> alone can overflow.
+	 */
+	void reflectorSeries(int m, double x, double y) {
+		final double a=Math.abs(y), l=(m+1)*(LOG2+LOGPI), f=x-Math.floor(x); //(the phases only need x mod 1)
+		double sr=0, si=0;
+		for(int n=1;;n++) {
+			final double mag=Math.exp(l+m*Math.log(n)-2*Math.PI*a*n);
+			sincospi(2*n*f);
+			sr+=mag*im; si+=mag*re;                                //nᵐqⁿ, with the (2π)^(m+1) folded in
+			if(mag<=1e-17*(Math.abs(sr)+Math.abs(si))) { break; }
+		}
+		switch((m+1)&3) { //times i^(m+1)
+			case 0: re=sr;  im=si;  break;
+			case 1: re=-si; im=sr;  break;
+			case 2: re=-sr; im=-si; break;
+			default: re=si; im=-sr;
+		}
+		if(y<0) { im=-im; }
+	}
+
+	/** The m-th derivative of -πcot(πz): (-π)^(m+1)csc²(πz)·P(cot(πz)), with P's coefficients from <code>Cpx2.reflectorCoefficients</code> */
+	void polygammaReflector(int m, double x, double y) {
+		final double[] c=Cpx2.reflectorCoefficients(m);
+		cotpi(x,y); final double cr=re, ci=im;
+		final double c2r=cr*cr-ci*ci, c2i=2*cr*ci;
+
+		double pr=c[0], pi=0;
+		for(int k=1;k<c.length;k++) { final double t=pr*c2r-pi*c2i+c[k]; pi=pr*c2i+pi*c2r; pr=t; }
+		if((m&1)==0) { final double t=pr*cr-pi*ci; pi=pr*ci+pi*cr; pr=t; }
+		pr=Math.scalb(pr,m>>1); pi=Math.scalb(pi,m>>1);
+
+		final double s=Mafs.pow(-Math.PI,m+1), ar=c2r+1, ai=c2i;
+		re=(pr*ar-pi*ai)*s; im=(pr*ai+pi*ar)*s;
+	}
+
+	//////////////////// ELEMENTARY FUNCTIONS ////////////////////
+
+	/** 1/(x+yi), without overflowing or underflowing in the intermediate steps */
+	void inv(double x, double y) {
+		if(y==0) { re=1/x; im=0; return; }
+		if(x==0) { re=0; im=-1/y; return; }
+		final double ax=Math.abs(x), ay=Math.abs(y);
+		if(ax<9.480751908109177E+153D && ay<9.480751908109177E+153D && (ax>1.4916681462400413E-154D || ay>1.4916681462400413E-154D)) {
+			final double d=1/(x*x+y*y); re=x*d; im=-y*d; return; //|z|² neither overflows nor underflows: conjugate over |z|²
+		}
+		if(ax>=ay) { final double r=y/x, d=1/(x+y*r); re=d; im=-r*d; } //otherwise, divide through by the larger part first
+		else       { final double r=x/y, d=1/(x*r+y); re=r*d; im=-d; }
+	}
+
+	/** (x+yi)^n, for n ≥ 0, by squaring */
+	void powi(double x, double y, int n) {
+		double pr=1, pi=0;
+		while(n!=0) {
+			if((n&1)==1) { final double t=pr*x-pi*y; pi=pr*y+pi*x; pr=t; }
+			n>>=1;
+			if(n!=0) { final double t=x*x-y*y; y=2*x*y; x=t; }
+		}
+		re=pr; im=pi;
+	}
+
+	/** ln(x+yi), the principal value */
+	void log(double x, double y) {
+		if(y==0 && x>=0) { re=Math.log(x); im=y; return; } //positive real: skip the atan2 (keeping the sign of 0)
+		final double ax=Math.abs(x), ay=Math.abs(y), l=Math.max(ax,ay);
+		if(y==0 || x==0 || Double.isInfinite(l)) { re=Math.log(l); }
+		else if(l<1.4916681462400413E-154D || l>=9.480751908109177E+153D) { //|z|² would under/overflow: rescale first
+			final int e=Math.getExponent(l);
+			final double sx=Math.scalb(x,-e), sy=Math.scalb(y,-e);
+			re=0.5*Math.log(sx*sx+sy*sy)+e*LOG2;
+		}
+		else { re=0.5*Math.log(x*x+y*y); }
+		im=Math.atan2(y,x);
+	}
+
+	/** e^(x+yi) */
+	void exp(double x, double y) {
+		if(y==0) { re=Math.exp(x); im=0; return; }
+		final double c=Math.cos(y), s=Math.sin(y);
+		if(x>709) { final double h=Math.exp(0.5*x); re=(h*c)*h; im=(h*s)*h; return; } //e^x overflows, but the result might not
+		final double e=Math.exp(x);
+		re=e*c; im=e*s;
+	}
+
+	/** sin(π(x+yi)), with the real part reduced exactly (so the zeros at the integers are exact) */
+	void sinpi(double x, double y) {
+		sincospi(x); final double s=re, c=im;
+		if(y==0) { re=s; im=0; return; }
+		sinhcosh(Math.PI*y); final double sh=re, ch=im;
+		re=s*ch; im=c*sh;
+	}
+
+	/** cot(π(x+yi)), with the real part reduced exactly (so the poles at the integers are exact) */
+	void cotpi(double x, double y) {
+		sincospi(x-Math.rint(x)); final double s=re, c=im; //cot has period π, so reduce to [-1/2,1/2] first
+		if(y==0) { re=s==0 ? INF : c/s; im=0; return; }
+		final double py=Math.PI*y;
+		if(Math.abs(py)>20) { re=0; im=-Math.signum(py); return; } //cot(u+vi) → ∓i for large |v|
+		sinhcosh(py); final double sh=re, ch=im, d=1/(sh*sh+s*s); //cot(u+vi) = (sin(u)cos(u) - i·sinh(v)cosh(v))/(sinh²(v)+sin²(u))
+		re=s*c*d; im=-sh*ch*d;                                     //(written so nothing cancels near the poles)
+	}
+
+	/** Sets re to sinh(x) and im to cosh(x), with one call to exp (or expm1, when x is small enough that sinh would cancel) */
+	void sinhcosh(double x) {
+		final double a=Math.abs(x);
+		if(a<0.5) { final double e=Math.expm1(a), sh=0.5*e*(e+2)/(e+1); re=Math.copySign(sh,x); im=sh+1/(e+1); return; } //sinh = (e²+2e)/(2(e+1)), cosh = sinh + e^-a
+		if(a>709) { re=Math.sinh(x); im=Math.cosh(x); return; } //e^a overflows, so let the library functions deal with it
+		final double e=Math.exp(a), r=1/e;
+		re=Math.copySign(0.5*(e-r),x); im=0.5*(e+r);
+	}
+
+	/** Sets re to sin(πx) and im to cos(πx), reducing x exactly so that both are exact at the multiples of 1/2 */
+	void sincospi(double x) {
+		double r=x-2*Math.rint(0.5*x), sign=1; //x mod 2, in [-1,1]
+		if(r>0.5)       { r=1-r;  sign=-1; }     //reflect into [-1/2,1/2] (sin stays the same, cos flips sign)
+		else if(r<-0.5) { r=-1-r; sign=-1; }
+		if(r==0)                { re=r; im=sign; }
+		else if(Math.abs(r)==0.5) { re=2*r; im=0; }
+		else { re=Math.sin(Math.PI*r); im=sign*Math.cos(Math.PI*r); }
+	}
+}
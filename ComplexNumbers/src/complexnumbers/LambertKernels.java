@@ -0,0 +1,142 @@
+package complexnumbers;
+
+/**
+ * The Lambert W function (the product logarithm), evaluated on primitive (re, im) pairs without creating any objects.  W<sub>k</sub>(z) is
+ * the k-th solution w of we<sup>w</sup> = z, with the branches numbered & cut as in Corless et al.: every branch is cut along the negative
+ * real axis (W<sub>0</sub> only left of -1/e), and points on a cut belong to the branch above them (counterclockwise continuity).
+ *
+ * <br><br>Each evaluation starts from an approximation that's already close: the series in √(2(ez+1)) near the branch point -1/e, a Padé
+ * approximant near 0, Winitzki's approximation a little further out, and the asymptotic series in ln(z)+2πik everywhere else.  It then polishes that with Halley's method, which
+ * triples the number of correct digits with each step, so two or three steps are usually enough.
+ *
+ * <br><br>As with <code>GammaKernels</code>, the result of each evaluation is left in the <code>re</code> & <code>im</code> fields, so each
+ * thread needs its own instance.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class LambertKernels extends Mafs {
+
+	static final double E_HI = 2.718281828459045, E_LO = 1.4456468917292502E-16; //e, split into two doubles (so ez+1 doesn't cancel)
+	static final double INV_E = 0.36787944117144233; //1/e
+	static final double TWO_PI = 2*Math.PI;
+	/** The series W = μ<sub>0</sub> + μ<sub>1</sub>p + μ<sub>2</sub>p² + ..., where p = √(2(ez+1)) */
+	static final double[] BRANCH = new double[12];
+	static { //from the recurrence in Corless et al., "On the Lambert W function" (4.23 & 4.24)
+		final double[] alpha = new double[BRANCH.length];
+		BRANCH[0]=-1; BRANCH[1]=1; alpha[0]=2; alpha[1]=-1;
+		for(int k=2;k<BRANCH.length;k++) {
+			for(int j=2;j<k;j++) { alpha[k]+=BRANCH[j]*BRANCH[k+1-j]; }
+			BRANCH[k]=(k-1)/(k+1.0)*(0.5*BRANCH[k-2]+0.25*alpha[k-2])-0.5*alpha[k]-BRANCH[k-1]/(k+1);
+		}
+	}
+	static final double TOL = 1e-6;   //once a step is this small (relative to w), the next error is below rounding, so we can stop
+	static final int MAX_STEPS = 40; //(which we shouldn't ever get near)
+
+	/** The result of the last evaluation */
+	double re, im;
+	/** The number of Halley steps the last evaluation took */
+	int steps;
+
+	/** W<sub>k</sub>(x+yi) */
+	void lambertW(int k, double x, double y) {
+		steps=0;
+		if(x!=x || y!=y) { re=im=Double.NaN; return; }
+		if(y==0) { y=0; } //turns -0 into +0: points on a cut belong to the upper side
+		if(x==0 && y==0) { re=k==0 ? 0 : -INF; im=0; return; }                                   //W_0(0)=0, the others are -∞
+		if(Double.isInfinite(x) || Double.isInfinite(y)) { re=INF; im=Math.atan2(y,x)+TWO_PI*k; return; }
+
+		//////// INITIAL APPROXIMATION ////////
+		final double bx=x+INV_E;
+		if((k==0 || (k==-1 && y>=0) || (k==1 && y<0)) && bx*bx+y*y<0.09) { //near the branch point, on a sheet that touches it
+			branchSeries(k,x,y);
+			if(re*re+im*im<1e-4) { re=re-1; return; } //(re,im) holds W+1 ≈ p: when it's this small, the series is already exact
+			re-=1;
+		}
+		else if(k==0 && x>-0.5 && x*x+y*y<1) { pade(x,y); }
+		else if(k==0 && x>0 && x*x+y*y<64) { winitzki(x,y); } //(the asymptotic series can land on the wrong branch here)
+		else { asymptotic(k,x,y); }
+
+		halley(x,y);
+	}
+
+	/** W+1, from its series in p = ±√(2(ez+1)) (the sign picks between the two sheets that meet at -1/e) */
+	void branchSeries(int k, double x, double y) {
+		final double tr=2*(Math.fma(E_HI,x,1)+E_LO*x), ti=2*(E_HI+E_LO)*y; //2(ez+1), without cancelling
+		final double m=Math.sqrt(tr*tr+ti*ti);
+		if(m==0) { re=im=0; return; }                                      //exactly the branch point
+		double pr=Math.sqrt(0.5*(m+Math.abs(tr))), pi=ti/(2*pr);            //√(2(ez+1)), principal branch
+		if(tr<0) { final double t=pr; pr=Math.abs(pi); pi=ti<0 ? -t : t; }
+		if(k!=0) { pr=-pr; pi=-pi; }
+
+		double sr=BRANCH[BRANCH.length-1], si=0; //Horner's method, leaving out the -1
+		for(int n=BRANCH.length-2;n>=1;n--) { final double t=sr*pr-si*pi+BRANCH[n]; si=sr*pi+si*pr; sr=t; }
+		re=sr*pr-si*pi; im=sr*pi+si*pr;
+	}
+
+	/** W_0(z) ≈ z(1+19z/10+17z²/60)/(1+29z/10+101z²/60), the [2/2] Padé approximant of W_0(z)/z */
+	void pade(double x, double y) {
+		final double x2=x*x-y*y, y2=2*x*y;
+		final double nr=1+1.9*x+(17.0/60)*x2, ni=1.9*y+(17.0/60)*y2;
+		final double dr=1+2.9*x+(101.0/60)*x2, di=2.9*y+(101.0/60)*y2;
+		final double d=1/(dr*dr+di*di), qr=(nr*dr+ni*di)*d, qi=(ni*dr-nr*di)*d;
+		re=x*qr-y*qi; im=x*qi+y*qr;
+	}
+
+	/** W_0(z) ≈ L(1 - ln(1+L)/(2+L)), where L = ln(1+z) (Winitzki's approximation, good to a few percent in the right half plane) */
+	void winitzki(double x, double y) {
+		final double lr=0.5*Math.log((1+x)*(1+x)+y*y), li=Math.atan2(y,1+x);  //L = ln(1+z)
+		final double mr=0.5*Math.log((1+lr)*(1+lr)+li*li), mi=Math.atan2(li,1+lr); //ln(1+L)
+		final double dr=2+lr, d=1/(dr*dr+li*li), qr=(mr*dr+mi*li)*d, qi=(mi*dr-mr*li)*d; //ln(1+L)/(2+L)
+		re=lr*(1-qr)+li*qi; im=li*(1-qr)-lr*qi;
+	}
+
+	/** W_k(z) ≈ L1 - L2 + L2/L1 + L2(L2-2)/(2L1²), where L1 = ln(z)+2πik and L2 = ln(L1) */
+	void asymptotic(int k, double x, double y) {
+		final double l1r=logAbs(x,y), l1i=Math.atan2(y,x)+TWO_PI*k;
+		final double l2r=logAbs(l1r,l1i), l2i=Math.atan2(l1i,l1r);
+		final double d=1/(l1r*l1r+l1i*l1i), ir=l1r*d, ii=-l1i*d;   //1/L1
+		final double qr=l2r*ir-l2i*ii, qi=l2r*ii+l2i*ir;            //L2/L1
+		final double hr=0.5*(qr*(l2r-2)-qi*l2i), hi=0.5*(qr*l2i+qi*(l2r-2)); //L2(L2-2)/(2L1)
+		re=l1r-l2r+qr+(hr*ir-hi*ii); im=l1i-l2i+qi+(hr*ii+hi*ir);
+	}
+
+	/** Polishes the approximation in (re,im) with Halley's method, w -= f/(f' - f''f/(2f')), where f(w) = we^w - z */
+	void halley(double x, double y) {
+		double wr=re, wi=im;
+		for(steps=1;steps<=MAX_STEPS;steps++) {
+			final double fr, fi, gr, gi; //f and f', both divided by e^w unless Re(w)<0 (so nothing overflows or underflows)
+			if(wr>=0) { //f/e^w = w - ze^-w, f'/e^w = w+1
+				final double e=Math.exp(-wr), cr=e*Math.cos(wi), ci=-e*Math.sin(wi); //e^-w
+				fr=wr-(x*cr-y*ci); fi=wi-(x*ci+y*cr);
+				gr=wr+1; gi=wi;
+			}
+			else if(wr>-256) { //f = we^w - z, f' = e^w(w+1)
+				final double e=Math.exp(wr), er=e*Math.cos(wi), ei=e*Math.sin(wi);
+				fr=wr*er-wi*ei-x; fi=wr*ei+wi*er-y;
+				gr=(wr+1)*er-wi*ei; gi=(wr+1)*ei+wi*er;
+			}
+			else { //e^w is tiny enough to underflow the step, so go back to dividing by it, with ze^-w = e^(ln(z)-w)
+				final double e=Math.exp(logAbs(x,y)-wr), a=Math.atan2(y,x)-wi;
+				fr=wr-e*Math.cos(a); fi=wi-e*Math.sin(a);
+				gr=wr+1; gi=wi;
+			}
+			double d=1/(2*((wr+1)*(wr+1)+wi*wi));
+			final double ar=(wr+2)*(wr+1)+wi*wi, ai=wi*(wr+1)-(wr+2)*wi;   //(w+2)conj(w+1)
+			final double hr=gr-(ar*fr-ai*fi)*d, hi=gi-(ar*fi+ai*fr)*d;       //f' - f''f/(2f') = f' - (w+2)f/(2(w+1))
+			d=1/(hr*hr+hi*hi);
+			final double sr=(fr*hr+fi*hi)*d, si=(fi*hr-fr*hi)*d;                          //the step
+			wr-=sr; wi-=si;
+			if(sr*sr+si*si<=TOL*TOL*(wr*wr+wi*wi) || !(sr*sr+si*si>0)) { break; }
+		}
+		re=wr; im=wi;
+	}
+
+	/** ln|x+yi|, without overflowing or underflowing */
+	private static double logAbs(double x, double y) {
+		final double ax=Math.abs(x), ay=Math.abs(y), big=Math.max(ax,ay), small=Math.min(ax,ay);
+		if(big>1e150 || big<1e-150) { final double r=small/big; return Math.log(big)+0.5*Math.log1p(r*r); }
+		return 0.5*Math.log(x*x+y*y);
+	}
+}
@@ -265,25 +265,42 @@ public class Mafs {
 	 * @param d the hyperbolic argument
 	 * @return the array {sinh(d), cosh(d)}
 	 */
-	public static double[] fsinhcosh(double d) { //returns the cosh & sinh, computed simultaneously
-		if(Math.abs(d)<1E-4D) { double sq = d*d; return new double[] {d+d*sq/6, 1+0.5*sq+sq*sq/24}; }                   //small input: return Taylor's series
-		if(Math.abs(d)>20)    { double exp = Math.exp(Math.abs(d)-LOG2); return new double[] {d>0 ? exp : -exp, exp}; } //large input: return +-e^(|x|-ln(2))
+	public static double[] fsinhcosh(double d) { return fsinhcosh(d, new double[2]); } //returns the cosh & sinh, computed simultaneously
+	
+	/**
+	 * Hyperbolic sine & cosine both computed simultaneously, written into a caller-supplied array so nothing has to be allocated.
+	 * 
+	 * @param d the hyperbolic argument
+	 * @param dst an array of length at least 2
+	 * @return dst, holding {sinh(d), cosh(d)}
+	 */
+	public static double[] fsinhcosh(double d, double[] dst) { //writes the sinh & cosh, computed simultaneously
+		if(Math.abs(d)<1E-4D) { double sq = d*d; dst[0]=d+d*sq/6; dst[1]=1+0.5*sq+sq*sq/24; return dst; }                 //small input: return Taylor's series
+		if(Math.abs(d)>20)    { double exp = Math.exp(Math.abs(d)-LOG2); dst[0]=d>0 ? exp : -exp; dst[1]=exp; return dst; } //large input: return +-e^(|x|-ln(2))
 		
 		double part = Math.exp(d); //regular input: compute e^d
 		double inv  = 1.0D/part;   //and e^-d
-		return new double[] {0.5*(part-inv), 0.5*(part+inv)}; //return their sum & difference (over 2)
+		dst[0]=0.5*(part-inv); dst[1]=0.5*(part+inv); return dst; //return their sum & difference (over 2)
 	}
 	
 	/**
 	 * Sine & cosine both computed simultaneously. It performs about as well as taking them individually, but since we handle special cases for
 	 * multiples of π/2, it helps that we only have to compute the modulo once
-	 * @param d
-	 * @return
+	 * @param d the angle
+	 * @return the array {sin(d), cos(d)}
+	 */
+	public static double[] fsincos(double d) { return fsincos(d, new double[2]); } //returns the sine & cosine, computed (almost) simultaneously
+	
+	/**
+	 * Sine & cosine both computed simultaneously, written into a caller-supplied array so nothing has to be allocated.
+	 * @param d the angle
+	 * @param dst an array of length at least 2
+	 * @return dst, holding {sin(d), cos(d)}
 	 */
-	public static double[] fsincos(double d) { //returns the sine & cosine, computed (almost) simultaneously
+	public static double[] fsincos(double d, double[] dst) { //writes the sine & cosine, computed (almost) simultaneously
 		final double mod = d%Math.PI; //take the modulo WRT π
-		if(mod==0)                      { return new double[] {0,Math.cos(d)}; } //if a multiple of π, sine is 0
-		if(mod==HALFPI || mod==-HALFPI) { return new double[] {Math.sin(d),0}; } //if a half multiple of π, cosine is 0
-		return new double[] {Math.sin(d),Math.cos(d)}; //otherwise, just compute both of them
+		if(mod==0)                      { dst[0]=0;           dst[1]=Math.cos(d); return dst; } //if a multiple of π, sine is 0
+		if(mod==HALFPI || mod==-HALFPI) { dst[0]=Math.sin(d); dst[1]=0;           return dst; } //if a half multiple of π, cosine is 0
+		dst[0]=Math.sin(d); dst[1]=Math.cos(d); return dst; //otherwise, just compute both of them
 	}
 }
@@ -0,0 +1,330 @@
+package complexnumbers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A multithreaded Newton fractal renderer.
+ *
+ * <br><br>Every pixel of the viewport is used as the initial seed of Newton's method on a polynomial, and is classified by which root
+ * it converges to (its basin of attraction) and by how many iterations that took.  The polynomial can either be given by its roots, in
+ * which case each step is z - 1/(1/(z-r<sub>0</sub>) + 1/(z-r<sub>1</sub>) + ...), or by its coefficients, in which case each step is
+ * z - p(z)/p'(z) using Horner's method (and the roots it's classified against are found once, up front, with <code>PolynomialRoots</code>).
+ *
+ * <br><br>Each pixel stops iterating as soon as it falls within the convergence radius of one of the roots, so pixels near a root cost
+ * a couple iterations at most.  The image is split into tiles, rendered in parallel on a <code>ForkJoinPool</code>, and all the
+ * arithmetic is done on primitive locals, so nothing is allocated per pixel.
+ *
+ * <br><br>For interactive programs, there's also a progressive mode.  Each call to <code>refine</code> renders one more pass, starting
+ * with one pixel out of every 8×8 block (painted over the whole block) and halving the block size every pass, until every pixel has been
+ * rendered.  Only the pixels that weren't already computed by an earlier pass are computed, so the whole sequence costs about as much as
+ * one full render.  Call <code>restart</code> whenever the view or the roots change.
+ *
+ * <br><br>Results are written into caller-supplied buffers in row-major order (index = x + y*width, with row 0 at the top).  The root
+ * index is -1 for seeds that don't converge within the maximum number of iterations.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class NewtonFractalRenderer extends Mafs {
+
+	//////////////////// ATTRIBUTES ////////////////////
+
+	final int width, height;       //the dimensions of the output, in pixels
+
+	double centerRe=0, centerIm=0; //the point at the center of the viewport
+	double step;                   //the distance between two adjacent pixels on the complex plane
+
+	double[] rootRe=new double[0], rootIm=new double[0]; //the roots
+	double[] coefRe=null, coefIm=null;                   //the coefficients, in descending order (or null if we were given the roots)
+
+	int maxIter=64;                //the maximum number of iterations
+	double radius=-1;              //the convergence radius (negative means we pick one automatically)
+	double radius2;                //the square of the convergence radius we're actually using
+
+	int tileSize=64;               //the width & height of each tile
+	ForkJoinPool pool=null;        //the pool we render on (null means the common pool)
+
+	int levels=4;                  //the number of progressive passes (the first pass uses blocks of 2^(levels-1) pixels)
+	int pass=0;                    //the next progressive pass
+
+	ComplexArithmetic arith=null;  //the division each Newton step uses (null means the plain unscaled formula)
+
+	//////////////////// CONSTRUCTORS & SETTINGS ////////////////////
+
+	/**
+	 * Constructs a renderer for an image of the given size.  The default viewport is 4 units wide, centered at 0.
+	 * @param width the width in pixels
+	 * @param height the height in pixels
+	 */
+	public NewtonFractalRenderer(int width, int height) {
+		if(width<=0 || height<=0) { throw new IllegalArgumentException("Image dimensions must be positive"); }
+		this.width=width; this.height=height;
+		step=4.0/width;
+	}
+
+	/**
+	 * Sets the viewport
+	 * @param centerRe the real part of the point at the center of the image
+	 * @param centerIm the imaginary part of the point at the center of the image
+	 * @param viewWidth the width of the viewport, measured on the complex plane (the height follows from the aspect ratio)
+	 * @return this
+	 */
+	public NewtonFractalRenderer setViewport(double centerRe, double centerIm, double viewWidth) {
+		this.centerRe=centerRe; this.centerIm=centerIm; step=viewWidth/width; return restart();
+	}
+	/**
+	 * Sets the viewport
+	 * @param center the point at the center of the image
+	 * @param viewWidth the width of the viewport, measured on the complex plane
+	 * @return this
+	 */
+	public NewtonFractalRenderer setViewport(Complex center, double viewWidth) { return setViewport(center.re,center.im,viewWidth); }
+
+	/**
+	 * Uses the monic polynomial with the given roots.  Repeated roots are allowed.
+	 * @param roots the roots
+	 * @return this
+	 */
+	public NewtonFractalRenderer setRoots(Complex... roots) {
+		rootRe=new double[roots.length]; rootIm=new double[roots.length];
+		for(int k=0;k<roots.length;k++) { rootRe[k]=roots[k].re; rootIm[k]=roots[k].im; }
+		coefRe=coefIm=null;
+		return restart();
+	}
+	/**
+	 * Uses the monic polynomial with the given roots
+	 * @param re the real parts of the roots
+	 * @param im the imaginary parts of the roots
+	 * @return this
+	 */
+	public NewtonFractalRenderer setRoots(double[] re, double[] im) {
+		if(re.length!=im.length) { throw new IllegalArgumentException("Real and imaginary arrays must have the same length"); }
+		rootRe=re.clone(); rootIm=im.clone(); coefRe=coefIm=null;
+		return restart();
+	}
+	/**
+	 * Uses the polynomial with the given coefficients, in descending order (the same order as in the solver examples, so a, b, c, d means
+	 * ax³+bx²+cx+d).  Its roots are computed once, here, and then used to classify each pixel.
+	 * @param coef the coefficients, leading coefficient first
+	 * @return this
+	 */
+	public NewtonFractalRenderer setPolynomial(Complex... coef) {
+		int lead=0;
+		while(lead<coef.length && coef[lead].equals(0)) { lead++; } //skip leading zeros
+		int n=coef.length-lead;
+		coefRe=new double[n]; coefIm=new double[n];
+		for(int k=0;k<n;k++) { coefRe[k]=coef[lead+k].re; coefIm[k]=coef[lead+k].im; }
+
+		rootRe=new double[Math.max(n-1,0)]; rootIm=new double[Math.max(n-1,0)];
+		if(n>1) { PolynomialRoots.roots(coefRe,coefIm,rootRe,rootIm); }
+		return restart();
+	}
+
+	/**
+	 * Sets the maximum number of iterations
+	 * @param maxIter the maximum number of iterations
+	 * @return this
+	 */
+	public NewtonFractalRenderer setMaxIterations(int maxIter) { this.maxIter=maxIter; return restart(); }
+	/**
+	 * Sets the convergence radius.  A seed is considered to have converged once it's within this distance of a root.  By default, it's
+	 * 1/1000 of the smallest distance between two distinct roots.
+	 * @param radius the convergence radius (or a negative number to go back to the default)
+	 * @return this
+	 */
+	public NewtonFractalRenderer setConvergenceRadius(double radius) { this.radius=radius; return restart(); }
+	/**
+	 * Sets the size of the square tiles the image is split into
+	 * @param size the tile width and height, in pixels
+	 * @return this
+	 */
+	public NewtonFractalRenderer setTileSize(int size) { tileSize=Math.max(1,size); return this; }
+	/**
+	 * Sets the pool we render on
+	 * @param pool the fork join pool (null for the common pool)
+	 * @return this
+	 */
+	public NewtonFractalRenderer setPool(ForkJoinPool pool) { this.pool=pool; return this; }
+	/**
+	 * Sets the number of progressive passes.  The first pass renders one pixel out of every 2^(levels-1) × 2^(levels-1) block.
+	 * @param levels the number of passes (at least 1)
+	 * @return this
+	 */
+	public NewtonFractalRenderer setProgressiveLevels(int levels) { this.levels=Math.max(1,Math.min(levels,16)); return restart(); }
+	/**
+	 * Sets the division each Newton step uses.  By default (null), p/p' is computed with the plain formula, conj(p')p/|p'|², which is the
+	 * fastest, but loses everything once |p'|² overflows or underflows.  <code>ComplexArithmetic.SMITH</code> or <code>FMA</code> are
+	 * more robust, and more accurate near the critical points, where p' nearly cancels.
+	 * @param arith the arithmetic (or null for the plain formula)
+	 * @return this
+	 */
+	public NewtonFractalRenderer setArithmetic(ComplexArithmetic arith) { this.arith=arith; return restart(); }
+
+	/** @return the width in pixels */  public int width () { return width;  }
+	/** @return the height in pixels */ public int height() { return height; }
+	/** @return the number of roots */  public int numRoots() { return rootRe.length; }
+	/**
+	 * Returns one of the roots the pixels are classified against
+	 * @param k the root index
+	 * @return the root
+	 */
+	public Complex root(int k) { return new Complex(rootRe[k],rootIm[k]); }
+
+	/**
+	 * The real part of the point at the center of pixel column x
+	 * @param x the pixel column
+	 * @return the real part
+	 */
+	public double pixelRe(int x) { return centerRe+(x-0.5*(width -1))*step; }
+	/**
+	 * The imaginary part of the point at the center of pixel row y (row 0 is at the top)
+	 * @param y the pixel row
+	 * @return the imaginary part
+	 */
+	public double pixelIm(int y) { return centerIm-(y-0.5*(height-1))*step; }
+
+	//////////////////// RENDERING ////////////////////
+
+	/**
+	 * Renders every pixel.  Either destination may be null.
+	 * @param rootIndex the destination for the index of the root each seed converges to (-1 if it doesn't)
+	 * @param iterations the destination for the number of iterations it took
+	 */
+	public void render(int[] rootIndex, int[] iterations) {
+		check(rootIndex,iterations);
+		renderPass(rootIndex,iterations,1,false);
+		pass=levels; //the progressive render is now complete as well
+	}
+
+	/**
+	 * Starts the progressive render over.  Call this whenever the roots or the view change.  (The setters all call it for you, but if
+	 * you're changing things and rendering the same frame, you'll have to call it yourself.)
+	 * @return this
+	 */
+	public NewtonFractalRenderer restart() { pass=0; return this; }
+
+	/**
+	 * Renders the next progressive pass.  The first pass computes one pixel out of every block and paints it over the whole block, and
+	 * every pass after that halves the block size, only computing the pixels that haven't been computed yet.  The same buffers must be
+	 * passed in every time, since each pass builds on the last.
+	 * @param rootIndex the destination for the root indices (may be null)
+	 * @param iterations the destination for the iteration counts (may be null)
+	 * @return true if the image is now complete, false if there are more passes left
+	 */
+	public boolean refine(int[] rootIndex, int[] iterations) {
+		if(pass>=levels) { return true; }         //already done
+		check(rootIndex,iterations);
+		renderPass(rootIndex,iterations,1<<(levels-1-pass),pass>0);
+		pass++;
+		return pass>=levels;
+	}
+
+	/** @return whether the progressive render has finished */ public boolean isComplete() { return pass>=levels; }
+
+	private void check(int[] a, int[] b) {
+		if(a!=null && a.length<width*height || b!=null && b.length<width*height) {
+			throw new IllegalArgumentException("Destination is smaller than "+width+"x"+height);
+		}
+	}
+
+	/**
+	 * Computes the pixels at multiples of block, and paints each one over the block×block square to its lower right.  If skipCoarse is
+	 * true, the pixels at multiples of 2*block are assumed to have been computed by the previous pass, and only their squares are repainted.
+	 */
+	void renderPass(int[] rootIndex, int[] iterations, int block, boolean skipCoarse) {
+		radius2 = radius>=0 ? radius*radius : defaultRadius2();
+		Tiles.forEach(pool,width,height,Math.max(tileSize,block),(x0,y0,x1,y1) -> renderTile(x0,y0,x1,y1,rootIndex,iterations,block,skipCoarse));
+	}
+
+	void renderTile(int x0, int y0, int x1, int y1, int[] rootIndex, int[] iterations, int block, boolean skipCoarse) {
+		final int[] out=new int[2]; //{root index, iterations}
+		final Complex q = arith==null ? null : new Complex(); //the quotient, if a ComplexArithmetic computes it
+		for(int y=(y0+block-1)/block*block;y<y1;y+=block) for(int x=(x0+block-1)/block*block;x<x1;x+=block) { //every anchor in this tile
+			int k=x+y*width;
+			if(skipCoarse && x%(2*block)==0 && y%(2*block)==0) { //already computed last pass: reuse it
+				out[0] = rootIndex !=null ? rootIndex [k] : 0;
+				out[1] = iterations!=null ? iterations[k] : 0;
+				if(rootIndex==null || iterations==null) { newton(pixelRe(x),pixelIm(y),out,q); } //we didn't keep one of them, so recompute it
+			}
+			else { newton(pixelRe(x),pixelIm(y),out,q); }
+
+			for(int yb=y;yb<Math.min(y+block,height);yb++) for(int xb=x;xb<Math.min(x+block,width);xb++) { //paint the block
+				int kb=xb+yb*width;
+				if(rootIndex !=null) { rootIndex [kb]=out[0]; }
+				if(iterations!=null) { iterations[kb]=out[1]; }
+			}
+		}
+	}
+
+	/**
+	 * Runs Newton's method from a single seed
+	 * @param re the real part of the seed
+	 * @param im the imaginary part of the seed
+	 * @param out where we write {root index (or -1), number of iterations}
+	 */
+	public void newton(double re, double im, int[] out) { newton(re,im,out,arith==null ? null : new Complex()); }
+
+	/** Runs Newton's method from a single seed, using q to hold the quotient if we're dividing with a <code>ComplexArithmetic</code> */
+	void newton(double re, double im, int[] out, Complex q) {
+		final double[] rr=rootRe, ri=rootIm;
+		final int m=rr.length;
+		if(m==0) { out[0]=-1; out[1]=0; return; }
+
+		double zr=re, zi=im;
+		for(int n=0;n<=maxIter;n++) {
+			int close=closestRoot(zr,zi);                    //the nearest root
+			double dr=zr-rr[close], di=zi-ri[close];
+			if(dr*dr+di*di<=radius2) { out[0]=close; out[1]=n; return; } //we're within its convergence radius: stop here
+			if(n==maxIter) { break; }
+
+			double sr, si;                                  //the Newton step, p(z)/p'(z)
+			if(coefRe==null) { //roots: p/p' = 1/Σ1/(z-r), computed as den/num where num/den = Σ1/(z-r) (so there's only one division)
+				double numR=1, numI=0, denR=zr-rr[0], denI=zi-ri[0];
+				for(int j=1;j<m;j++) {
+					double ar=zr-rr[j], ai=zi-ri[j];
+					double t=numR*ar-numI*ai+denR; numI=numR*ai+numI*ar+denI; numR=t; //num = num*(z-r_j) + den
+					t=denR*ar-denI*ai;            denI=denR*ai+denI*ar;        denR=t; //den = den*(z-r_j)
+				}
+				if(q!=null) { arith.divInto(denR,denI,numR,numI,q); sr=q.re; si=q.im; }
+				else { double inv=1/(numR*numR+numI*numI); sr=(denR*numR+denI*numI)*inv; si=(denI*numR-denR*numI)*inv; }
+			}
+			else { //coefficients: evaluate p & p' together with Horner's method
+				double pr=coefRe[0], pi=coefIm[0], qr=0, qi=0;
+				for(int j=1;j<coefRe.length;j++) {
+					double t=qr*zr-qi*zi+pr; qi=qr*zi+qi*zr+pi; qr=t;             //p' = p'*z + p
+					t=pr*zr-pi*zi+coefRe[j]; pi=pr*zi+pi*zr+coefIm[j]; pr=t;    //p  = p*z + c_j
+				}
+				if(q!=null) { arith.divInto(pr,pi,qr,qi,q); sr=q.re; si=q.im; }
+				else { double inv=1/(qr*qr+qi*qi); sr=(pr*qr+pi*qi)*inv; si=(pi*qr-pr*qi)*inv; }
+			}
+			if(!(Math.abs(sr)+Math.abs(si)<INF)) { break; } //hit a critical point (or overflowed): this seed doesn't converge
+			zr-=sr; zi-=si;
+		}
+		out[0]=-1; out[1]=maxIter;
+	}
+
+	/** Finds the index of the closest root.  This is a linear scan, but there are rarely more than a handful of roots. */
+	int closestRoot(double zr, double zi) {
+		int best=0; double min=INF;
+		for(int k=0;k<rootRe.length;k++) {
+			double dr=zr-rootRe[k], di=zi-rootIm[k], d=dr*dr+di*di;
+			if(d<min) { min=d; best=k; }
+		}
+		return best;
+	}
+
+	/** The default square convergence radius: (1/1000 the smallest distance between distinct roots)² */
+	double defaultRadius2() {
+		double min=INF, scale=0;
+		for(int j=0;j<rootRe.length;j++) {
+			scale=Math.max(scale,Math.max(Math.abs(rootRe[j]),Math.abs(rootIm[j])));
+			for(int k=0;k<j;k++) {
+				double dr=rootRe[j]-rootRe[k], di=rootIm[j]-rootIm[k], d=dr*dr+di*di;
+				if(d>0 && d<min) { min=d; }
+			}
+		}
+		if(min==INF) { min=Math.max(1,scale*scale); } //only one distinct root
+		return 1E-6*min;
+	}
+}
@@ -0,0 +1,46 @@
+package complexnumbers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a range of indices into chunks and processes them in parallel on a <code>ForkJoinPool</code>.  This is shared by the batch
+ * solvers and evaluators, which only have to say how to process a single chunk.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class Parallel {
+
+	private Parallel() { } //this class is never instantiated
+
+	/** Processes the range [from,to) */
+	interface RangeAction {
+		void run(int from, int to);
+	}
+
+	/**
+	 * Processes [from,to) in parallel, in chunks of at most grain indices, and returns once they're all done.  Small ranges are just
+	 * processed on the calling thread.
+	 * @param pool the pool to run on (null for the common pool)
+	 */
+	static void forRange(ForkJoinPool pool, int from, int to, int grain, RangeAction action) {
+		grain=Math.max(grain,1);
+		if(to-from<=grain) { if(to>from) { action.run(from,to); } return; } //not worth splitting
+		(pool==null ? ForkJoinPool.commonPool() : pool).invoke(new Task(action,from,to,grain));
+	}
+
+	/** Processes a range by recursively splitting it in half */
+	private static class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		final RangeAction action; final int lo, hi, grain;
+		Task(RangeAction action, int lo, int hi, int grain) { this.action=action; this.lo=lo; this.hi=hi; this.grain=grain; }
+		@Override
+		protected void compute() {
+			if(hi-lo<=grain) { action.run(lo,hi); return; } //small enough: process it
+			int mid=(lo+hi)>>>1;                            //otherwise, split in half
+			invokeAll(new Task(action,lo,mid,grain), new Task(action,mid,hi,grain));
+		}
+	}
+}
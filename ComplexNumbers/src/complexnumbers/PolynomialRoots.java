@@ -0,0 +1,372 @@
+package complexnumbers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds all the roots of polynomials with complex coefficients, using the Aberth-Ehrlich method.
+ *
+ * <br><br>The Aberth-Ehrlich method refines every root at once: each one takes a Newton step that is pushed away from all the other
+ * approximations, z<sub>k</sub> -= p/(p' - p·Σ<sub>j≠k</sub>1/(z<sub>k</sub>-z<sub>j</sub>)), so the approximations never collapse
+ * onto the same root.  It converges cubically to simple roots, and doesn't need any deflation (which would lose precision).  Each root
+ * stops being refined once |p(z)| is within the rounding error of evaluating p(z), which is computed alongside p and p' by Horner's method.
+ *
+ * <br><br>Before iterating, the polynomial is rescaled by powers of 2 (z → 2<sup>e</sup>z, then divided by its leading coefficient)
+ * so the roots are all of size 1 or so.  This way, Horner's method never overflows or underflows, no matter how large or small the
+ * roots are, and the rescaling itself is exact.  Zero roots are split off exactly, and leading zero coefficients (which lower the degree)
+ * are skipped.
+ *
+ * <br><br>Coefficients are listed in descending order, so {a, b, c, d} means ax³+bx²+cx+d (the same order as the solver examples).
+ * Everything is done on primitive arrays, and the batch mode solves many polynomials of the same degree from one flat buffer, in parallel.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class PolynomialRoots extends Mafs {
+
+	static final int MAX_ITER = 500; //the most iterations we'll ever do before giving up
+
+	PolynomialRoots() { } //this class only has static members
+
+	//////////////////// SINGLE POLYNOMIALS ////////////////////
+
+	/**
+	 * Finds all the roots of a polynomial.  Leading zero coefficients are ignored, so the number of roots is the true degree.
+	 * @param coef the coefficients, leading coefficient first
+	 * @return the roots (an empty array if the polynomial is constant)
+	 */
+	public static Complex[] roots(Complex... coef) {
+		int n=coef.length-1;
+		if(n<1) { return new Complex[0]; }
+		double[] cr=new double[n+1], ci=new double[n+1];
+		for(int k=0;k<=n;k++) { cr[k]=coef[k].re; ci[k]=coef[k].im; }
+		double[] rr=new double[n], ri=new double[n];
+		int num=roots(cr,ci,rr,ri);
+
+		Complex[] ret=new Complex[num];
+		for(int k=0;k<num;k++) { ret[k]=new Complex(rr[k],ri[k]); }
+		return ret;
+	}
+
+	/**
+	 * Finds all the roots of a polynomial with coefficients stored in primitive arrays.  If the leading coefficient is 0, the degree
+	 * drops, and the roots that went off to infinity are written as ∞ after the finite roots.
+	 * @param coefRe the real parts of the coefficients, leading coefficient first
+	 * @param coefIm the imaginary parts of the coefficients (or null if they're all real)
+	 * @param rootRe the destination for the real parts of the roots, of length at least coefRe.length-1
+	 * @param rootIm the destination for the imaginary parts of the roots
+	 * @return the number of finite roots
+	 */
+	public static int roots(double[] coefRe, double[] coefIm, double[] rootRe, double[] rootIm) {
+		int n=coefRe.length-1;
+		if(n<1) { return 0; }
+		return solve(coefRe,coefIm,0,n,rootRe,rootIm,0,new double[workSize(n)]);
+	}
+
+	//////////////////// BATCHES ////////////////////
+
+	/**
+	 * Finds the roots of many polynomials of the same degree, in parallel on the common pool.  Polynomial p has its coefficients at
+	 * indices [p*(degree+1), (p+1)*(degree+1)) and its roots get written to indices [p*degree, (p+1)*degree).  If a leading
+	 * coefficient is 0, the missing roots are written as ∞.
+	 * @param degree the degree of every polynomial
+	 * @param count the number of polynomials
+	 * @param coefRe the real parts of the coefficients, leading coefficients first
+	 * @param coefIm the imaginary parts of the coefficients (or null if they're all real)
+	 * @param rootRe the destination for the real parts of the roots
+	 * @param rootIm the destination for the imaginary parts of the roots
+	 */
+	public static void rootsBatch(int degree, int count, double[] coefRe, double[] coefIm, double[] rootRe, double[] rootIm) {
+		rootsBatch(degree,count,coefRe,coefIm,rootRe,rootIm,null);
+	}
+
+	/**
+	 * Finds the roots of many polynomials of the same degree, in parallel on the given pool.  The layout is the same as above.
+	 * @param degree the degree of every polynomial
+	 * @param count the number of polynomials
+	 * @param coefRe the real parts of the coefficients, leading coefficients first
+	 * @param coefIm the imaginary parts of the coefficients (or null if they're all real)
+	 * @param rootRe the destination for the real parts of the roots
+	 * @param rootIm the destination for the imaginary parts of the roots
+	 * @param pool the pool to solve on (null for the common pool)
+	 */
+	public static void rootsBatch(int degree, int count, double[] coefRe, double[] coefIm, double[] rootRe, double[] rootIm, ForkJoinPool pool) {
+		if(degree<1 || count<=0) { return; }
+		if(coefRe.length<(long)count*(degree+1) || coefIm!=null && coefIm.length<(long)count*(degree+1) ||
+		   rootRe.length<(long)count*degree || rootIm.length<(long)count*degree) {
+			throw new IllegalArgumentException("Buffers are too small for "+count+" polynomials of degree "+degree);
+		}
+		int grain=Math.max(1,(1<<15)/((degree+1)*(degree+1))); //enough polynomials per task to be worth the overhead
+		Parallel.forRange(pool,0,count,grain,(from,to) -> {
+			double[] work=new double[workSize(degree)]; //one scratch buffer per task, shared by all its polynomials
+			for(int p=from;p<to;p++) { solve(coefRe,coefIm,p*(degree+1),degree,rootRe,rootIm,p*degree,work); }
+		});
+	}
+
+	//////////////////// CLOSED FORM SOLVERS ////////////////////
+
+	/**
+	 * Solves the quadratic equation ax²+bx+c = 0.  This is careful about overflow & underflow: whenever b/a or c/a would overflow or
+	 * underflow, it solves a rescaled quadratic instead, and when c is negligible next to b², it uses an approximation that doesn't lose
+	 * the small root to roundoff.
+	 * @param a the quadratic coefficient
+	 * @param b the linear coefficient
+	 * @param c the constant term
+	 * @return the roots (just one if a=0)
+	 */
+	public static Complex[] quadratic(Complex a, Complex b, Complex c) {
+		Complex x1=new Complex(), x2=new Complex();
+		int num=new ClosedForm().quadratic(a,b,c,x1,x2);
+		return num==1 ? new Complex[] {x1} : new Complex[] {x1,x2};
+	}
+
+	/**
+	 * Solves the cubic equation ax³+bx²+cx+d = 0 with Cardano's formula, then polishes each root with one step of Newton's method.
+	 * @param a the cubic coefficient
+	 * @param b the quadratic coefficient
+	 * @param c the linear coefficient
+	 * @param d the constant term
+	 * @return the roots (fewer than 3 if a=0)
+	 */
+	public static Complex[] cubic(Complex a, Complex b, Complex c, Complex d) {
+		Complex x1=new Complex(), x2=new Complex(), x3=new Complex();
+		int num=new ClosedForm().cubic(a,b,c,d,x1,x2,x3);
+		return num==1 ? new Complex[] {x1} : num==2 ? new Complex[] {x1,x2} : new Complex[] {x1,x2,x3};
+	}
+
+	/**
+	 * Solves many quadratic equations a<sub>k</sub>x²+b<sub>k</sub>x+c<sub>k</sub> = 0, for every k in [from,to).  The coefficients
+	 * are given as columns, and the roots of equation k are written to indices 2k and 2k+1 of the destination (the same layout as
+	 * <code>rootsBatch</code>).  If a<sub>k</sub>=0, the second root is written as ∞.  Nothing is allocated per equation.
+	 * @param aRe the real parts of the quadratic coefficients
+	 * @param aIm the imaginary parts of the quadratic coefficients (or null if they're all real)
+	 * @param bRe the real parts of the linear coefficients
+	 * @param bIm the imaginary parts of the linear coefficients (or null)
+	 * @param cRe the real parts of the constant terms
+	 * @param cIm the imaginary parts of the constant terms (or null)
+	 * @param rootRe the destination for the real parts of the roots
+	 * @param rootIm the destination for the imaginary parts of the roots
+	 * @param from the first equation
+	 * @param to one past the last equation
+	 */
+	public static void quadratic(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] cRe, double[] cIm,
+	                             double[] rootRe, double[] rootIm, int from, int to) {
+		ClosedForm s=new ClosedForm();
+		Complex a=new Complex(), b=new Complex(), c=new Complex(), x1=new Complex(), x2=new Complex();
+		for(int k=from;k<to;k++) {
+			a.set(aRe[k],aIm==null ? 0 : aIm[k]); b.set(bRe[k],bIm==null ? 0 : bIm[k]); c.set(cRe[k],cIm==null ? 0 : cIm[k]);
+			s.quadratic(a,b,c,x1,x2);
+			rootRe[2*k]=x1.re; rootIm[2*k]=x1.im; rootRe[2*k+1]=x2.re; rootIm[2*k+1]=x2.im;
+		}
+	}
+
+	/**
+	 * Solves many cubic equations a<sub>k</sub>x³+b<sub>k</sub>x²+c<sub>k</sub>x+d<sub>k</sub> = 0, for every k in [from,to).  The
+	 * coefficients are given as columns, and the roots of equation k are written to indices 3k, 3k+1 & 3k+2 of the destination.  Roots
+	 * lost to a zero leading coefficient are written as ∞.  Nothing is allocated per equation.
+	 * @param aRe the real parts of the cubic coefficients
+	 * @param aIm the imaginary parts of the cubic coefficients (or null if they're all real)
+	 * @param bRe the real parts of the quadratic coefficients
+	 * @param bIm the imaginary parts of the quadratic coefficients (or null)
+	 * @param cRe the real parts of the linear coefficients
+	 * @param cIm the imaginary parts of the linear coefficients (or null)
+	 * @param dRe the real parts of the constant terms
+	 * @param dIm the imaginary parts of the constant terms (or null)
+	 * @param rootRe the destination for the real parts of the roots
+	 * @param rootIm the destination for the imaginary parts of the roots
+	 * @param from the first equation
+	 * @param to one past the last equation
+	 */
+	public static void cubic(double[] aRe, double[] aIm, double[] bRe, double[] bIm, double[] cRe, double[] cIm, double[] dRe, double[] dIm,
+	                         double[] rootRe, double[] rootIm, int from, int to) {
+		ClosedForm s=new ClosedForm();
+		Complex a=new Complex(), b=new Complex(), c=new Complex(), d=new Complex(), x1=new Complex(), x2=new Complex(), x3=new Complex();
+		for(int k=from;k<to;k++) {
+			a.set(aRe[k],aIm==null ? 0 : aIm[k]); b.set(bRe[k],bIm==null ? 0 : bIm[k]);
+			c.set(cRe[k],cIm==null ? 0 : cIm[k]); d.set(dRe[k],dIm==null ? 0 : dIm[k]);
+			s.cubic(a,b,c,d,x1,x2,x3);
+			rootRe[3*k  ]=x1.re; rootIm[3*k  ]=x1.im;
+			rootRe[3*k+1]=x2.re; rootIm[3*k+1]=x2.im;
+			rootRe[3*k+2]=x3.re; rootIm[3*k+2]=x3.im;
+		}
+	}
+
+	/**
+	 * The closed form quadratic & cubic solvers from the solver examples, rewritten to work in a fixed set of scratch variables instead of
+	 * allocating new arrays and numbers for every equation (and with the overflow adjustment done in a loop instead of by recursion, which also stops it from recursing forever when b is infinite).
+	 * Each instance can only be used by one thread at a time.
+	 */
+	static final class ClosedForm {
+		static final double ADJ1 =0x1p500,  ADJ2 =0x1p1000;  //overflow/underflow adjustments (2^500 & 2^1000)
+		static final double ADJM1=0x1p-500, ADJM2=0x1p-1000; //and their reciprocals
+		static final double OMEGA_RE=-0.5, OMEGA_IM=Math.sqrt(0.75); //one of the complex cube roots of +1
+
+		final Complex t=new Complex(), u=new Complex(), v=new Complex(), inv=new Complex(), b2=new Complex(), c2=new Complex(); //scratch space
+		final Complex d0=new Complex(), d1=new Complex(), cb1=new Complex(), cb2=new Complex(), den=new Complex(), f=new Complex(), g=new Complex();
+
+		/**
+		 * Solves the depressed quadratic x²-2bx+c = 0 (whose solution is b±√(b²-c)), writing the roots into x1 & x2.  b & c get
+		 * overwritten, and must not be t.
+		 */
+		void quadAdjust(Complex b, Complex c, Complex x1, Complex x2) {
+			int scale=0;
+			while(b.lazyabs()>ADJ1 && b.lazyabs()<INF) { b.muleq(ADJM1); c.muleq(ADJM2); scale+=500; } //if b² overflows, solve a similar quadratic that doesn't
+			if(c.lazyabs()<1E-15D*b.absq()) { b.mulInto(2,x1); c.divInto(x1,x2); }    //if c << b², we approximate to avoid roundoff errors
+			else {
+				b.sqInto(t).subeq(c).sqrtInto(t);                                     //default case: compute √(b²-c)
+				b.addInto(t,x1); b.subInto(t,x2);                                     //b±√
+			}
+			if(scale!=0) { x1.scalbeq(scale); x2.scalbeq(scale); }                  //scale back up to the original quadratic
+		}
+
+		/** Solves ax²+bx+c = 0, writing the roots into x1 & x2 (x2=∞ if a=0), and returning the number of finite roots. */
+		int quadratic(Complex a, Complex b, Complex c, Complex x1, Complex x2) {
+			if(a.equals(0)) { c.negInto(t).divInto(b,x1); x2.set(INF,0); return 1; } //a=0: the only answer is -c/b
+
+			a.invInto(inv);                                            //calculate 1/a
+			b.mulInto(inv,b2).muleq(-0.5D); c.mulInto(inv,c2);         //compute -b/(2a) and c/a
+
+			if(b2.isInf()) { x1.set(b2); c.negInto(t).divInto(b,x2); return 2; } //if -b/(2a) overflows, approximate the results as -b/(2a) and -c/b
+			if(c2.isInf()) {                                                     //if c/a overflows, solve a similar quadratic that doesn't
+				b2.mulInto(ADJM1,u); c.divInto(a.mulInto(ADJ2,t),v);
+				quadAdjust(u,v,x1,x2); x1.muleq(ADJ1); x2.muleq(ADJ1); return 2;
+			}
+			if(!c.equals(0) && c2.equals(0)) {                                   //if c isn't 0, but c/a underflows, solve a similar quadratic that doesn't
+				b.mulInto(0.5*ADJ1,u).diveq(a); c.divInto(a.mulInto(ADJM2,t),v);
+				quadAdjust(u,v,x1,x2); x1.muleq(ADJM1); x2.muleq(ADJM1); return 2;
+			}
+			quadAdjust(b2,c2,x1,x2); return 2;                          //default case: solve x²+2(b/(2a))x+(c/a) = 0
+		}
+
+		/** Solves ax³+bx²+cx+d = 0, writing the roots into x1, x2 & x3 (∞ for the roots lost if a=0), and returning the number of finite roots. */
+		int cubic(Complex a, Complex b, Complex c, Complex d, Complex x1, Complex x2, Complex x3) {
+			if(a.equals(0)) { x3.set(INF,0); return quadratic(b,c,d,x1,x2); } //a=0: solve as a quadratic
+
+			b.sqInto(d0).subeq(a.mulInto(3,t).muleq(c));                                  //Δ0 = b²-3ac
+			b.cubInto(d1).muleq(2).addeq(a.mulInto(-9,t).muleq(b).muleq(c)).addeq(a.sqInto(t).muleq(27).muleq(d)); //Δ1 = 2b³-9abc+27a²d
+
+			d1.mulInto(0.5,u); d0.cubInto(v);
+			quadAdjust(u,v,cb1,cb2);                                                      //solve x²-Δ1x+Δ0³ = 0
+
+			if(cb1.equals(0) && cb2.equals(0)) { cb1.set(0,0); cb2.set(0,0); }          //both terms are 0: both cube roots are 0
+			else {
+				if(cb1.equals(0)) { cb2.cbrtInto(cb1); }                                   //take the cube root of one of the solutions
+				else              { cb1.cbrtInto(cb1); }                                   //(but not the one that's 0)
+				d0.divInto(cb1,cb2);                                                      //the other cube root is Δ0 divided by it
+			}
+
+			a.mulInto(-3,den).invInto(den);                                               //-1/(3a)
+			for(int n=0;n<3;n++) { //loop through all 3 values of the first cube root
+				Complex root = n==0 ? x1 : n==1 ? x2 : x3;
+				cb1.addInto(cb2,root).addeq(b).muleq(den);                               //each root is (-cbrt1-cbrt2-b)/(3a)
+
+				a.mulInto(3,g).muleq(root.sqInto(t)).addeq(b.mulInto(2,t).muleq(root)).addeq(c); //the derivative, 3ax²+2bx+c
+				if(!g.equals(0)) {                                                        //polish the root with one step of Newton's method
+					root.cubInto(f).muleq(a).addeq(root.sqInto(t).muleq(b)).addeq(root.mulInto(c,t)).addeq(d);
+					root.subeq(f.diveq(g));
+				}
+
+				cb1.muleq(OMEGA_RE, OMEGA_IM); //multiply one of the cube roots by a cube root of +1
+				cb2.muleq(OMEGA_RE,-OMEGA_IM); //and divide the other one by it
+			}
+			return 3;
+		}
+	}
+
+	//////////////////// THE SOLVER ////////////////////
+
+	/** The size of the scratch buffer needed to solve a polynomial of degree n */
+	static int workSize(int n) { return 5*n+2; }
+
+	/**
+	 * Solves the polynomial with coefficients [co,co+n] of cr & ci (ci can be null), writing the n roots to [ro,ro+n) of rr & ri.  The
+	 * finite roots come first, followed by ∞ for every leading zero.  The scratch buffer must have at least workSize(n) elements.
+	 * Returns the number of finite roots.
+	 */
+	static int solve(double[] cr, double[] ci, int co, int n, double[] rr, double[] ri, int ro, double[] work) {
+		int lead=0, trail=0;                                   //the number of leading & trailing zero coefficients
+		while(lead<=n && cr[co+lead]==0 && (ci==null || ci[co+lead]==0)) { lead++; }
+		if(lead>n) { //p=0: every number is a root, so we just say they're all NaN
+			for(int k=0;k<n;k++) { rr[ro+k]=ri[ro+k]=Double.NaN; }
+			return n;
+		}
+		while(cr[co+n-trail]==0 && (ci==null || ci[co+n-trail]==0)) { trail++; }
+		final int m=n-lead-trail;                              //the degree once we strip off the zero roots & roots at ∞
+
+		for(int k=m;k<n-lead;k++) { rr[ro+k]=ri[ro+k]=0; }     //zero roots
+		for(int k=n-lead;k<n;k++) { rr[ro+k]=INF; ri[ro+k]=0; } //roots at ∞
+		if(m==0) { return n-lead; }
+
+		//rescale: b_k = a_k / (a_0 * 2^(e*k)), up to a power of 2, where 2^e is about the size of the largest root
+		final int off=co+lead;
+		final int g0=exponent(cr[off],ci==null ? 0 : ci[off]);
+		int e=Integer.MIN_VALUE;
+		for(int k=1;k<=m;k++) {
+			double ar=cr[off+k], ai=ci==null ? 0 : ci[off+k];
+			if(ar!=0 || ai!=0) { e=Math.max(e,Math.floorDiv(exponent(ar,ai)-g0+k-1,k)); } //ceil((g_k-g0)/k)
+		}
+		final double[] br=work, bi=work; //b is stored at [0,m] (real) and [m+1,2m+1] (imaginary) of the scratch buffer
+		final int bo=m+1, zo=2*m+2;       //z is stored at [zo,zo+m) (real) and [zo+m,zo+2m) (imaginary)
+		final int fo=zo+2*m;              //whether each root has converged, at [fo,fo+m)
+		double l0r=Math.scalb(cr[off],-g0), l0i=Math.scalb(ci==null ? 0 : ci[off],-g0), linv=1/(l0r*l0r+l0i*l0i); //the leading coefficient, scaled to size 1 or so
+		for(int k=0;k<=m;k++) {
+			double ar=Math.scalb(cr[off+k],-g0-e*k), ai=Math.scalb(ci==null ? 0 : ci[off+k],-g0-e*k); //divide by 2^(g0+e*k)
+			br[k]=(ar*l0r+ai*l0i)*linv; bi[bo+k]=(ai*l0r-ar*l0i)*linv;                             //then by the leading coefficient
+			if(!(Math.abs(br[k])+Math.abs(bi[bo+k])<INF)) { //an infinite or NaN coefficient: the roots are undefined
+				for(int j=0;j<m;j++) { rr[ro+j]=ri[ro+j]=Double.NaN; }
+				return n-lead;
+			}
+		}
+
+		if(m==1) { //linear: the root is just -b_1
+			rr[ro]=Math.scalb(-br[1],e); ri[ro]=Math.scalb(-bi[bo+1],e);
+			return n-lead;
+		}
+
+		//initial guesses: evenly spaced on a circle whose radius is the geometric mean of the roots' sizes
+		double rad=Math.pow(Math.hypot(br[m],bi[bo+m]),1.0/m);
+		if(!(rad>0 && rad<INF)) { rad=1; }
+		for(int k=0;k<m;k++) {
+			double ang=2*Math.PI*k/m+0.4;
+			work[zo+k]=rad*Math.cos(ang); work[zo+m+k]=rad*Math.sin(ang); work[fo+k]=0;
+		}
+
+		final double eps=0x1p-52*(2*m+1); //a bound on the relative rounding error of Horner's method
+		for(int iter=0;iter<MAX_ITER;iter++) {
+			boolean done=true;
+			for(int k=0;k<m;k++) {
+				if(work[fo+k]!=0) { continue; }                     //this root has already converged
+				double zr=work[zo+k], zi=work[zo+m+k], az=Math.hypot(zr,zi);
+
+				double pr=br[0], pi=bi[bo], qr=0, qi=0, s=Math.hypot(pr,pi); //p, p', and Σ|b_k||z|^(m-k), by Horner's method
+				for(int j=1;j<=m;j++) {
+					double t=qr*zr-qi*zi+pr; qi=qr*zi+qi*zr+pi; qr=t;
+					t=pr*zr-pi*zi+br[j]; pi=pr*zi+pi*zr+bi[bo+j]; pr=t;
+					s=s*az+Math.hypot(br[j],bi[bo+j]);
+				}
+				if(Math.hypot(pr,pi)<=eps*s) { work[fo+k]=1; continue; } //p(z) is within rounding error of 0: we're done with this root
+
+				double sr=0, si=0;                                  //Σ 1/(z_k-z_j)
+				for(int j=0;j<m;j++) if(j!=k) {
+					double dr=zr-work[zo+j], di=zi-work[zo+m+j], inv=1/(dr*dr+di*di);
+					sr+=dr*inv; si-=di*inv;
+				}
+				double dr=qr-(pr*sr-pi*si), di=qi-(pr*si+pi*sr);    //p' - p*Σ
+				double inv=1/(dr*dr+di*di);
+				double cr2=(pr*dr+pi*di)*inv, ci2=(pi*dr-pr*di)*inv;  //the correction, p/(p'-p*Σ)
+				if(!(Math.abs(cr2)+Math.abs(ci2)<INF)) { cr2=1E-3*(az+1); ci2=1E-3*(az+1); } //the denominator vanished: nudge it instead
+				work[zo+k]=zr-cr2; work[zo+m+k]=zi-ci2;
+				done=false;
+			}
+			if(done) { break; }
+		}
+
+		for(int k=0;k<m;k++) { rr[ro+k]=Math.scalb(work[zo+k],e); ri[ro+k]=Math.scalb(work[zo+m+k],e); } //undo the rescaling
+		return n-lead;
+	}
+
+	/** The binary exponent of the larger part of a nonzero complex number */
+	static int exponent(double re, double im) {
+		return Math.getExponent(Math.max(Math.abs(re),Math.abs(im)));
+	}
+}
@@ -0,0 +1,261 @@
+package complexnumbers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tables of the n-th roots of unity, ω<sup>k</sup> = e<sup>2πik/n</sup>, for rotating by multiples of 2π/n without calling sin or cos.
+ *
+ * <br><br>Each root is computed from an angle reduced to within π/4 of the nearest quarter turn, using exact integer arithmetic (so
+ * 2πk/n is never rounded before reduction), and the quarter turn is applied by swapping & negating.  As a result, every table is exactly
+ * symmetric: ω<sup>n-k</sup> is exactly conj(ω<sup>k</sup>), ω<sup>k+n/2</sup> is exactly -ω<sup>k</sup>, ω<sup>k+n/4</sup> is exactly
+ * iω<sup>k</sup>, and the quarter & half turns are exactly ±1 and ±i.
+ *
+ * <br><br>Tables are built once per n, held in a bounded cache shared by every thread, and are read-only once built.  Very long tables
+ * aren't cached (to keep the memory use bounded), but they can still be built and kept by the caller.  For those, <code>root</code> &amp;
+ * <code>rotate</code> compute just the one root they need instead of building the whole table.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+public class RootsOfUnity extends Mafs {
+
+	static final int CACHE_SIZE = 64;           //the number of tables we keep around
+	static final int MAX_CACHED = 1<<20;        //the longest table we'll cache
+	static final double SQRT_HALF = 0.7071067811865476; //√(1/2), correctly rounded
+
+	RootsOfUnity() { } //this class only has static members
+
+	//////////////////// TABLES ////////////////////
+
+	private static final Map<Integer,Table> CACHE = Collections.synchronizedMap(new LinkedHashMap<Integer,Table>(16,0.75f,true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer,Table> eldest) { return size()>CACHE_SIZE; } //least recently used goes first
+	});
+
+	/**
+	 * Returns the table of n-th roots of unity, from the cache if possible
+	 * @param n the number of roots (positive)
+	 * @return the table of ω<sup>k</sup> = e<sup>2πik/n</sup>
+	 */
+	public static Table table(int n) {
+		if(n<1) { throw new IllegalArgumentException("There are no "+n+"-th roots of unity"); }
+		if(n>MAX_CACHED) { return new Table(n); }
+		Table t=CACHE.get(n);
+		if(t==null) { //not cached: build it outside the lock (two threads might both build it, but that's harmless)
+			t=new Table(n);
+			CACHE.put(n,t);
+		}
+		return t;
+	}
+
+	/**
+	 * The k-th power of the principal n-th root of unity
+	 * @param k the power (any integer)
+	 * @param n the number of roots
+	 * @return e<sup>2πik/n</sup>
+	 */
+	public static Complex root(long k, int n) {
+		if(n<=MAX_CACHED) { return table(n).get(k); }
+		double[] re=new double[1], im=new double[1]; //too long to cache: just compute the one root (the same way the table would)
+		compute(n,k,k+1,re,im,false);
+		return new Complex(re[0],im[0]);
+	}
+
+	/**
+	 * All the n-th roots of unity
+	 * @param n the number of roots
+	 * @return ω<sup>0</sup>...ω<sup>n-1</sup>
+	 */
+	public static Complex[] roots(int n) {
+		Table t=table(n); Complex[] z=new Complex[n];
+		for(int k=0;k<n;k++) { z[k]=new Complex(t.re[k],t.im[k]); }
+		return z;
+	}
+
+	/**
+	 * The primitive n-th roots of unity: the ω<sup>k</sup> with k coprime to n, which are the roots of the n-th cyclotomic polynomial
+	 * @param n the number of roots
+	 * @return the primitive roots, in counterclockwise order
+	 */
+	public static Complex[] primitiveRoots(int n) {
+		Table t=table(n); Complex[] z=new Complex[n]; int count=0;
+		for(int k=0;k<n;k++) {
+			if(gcd(k,n)==1) { z[count++]=new Complex(t.re[k],t.im[k]); }
+		}
+		return java.util.Arrays.copyOf(z,count);
+	}
+
+	/**
+	 * Rotates by k·2π/n radians counterclockwise, without calling sin or cos
+	 * @param z the number we rotate
+	 * @param k the number of steps
+	 * @param n the number of steps in a full turn
+	 * @return a rotated copy of z
+	 */
+	public static Complex rotate(Complex z, long k, int n) {
+		if(n<=MAX_CACHED) { return table(n).rotate(z,k); }
+		Complex w=root(k,n);
+		w.set(z.re*w.re-z.im*w.im,z.re*w.im+z.im*w.re); return w;
+	}
+
+	//////////////////// GENERATION ////////////////////
+
+	/**
+	 * Writes ω<sup>k</sup> = e<sup>±2πik/n</sup> for k in [from,to) to re[k-from] & im[k-from].  The angle 2πk/n is written as
+	 * qπ/2 + φ, with q an integer and |φ| ≤ π/4, using integer arithmetic, so only φ is ever rounded.  The sign of φ is applied after the
+	 * trig call (so conjugate pairs are exact), and φ = ±π/4 gets exactly equal cosine & sine.
+	 * @param n the number of roots
+	 * @param from the first power
+	 * @param to the power after the last
+	 * @param re the destination for the real parts
+	 * @param im the destination for the imaginary parts
+	 * @param conjugate true for e<sup>-2πik/n</sup>, false for e<sup>+2πik/n</sup>
+	 */
+	static void compute(int n, long from, long to, double[] re, double[] im, boolean conjugate) {
+		for(long k=from;k<to;k++) {
+			long j=Math.floorMod(k,(long)n);
+			long q=(4*j+n/2)/n, r=4*j-q*n;                   //2πj/n = qπ/2 + 2πr/(4n), with |r| <= n/2
+			double c, s;
+			if(2*Math.abs(r)==n) { c=SQRT_HALF; s=SQRT_HALF; } //exactly an eighth turn
+			else { double ang=HALFPI*Math.abs(r)/n; c=Math.cos(ang); s=Math.sin(ang); }
+			if(r<0) { s=-s; }
+			double x, y;
+			switch((int)(q&3)) { //rotate by q quarter turns
+				case 0:  x= c; y= s; break;
+				case 1:  x=-s; y= c; break;
+				case 2:  x=-c; y=-s; break;
+				default: x= s; y=-c; break;
+			}
+			int i=(int)(k-from);
+			re[i]=x; im[i]=conjugate ? -y : y;
+		}
+	}
+
+	/** @return the greatest common divisor of a & b (both non-negative) */
+	static int gcd(int a, int b) {
+		while(b!=0) { int t=a%b; a=b; b=t; }
+		return a;
+	}
+
+	//////////////////// THE TABLE ////////////////////
+
+	/**
+	 * A table of the n-th roots of unity, ω<sup>k</sup> = e<sup>2πik/n</sup> for k from 0 to n-1.  Powers outside that range wrap
+	 * around (so ω<sup>-1</sup> is ω<sup>n-1</sup>).  Tables are immutable, so one table can be shared by any number of threads.
+	 */
+	public static final class Table {
+
+		final int n;            //the number of roots
+		final double[] re, im;  //the real & imaginary parts of every root
+
+		Table(int n) {
+			this.n=n; re=new double[n]; im=new double[n];
+			compute(n,0,n,re,im,false);
+		}
+
+		/** @return the number of roots */
+		public int length() { return n; }
+
+		/**
+		 * @param k the power
+		 * @return Re(ω<sup>k</sup>) = cos(2πk/n)
+		 */
+		public double re(long k) { return re[index(k)]; }
+		/**
+		 * @param k the power
+		 * @return Im(ω<sup>k</sup>) = sin(2πk/n)
+		 */
+		public double im(long k) { return im[index(k)]; }
+
+		/**
+		 * @param k the power
+		 * @return ω<sup>k</sup>
+		 */
+		public Complex get(long k) { int i=index(k); return new Complex(re[i],im[i]); }
+		/**
+		 * Writes ω<sup>k</sup> into dst
+		 * @param k the power
+		 * @param dst the destination
+		 * @return dst, holding ω<sup>k</sup>
+		 */
+		public Complex getInto(long k, Complex dst) { int i=index(k); dst.set(re[i],im[i]); return dst; }
+
+		/**
+		 * Copies and rotates z by k·2π/n radians counterclockwise
+		 * @param z the number we rotate
+		 * @param k the number of steps
+		 * @return the rotated copy, zω<sup>k</sup>
+		 */
+		public Complex rotate(Complex z, long k) { return rotateInto(z,k,new Complex()); }
+		/**
+		 * Rotates z by k·2π/n radians counterclockwise
+		 * @param z the number we rotate
+		 * @param k the number of steps
+		 * @return z, rotated
+		 */
+		public Complex rotateEq(Complex z, long k) { return rotateInto(z,k,z); }
+		/**
+		 * Rotates z by k·2π/n radians counterclockwise, writing the result into dst
+		 * @param z the number we rotate
+		 * @param k the number of steps
+		 * @param dst the destination (may be z)
+		 * @return dst, holding zω<sup>k</sup>
+		 */
+		public Complex rotateInto(Complex z, long k, Complex dst) {
+			int i=index(k); double c=re[i], s=im[i];
+			dst.set(z.re*c-z.im*s,z.re*s+z.im*c); return dst;
+		}
+
+		/**
+		 * Rotates every element in [from,to) of a buffer by k·2π/n radians counterclockwise
+		 * @param re the real parts
+		 * @param im the imaginary parts
+		 * @param from the first index
+		 * @param to the index after the last
+		 * @param k the number of steps
+		 */
+		public void rotate(double[] re, double[] im, int from, int to, long k) {
+			int i=index(k); final double c=this.re[i], s=this.im[i];
+			for(int j=from;j<to;j++) {
+				double x=re[j], y=im[j];
+				re[j]=x*c-y*s; im[j]=x*s+y*c;
+			}
+		}
+
+		/**
+		 * Applies a linear phase to [from,to) of a buffer: element j is rotated by (k0+(j-from)·step)·2π/n radians counterclockwise.  This
+		 * is a frequency shift (for step≠0) and a phase shift (for k0≠0), done with table lookups.
+		 * @param re the real parts
+		 * @param im the imaginary parts
+		 * @param from the first index
+		 * @param to the index after the last
+		 * @param k0 the number of steps for the first element
+		 * @param step how many more steps each element gets than the one before it
+		 */
+		public void modulate(double[] re, double[] im, int from, int to, long k0, long step) {
+			int i=index(k0); final int d=index(step);
+			for(int j=from;j<to;j++) {
+				double c=this.re[i], s=this.im[i], x=re[j], y=im[j];
+				re[j]=x*c-y*s; im[j]=x*s+y*c;
+				i+=d; if(i>=n) { i-=n; } //next power, wrapped around
+			}
+		}
+
+		/**
+		 * Copies the roots to a pair of buffers
+		 * @param re the destination for the real parts, of length at least n
+		 * @param im the destination for the imaginary parts, of length at least n
+		 */
+		public void copyTo(double[] re, double[] im) { System.arraycopy(this.re,0,re,0,n); System.arraycopy(this.im,0,im,0,n); }
+
+		/** @return a copy of the roots, as a ComplexArray */
+		public ComplexArray toComplexArray() { return new ComplexArray(re.clone(),im.clone()); }
+
+		/** @return k, wrapped around to [0,n) */
+		int index(long k) { return (int)Math.floorMod(k,(long)n); }
+	}
+}
@@ -0,0 +1,51 @@
+package complexnumbers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an image into square tiles and renders them in parallel on a <code>ForkJoinPool</code>.  This is shared by the fractal
+ * renderers, which only have to say how to render a single tile.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class Tiles {
+
+	private Tiles() { } //this class is never instantiated
+
+	/** Renders one tile, [x0,x1)×[y0,y1) */
+	interface TileAction {
+		void render(int x0, int y0, int x1, int y1);
+	}
+
+	/**
+	 * Renders every tile of a width×height image, in parallel, and returns once they're all done.
+	 * @param pool the pool to render on (null for the common pool)
+	 */
+	static void forEach(ForkJoinPool pool, int width, int height, int tileSize, TileAction action) {
+		int tilesX = (width+tileSize-1)/tileSize, tilesY = (height+tileSize-1)/tileSize;
+		(pool==null ? ForkJoinPool.commonPool() : pool).invoke(new Task(action,width,height,tileSize,tilesX,0,tilesX*tilesY));
+	}
+
+	/** Renders a range of tiles by recursively splitting it in half */
+	private static class Task extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		final TileAction action; final int width, height, tileSize, tilesX, lo, hi;
+		Task(TileAction action, int width, int height, int tileSize, int tilesX, int lo, int hi) {
+			this.action=action; this.width=width; this.height=height; this.tileSize=tileSize; this.tilesX=tilesX; this.lo=lo; this.hi=hi;
+		}
+		@Override
+		protected void compute() {
+			if(hi-lo==1) { //one tile: render it
+				int x0=(lo%tilesX)*tileSize, y0=(lo/tilesX)*tileSize;
+				action.render(x0,y0,Math.min(x0+tileSize,width),Math.min(y0+tileSize,height));
+				return;
+			}
+			if(hi<=lo) { return; } //no tiles at all
+			int mid=(lo+hi)>>>1; //otherwise, split in half
+			invokeAll(new Task(action,width,height,tileSize,tilesX,lo,mid), new Task(action,width,height,tileSize,tilesX,mid,hi));
+		}
+	}
+}
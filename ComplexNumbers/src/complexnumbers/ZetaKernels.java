@@ -0,0 +1,347 @@
+package complexnumbers;
+
+import java.util.Arrays;
+
+/**
+ * The Riemann & Hurwitz zeta functions, evaluated on primitive (re, im) pairs without creating any objects.
+ *
+ * <br><br>ζ(s,a) = Σ(a+k)<sup>-s</sup> is summed directly up to some cutoff N, and the rest of the sum is replaced with its Euler-Maclaurin
+ * expansion, w<sup>1-s</sup>/(s-1) + w<sup>-s</sup>/2 + ΣB<sub>2j</sub>/(2j)!·s(s+1)...(s+2j-2)·w<sup>1-s-2j</sup> (where w=a+N).  N is
+ * picked so that |w| is a little more than |s|/π, at which point each term of the expansion is at most a quarter of the one before.  Left
+ * of the imaginary axis, ζ(s) comes from ζ(1-s) with the functional equation instead, since the terms there are far bigger than the answer and
+ * cancel.  So does ζ(s,a) for any integer a, and for other real a, Hurwitz's formula takes over once Re(s) ≤ -5 (closer in, it converges too
+ * slowly, so some digits are lost there, as they are for complex a).
+ *
+ * <br><br>High on the critical line, that would take about t/π terms, so Riemann-Siegel's formula takes over instead, which only needs
+ * about √(t/2π): Z(t) = 2Σn<sup>-1/2</sup>cos(θ(t)-t·ln(n)) plus a remainder, expanded in powers of (t/2π)<sup>-1/2</sup> with the first five
+ * correction terms C<sub>0</sub> through C<sub>4</sub>.  Each C<sub>k</sub> is kept as its Taylor series about the middle of the interval.
+ *
+ * <br><br>Either way, the work is almost all in the terms n<sup>-s</sup> = n<sup>-σ</sup>e<sup>-it·ln(n)</sup>.  Along a vertical line, on an
+ * evenly spaced grid of heights, each of those terms only turns by the same angle Δt·ln(n) from one point to the next.  So, the batch
+ * versions keep every term as a rotor & turn it forward with one complex multiplication per point, instead of a call to exp, cos and sin.
+ * The rotors are recomputed from scratch every so often, so rounding errors never have time to build up.
+ *
+ * <br><br>High up, the answer can't be any more accurate than t itself: an error of one ulp in t (or in θ(t), or in t·ln(n)) turns the
+ * terms by about |t|ln|t|·ε radians, so expect a relative error around 10⁻¹⁰ at t=10⁵, for instance.
+ *
+ * <br><br>As with <code>GammaKernels</code>, the result of each evaluation is left in the <code>re</code> & <code>im</code> fields, so each
+ * thread needs its own instance.
+ *
+ * @author Math Machine
+ * @version 1.1.0
+ */
+
+final class ZetaKernels extends Mafs {
+
+	static final double TWO_PI = 2*Math.PI;
+	static final int TAIL_TERMS = 40;                           //the most Euler-Maclaurin terms we'll ever use (we usually stop way sooner)
+	static final double[] TAIL = new double[TAIL_TERMS+1];      //B_2j/(2j)!
+	static final double[] THETA = new double[6];                //the coefficients of 1/t, 1/t³, 1/t⁵... in the asymptotic series of θ(t)
+	static {
+		final double[] b=Cpx2.bernoulliTable(2*TAIL_TERMS);
+		double f=1;
+		for(int j=1;j<=TAIL_TERMS;j++) { f*=(2*j-1)*(2*j); TAIL[j]=b[2*j]/f; }
+		for(int n=1;n<=THETA.length;n++) { THETA[n-1]=(1-Math.pow(2,1-2*n))*Math.abs(b[2*n])/(4*n*(2*n-1)); } //(1-2^(1-2n))|B_2n|/(4n(2n-1))
+	}
+	static final double THETA_ASYMPTOTIC = 20; //past this, the asymptotic series for θ is good to the last digit
+
+	/**
+	 * The Riemann-Siegel correction terms C<sub>0</sub> through C<sub>4</sub>, as Taylor series in x = p-1/2 (p is the fractional part of
+	 * √(t/2π)).  The even ones hold the coefficients of x⁰, x², x⁴..., the odd ones hold the coefficients of x¹, x³, x⁵....
+	 */
+	static final double[][] RS = {
+		{0.3826834323650898, 1.7489618723100817, 2.118025207685496, -0.8707216670511481, -3.4733112243465167, -1.6626947308999325,
+		 1.216731288919232, 1.3014304161007977, 0.03051102182736167, -0.3755803051545095, -0.1085784416564066, 0.051832902999549624,
+		 0.029999480619902277, -0.0022759396706125644, -0.004382647416580339, -0.0004064230183729847, 0.0004006097785422114,
+		 8.971057991388841e-05, -2.3025650027239108e-05, -9.380006601906792e-06, 6.323514947609108e-07, 6.551022819231502e-07},
+		{-0.053650205256750697, 0.11027818741081483, 1.2317200154315227, 1.2634964862799458, -1.695108997559503, -2.9998711967650102,
+		 -0.10819944959899208, 1.9407662946212714, 0.7838423561500687, -0.5054829667900366, -0.38450723496057976, 0.03747264646531532,
+		 0.09092026610973176, 0.01044923755006451, -0.012582979651583417, -0.003399503721151274, 0.0010410950537714891,
+		 0.0005010949051118486, -3.956359669003182e-05, -4.7624592453571896e-05, -1.8539355338085133e-06, 3.1936918080068973e-06,
+		 4.0907807608506065e-07},
+		{0.005188542830293168, 0.0012378633552253898, -0.18137505725166997, 0.14291492748532125, 1.3303391766687565, 0.3522472353403734,
+		 -2.421001595891951, -1.6760787022538108, 1.3689416723328371, 1.5539019430222982, -0.1722164273472998, -0.6359068055045431,
+		 -0.09911649873041208, 0.14033480067387008, 0.04782352019827292, -0.017356040641479782, -0.010225012534028593,
+		 0.0009274149159794888, 0.0013572194372373386, 6.41369012029388e-05, -0.0001230080569819663, -1.83135074047892e-05,
+		 7.821628604322627e-06, 2.0087542484759946e-06},
+		{-0.0026794321814389136, 0.02995372109103515, -0.042570172541828696, -0.28997965779803886, 0.4888831999235446, 1.230855876395746,
+		 -0.8297560708527408, -2.249763536666567, 0.07845139961005472, 1.7467492800868893, 0.45968080979749937, -0.6619353471039775,
+		 -0.31590441036173633, 0.12844792545207495, 0.10073382716626152, -0.009530183848825268, -0.019264421687514088,
+		 -0.001246463715876929, 0.0024243969641103086, 0.000437647697741857, -0.00020714032687001792, -6.274344504186516e-05,
+		 1.157534381459567e-05, 5.88385492454038e-06},
+		{0.00046483389361763383, -0.004022642946136188, 0.003847177051796127, 0.06581175135809486, -0.19604124343694448,
+		 -0.20854053686358853, 0.9507754185141751, 0.5341535312914873, -1.67634944117634, -1.076747157875129, 1.235339301656597,
+		 1.0257825340057276, -0.40124095793988546, -0.5036663995108304, 0.03573487795502745, 0.14431763086785418, 0.01509152741790347,
+		 -0.026098874779194363, -0.006126628379519262, 0.003077503129870841, 0.0011562478934088753, -0.00022775966758472127,
+		 -0.00014189637118181445, 7.4648603079559195e-06, 1.2479701645409117e-05}
+	};
+	static final double T_RS = 5000; //past this height, Riemann-Siegel is as accurate as Euler-Maclaurin (and a whole lot faster)
+	static final int RESYNC = 64;    //how many points a batch goes before it recomputes its rotors from scratch
+	static final double PERIODIC = -5; //left of this, ζ(s,a) for real a uses Hurwitz's formula (which then needs at most about 1100 terms)
+
+	/** The result of the last evaluation */
+	double re, im;
+	private final GammaKernels gamma = new GammaKernels();
+
+	/** The rotors used along a vertical line: rot[k] = (k+1)^-σ·e^(-it·ln(k+1)), which is turned forward by turn[k] = e^(-iΔt·ln(k+1)) */
+	private double[] rotRe=new double[0], rotIm=rotRe, turnRe=rotRe, turnIm=rotRe, logs=rotRe;
+	private double lineSigma, lineStep;
+	private int known, active, sinceSync; //how many rotors have their logs & turns, how many are up to date, how many points since they were computed
+
+	//////////////////// HURWITZ ZETA ////////////////////
+
+	/** ζ(s,a), where s = sr+si·i and a = ar+ai·i */
+	void hurwitz(double sr, double si, double ar, double ai) {
+		if(sr!=sr || si!=si || ar!=ar || ai!=ai) { re=im=Double.NaN; return; }
+		if(sr==1 && si==0 || ai==0 && ar<=0 && ar==Math.rint(ar)) { re=INF; im=0; return; } //the pole at s=1, and a=0,-1,-2... (where a term is 1/0)
+		final int n=terms(sr,si,ar);
+		if(sr<0 && ai==0 && n>0 && ar>-0x1p30) { //left of the axis, the direct sum's terms are much bigger than ζ(s,a), so they cancel
+			final int m=(int)Math.ceil(ar)-1;     //a = a0+m, where 0<a0≤1
+			final double a0=ar-m;
+			if(a0==1 || sr<=PERIODIC) { leftHalf(sr,si,ai,m,a0); return; }
+		}
+
+		gamma.log(ar+n,ai); final double lr=gamma.re, li=gamma.im; //w^-s = e^(-s·ln(w)), where w=a+N
+		gamma.exp(-(sr*lr-si*li),-(sr*li+si*lr));
+		final double pr=gamma.re, pi=gamma.im;
+
+		double mr=0, mi=0;
+		for(int k=n-1;k>=0;k--) { //Σ (a+k)^-s, smallest terms first
+			gamma.log(ar+k,ai); final double kr=gamma.re, ki=gamma.im;
+			gamma.exp(-(sr*kr-si*ki),-(sr*ki+si*kr));
+			mr+=gamma.re; mi+=gamma.im;
+		}
+		tail(sr,si,ar+n,ai,pr,pi,mr,mi);
+	}
+
+	/** The cutoff N: the smallest N ≥ 0 with Re(a)+N ≥ (|s|+40)/π, so the first 20 terms of the expansion each shrink by a factor of 4 or more */
+	static int terms(double sr, double si, double ar) {
+		return (int)Math.max(0,Math.ceil((Math.hypot(sr,si)+40)/Math.PI-ar));
+	}
+
+	/**
+	 * ζ(s,a) left of the imaginary axis, for real a = a0+m (0&lt;a0≤1): ζ(s,a0) comes from ζ(1-s) with the functional equation if a0=1, and
+	 * from Hurwitz's formula otherwise, then the m terms between a0 & a are taken away (or, for m&lt;0, added).  Neither of those cancels
+	 * the way the direct sum does.
+	 */
+	private void leftHalf(double sr, double si, double ai, int m, double a0) {
+		double mr=0, mi=0;
+		for(int j=Math.max(m,0)-1;j>=Math.min(m,0);j--) { //Σ (a0+j)^-s, for j from 0 to m-1 (or from m to -1)
+			gamma.log(a0+j,ai); final double kr=gamma.re, ki=gamma.im;
+			gamma.exp(-(sr*kr-si*ki),-(sr*ki+si*kr));
+			mr+=gamma.re; mi+=gamma.im;
+		}
+		if(a0==1) { zeta(sr,si); } else { periodic(sr,si,a0); }
+		if(m>0) { re-=mr; im-=mi; } else { re+=mr; im+=mi; }
+	}
+
+	/**
+	 * ζ(s,a) for 0&lt;a&lt;1 & Re(s)≤-5, by Hurwitz's formula: with σ=1-s, ζ(s,a) = Γ(σ)(2π)<sup>-σ</sup>(e<sup>-iπσ/2</sup>Σn<sup>-σ</sup>e<sup>2πina</sup>
+	 * + e<sup>iπσ/2</sup>Σn<sup>-σ</sup>e<sup>-2πina</sup>).  Since Re(σ)≥6, both sums drop below rounding within about 1100 terms.
+	 */
+	private void periodic(double sr, double si, double a) {
+		final double xr=1-sr, xi=-si;                                    //σ
+		final int count=(int)Math.ceil(Math.pow(0x1p53/(xr-1),1/(xr-1))); //the rest of the sum is less than Σ_(n>count) n^-Re(σ) < 2^-53
+		double pr=0, pi=0, qr=0, qi=0;
+		for(int n=count;n>=1;n--) { //smallest terms first
+			final double l=Math.log(n);
+			gamma.exp(-xr*l,-xi*l); final double ur=gamma.re, ui=gamma.im; //n^-σ
+			gamma.sincospi(2*n*a);  final double s=gamma.re, c=gamma.im;   //e^(2πina)
+			pr+=ur*c-ui*s; pi+=ur*s+ui*c;
+			qr+=ur*c+ui*s; qi+=ui*c-ur*s;
+		}
+		gamma.loggamma(xr,xi); final double lr=gamma.re-xr*(LOG2+LOGPI), li=gamma.im-xi*(LOG2+LOGPI); //ln(Γ(σ)(2π)^-σ)
+		gamma.sincospi(0.5*xr); final double s=gamma.re, c=gamma.im;       //e^(iπRe(σ)/2), so a big σ still gets an exact reduction
+		gamma.exp(lr+HALFPI*xi,li); final double ar=gamma.re*c+gamma.im*s, ai=gamma.im*c-gamma.re*s; //Γ(σ)(2π)^-σ·e^(-iπσ/2)
+		gamma.exp(lr-HALFPI*xi,li); final double br=gamma.re*c-gamma.im*s, bi=gamma.im*c+gamma.re*s; //Γ(σ)(2π)^-σ·e^(iπσ/2)
+		re=ar*pr-ai*pi+br*qr-bi*qi;
+		im=si==0 ? 0 : ar*pi+ai*pr+br*qi+bi*qr; //(for real s, the two halves are conjugates)
+	}
+
+	/**
+	 * The partial sum (mr,mi) plus the Euler-Maclaurin tail, w<sup>1-s</sup>/(s-1) + w<sup>-s</sup>/2 + ΣB<sub>2j</sub>/(2j)!·(s)<sub>2j-1</sub>·w<sup>1-s-2j</sup>,
+	 * where (pr,pi) = w<sup>-s</sup>.  It stops once the terms drop below rounding (or, if they somehow start growing, just before they do).
+	 */
+	private void tail(double sr, double si, double wr, double wi, double pr, double pi, double mr, double mi) {
+		gamma.inv(sr-1,si); final double qr=gamma.re, qi=gamma.im;     //1/(s-1)
+		final double ar=wr*pr-wi*pi, ai=wr*pi+wi*pr;                    //w^(1-s)
+		double tr=mr+(ar*qr-ai*qi)+0.5*pr, ti=mi+(ar*qi+ai*qr)+0.5*pi;
+
+		gamma.inv(wr,wi); final double ir=gamma.re, ii=gamma.im;        //1/w
+		final double i2r=ir*ir-ii*ii, i2i=2*ir*ii;                      //1/w²
+		double cr=(sr*pr-si*pi), ci=(sr*pi+si*pr);                      //(s)_(2j-1)·w^(1-s-2j), starting at j=1
+		{ final double t=cr*ir-ci*ii; ci=cr*ii+ci*ir; cr=t; }
+		double last=INF;
+		for(int j=1;j<=TAIL_TERMS;j++) {
+			final double er=TAIL[j]*cr, ei=TAIL[j]*ci, size=er*er+ei*ei;
+			if(size>last) { break; }                                   //the expansion only converges asymptotically, so never take a term that's grown
+			tr+=er; ti+=ei; last=size;
+			if(size<=1e-34*(tr*tr+ti*ti)) { break; }                   //the rest are below rounding
+			final double ur=(sr+2*j-1)*(sr+2*j)-si*si, ui=si*(2*sr+4*j-1); //(s+2j-1)(s+2j)
+			final double fr=ur*i2r-ui*i2i, fi=ur*i2i+ui*i2r;
+			final double t=cr*fr-ci*fi; ci=cr*fi+ci*fr; cr=t;
+		}
+		re=tr; im=ti;
+	}
+
+	//////////////////// RIEMANN ZETA ////////////////////
+
+	/** ζ(x+yi) */
+	void zeta(double x, double y) {
+		if(x!=x || y!=y) { re=im=Double.NaN; return; }
+		if(x>=64) { //ζ(s) is 1+2^-s, down to rounding
+			gamma.exp(-x*LOG2,-y*LOG2); re=1+gamma.re; im=gamma.im; return;
+		}
+		if(Double.isInfinite(y)) { re=im=Double.NaN; return; }
+		if(x==0.5 && Math.abs(y)>=T_RS) { //high on the critical line: ζ(1/2+it) = Z(t)e^(-iθ(t))
+			final double z=riemannSiegelZ(y), th=theta(y);
+			re=z*Math.cos(th); im=-z*Math.sin(th); return;
+		}
+		if(x>=0) { hurwitz(x,y,1,0); return; }
+		hurwitz(1-x,-y,1,0);
+		reflect(x,y,re,im);
+	}
+
+	/** ζ(x+yi), given ζ(1-x-yi) = zr+zi·i, from the functional equation ζ(s) = 2<sup>s</sup>π<sup>s-1</sup>sin(πs/2)Γ(1-s)ζ(1-s) */
+	private void reflect(double x, double y, double zr, double zi) {
+		if(y==0) { //real input: keep track of the sign, so the result stays real (and the trivial zeros stay exact)
+			gamma.sincospi(0.5*x); final double s=gamma.re;
+			if(s==0) { re=im=0; return; }
+			gamma.loggamma(1-x,0);
+			re=Math.exp(x*LOG2+(x-1)*LOGPI+gamma.re)*s*zr; im=0; return;
+		}
+		double lr, li; //ln(sin(πs/2)), on any branch at all (since we exponentiate it afterwards)
+		final double u=0.5*Math.PI*x, v=0.5*Math.PI*y;
+		if(Math.abs(v)<=20) { gamma.sinpi(0.5*x,0.5*y); gamma.log(gamma.re,gamma.im); lr=gamma.re; li=gamma.im; }
+		else if(v>0) { lr=v-LOG2; li=HALFPI-u; } //sin(u+vi) → ie^(v-iu)/2
+		else         { lr=-v-LOG2; li=u-HALFPI; } //sin(u+vi) → -ie^(iu-v)/2
+		gamma.loggamma(1-x,-y);
+		gamma.exp(x*LOG2+(x-1)*LOGPI+gamma.re+lr, y*(LOG2+LOGPI)+gamma.im+li);
+		final double fr=gamma.re, fi=gamma.im;
+		re=fr*zr-fi*zi; im=fr*zi+fi*zr;
+	}
+
+	//////////////////// RIEMANN-SIEGEL ////////////////////
+
+	/** The Riemann-Siegel theta function, θ(t) = arg(Γ(1/4+it/2)) - t·ln(π)/2, on the branch that's continuous with θ(0)=0 */
+	double theta(double t) {
+		final double a=Math.abs(t);
+		double th;
+		if(a<THETA_ASYMPTOTIC) { gamma.loggamma(0.25,0.5*a); th=gamma.im-0.5*a*LOGPI; }
+		else { //t/2·ln(t/2π) - t/2 - π/8 + 1/(48t) + 7/(5760t³) + ...
+			final double r=1/a, r2=r*r;
+			double s=0;
+			for(int n=THETA.length-1;n>=0;n--) { s=s*r2+THETA[n]; }
+			th=0.5*a*(Math.log(a/TWO_PI)-1)-0.125*Math.PI+s*r;
+		}
+		return t<0 ? -th : th;
+	}
+
+	/** The Riemann-Siegel Z function, Z(t) = e<sup>iθ(t)</sup>ζ(1/2+it), which is real on the real line */
+	double riemannSiegelZ(double t) {
+		if(t!=t) { return Double.NaN; }
+		final double a=Math.abs(t), th=theta(a);
+		if(a<T_RS) { hurwitz(0.5,a,1,0); return re*Math.cos(th)-im*Math.sin(th); }
+		final double tau=Math.sqrt(a/TWO_PI);
+		final int n=(int)tau;
+		double sum=0;
+		for(int k=n;k>=1;k--) { sum+=Math.cos(th-a*Math.log(k))/Math.sqrt(k); }
+		return 2*sum+remainder(tau,n);
+	}
+
+	/** The Riemann-Siegel remainder, (-1)<sup>N-1</sup>τ<sup>-1/2</sup>ΣC<sub>k</sub>(p)τ<sup>-k</sup>, where τ = √(t/2π), N = ⌊τ⌋ and p = τ-N */
+	static double remainder(double tau, int n) {
+		final double x=tau-n-0.5, y=x*x, r=1/tau;
+		double sum=0;
+		for(int k=RS.length-1;k>=0;k--) {
+			final double[] c=RS[k];
+			double p=c[c.length-1];
+			for(int i=c.length-2;i>=0;i--) { p=p*y+c[i]; }
+			sum=sum*r+((k&1)==1 ? p*x : p);
+		}
+		return ((n&1)==1 ? sum : -sum)/Math.sqrt(tau);
+	}
+
+	//////////////////// VERTICAL LINES ////////////////////
+
+	/** ζ(σ+it) for t = t0+jΔt, for each j in [from,to), into (dr[j],di[j]) */
+	void zetaLine(double sigma, double t0, double dt, double[] dr, double[] di, int from, int to) {
+		final boolean reflected=sigma<0;
+		startLine(reflected ? 1-sigma : sigma,dt);
+		for(int j=from;j<to;j++) {
+			final double t=t0+j*dt;
+			if(sigma!=sigma || t!=t)          { re=im=Double.NaN; active=0; } //(the rotors weren't turned, so they have to be recomputed)
+			else if(sigma==1 && t==0)        { re=INF; im=0; active=0; }
+			else if(sigma>=64)               { zeta(sigma,t); }
+			else if(reflected)               { lineZeta(1-sigma,t); reflect(sigma,t,re,-im); } //ζ(1-σ-it) is the conjugate of ζ(1-σ+it)
+			else if(sigma==0.5 && Math.abs(t)>=T_RS) {
+				final double z=lineZ(t), th=theta(t);
+				re=z*Math.cos(th); im=-z*Math.sin(th);
+			}
+			else { lineZeta(sigma,t); }
+			dr[j]=re; di[j]=im;
+		}
+	}
+
+	/** Z(t0+jΔt) for each j in [from,to), into dst[j] */
+	void riemannSiegelZ(double t0, double dt, double[] dst, int from, int to) {
+		startLine(0.5,dt);
+		for(int j=from;j<to;j++) {
+			final double t=t0+j*dt;
+			if(t!=t) { dst[j]=Double.NaN; active=0; } //(the rotors weren't turned, so they have to be recomputed)
+			else     { dst[j]=lineZ(t); }
+		}
+	}
+
+	/** Z(t), using (and turning) the rotors of a batch along the critical line */
+	private double lineZ(double t) {
+		final double a=Math.abs(t), th=theta(t), c=Math.cos(th), s=Math.sin(th);
+		if(a<T_RS) { lineZeta(0.5,t); return re*c-im*s; }
+		final double tau=Math.sqrt(a/TWO_PI);
+		final int n=(int)tau;
+		sumRotors(n,t); //Σn^(-1/2)cos(θ-t·ln(n)) = Re(e^(iθ)·Σn^(-1/2)e^(-it·ln(n)))
+		return 2*(re*c-im*s)+remainder(tau,n);
+	}
+
+	/** ζ(σ+it) by Euler-Maclaurin, using (and turning) the rotors of a batch along the line Re(s)=σ */
+	private void lineZeta(double sigma, double t) {
+		final int n=terms(sigma,t,1);
+		sumRotors(n,t); final double mr=re, mi=im;
+		final double lw=Math.log(n+1), m=Math.exp(-sigma*lw), ph=t*lw; //w^-s, where w=N+1
+		tail(sigma,t,n+1,0,m*Math.cos(ph),-m*Math.sin(ph),mr,mi);
+	}
+
+	/** Starts a new batch of points along the line Re(s)=σ, Δt apart */
+	private void startLine(double sigma, double dt) {
+		lineSigma=sigma; lineStep=dt; known=active=sinceSync=0;
+	}
+
+	/** Σ(k+1)<sup>-σ</sup>e<sup>-it·ln(k+1)</sup> for k in [0,count), into re & im.  Then, each of those rotors is turned forward to t+Δt. */
+	private void sumRotors(int count, double t) {
+		if(++sinceSync>RESYNC) { active=0; sinceSync=1; } //every so often, start over from scratch
+		if(count>rotRe.length) {                           //grow the buffers
+			final int size=Math.max(count,2*rotRe.length);
+			rotRe=Arrays.copyOf(rotRe,size); rotIm=Arrays.copyOf(rotIm,size);
+			turnRe=Arrays.copyOf(turnRe,size); turnIm=Arrays.copyOf(turnIm,size);
+			logs=Arrays.copyOf(logs,size);
+		}
+		for(int k=known;k<count;k++) {                   //new logs & turns
+			logs[k]=Math.log(k+1);
+			turnRe[k]=Math.cos(lineStep*logs[k]); turnIm[k]=-Math.sin(lineStep*logs[k]);
+		}
+		known=Math.max(known,count);
+		for(int k=active;k<count;k++) {                  //new rotors (or ones we've stopped turning), computed exactly
+			final double m=Math.exp(-lineSigma*logs[k]), ph=t*logs[k];
+			rotRe[k]=m*Math.cos(ph); rotIm[k]=-m*Math.sin(ph);
+		}
+
+		double sr=0, si=0;
+		for(int k=0;k<count;k++) {
+			final double r=rotRe[k], i=rotIm[k], cr=turnRe[k], ci=turnIm[k];
+			sr+=r; si+=i;
+			rotRe[k]=r*cr-i*ci; rotIm[k]=r*ci+i*cr;
+		}
+		active=count; //any rotors past this point didn't get turned, so they're out of date
+		re=sr; im=si;
+	}
+}